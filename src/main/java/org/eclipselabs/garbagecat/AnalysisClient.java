@@ -0,0 +1,129 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat;
+
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_CLIENT_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_CLIENT_SHORT;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_OUTPUT_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_OUTPUT_SHORT;
+import static org.eclipselabs.garbagecat.util.Constants.OUTPUT_FILE_NAME;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.Option;
+
+/**
+ * <p>
+ * Submit an analysis to an <code>AnalysisServer</code> and write the report, as if the analysis had been done in this
+ * JVM.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class AnalysisClient {
+
+    /**
+     * Submit the analysis for the command line options and write the report to the output file, or output the error
+     * message if the analysis failed.
+     * 
+     * @param cmd
+     *            The command line options.
+     */
+    static void createReport(CommandLine cmd) {
+        List<String> args = new ArrayList<String>();
+        for (Option option : cmd.getOptions()) {
+            if (option.getLongOpt().equals(OPTION_CLIENT_LONG) || option.getLongOpt().equals(OPTION_OUTPUT_LONG)) {
+                continue;
+            }
+            args.add("--" + option.getLongOpt());
+            if (option.hasArg()) {
+                args.add(option.getValue());
+            }
+        }
+        // The server resolves the log file relative to its own working directory
+        String logFileName = cmd.getArgList().get(cmd.getArgList().size() - 1);
+        args.add(new File(logFileName).getAbsolutePath());
+        String reportFileName = cmd.hasOption(OPTION_OUTPUT_LONG) ? cmd.getOptionValue(OPTION_OUTPUT_SHORT)
+                : OUTPUT_FILE_NAME;
+        String report;
+        try {
+            report = submit(Integer.parseInt(cmd.getOptionValue(OPTION_CLIENT_SHORT)), args);
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            return;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return;
+        }
+        try (PrintWriter printWriter = new PrintWriter(new FileWriter(reportFileName))) {
+            printWriter.write(report);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Submit an analysis.
+     * 
+     * @param port
+     *            The localhost port the server is listening on.
+     * @param args
+     *            The command line arguments (options and log file path).
+     * @return The report.
+     * @throws IllegalArgumentException
+     *             if the analysis failed, with the server's error message.
+     * @throws IOException
+     *             if the server cannot be reached.
+     */
+    public static String submit(int port, List<String> args) throws IOException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            Writer writer = new BufferedWriter(
+                    new OutputStreamWriter(socket.getOutputStream(), AnalysisServer.CHARSET));
+            for (String arg : args) {
+                if (arg.isEmpty() || arg.indexOf('\n') >= 0 || arg.indexOf('\r') >= 0) {
+                    throw new IllegalArgumentException("Argument not supported by the server: '" + arg + "'");
+                }
+                writer.write(arg + "\n");
+            }
+            writer.write("\n");
+            writer.flush();
+            BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(socket.getInputStream(), AnalysisServer.CHARSET));
+            String status = reader.readLine();
+            StringBuilder body = new StringBuilder();
+            char[] buffer = new char[8192];
+            int count;
+            while ((count = reader.read(buffer)) >= 0) {
+                body.append(buffer, 0, count);
+            }
+            if (!AnalysisServer.STATUS_OK.equals(status)) {
+                throw new IllegalArgumentException(status == null ? "No response from server" : body.toString());
+            }
+            return body.toString();
+        }
+    }
+}
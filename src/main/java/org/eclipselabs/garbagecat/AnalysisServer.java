@@ -0,0 +1,291 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat;
+
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_BATCH_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_CLIENT_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_FOLLOW_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_SERVER_LONG;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.ParseException;
+
+/**
+ * <p>
+ * Long-lived analysis server, so JVM startup, class loading, and JIT warm-up are paid once instead of once per log.
+ * </p>
+ * 
+ * <p>
+ * The server listens on a localhost port. A job is the command line arguments (options and log file path), one per
+ * line, ended by an empty line. The response is a status line ({@link #STATUS_OK} or {@link #STATUS_ERROR}) followed
+ * by the report or the error message. Jobs are analyzed on a fixed pool of workers (one per processor) with a bounded
+ * queue, and jobs submitted when the queue is full are rejected. Jobs that are too big or not sent within
+ * {@link #JOB_READ_TIMEOUT} are rejected, so a connection cannot hold a worker.
+ * </p>
+ * 
+ * <p>
+ * Log files are read by the server, so any local user that can connect can analyze any file the server can read.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class AnalysisServer implements Closeable {
+
+    /**
+     * Job and response character set.
+     */
+    static final Charset CHARSET = StandardCharsets.UTF_8;
+
+    /**
+     * Maximum job arguments.
+     */
+    static final int JOB_ARGS_MAX = 64;
+
+    /**
+     * Maximum job argument length (characters).
+     */
+    static final int JOB_ARG_LENGTH_MAX = 4096;
+
+    /**
+     * Milliseconds to wait for the next part of a job before it is rejected.
+     */
+    static final int JOB_READ_TIMEOUT = 30000;
+
+    /**
+     * Jobs queued per worker before jobs are rejected.
+     */
+    private static final int QUEUE_SIZE_PER_WORKER = 4;
+
+    /**
+     * Response status line for a failed job.
+     */
+    public static final String STATUS_ERROR = "ERROR";
+
+    /**
+     * Response status line for a report.
+     */
+    public static final String STATUS_OK = "OK";
+
+    /**
+     * Analyze a job.
+     * 
+     * @param args
+     *            The command line arguments.
+     * @return The report.
+     * @throws ParseException
+     *             if the command line arguments are not valid.
+     * @throws IOException
+     *             if the log file or the report cannot be read.
+     */
+    static String analyze(List<String> args) throws ParseException, IOException {
+        CommandLine cmd = OptionsParser.parseOptions(args.toArray(new String[args.size()]));
+        if (cmd == null || cmd.getArgList().isEmpty()) {
+            throw new ParseException("Missing log file");
+        }
+        if (cmd.hasOption(OPTION_BATCH_LONG) || cmd.hasOption(OPTION_CLIENT_LONG) || cmd.hasOption(OPTION_FOLLOW_LONG)
+                || cmd.hasOption(OPTION_SERVER_LONG)) {
+            throw new ParseException("Batch, client, follow, and server options are not supported by the server");
+        }
+        String logFileName = cmd.getArgList().get(cmd.getArgList().size() - 1);
+        File reportFile = File.createTempFile("garbagecat", ".txt");
+        try {
+            Main.createReport(cmd, new File(logFileName), reportFile.getPath());
+            return new String(Files.readAllBytes(reportFile.toPath()), Charset.defaultCharset());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            reportFile.delete();
+        }
+    }
+
+    /**
+     * Read a job: the command line arguments, one per line, ended by an empty line or the end of the stream.
+     * 
+     * @param reader
+     *            The job reader.
+     * @return The command line arguments.
+     * @throws ParseException
+     *             if the job has too many arguments or an argument is too long.
+     * @throws IOException
+     *             if the job cannot be read.
+     */
+    static List<String> readJob(Reader reader) throws ParseException, IOException {
+        List<String> args = new ArrayList<String>();
+        StringBuilder arg = new StringBuilder();
+        int c;
+        while ((c = reader.read()) >= 0) {
+            if (c == '\n') {
+                if (arg.length() == 0) {
+                    return args;
+                }
+                if (args.size() == JOB_ARGS_MAX) {
+                    throw new ParseException("Too many arguments (maximum " + JOB_ARGS_MAX + ")");
+                }
+                args.add(arg.toString());
+                arg.setLength(0);
+            } else if (c != '\r') {
+                if (arg.length() == JOB_ARG_LENGTH_MAX) {
+                    throw new ParseException("Argument too long (maximum " + JOB_ARG_LENGTH_MAX + " characters)");
+                }
+                arg.append((char) c);
+            }
+        }
+        // Job ended by the end of the stream
+        if (arg.length() > 0) {
+            if (args.size() == JOB_ARGS_MAX) {
+                throw new ParseException("Too many arguments (maximum " + JOB_ARGS_MAX + ")");
+            }
+            args.add(arg.toString());
+        }
+        return args;
+    }
+
+    /**
+     * Write a response.
+     * 
+     * @param socket
+     *            The client connection.
+     * @param status
+     *            The status line.
+     * @param body
+     *            The report or error message.
+     */
+    private static void respond(Socket socket, String status, String body) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), CHARSET));
+        writer.write(status + "\n");
+        writer.write(body);
+        writer.flush();
+    }
+
+    private final ServerSocket serverSocket;
+
+    /**
+     * The job workers.
+     */
+    private final ThreadPoolExecutor workers;
+
+    /**
+     * @param port
+     *            The localhost port to listen on, or 0 for any free port.
+     * @throws IOException
+     *             if the port cannot be listened on.
+     */
+    public AnalysisServer(int port) throws IOException {
+        serverSocket = new ServerSocket(port, 0, InetAddress.getLoopbackAddress());
+        int workerCount = Runtime.getRuntime().availableProcessors();
+        workers = new ThreadPoolExecutor(workerCount, workerCount, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<Runnable>(QUEUE_SIZE_PER_WORKER * workerCount));
+    }
+
+    /**
+     * Stop accepting jobs and interrupt the jobs in progress.
+     */
+    public void close() throws IOException {
+        serverSocket.close();
+        workers.shutdownNow();
+    }
+
+    /**
+     * @return The localhost port the server is listening on.
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Read a job, analyze it, and write the response.
+     * 
+     * @param socket
+     *            The client connection.
+     */
+    private void handle(Socket socket) {
+        try (Socket client = socket) {
+            client.setSoTimeout(JOB_READ_TIMEOUT);
+            BufferedReader reader = new BufferedReader(new InputStreamReader(client.getInputStream(), CHARSET));
+            List<String> args;
+            try {
+                args = readJob(reader);
+            } catch (SocketTimeoutException e) {
+                respond(client, STATUS_ERROR, "Job not received within " + JOB_READ_TIMEOUT + " ms");
+                return;
+            } catch (ParseException e) {
+                respond(client, STATUS_ERROR, e.getMessage());
+                return;
+            }
+            String report;
+            try {
+                report = analyze(args);
+            } catch (ParseException e) {
+                respond(client, STATUS_ERROR, e.getMessage());
+                return;
+            } catch (IOException | RuntimeException e) {
+                respond(client, STATUS_ERROR, e.toString());
+                return;
+            }
+            respond(client, STATUS_OK, report);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Accept jobs until the server is closed.
+     */
+    public void run() {
+        while (!serverSocket.isClosed()) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    e.printStackTrace();
+                }
+                continue;
+            }
+            try {
+                workers.execute(() -> handle(socket));
+            } catch (RejectedExecutionException e) {
+                try (Socket client = socket) {
+                    respond(client, STATUS_ERROR, "Server busy");
+                } catch (IOException e2) {
+                    e2.printStackTrace();
+                }
+            }
+        }
+    }
+}
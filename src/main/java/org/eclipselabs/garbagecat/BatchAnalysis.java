@@ -0,0 +1,284 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat;
+
+import static org.eclipselabs.garbagecat.util.Constants.LINE_SEPARATOR;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_BATCH_SHORT;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_OUTPUT_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_OUTPUT_SHORT;
+import static org.eclipselabs.garbagecat.util.Constants.OUTPUT_FILE_NAME;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.commons.cli.CommandLine;
+import org.eclipselabs.garbagecat.dao.SidecarFile;
+import org.eclipselabs.garbagecat.domain.JvmRun;
+import org.eclipselabs.garbagecat.util.jdk.Analysis;
+import org.eclipselabs.garbagecat.util.jdk.JdkMath;
+
+/**
+ * <p>
+ * Analyze many gc log files in one process on a fixed pool of workers, so JIT warm-up and class loading are paid once.
+ * </p>
+ * 
+ * <p>
+ * Log files are the command line arguments, with directories expanded to the log files they contain (not recursive).
+ * Each log file gets its own report, written to the directory of the output file, and the output file is an index
+ * summarizing key metrics of each report, in command line order. A log file that cannot be analyzed is listed in the
+ * index and does not stop the batch.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class BatchAnalysis {
+
+    /**
+     * Key metrics of a report.
+     */
+    public static final class Summary {
+
+        private final int blockingEventCount;
+
+        private final int errorCount;
+
+        /**
+         * The exception raised analyzing the log file, or null if the report was created.
+         */
+        private final Throwable failure;
+
+        private final long gcPauseTotal;
+
+        private final long gcThroughput;
+
+        private final File logFile;
+
+        private final long maxGcPause;
+
+        private final File reportFile;
+
+        private final int warnCount;
+
+        Summary(File logFile, File reportFile, JvmRun jvmRun, Throwable failure) {
+            this.logFile = logFile;
+            this.reportFile = reportFile;
+            this.failure = failure;
+            int errors = 0;
+            int warnings = 0;
+            if (jvmRun != null) {
+                blockingEventCount = jvmRun.getBlockingEventCount();
+                gcThroughput = jvmRun.getGcThroughput();
+                maxGcPause = jvmRun.getMaxGcPause();
+                gcPauseTotal = jvmRun.getGcPauseTotal();
+                for (Analysis analysis : jvmRun.getAnalysis()) {
+                    if (analysis.getKey().startsWith("error.")) {
+                        errors++;
+                    } else if (analysis.getKey().startsWith("warn.")) {
+                        warnings++;
+                    }
+                }
+            } else {
+                blockingEventCount = 0;
+                gcThroughput = 0;
+                maxGcPause = 0;
+                gcPauseTotal = 0;
+            }
+            errorCount = errors;
+            warnCount = warnings;
+        }
+
+        /**
+         * @return The exception raised analyzing the log file, or null if the report was created.
+         */
+        public Throwable getFailure() {
+            return failure;
+        }
+
+        public File getLogFile() {
+            return logFile;
+        }
+
+        public File getReportFile() {
+            return reportFile;
+        }
+    }
+
+    /**
+     * Index report line format.
+     */
+    private static final String INDEX_FORMAT = "%8s%12s%12s%13s%7s%6s  %s%n";
+
+    /**
+     * Report file name suffix (appended to the log file name).
+     */
+    public static final String REPORT_SUFFIX = ".report.txt";
+
+    /**
+     * @param fileNames
+     *            Log file and directory names.
+     * @param indexFile
+     *            The index file, skipped when expanding directories.
+     * @return The log files, with directories expanded to the files they contain (sorted by name), excluding hidden
+     *         files and files written by garbagecat (reports, sidecar files, and preprocessed files).
+     */
+    static List<File> getLogFiles(List<String> fileNames, File indexFile) {
+        List<File> logFiles = new ArrayList<File>();
+        for (String fileName : fileNames) {
+            File file = new File(fileName);
+            if (!file.isDirectory()) {
+                logFiles.add(file);
+                continue;
+            }
+            File[] files = file.listFiles(f -> f.isFile() && !f.isHidden() && !f.getName().endsWith(REPORT_SUFFIX)
+                    && !f.getName().endsWith(SidecarFile.EXTENSION) && !f.getName().endsWith(".pp")
+                    && !f.getAbsoluteFile().equals(indexFile.getAbsoluteFile()));
+            if (files != null) {
+                Arrays.sort(files);
+                logFiles.addAll(Arrays.asList(files));
+            }
+        }
+        return logFiles;
+    }
+
+    /**
+     * @param logFiles
+     *            The log files.
+     * @param reportDirectory
+     *            The directory reports are written to.
+     * @return The report file for each log file: the log file name plus {@link #REPORT_SUFFIX}, with a sequence number
+     *         added when log files in different directories have the same name (e.g. one gc.log per JVM).
+     */
+    static List<File> getReportFiles(List<File> logFiles, File reportDirectory) {
+        List<File> reportFiles = new ArrayList<File>();
+        Set<String> names = new HashSet<String>();
+        for (File logFile : logFiles) {
+            String name = logFile.getName();
+            for (int i = 2; !names.add(name); i++) {
+                name = logFile.getName() + "-" + i;
+            }
+            reportFiles.add(new File(reportDirectory, name + REPORT_SUFFIX));
+        }
+        return reportFiles;
+    }
+
+    /**
+     * The command line options, applied to every log file.
+     */
+    private final CommandLine cmd;
+
+    /**
+     * The index file.
+     */
+    private final File indexFile;
+
+    /**
+     * Number of log files analyzed concurrently.
+     */
+    private final int workers;
+
+    /**
+     * @param cmd
+     *            The command line options.
+     */
+    public BatchAnalysis(CommandLine cmd) {
+        this.cmd = cmd;
+        this.indexFile = new File(
+                cmd.hasOption(OPTION_OUTPUT_LONG) ? cmd.getOptionValue(OPTION_OUTPUT_SHORT) : OUTPUT_FILE_NAME);
+        this.workers = Integer.parseInt(cmd.getOptionValue(OPTION_BATCH_SHORT));
+    }
+
+    /**
+     * Analyze the log files, write a report for each, and write the index.
+     * 
+     * @return The key metrics of each report, in command line order.
+     */
+    public List<Summary> run() {
+        List<File> logFiles = getLogFiles(cmd.getArgList(), indexFile);
+        File reportDirectory = indexFile.getAbsoluteFile().getParentFile();
+        List<File> reportFiles = getReportFiles(logFiles, reportDirectory);
+        List<Summary> summaries = new ArrayList<Summary>();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(workers, Math.max(1, logFiles.size())));
+        try {
+            // Only the key metrics are kept, so JVM runs are not held until every log file is analyzed
+            List<Future<Summary>> futures = new ArrayList<Future<Summary>>();
+            for (int i = 0; i < logFiles.size(); i++) {
+                File logFile = logFiles.get(i);
+                File reportFile = reportFiles.get(i);
+                futures.add(executor.submit(() -> new Summary(logFile, reportFile,
+                        Main.createReport(cmd, logFile, reportFile.getPath()), null)));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                Summary summary;
+                try {
+                    summary = futures.get(i).get();
+                } catch (ExecutionException e) {
+                    summary = new Summary(logFiles.get(i), reportFiles.get(i), null, e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    summary = new Summary(logFiles.get(i), reportFiles.get(i), null, e);
+                }
+                summaries.add(summary);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        writeIndex(summaries);
+        return summaries;
+    }
+
+    /**
+     * Write the index: key metrics of each report and the log files that could not be analyzed.
+     * 
+     * @param summaries
+     *            The key metrics of each report.
+     */
+    private void writeIndex(List<Summary> summaries) {
+        try (PrintWriter printWriter = new PrintWriter(new FileWriter(indexFile))) {
+            List<Summary> failures = new ArrayList<Summary>();
+            printWriter.write("Log Files: " + summaries.size() + LINE_SEPARATOR);
+            printWriter.write("Workers: " + workers + LINE_SEPARATOR);
+            printWriter.printf(INDEX_FORMAT, "# Events", "Throughput", "Max Pause", "Pause Total", "Error", "Warn",
+                    "Report");
+            for (Summary summary : summaries) {
+                if (summary.failure != null) {
+                    failures.add(summary);
+                    continue;
+                }
+                printWriter.printf(INDEX_FORMAT, summary.blockingEventCount, summary.gcThroughput + "%",
+                        JdkMath.convertMicrosToSecs(summary.maxGcPause) + "s",
+                        JdkMath.convertMicrosToSecs(summary.gcPauseTotal) + "s", summary.errorCount,
+                        summary.warnCount, summary.reportFile.getName() + " (" + summary.logFile.getPath() + ")");
+            }
+            if (!failures.isEmpty()) {
+                printWriter.write("FAILED:" + LINE_SEPARATOR);
+                for (Summary summary : failures) {
+                    printWriter.write(summary.logFile.getPath() + ": " + summary.failure + LINE_SEPARATOR);
+                }
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -18,7 +18,13 @@ import static org.eclipselabs.garbagecat.OptionsParser.options;
 import static org.eclipselabs.garbagecat.OptionsParser.parseOptions;
 import static org.eclipselabs.garbagecat.util.Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD;
 import static org.eclipselabs.garbagecat.util.Constants.LINE_SEPARATOR;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_BATCH_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_CLIENT_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_FOLLOW_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_FOLLOW_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_HELP_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_HORIZON_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_HORIZON_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_JVMOPTIONS_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_JVMOPTIONS_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_LATEST_VERSION_LONG;
@@ -26,6 +32,10 @@ import static org.eclipselabs.garbagecat.util.Constants.OPTION_OUTPUT_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_OUTPUT_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_PREPROCESS_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_REORDER_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_SERVER_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_SERVER_SHORT;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_SIDECAR_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_SPILL_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_STARTDATETIME_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_STARTDATETIME_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_THRESHOLD_LONG;
@@ -41,22 +51,40 @@ import static org.eclipselabs.garbagecat.util.jdk.Analysis.INFO_UNACCOUNTED_OPTI
 
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map.Entry;
 
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.HelpFormatter;
 import org.apache.commons.cli.ParseException;
+import org.eclipselabs.garbagecat.dao.GcCpu;
+import org.eclipselabs.garbagecat.dao.OldGenerationTrend;
+import org.eclipselabs.garbagecat.dao.TimeRollup;
+import org.eclipselabs.garbagecat.dao.TimeRollup.Resolution;
+import org.eclipselabs.garbagecat.dao.TimeToSafepoint;
+import org.eclipselabs.garbagecat.dao.UnidentifiedLogLines;
+import org.eclipselabs.garbagecat.dao.UnidentifiedLogLines.Shape;
+import org.eclipselabs.garbagecat.dao.AllocationRates;
+import org.eclipselabs.garbagecat.domain.Bottleneck;
+import org.eclipselabs.garbagecat.domain.GcStorm;
+import org.eclipselabs.garbagecat.domain.GcStorms;
 import org.eclipselabs.garbagecat.domain.JvmRun;
+import org.eclipselabs.garbagecat.domain.MutatorUtilization;
+import org.eclipselabs.garbagecat.domain.SafepointCorrelation;
 import org.eclipselabs.garbagecat.domain.jdk.unified.SafepointEventSummary;
 import org.eclipselabs.garbagecat.service.GcManager;
+import org.eclipselabs.garbagecat.service.LogFollower;
+import org.eclipselabs.garbagecat.util.Histogram;
 import org.eclipselabs.garbagecat.util.Memory;
 import org.eclipselabs.garbagecat.util.jdk.Analysis;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
@@ -77,11 +105,6 @@ import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedSafepoint;
  */
 public class Main {
 
-    /**
-     * The maximum number of rejected log lines to track. A throttle to limit memory consumption.
-     */
-    public static final int REJECT_LIMIT = 1000;
-
     /**
      * Report single line break
      */
@@ -94,6 +117,68 @@ public class Main {
     private static final String LINEBREAK_DOUBLE = "==================================================================="
             + "====" + LINE_SEPARATOR;
 
+    /**
+     * Report GC activity line format: bucket start, pause count, pause total, pause max, safepoint total, heap after GC
+     * max.
+     */
+    private static final String GC_ACTIVITY_FORMAT = "%-14s%7s%11s%11s%14s%14s%n";
+
+    /**
+     * Maximum GC activity buckets reported at a resolution before the next coarser resolution is used.
+     */
+    private static final int GC_ACTIVITY_BUCKETS_MAX = 60;
+
+    /**
+     * Report GC storm line format: start, end, event count, pause total, throughput, dominant event type.
+     */
+    private static final String GC_STORM_FORMAT = "%-12s%12s%7s%11s%9s  %s%n";
+
+    /**
+     * Report minimum mutator utilization line format: window, MMU.
+     */
+    private static final String MUTATOR_UTILIZATION_FORMAT = "%-29s%7s%n";
+
+    /**
+     * Report pause percentiles line format: label, count, p50, p90, p99, p99.9, max.
+     */
+    private static final String PAUSE_PERCENTILES_FORMAT = "%-29s%7s%7s%7s%7s%7s%7s%n";
+
+    /**
+     * Report safepoint correlation line format: label, count, total, percent of safepoint time, p99, max.
+     */
+    private static final String SAFEPOINT_CORRELATION_FORMAT = "%-29s%7s%10s%5s%8s%8s%n";
+
+    /**
+     * Report time to safepoint line format: trigger, count, total, percent of safepoint pause time, p99, max.
+     */
+    private static final String TIME_TO_SAFEPOINT_FORMAT = "%-29s%7s%10s%5s%8s%8s%n";
+
+    /**
+     * @param window
+     *            The window size (milliseconds).
+     * @return The window size in the largest whole unit (e.g. "10ms", "1s", "1min").
+     */
+    private static String getWindowLiteral(long window) {
+        if (window >= 60000 && window % 60000 == 0) {
+            return window / 60000 + "min";
+        } else if (window >= 1000 && window % 1000 == 0) {
+            return window / 1000 + "s";
+        }
+        return window + "ms";
+    }
+
+    /**
+     * @param part
+     *            The part (microseconds).
+     * @param total
+     *            The total (microseconds).
+     * @return The part as a whole percent of the total, or "-" if there is no total (e.g. durations that round to
+     *         zero).
+     */
+    private static String getPercentLiteral(long part, long total) {
+        return total <= 0 ? "-" : String.valueOf(part * 100 / total);
+    }
+
     /**
      * @param args
      *            The argument list includes one or more scope options followed by the name of the gc log file to
@@ -113,6 +198,115 @@ public class Main {
         }
     }
 
+    /**
+     * Print bottlenecks, with consecutive bottlenecks that share an event printed as a run and runs separated by "...".
+     * 
+     * @param printWriter
+     *            The report writer.
+     * @param bottlenecks
+     *            The bottlenecks.
+     * @param jvmStartDate
+     *            The date and time the JVM was started, or null to print timestamps.
+     */
+    private static void printBottlenecks(PrintWriter printWriter, List<Bottleneck> bottlenecks, Date jvmStartDate) {
+        Bottleneck priorBottleneck = null;
+        for (Bottleneck bottleneck : bottlenecks) {
+            if (priorBottleneck == null || bottleneck.getPriorIndex() != priorBottleneck.getIndex()) {
+                if (priorBottleneck != null) {
+                    printWriter.write("..." + LINE_SEPARATOR);
+                }
+                printWriter.write(bottleneck.getPriorLogEntry(jvmStartDate) + LINE_SEPARATOR);
+            }
+            printWriter.write(bottleneck.getLogEntry(jvmStartDate) + LINE_SEPARATOR);
+            priorBottleneck = bottleneck;
+        }
+    }
+
+    /**
+     * Print the GC activity rolled up by minute, hour, or day: the finest resolution with at most
+     * {@link #GC_ACTIVITY_BUCKETS_MAX} buckets from the first bucket with activity, or by day. Nothing is printed if
+     * all activity is in one minute. Buckets with no activity are not printed.
+     * 
+     * @param printWriter
+     *            The report writer.
+     * @param rollup
+     *            The GC activity rollups.
+     */
+    private static void printGcActivity(PrintWriter printWriter, TimeRollup rollup) {
+        for (Resolution resolution : Resolution.values()) {
+            int count = rollup.getBucketCount(resolution);
+            int first = 0;
+            while (first < count && rollup.getPauseCount(resolution, first) == 0
+                    && rollup.getSafepointTotal(resolution, first) == 0) {
+                first++;
+            }
+            if (count - first <= 1) {
+                return;
+            }
+            if (count - first <= GC_ACTIVITY_BUCKETS_MAX || resolution == Resolution.DAY) {
+                printWriter.write(LINEBREAK_DOUBLE);
+                printWriter.write("GC ACTIVITY BY " + resolution + ":" + LINE_SEPARATOR);
+                printWriter.write(LINEBREAK_SINGLE);
+                printWriter.printf(GC_ACTIVITY_FORMAT, "Start (s)", "#", "Pause (s)", "Max (s)", "Safepoint (s)",
+                        "Heap After GC");
+                for (int i = first; i < count; i++) {
+                    long pauseCount = rollup.getPauseCount(resolution, i);
+                    long safepointTotal = rollup.getSafepointTotal(resolution, i);
+                    if (pauseCount == 0 && safepointTotal == 0) {
+                        continue;
+                    }
+                    long heapAfterGc = rollup.getMaxHeapAfterGc(resolution, i);
+                    printWriter.printf(GC_ACTIVITY_FORMAT,
+                            JdkMath.convertMillisToSecs(rollup.getOrigin() + i * resolution.getWidth()), pauseCount,
+                            JdkMath.convertMicrosToSecs(rollup.getPauseTotal(resolution, i)),
+                            JdkMath.convertMicrosToSecs(rollup.getPauseMax(resolution, i)),
+                            JdkMath.convertMicrosToSecs(safepointTotal),
+                            heapAfterGc > 0 ? Memory.kilobytes(heapAfterGc).toString() : "-");
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Output a pause percentiles report line.
+     * 
+     * @param printWriter
+     *            The report writer.
+     * @param label
+     *            The pause label.
+     * @param histogram
+     *            The pause duration (microseconds) histogram.
+     */
+    private static void printPausePercentiles(PrintWriter printWriter, String label, Histogram histogram) {
+        printWriter.printf(PAUSE_PERCENTILES_FORMAT, label, histogram.getCount(),
+                JdkMath.convertMicrosToSecs(histogram.getValueAtPercentile(50)),
+                JdkMath.convertMicrosToSecs(histogram.getValueAtPercentile(90)),
+                JdkMath.convertMicrosToSecs(histogram.getValueAtPercentile(99)),
+                JdkMath.convertMicrosToSecs(histogram.getValueAtPercentile(99.9)),
+                JdkMath.convertMicrosToSecs(histogram.getMax()));
+    }
+
+    /**
+     * Output a memory rate report line, if the rate is at least 1 MB/sec.
+     * 
+     * @param printWriter
+     *            The report writer.
+     * @param label
+     *            The rate label.
+     * @param rate
+     *            The rate (kilobytes per second).
+     * @param timestamp
+     *            The start of the peak rate interval (milliseconds), or null if the rate is not a peak.
+     */
+    private static void printRate(PrintWriter printWriter, String label, BigDecimal rate, Long timestamp) {
+        long mbPerSec = Memory.memory(rate.longValue(), KILOBYTES).getValue(MEGABYTES);
+        if (mbPerSec > 0) {
+            printWriter.write(label + mbPerSec + " MB/sec"
+                    + (timestamp == null ? "" : " at " + JdkMath.convertMillisToSecs(timestamp)) + LINE_SEPARATOR);
+        }
+    }
+
     /**
      * Output usage help.
      * 
@@ -125,35 +319,168 @@ public class Main {
     }
 
     public static void createReport(CommandLine cmd) {
+        if (cmd.hasOption(OPTION_SERVER_LONG)) {
+            try (AnalysisServer analysisServer = new AnalysisServer(
+                    Integer.parseInt(cmd.getOptionValue(OPTION_SERVER_SHORT)))) {
+                System.out.println("Analysis server listening on localhost:" + analysisServer.getPort());
+                analysisServer.run();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            return;
+        }
+        if (cmd.hasOption(OPTION_CLIENT_LONG)) {
+            AnalysisClient.createReport(cmd);
+            return;
+        }
+        if (cmd.hasOption(OPTION_BATCH_LONG)) {
+            new BatchAnalysis(cmd).run();
+            return;
+        }
+        String logFileName = (String) cmd.getArgList().get(cmd.getArgList().size() - 1);
+        String outputFileName = cmd.hasOption(OPTION_OUTPUT_LONG) ? cmd.getOptionValue(OPTION_OUTPUT_SHORT)
+                : OUTPUT_FILE_NAME;
+        if (cmd.hasOption(OPTION_FOLLOW_LONG)) {
+            follow(cmd, new File(logFileName), outputFileName);
+        } else {
+            try {
+                createReport(cmd, new File(logFileName), outputFileName);
+            } catch (UncheckedIOException e) {
+                System.out.println("Unable to read log file: " + e.getCause().getMessage());
+            }
+        }
+    }
+
+    /**
+     * Follow a growing gc log file, storing new logging as it is written and recreating the report (and printing a
+     * summary) at the end of each interval with new logging, until interrupted.
+     * 
+     * @param cmd
+     *            The command line options.
+     * @param logFile
+     *            The gc log file to follow.
+     * @param reportFileName
+     *            Report file name.
+     */
+    static void follow(CommandLine cmd, File logFile, String reportFileName) {
+        Date jvmStartDate = cmd.hasOption(OPTION_STARTDATETIME_LONG)
+                ? parseStartDateTime(cmd.getOptionValue(OPTION_STARTDATETIME_SHORT))
+                : null;
+        String jvmOptions = cmd.hasOption(OPTION_JVMOPTIONS_LONG) ? cmd.getOptionValue(OPTION_JVMOPTIONS_SHORT) : null;
+        boolean preprocess = cmd.hasOption(OPTION_PREPROCESS_LONG) || cmd.hasOption(OPTION_STARTDATETIME_LONG);
+        int throughputThreshold = cmd.hasOption(OPTION_THRESHOLD_LONG)
+                ? Integer.parseInt(cmd.getOptionValue(OPTION_THRESHOLD_SHORT))
+                : DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD;
+        long interval = Long.parseLong(cmd.getOptionValue(OPTION_FOLLOW_SHORT)) * 1000;
+        try (GcManager gcManager = new GcManager(cmd.hasOption(OPTION_SPILL_LONG));
+                LogFollower logFollower = new LogFollower(logFile,
+                        gcManager.openFeed(preprocess, jvmStartDate, cmd.hasOption(OPTION_REORDER_LONG)))) {
+            if (cmd.hasOption(OPTION_HORIZON_LONG)) {
+                gcManager.setOldGenerationHorizon(Integer.parseInt(cmd.getOptionValue(OPTION_HORIZON_SHORT)));
+            }
+            while (!Thread.currentThread().isInterrupted()) {
+                if (logFollower.poll() > 0) {
+                    JvmRun jvmRun = gcManager.getJvmRun(new Jvm(jvmOptions, jvmStartDate), throughputThreshold);
+                    createReport(jvmRun, reportFileName, cmd.hasOption(OPTION_VERSION_LONG),
+                            cmd.hasOption(OPTION_LATEST_VERSION_LONG), logFile.getPath());
+                    System.out.println(new Date() + " # GC Events: " + jvmRun.getBlockingEventCount()
+                            + ", GC Throughput: " + jvmRun.getGcThroughput() + "%, GC Pause Max: "
+                            + JdkMath.convertMicrosToSecs(jvmRun.getMaxGcPause()) + " secs");
+                }
+                Thread.sleep(interval);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Analyze a gc log file and create the Garbage Collection Analysis report.
+     * 
+     * @param cmd
+     *            The command line options.
+     * @param logFile
+     *            The gc log file to analyze.
+     * @param reportFileName
+     *            Report file name.
+     * @return JVM run data. The data store is closed once the report is written, so only the JVM run values (not the
+     *         events) can be used.
+     * @throws UncheckedIOException
+     *             if the gc log file cannot be read.
+     */
+    static JvmRun createReport(CommandLine cmd, File logFile, String reportFileName) {
+        try (GcManager gcManager = new GcManager(cmd.hasOption(OPTION_SPILL_LONG))) {
+            return createReport(cmd, logFile, reportFileName, gcManager);
+        }
+    }
+
+    /**
+     * Analyze a gc log file and create the Garbage Collection Analysis report.
+     * 
+     * @param cmd
+     *            The command line options.
+     * @param logFile
+     *            The gc log file to analyze.
+     * @param reportFileName
+     *            Report file name.
+     * @param gcManager
+     *            The empty data store to analyze the gc log file in.
+     * @return JVM run data.
+     * @throws UncheckedIOException
+     *             if the gc log file cannot be read.
+     */
+    private static JvmRun createReport(CommandLine cmd, File logFile, String reportFileName, GcManager gcManager) {
         // Determine JVM environment information.
         Date jvmStartDate = cmd.hasOption(OPTION_STARTDATETIME_LONG)
                 ? parseStartDateTime(cmd.getOptionValue(OPTION_STARTDATETIME_SHORT))
                 : null;
         String jvmOptions = cmd.hasOption(OPTION_JVMOPTIONS_LONG) ? cmd.getOptionValue(OPTION_JVMOPTIONS_SHORT) : null;
-        String logFileName = (String) cmd.getArgList().get(cmd.getArgList().size() - 1);
-        File logFile = new File(logFileName);
-
-        GcManager gcManager = new GcManager();
-
-        // Do preprocessing
-        if (cmd.hasOption(OPTION_PREPROCESS_LONG) || cmd.hasOption(OPTION_STARTDATETIME_LONG)) {
-            /*
-             * Requiring the JVM start date/time for preprocessing is a hack to handle datestamps. When garbagecat was
-             * started there was no <code>-XX:+PrintGCDateStamps</code> option. When it was introduced in JDK 1.6 update
-             * 4, the easiest thing to do to handle datestamps was to preprocess the datestamps and convert them to
-             * timestamps.
-             * 
-             * TODO: Handle datetimes separately from preprocessing so preprocessing doesn't require passing in the JVM
-             * start date/time.
-             */
-            logFile = gcManager.preprocess(logFile, jvmStartDate);
+
+        if (cmd.hasOption(OPTION_HORIZON_LONG)) {
+            gcManager.setOldGenerationHorizon(Integer.parseInt(cmd.getOptionValue(OPTION_HORIZON_SHORT)));
         }
 
+        boolean preprocess = cmd.hasOption(OPTION_PREPROCESS_LONG) || cmd.hasOption(OPTION_STARTDATETIME_LONG);
+        boolean sidecar = cmd.hasOption(OPTION_SIDECAR_LONG);
         // Allow logging to be reordered?
         boolean reorder = cmd.hasOption(OPTION_REORDER_LONG);
 
-        // Store garbage collection logging in data store.
-        gcManager.store(logFile, reorder);
+        if (!sidecar || !gcManager.loadSidecar(logFile, preprocess, jvmStartDate, reorder)) {
+            // Do preprocessing
+            if (preprocess) {
+                /*
+                 * Requiring the JVM start date/time for preprocessing is a hack to handle datestamps. When garbagecat
+                 * was started there was no <code>-XX:+PrintGCDateStamps</code> option. When it was introduced in JDK
+                 * 1.6 update 4, the easiest thing to do to handle datestamps was to preprocess the datestamps and
+                 * convert them to timestamps.
+                 * 
+                 * TODO: Handle datetimes separately from preprocessing so preprocessing doesn't require passing in the
+                 * JVM start date/time.
+                 * 
+                 * Preprocessed logging is stored as it is preprocessed, not written to a file next to the log file, so
+                 * jobs analyzing the same log file at the same time (e.g. server or batch jobs) do not collide.
+                 */
+                try (FileReader fileReader = new FileReader(logFile)) {
+                    gcManager.store(fileReader, true, jvmStartDate, reorder);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Unable to read log file.", e);
+                }
+            } else {
+                // Store garbage collection logging in data store.
+                gcManager.store(logFile, reorder);
+            }
+
+            if (sidecar) {
+                try {
+                    gcManager.writeSidecar(logFile, preprocess, jvmStartDate, reorder);
+                } catch (UncheckedIOException e) {
+                    // e.g. read-only log directory: the report does not need the sidecar
+                    System.out.println("WARNING: Unable to write sidecar file: " + e.getCause().getMessage());
+                }
+            }
+        }
 
         // Create report
         Jvm jvm = new Jvm(jvmOptions, jvmStartDate);
@@ -163,11 +490,10 @@ public class Main {
                 : DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD;
 
         JvmRun jvmRun = gcManager.getJvmRun(jvm, throughputThreshold);
-        String outputFileName = cmd.hasOption(OPTION_OUTPUT_LONG) ? cmd.getOptionValue(OPTION_OUTPUT_SHORT)
-                : OUTPUT_FILE_NAME;
         boolean version = cmd.hasOption(OPTION_VERSION_LONG);
         boolean latestVersion = cmd.hasOption(OPTION_LATEST_VERSION_LONG);
-        createReport(jvmRun, outputFileName, version, latestVersion, logFileName);
+        createReport(jvmRun, reportFileName, version, latestVersion, logFile.getPath());
+        return jvmRun;
     }
 
     /**
@@ -208,27 +534,34 @@ public class Main {
                 }
             }
 
-            // GC Bottlenecks
-            List<String> gcBottlenecks = jvmRun.getGcBottlenecks();
-            if (!gcBottlenecks.isEmpty()) {
+            // GC Bottlenecks, merged into episodes
+            GcStorms gcStorms = jvmRun.getGcStorms();
+            if (gcStorms != null && gcStorms.getStormCount() > 0) {
                 printWriter.write(LINEBREAK_DOUBLE);
-                printWriter.write("GC throughput less than " + jvmRun.getThroughputThreshold() + "%" + LINE_SEPARATOR);
+                printWriter.write("GC throughput less than " + jvmRun.getThroughputThreshold() + "%: "
+                        + gcStorms.getStormCount() + " episode(s)");
+                if (gcStorms.getStormCount() > gcStorms.getStorms().size()) {
+                    printWriter.write(", " + gcStorms.getStorms().size() + " with the most pause time");
+                }
+                printWriter.write(LINE_SEPARATOR);
                 printWriter.write(LINEBREAK_SINGLE);
-                for (String gcBottleneck : gcBottlenecks) {
-                    printWriter.write(gcBottleneck + LINE_SEPARATOR);
+                printWriter.printf(GC_STORM_FORMAT, "Start (s)", "End (s)", "#", "Pause (s)", "Thruput", "Dominant");
+                for (GcStorm gcStorm : gcStorms.getStorms()) {
+                    printWriter.printf(GC_STORM_FORMAT, JdkMath.convertMillisToSecs(gcStorm.getStart()),
+                            JdkMath.convertMillisToSecs(gcStorm.getEnd()), gcStorm.getEventCount(),
+                            JdkMath.convertMicrosToSecs(gcStorm.getPauseTotal()), gcStorm.getThroughput() + "%",
+                            gcStorm.getDominantEventType());
                 }
             }
 
             // Safepoint Bottlenecks
-            List<String> safepointBottlenecks = jvmRun.getSafepointBottlenecks();
+            List<Bottleneck> safepointBottlenecks = jvmRun.getSafepointBottlenecks();
             if (!safepointBottlenecks.isEmpty()) {
                 printWriter.write(LINEBREAK_DOUBLE);
                 printWriter.write(
                         "Safepoint throughput less than " + jvmRun.getThroughputThreshold() + "%" + LINE_SEPARATOR);
                 printWriter.write(LINEBREAK_SINGLE);
-                for (String safepointBottleneck : safepointBottlenecks) {
-                    printWriter.write(safepointBottleneck + LINE_SEPARATOR);
-                }
+                printBottlenecks(printWriter, safepointBottlenecks, jvmRun.getJvm().getStartDate());
             }
 
             // JVM information
@@ -311,6 +644,21 @@ public class Main {
                                 + jvmRun.getWorstInvertedParallelismEvent().getLogEntry() + LINE_SEPARATOR);
                     }
                 }
+                // GC CPU time. Only report if we have events with times data.
+                GcCpu gcCpu = jvmRun.getGcCpu();
+                if (gcCpu != null && gcCpu.getCount() > 0) {
+                    printWriter.write("GC CPU Total: " + JdkMath.convertMillisToSecs(gcCpu.getTotal()) + " secs (user "
+                            + JdkMath.convertMillisToSecs(gcCpu.getUser()) + ", sys "
+                            + JdkMath.convertMillisToSecs(gcCpu.getSys()) + ")" + LINE_SEPARATOR);
+                    printWriter.write("GC CPU/Run Time: " + jvmRun.getGcCpuRatio() + "% (busiest minute "
+                            + jvmRun.getGcCpuRatioPeak() + "%)" + LINE_SEPARATOR);
+                    printWriter.write("GC Parallelism (threads: events):");
+                    long[] parallelism = gcCpu.getParallelism();
+                    for (int i = 0; i < parallelism.length; i++) {
+                        printWriter.write((i == 0 ? " " : ", ") + GcCpu.PARALLELISM_LABELS[i] + ": " + parallelism[i]);
+                    }
+                    printWriter.write(LINE_SEPARATOR);
+                }
                 // NewRatio
                 if (jvmRun.getMaxYoungSpace() != null && jvmRun.getMaxOldSpace() != null
                         && jvmRun.getMaxYoungSpace().getValue(KILOBYTES) > 0) {
@@ -389,14 +737,32 @@ public class Main {
                 }
                 printWriter.write(jvmRun.getGcThroughput() + "%" + LINE_SEPARATOR);
 
-                // As of now the allocation rate is only implemented for G1GC collector.
-                if (jvmRun.getJvm().getUseG1Gc() != null
-                        || jvmRun.getEventTypes().contains(LogEventType.G1_YOUNG_PAUSE)) {
-                    BigDecimal allocationRate = jvmRun.getAllocationRate();
-                    if (allocationRate.longValue() > 0) {
-                        Memory gbPerSec = Memory.memory(allocationRate.longValue(), KILOBYTES);
-                        printWriter.write("Allocation Rate: " + Long.toString(gbPerSec.getValue(MEGABYTES)) + " MB/sec"
-                                + LINE_SEPARATOR);
+                // Allocation and promotion rates
+                AllocationRates allocationRates = jvmRun.getAllocationRates();
+                if (allocationRates != null) {
+                    printRate(printWriter, "Allocation Rate: ", allocationRates.getAllocationRate(), null);
+                    if (allocationRates.getDuration() >= AllocationRates.INTERVAL) {
+                        printRate(printWriter, "Allocation Rate Peak: ", allocationRates.getAllocationRatePeak(),
+                                allocationRates.getAllocationRatePeakTimestamp());
+                    }
+                    printRate(printWriter, "Promotion Rate: ", allocationRates.getPromotionRate(), null);
+                    if (allocationRates.getDuration() >= AllocationRates.INTERVAL) {
+                        printRate(printWriter, "Promotion Rate Peak: ", allocationRates.getPromotionRatePeak(),
+                                allocationRates.getPromotionRatePeakTimestamp());
+                    }
+                }
+
+                // Old generation trend
+                OldGenerationTrend oldGenerationTrend = jvmRun.getOldGenerationTrend();
+                if (oldGenerationTrend != null && oldGenerationTrend.getSlope() != null) {
+                    printWriter.write("Old Gen After GC Growth: " + oldGenerationTrend.getSlope() + " K/sec"
+                            + LINE_SEPARATOR);
+                    Long timeToExhaustion = oldGenerationTrend.getTimeToExhaustion();
+                    if (timeToExhaustion != null) {
+                        printWriter.write("Old Gen Exhaustion Projected: "
+                                + new BigDecimal(timeToExhaustion).divide(new BigDecimal(3600000), 1,
+                                        RoundingMode.HALF_EVEN)
+                                + " hours after last old collection" + LINE_SEPARATOR);
                     }
                 }
 
@@ -516,6 +882,121 @@ public class Main {
                 }
             }
 
+            // Time to safepoint
+            TimeToSafepoint timeToSafepoint = jvmRun.getTimeToSafepoint();
+            if (timeToSafepoint != null && timeToSafepoint.getTotal() > 0) {
+                printWriter.write(LINEBREAK_DOUBLE);
+                printWriter.printf(TIME_TO_SAFEPOINT_FORMAT, "TIME TO SAFEPOINT (ms):", "#", "Total", "%", "p99",
+                        "Max");
+                printWriter.write(LINEBREAK_SINGLE);
+                for (TimeToSafepoint.Summary summary : timeToSafepoint.getSummaries()) {
+                    if (summary.getTotal() == 0) {
+                        continue;
+                    }
+                    printWriter.printf(TIME_TO_SAFEPOINT_FORMAT,
+                            summary.getTrigger() == null ? "Stopped Time"
+                                    : UnifiedSafepoint.getTriggerLiteral(summary.getTrigger()),
+                            summary.getCount(), JdkMath.convertMicrosToMillis(summary.getTotal()),
+                            getPercentLiteral(summary.getTotal(), summary.getPauseTotal()),
+                            JdkMath.convertMicrosToMillis(summary.getHistogram().getValueAtPercentile(99)),
+                            JdkMath.convertMicrosToMillis(summary.getMax()));
+                    // Worst instances: time to safepoint (milliseconds) at timestamp (seconds)
+                    StringBuilder worst = new StringBuilder();
+                    for (TimeToSafepoint.Instance instance : summary.getWorst()) {
+                        if (instance.getTimeToSafepoint() > 0) {
+                            worst.append(worst.length() == 0 ? "  Worst: " : ", ");
+                            worst.append(JdkMath.convertMicrosToMillis(instance.getTimeToSafepoint()));
+                            worst.append(" at " + JdkMath.convertMillisToSecs(instance.getTimestamp()) + "s");
+                        }
+                    }
+                    if (worst.length() > 0) {
+                        printWriter.write(worst + LINE_SEPARATOR);
+                    }
+                }
+            }
+
+            // GC pauses joined to safepoints
+            SafepointCorrelation safepointCorrelation = jvmRun.getSafepointCorrelation();
+            if (safepointCorrelation != null && safepointCorrelation.isJoined()) {
+                long safepointTotal = safepointCorrelation.getGcSafepointTotal() + safepointCorrelation.getNonGcTotal();
+                printWriter.write(LINEBREAK_DOUBLE);
+                printWriter.printf(SAFEPOINT_CORRELATION_FORMAT, "SAFEPOINTS BY CAUSE (ms):", "#", "Total", "%", "p99",
+                        "Max");
+                printWriter.write(LINEBREAK_SINGLE);
+                printWriter.printf(SAFEPOINT_CORRELATION_FORMAT, "GC", safepointCorrelation.getGcSafepointCount(),
+                        JdkMath.convertMicrosToMillis(safepointCorrelation.getGcSafepointTotal()),
+                        getPercentLiteral(safepointCorrelation.getGcSafepointTotal(), safepointTotal), "",
+                        JdkMath.convertMicrosToMillis(safepointCorrelation.getGcSafepointMax()));
+                Histogram overhead = safepointCorrelation.getOverhead();
+                printWriter.printf(SAFEPOINT_CORRELATION_FORMAT, "  Overhead (beyond GC pause)", overhead.getCount(),
+                        JdkMath.convertMicrosToMillis(overhead.getTotal()),
+                        getPercentLiteral(overhead.getTotal(), safepointTotal),
+                        JdkMath.convertMicrosToMillis(overhead.getValueAtPercentile(99)),
+                        JdkMath.convertMicrosToMillis(overhead.getMax()));
+                if (safepointCorrelation.getNonGcCount() > 0) {
+                    printWriter.printf(SAFEPOINT_CORRELATION_FORMAT, "Non-GC", safepointCorrelation.getNonGcCount(),
+                            JdkMath.convertMicrosToMillis(safepointCorrelation.getNonGcTotal()),
+                            getPercentLiteral(safepointCorrelation.getNonGcTotal(), safepointTotal), "",
+                            JdkMath.convertMicrosToMillis(safepointCorrelation.getNonGcMax()));
+                    for (SafepointCorrelation.Summary summary : safepointCorrelation.getNonGcSummaries()) {
+                        printWriter.printf(SAFEPOINT_CORRELATION_FORMAT,
+                                "  " + (summary.getTrigger() == null ? "Stopped Time"
+                                        : UnifiedSafepoint.getTriggerLiteral(summary.getTrigger())),
+                                summary.getCount(), JdkMath.convertMicrosToMillis(summary.getTotal()),
+                                getPercentLiteral(summary.getTotal(), safepointTotal), "",
+                                JdkMath.convertMicrosToMillis(summary.getMax()));
+                    }
+                }
+                if (safepointCorrelation.getOverheadMaxLogEntry() != null && overhead.getMax() > 0) {
+                    printWriter
+                            .write("Overhead Max: " + safepointCorrelation.getOverheadMaxLogEntry() + LINE_SEPARATOR);
+                }
+                if (safepointCorrelation.getGcUnmatchedCount() > 0) {
+                    printWriter.write("# GC Events Not In A Safepoint: " + safepointCorrelation.getGcUnmatchedCount()
+                            + LINE_SEPARATOR);
+                }
+            }
+
+            // Pause percentiles
+            if (jvmRun.getBlockingEventCount() > 0 || jvmRun.getStoppedTimeEventCount() > 0
+                    || jvmRun.getUnifiedSafepointEventCount() > 0) {
+                printWriter.write(LINEBREAK_DOUBLE);
+                printWriter.printf(PAUSE_PERCENTILES_FORMAT, "PAUSE PERCENTILES (s):", "#", "p50", "p90", "p99",
+                        "p99.9", "Max");
+                printWriter.write(LINEBREAK_SINGLE);
+                if (jvmRun.getBlockingEventCount() > 0) {
+                    printPausePercentiles(printWriter, "GC", jvmRun.getGcPauseHistogram());
+                    for (Entry<LogEventType, Histogram> entry : jvmRun.getGcPauseHistograms().entrySet()) {
+                        printPausePercentiles(printWriter, "  " + entry.getKey(), entry.getValue());
+                    }
+                }
+                if (jvmRun.getStoppedTimeEventCount() > 0) {
+                    printPausePercentiles(printWriter, "Stopped Time", jvmRun.getStoppedTimeHistogram());
+                }
+                if (jvmRun.getUnifiedSafepointEventCount() > 0) {
+                    printPausePercentiles(printWriter, "Safepoint", jvmRun.getUnifiedSafepointHistogram());
+                }
+            }
+
+            // Minimum mutator utilization
+            MutatorUtilization mutatorUtilization = jvmRun.getMutatorUtilization();
+            if (mutatorUtilization != null && mutatorUtilization.getMinimum(MutatorUtilization.WINDOWS[0]) != null) {
+                printWriter.write(LINEBREAK_DOUBLE);
+                printWriter.printf(MUTATOR_UTILIZATION_FORMAT, "MINIMUM MUTATOR UTILIZATION:", "MMU");
+                printWriter.write(LINEBREAK_SINGLE);
+                for (long window : MutatorUtilization.WINDOWS) {
+                    BigDecimal minimum = mutatorUtilization.getMinimum(window);
+                    if (minimum != null) {
+                        printWriter.printf(MUTATOR_UTILIZATION_FORMAT, getWindowLiteral(window), minimum + "%");
+                    }
+                }
+            }
+
+            // GC activity over time
+            if (jvmRun.getRollup() != null) {
+                printGcActivity(printWriter, jvmRun.getRollup());
+            }
+
             printWriter.write(LINEBREAK_DOUBLE);
 
             // Analysis
@@ -588,14 +1069,22 @@ public class Main {
                 printWriter.write(LINEBREAK_DOUBLE);
             }
 
-            // Unidentified log lines
-            List<String> unidentifiedLogLines = jvmRun.getUnidentifiedLogLines();
+            // Unidentified log lines, most frequent shapes first
+            UnidentifiedLogLines unidentifiedLogLines = jvmRun.getUnidentifiedLogLines();
             if (!unidentifiedLogLines.isEmpty()) {
-                printWriter.write(unidentifiedLogLines.size() + " UNIDENTIFIED LOG LINE(S):" + LINE_SEPARATOR);
+                printWriter.write(unidentifiedLogLines.getCount() + " UNIDENTIFIED LOG LINE(S):" + LINE_SEPARATOR);
                 printWriter.write(LINEBREAK_SINGLE);
 
-                for (String unidentifiedLogLine : unidentifiedLogLines) {
-                    printWriter.write(unidentifiedLogLine);
+                for (Shape shape : unidentifiedLogLines.getShapes()) {
+                    printWriter.write(shape.getCount() + " x " + shape.getShape());
+                    printWriter.write(LINE_SEPARATOR);
+                    for (String example : shape.getExamples()) {
+                        printWriter.write("    " + example);
+                        printWriter.write(LINE_SEPARATOR);
+                    }
+                }
+                if (unidentifiedLogLines.getUngroupedCount() > 0) {
+                    printWriter.write(unidentifiedLogLines.getUngroupedCount() + " x (other shapes, not grouped)");
                     printWriter.write(LINE_SEPARATOR);
                 }
                 printWriter.write(LINEBREAK_DOUBLE);
@@ -12,8 +12,17 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat;
 
+import static org.eclipselabs.garbagecat.util.Constants.DEFAULT_OLD_GENERATION_HORIZON;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_BATCH_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_BATCH_SHORT;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_CLIENT_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_CLIENT_SHORT;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_FOLLOW_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_FOLLOW_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_HELP_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_HELP_SHORT;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_HORIZON_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_HORIZON_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_JVMOPTIONS_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_JVMOPTIONS_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_LATEST_VERSION_LONG;
@@ -24,6 +33,12 @@ import static org.eclipselabs.garbagecat.util.Constants.OPTION_PREPROCESS_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_PREPROCESS_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_REORDER_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_REORDER_SHORT;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_SERVER_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_SERVER_SHORT;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_SIDECAR_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_SIDECAR_SHORT;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_SPILL_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_SPILL_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_STARTDATETIME_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_STARTDATETIME_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_THRESHOLD_LONG;
@@ -72,9 +87,26 @@ public class OptionsParser {
                 "JVM start datetime (yyyy-MM-dd HH:mm:ss.SSS) required for handling datestamp-only logging");
         options.addOption(OPTION_THRESHOLD_SHORT, OPTION_THRESHOLD_LONG, true,
                 "threshold (0-100) for throughput bottleneck reporting");
+        options.addOption(OPTION_HORIZON_SHORT, OPTION_HORIZON_LONG, true,
+                "horizon (hours) for projected old generation exhaustion reporting (default "
+                        + DEFAULT_OLD_GENERATION_HORIZON + ")");
         options.addOption(OPTION_REORDER_SHORT, OPTION_REORDER_LONG, false, "reorder logging by timestamp");
         options.addOption(OPTION_OUTPUT_SHORT, OPTION_OUTPUT_LONG, true,
                 "output file name (default " + OUTPUT_FILE_NAME + ")");
+        options.addOption(OPTION_SPILL_SHORT, OPTION_SPILL_LONG, false,
+                "store events in temporary files instead of memory (large logs)");
+        options.addOption(OPTION_SIDECAR_SHORT, OPTION_SIDECAR_LONG, false,
+                "write/use binary sidecar file (log file name + .gcat) to skip parsing an unchanged log");
+        options.addOption(OPTION_BATCH_SHORT, OPTION_BATCH_LONG, true,
+                "analyze many log files (or directories of log files) on a pool of workers (1-999), writing a report "
+                        + "per log file next to the output file, which is an index of the reports");
+        options.addOption(OPTION_FOLLOW_SHORT, OPTION_FOLLOW_LONG, true,
+                "follow a growing log file (like tail -F), updating the report every interval (seconds) with new "
+                        + "logging until interrupted");
+        options.addOption(OPTION_SERVER_SHORT, OPTION_SERVER_LONG, true,
+                "run an analysis server listening on a localhost port for jobs submitted with the client option");
+        options.addOption(OPTION_CLIENT_SHORT, OPTION_CLIENT_LONG, true,
+                "submit the analysis to the server listening on a localhost port instead of analyzing in this JVM");
     }
 
     /**
@@ -124,6 +156,14 @@ public class OptionsParser {
      *             Command line options not valid.
      */
     private static void validateOptions(CommandLine cmd) throws ParseException {
+        // server
+        if (cmd.hasOption(OPTION_SERVER_LONG)) {
+            validatePort(cmd.getOptionValue(OPTION_SERVER_SHORT));
+            if (!cmd.getArgList().isEmpty()) {
+                throw new ParseException("Server does not take a log file");
+            }
+            return;
+        }
         // Ensure log file specified.
         if (cmd.getArgList().isEmpty()) {
             throw new ParseException("Missing log file");
@@ -136,6 +176,35 @@ public class OptionsParser {
         if (!logFile.exists()) {
             throw new ParseException("Invalid log file: '" + logFileName + "'");
         }
+        // batch
+        if (cmd.hasOption(OPTION_BATCH_LONG)) {
+            String batchOptionValue = cmd.getOptionValue(OPTION_BATCH_SHORT);
+            if (!batchOptionValue.matches("^\\d{1,3}$") || Integer.parseInt(batchOptionValue) == 0) {
+                throw new ParseException("Invalid batch workers: '" + batchOptionValue + "'");
+            }
+            for (String batchFileName : cmd.getArgList()) {
+                if (!new File(batchFileName).exists()) {
+                    throw new ParseException("Invalid log file: '" + batchFileName + "'");
+                }
+            }
+        }
+        // follow
+        if (cmd.hasOption(OPTION_FOLLOW_LONG)) {
+            String followOptionValue = cmd.getOptionValue(OPTION_FOLLOW_SHORT);
+            if (!followOptionValue.matches("^\\d{1,5}$") || Integer.parseInt(followOptionValue) == 0) {
+                throw new ParseException("Invalid follow interval: '" + followOptionValue + "'");
+            }
+            if (cmd.hasOption(OPTION_BATCH_LONG)) {
+                throw new ParseException("Follow and batch cannot be combined");
+            }
+        }
+        // client
+        if (cmd.hasOption(OPTION_CLIENT_LONG)) {
+            validatePort(cmd.getOptionValue(OPTION_CLIENT_SHORT));
+            if (cmd.hasOption(OPTION_BATCH_LONG) || cmd.hasOption(OPTION_FOLLOW_LONG)) {
+                throw new ParseException("Client cannot be combined with batch or follow");
+            }
+        }
         // threshold
         if (cmd.hasOption(OPTION_THRESHOLD_LONG)) {
             String thresholdRegEx = "^\\d{1,3}$";
@@ -146,6 +215,13 @@ public class OptionsParser {
                 throw new ParseException("Invalid threshold: '" + thresholdOptionValue + "'");
             }
         }
+        // horizon
+        if (cmd.hasOption(OPTION_HORIZON_LONG)) {
+            String horizonOptionValue = cmd.getOptionValue(OPTION_HORIZON_SHORT);
+            if (!horizonOptionValue.matches("^\\d{1,6}$")) {
+                throw new ParseException("Invalid horizon: '" + horizonOptionValue + "'");
+            }
+        }
         // startdatetime
         if (cmd.hasOption(OPTION_STARTDATETIME_LONG)) {
             String startdatetimeOptionValue = cmd.getOptionValue(OPTION_STARTDATETIME_SHORT);
@@ -155,6 +231,20 @@ public class OptionsParser {
         }
     }
 
+    /**
+     * Validate a localhost port.
+     * 
+     * @param port
+     *            The port option value.
+     * @throws ParseException
+     *             if the port is not valid.
+     */
+    private static void validatePort(String port) throws ParseException {
+        if (!port.matches("^\\d{1,5}$") || Integer.parseInt(port) == 0 || Integer.parseInt(port) > 65535) {
+            throw new ParseException("Invalid port: '" + port + "'");
+        }
+    }
+
     /**
      * @return version string.
      */
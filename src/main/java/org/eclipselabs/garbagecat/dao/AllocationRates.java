@@ -0,0 +1,323 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.dao;
+
+import static org.eclipselabs.garbagecat.util.Memory.Unit.KILOBYTES;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import org.eclipselabs.garbagecat.domain.BlockingEvent;
+import org.eclipselabs.garbagecat.domain.CombinedData;
+import org.eclipselabs.garbagecat.domain.LogEvent;
+import org.eclipselabs.garbagecat.domain.OldCollection;
+import org.eclipselabs.garbagecat.domain.OldData;
+import org.eclipselabs.garbagecat.domain.YoungCollection;
+import org.eclipselabs.garbagecat.domain.YoungData;
+import org.eclipselabs.garbagecat.util.Memory;
+
+/**
+ * <p>
+ * Allocation and promotion rates, updated incrementally as events with heap sizes are stored (any collector family).
+ * </p>
+ * 
+ * <p>
+ * Allocation is the growth of the young generation (or the heap if young generation sizes are not logged) from the end
+ * of one event to the start of the next, plus the growth of the heap during concurrent events. Promotion is the growth
+ * of the old generation across a young collection (the young generation reduction not reflected in a heap reduction if
+ * old generation sizes are not logged). Rates are also accumulated in fixed intervals from the first event, with
+ * allocation spread evenly over the time between events, to report the peak interval and when it started.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class AllocationRates {
+
+    /**
+     * Peak rate interval (milliseconds).
+     */
+    public static final long INTERVAL = 60 * 1000L;
+
+    /**
+     * Size or timestamp before any events have been recorded.
+     */
+    static final long NO_DATA = Long.MIN_VALUE;
+
+    private static long kilobytes(Memory memory) {
+        return memory == null ? NO_DATA : memory.getValue(KILOBYTES);
+    }
+
+    private static BigDecimal rate(double kilobytes, long milliseconds) {
+        if (milliseconds <= 0) {
+            return BigDecimal.ZERO;
+        }
+        return BigDecimal.valueOf(kilobytes * 1000 / milliseconds).setScale(0, RoundingMode.HALF_EVEN);
+    }
+
+    /**
+     * Total allocation (kilobytes).
+     */
+    long allocated;
+
+    /**
+     * Peak allocation in an interval (kilobytes).
+     */
+    double allocatedPeak;
+
+    /**
+     * Start of the peak allocation interval (milliseconds).
+     */
+    long allocatedPeakTimestamp = NO_DATA;
+
+    /**
+     * Index of the current interval.
+     */
+    long interval;
+
+    /**
+     * Allocation in the current interval (kilobytes).
+     */
+    double intervalAllocated;
+
+    /**
+     * Promotion in the current interval (kilobytes).
+     */
+    double intervalPromoted;
+
+    /**
+     * Timestamp of the first event (milliseconds), the start of the first interval.
+     */
+    long origin = NO_DATA;
+
+    /**
+     * Heap occupancy at the end of the last event (kilobytes).
+     */
+    long priorHeapEnd = NO_DATA;
+
+    /**
+     * Young generation occupancy at the end of the last event (kilobytes).
+     */
+    long priorYoungEnd = NO_DATA;
+
+    /**
+     * Total promotion (kilobytes).
+     */
+    long promoted;
+
+    /**
+     * Peak promotion in an interval (kilobytes).
+     */
+    double promotedPeak;
+
+    /**
+     * Start of the peak promotion interval (milliseconds).
+     */
+    long promotedPeakTimestamp = NO_DATA;
+
+    /**
+     * Timestamp of the last event (milliseconds).
+     */
+    long timestamp = NO_DATA;
+
+    /**
+     * Add allocation spread evenly from the last event to the timestamp, closing intervals passed.
+     */
+    private void allocate(long kilobytes, long to) {
+        long from = timestamp;
+        double remaining = kilobytes;
+        while (to >= origin + (interval + 1) * INTERVAL) {
+            long intervalEnd = origin + (interval + 1) * INTERVAL;
+            double portion = remaining * (intervalEnd - from) / (to - from);
+            intervalAllocated += portion;
+            remaining -= portion;
+            from = intervalEnd;
+            closeInterval();
+        }
+        intervalAllocated += remaining;
+        allocated += kilobytes;
+    }
+
+    /**
+     * Compare the current interval with the peaks and start the next interval.
+     */
+    private void closeInterval() {
+        long start = origin + interval * INTERVAL;
+        if (allocatedPeakTimestamp == NO_DATA || intervalAllocated > allocatedPeak) {
+            allocatedPeak = intervalAllocated;
+            allocatedPeakTimestamp = start;
+        }
+        if (promotedPeakTimestamp == NO_DATA || intervalPromoted > promotedPeak) {
+            promotedPeak = intervalPromoted;
+            promotedPeakTimestamp = start;
+        }
+        interval++;
+        intervalAllocated = 0;
+        intervalPromoted = 0;
+    }
+
+    /**
+     * @return Total allocation (kilobytes).
+     */
+    public synchronized long getAllocated() {
+        return allocated;
+    }
+
+    /**
+     * @return The allocation rate over the time from the first to the last event (kilobytes per second).
+     */
+    public synchronized BigDecimal getAllocationRate() {
+        return rate(allocated, getDuration());
+    }
+
+    /**
+     * @return The highest allocation rate in an interval (kilobytes per second), or the allocation rate if there is
+     *         less than one interval of events.
+     */
+    public synchronized BigDecimal getAllocationRatePeak() {
+        if (getDuration() < INTERVAL) {
+            return getAllocationRate();
+        }
+        return rate(Math.max(allocatedPeak, intervalAllocated), INTERVAL);
+    }
+
+    /**
+     * @return The start of the interval with the highest allocation rate (milliseconds), or 0 if no events have been
+     *         recorded.
+     */
+    public synchronized long getAllocationRatePeakTimestamp() {
+        if (getDuration() < INTERVAL) {
+            return getOrigin();
+        }
+        return intervalAllocated > allocatedPeak ? origin + interval * INTERVAL : allocatedPeakTimestamp;
+    }
+
+    /**
+     * @return The time from the first to the last event (milliseconds).
+     */
+    public synchronized long getDuration() {
+        return origin == NO_DATA ? 0 : timestamp - origin;
+    }
+
+    /**
+     * @return Timestamp of the first event (milliseconds), or 0 if no events have been recorded.
+     */
+    public synchronized long getOrigin() {
+        return origin == NO_DATA ? 0 : origin;
+    }
+
+    /**
+     * @return Total promotion (kilobytes).
+     */
+    public synchronized long getPromoted() {
+        return promoted;
+    }
+
+    /**
+     * @return The promotion rate over the time from the first to the last event (kilobytes per second).
+     */
+    public synchronized BigDecimal getPromotionRate() {
+        return rate(promoted, getDuration());
+    }
+
+    /**
+     * @return The highest promotion rate in an interval (kilobytes per second), or the promotion rate if there is less
+     *         than one interval of events.
+     */
+    public synchronized BigDecimal getPromotionRatePeak() {
+        if (getDuration() < INTERVAL) {
+            return getPromotionRate();
+        }
+        return rate(Math.max(promotedPeak, intervalPromoted), INTERVAL);
+    }
+
+    /**
+     * @return The start of the interval with the highest promotion rate (milliseconds), or 0 if no events have been
+     *         recorded.
+     */
+    public synchronized long getPromotionRatePeakTimestamp() {
+        if (getDuration() < INTERVAL) {
+            return getOrigin();
+        }
+        return intervalPromoted > promotedPeak ? origin + interval * INTERVAL : promotedPeakTimestamp;
+    }
+
+    /**
+     * Record the heap sizes of an event. Events without heap sizes, and events logged before the last event (e.g. when
+     * logging is reordered), are ignored.
+     * 
+     * @param event
+     *            The event.
+     */
+    synchronized void record(LogEvent event) {
+        long youngInit = NO_DATA;
+        long youngEnd = NO_DATA;
+        long heapInit = NO_DATA;
+        long heapEnd = NO_DATA;
+        long oldInit = NO_DATA;
+        long oldEnd = NO_DATA;
+        if (event instanceof YoungData) {
+            youngInit = kilobytes(((YoungData) event).getYoungOccupancyInit());
+            youngEnd = kilobytes(((YoungData) event).getYoungOccupancyEnd());
+        } else if (event instanceof OldData) {
+            youngInit = kilobytes(((OldData) event).getYoungOccupancyInit());
+            youngEnd = kilobytes(((OldData) event).getYoungOccupancyEnd());
+        }
+        if (event instanceof OldData) {
+            oldInit = kilobytes(((OldData) event).getOldOccupancyInit());
+            oldEnd = kilobytes(((OldData) event).getOldOccupancyEnd());
+        }
+        if (event instanceof CombinedData) {
+            heapInit = kilobytes(((CombinedData) event).getCombinedOccupancyInit());
+            heapEnd = kilobytes(((CombinedData) event).getCombinedOccupancyEnd());
+        } else if (youngInit != NO_DATA && oldInit != NO_DATA && youngEnd != NO_DATA && oldEnd != NO_DATA) {
+            heapInit = youngInit + oldInit;
+            heapEnd = youngEnd + oldEnd;
+        }
+        if (heapInit == NO_DATA || heapEnd == NO_DATA
+                || (timestamp != NO_DATA && event.getTimestamp() < timestamp)) {
+            return;
+        }
+        if (origin == NO_DATA) {
+            origin = event.getTimestamp();
+            timestamp = origin;
+        } else {
+            long allocation;
+            if (youngInit != NO_DATA && priorYoungEnd != NO_DATA) {
+                allocation = Math.max(0, youngInit - priorYoungEnd);
+            } else {
+                allocation = Math.max(0, heapInit - priorHeapEnd);
+            }
+            if (!(event instanceof BlockingEvent)) {
+                // Application threads allocate during concurrent events
+                allocation += Math.max(0, heapEnd - heapInit);
+            }
+            allocate(allocation, event.getTimestamp());
+            timestamp = event.getTimestamp();
+        }
+        if (event instanceof YoungCollection && !(event instanceof OldCollection)) {
+            long promotion = NO_DATA;
+            if (oldInit != NO_DATA && oldEnd != NO_DATA) {
+                promotion = oldEnd - oldInit;
+            } else if (youngInit != NO_DATA && youngEnd != NO_DATA) {
+                promotion = (youngInit - youngEnd) - (heapInit - heapEnd);
+            }
+            if (promotion > 0) {
+                intervalPromoted += promotion;
+                promoted += promotion;
+            }
+        }
+        priorHeapEnd = heapEnd;
+        priorYoungEnd = youngEnd;
+    }
+}
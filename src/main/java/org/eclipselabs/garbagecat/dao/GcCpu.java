@@ -0,0 +1,154 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.dao;
+
+import java.util.Arrays;
+
+import org.eclipselabs.garbagecat.domain.BlockingEvent;
+import org.eclipselabs.garbagecat.domain.TimesData;
+
+/**
+ * <p>
+ * GC CPU time from <code>TimesData</code>, updated incrementally as <code>BlockingEvent</code>s are stored: user,
+ * sys, and real (wall) time totals and the distribution of parallelism ((user + sys) / real) over events.
+ * </p>
+ * 
+ * <p>
+ * CPU time by interval is rolled up in <code>TimeRollup</code>.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class GcCpu {
+
+    /**
+     * Parallelism (percent) upper bounds, exclusive, of the parallelism distribution buckets. The last bucket is
+     * unbounded.
+     */
+    private static final int[] PARALLELISM_BOUNDS = { 100, 200, 400, 800, 1600 };
+
+    /**
+     * Parallelism distribution bucket labels (threads).
+     */
+    public static final String[] PARALLELISM_LABELS = { "<1", "1-2", "2-4", "4-8", "8-16", "16+" };
+
+    /**
+     * @param parallelism
+     *            The parallelism (percent).
+     * @return The parallelism distribution bucket.
+     */
+    static int bucket(int parallelism) {
+        int bucket = 0;
+        while (bucket < PARALLELISM_BOUNDS.length && parallelism >= PARALLELISM_BOUNDS[bucket]) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    /**
+     * Number of events with times data (not all zero).
+     */
+    long count;
+
+    /**
+     * Number of events by parallelism distribution bucket. Events with no real time are not counted.
+     */
+    long[] parallelism = new long[PARALLELISM_LABELS.length];
+
+    /**
+     * Real (wall) time (centiseconds).
+     */
+    long timeReal;
+
+    /**
+     * Sys (kernel) time (centiseconds).
+     */
+    long timeSys;
+
+    /**
+     * User (non-kernel) time (centiseconds).
+     */
+    long timeUser;
+
+    /**
+     * @return The number of events with times data.
+     */
+    public synchronized long getCount() {
+        return count;
+    }
+
+    /**
+     * @return The number of events by parallelism distribution bucket (see <code>PARALLELISM_LABELS</code>).
+     */
+    public synchronized long[] getParallelism() {
+        return Arrays.copyOf(parallelism, parallelism.length);
+    }
+
+    /**
+     * @return The real (wall) time (milliseconds).
+     */
+    public synchronized long getReal() {
+        return timeReal * 10;
+    }
+
+    /**
+     * @return The sys (kernel) time (milliseconds).
+     */
+    public synchronized long getSys() {
+        return timeSys * 10;
+    }
+
+    /**
+     * @return The user + sys time (milliseconds).
+     */
+    public synchronized long getTotal() {
+        return (timeUser + timeSys) * 10;
+    }
+
+    /**
+     * @return The user (non-kernel) time (milliseconds).
+     */
+    public synchronized long getUser() {
+        return timeUser * 10;
+    }
+
+    /**
+     * @param event
+     *            The event.
+     * @return The user + sys time recorded (milliseconds), or 0 if the event does not have times data or they are all
+     *         zero.
+     */
+    synchronized long record(BlockingEvent event) {
+        if (!(event instanceof TimesData)) {
+            return 0;
+        }
+        TimesData times = (TimesData) event;
+        if (times.getTimeUser() == TimesData.NO_DATA || times.getTimeSys() == TimesData.NO_DATA
+                || times.getTimeReal() == TimesData.NO_DATA) {
+            return 0;
+        }
+        // Events without the times data block parse as all zero
+        if (times.getTimeUser() == 0 && times.getTimeSys() == 0 && times.getTimeReal() == 0) {
+            return 0;
+        }
+        count++;
+        timeUser += times.getTimeUser();
+        timeSys += times.getTimeSys();
+        timeReal += times.getTimeReal();
+        if (times.getTimeReal() > 0) {
+            parallelism[bucket(times.getParallelism())]++;
+        }
+        return (times.getTimeUser() + times.getTimeSys()) * 10L;
+    }
+}
@@ -12,25 +12,20 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.dao;
 
-import static java.util.Collections.binarySearch;
 import static java.util.Comparator.comparing;
-import static java.util.stream.Collectors.summingLong;
-import static java.util.stream.Collectors.toList;
 import static org.eclipselabs.garbagecat.util.Memory.ZERO;
 import static org.eclipselabs.garbagecat.util.Memory.Unit.KILOBYTES;
 
-import java.sql.Connection;
-import java.sql.DriverManager;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
-import java.sql.Statement;
+import java.io.Closeable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.function.Function;
-import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
 import org.eclipselabs.garbagecat.domain.BlockingEvent;
@@ -43,12 +38,13 @@ import org.eclipselabs.garbagecat.domain.YoungData;
 import org.eclipselabs.garbagecat.domain.jdk.ApplicationStoppedTimeEvent;
 import org.eclipselabs.garbagecat.domain.jdk.unified.SafepointEventSummary;
 import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedSafepointEvent;
+import org.eclipselabs.garbagecat.util.EnumSetList;
+import org.eclipselabs.garbagecat.util.Histogram;
 import org.eclipselabs.garbagecat.util.Memory;
 import org.eclipselabs.garbagecat.util.jdk.Analysis;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil.CollectorFamily;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
-import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedSafepoint;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedSafepoint.Trigger;
 
 /**
@@ -59,23 +55,153 @@ import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedSafepoint.Trigger;
  * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
  * 
  */
-public class JvmDao {
-
-    private static final Comparator<BlockingEvent> COMPARE_BY_TIMESTAMP = comparing(BlockingEvent::getTimestamp);
+public class JvmDao implements Closeable {
 
     /**
-     * The database connection.
+     * Immutable view of the stored events and the values derived from them, read without locks or copies until the
+     * data store is modified.
      */
-    private static Connection connection;
+    private static final class Snapshot {
+
+        /**
+         * <code>BlockingEvent</code>s sorted by timestamp.
+         */
+        final List<BlockingEvent> blockingEvents;
+
+        /**
+         * <code>BlockingEvent</code>s sorted by timestamp, created without parsing if stored off the heap.
+         */
+        final List<BlockingEvent> hydratedBlockingEvents;
+
+        /**
+         * <code>SafepointEvent</code>s.
+         */
+        final List<SafepointEvent> safepointEvents;
+
+        /**
+         * The first and last <code>SafepointEvent</code>, preferring unified safepoint events, or null if none.
+         */
+        final SafepointEvent firstSafepointEvent;
+
+        final SafepointEvent lastSafepointEvent;
+
+        /**
+         * <code>BlockingEvent</code> pause (microseconds) histograms by event type.
+         */
+        final Map<LogEventType, Histogram> gcPauseHistograms = new EnumMap<>(LogEventType.class);
+
+        final long gcPauseMax;
+
+        final long gcPauseTotal;
+
+        /**
+         * Maximum heap, perm/metaspace, and generation sizes (kilobytes).
+         */
+        final int maxHeapAfterGc;
+
+        final int maxHeapOccupancy;
+
+        final int maxHeapSpace;
+
+        final int maxOldSpace;
+
+        final int maxPermAfterGc;
+
+        final int maxPermOccupancy;
+
+        final int maxPermSpace;
+
+        final int maxYoungSpace;
+
+        final List<SafepointEventSummary> safepointEventSummaries;
+
+        final int stoppedTimeEventCount;
+
+        final Histogram stoppedTimeHistogram = new Histogram();
+
+        final long stoppedTimeMax;
+
+        final long stoppedTimeTotal;
+
+        final int unifiedSafepointEventCount;
+
+        final Histogram unifiedSafepointHistogram = new Histogram();
+
+        final long unifiedSafepointTimeMax;
+
+        final long unifiedSafepointTimeTotal;
+
+        /**
+         * @param dao
+         *            The data store, locked and with <code>BlockingEvent</code>s sorted.
+         */
+        Snapshot(JvmDao dao) {
+            blockingEvents = Collections.unmodifiableList(dao.blockingEvents);
+            hydratedBlockingEvents = dao.blockingEvents instanceof StoredBlockingEventList
+                    ? ((StoredBlockingEventList) dao.blockingEvents).getHydratedEvents()
+                    : blockingEvents;
+            safepointEvents = Collections.unmodifiableList(
+                    dao.stoppedTimeEvents.isEmpty() ? dao.unifiedSafepointEvents : dao.stoppedTimeEvents);
+            List<? extends SafepointEvent> preferred = dao.unifiedSafepointEvents.isEmpty() ? dao.stoppedTimeEvents
+                    : dao.unifiedSafepointEvents;
+            firstSafepointEvent = preferred.isEmpty() ? null : preferred.get(0);
+            lastSafepointEvent = preferred.isEmpty() ? null : preferred.get(preferred.size() - 1);
+            dao.gcPauseHistograms.forEach((eventType, histogram) -> {
+                Histogram copy = new Histogram();
+                copy.merge(histogram);
+                gcPauseHistograms.put(eventType, copy);
+            });
+            gcPauseMax = dao.gcPauseMax == NO_DATA ? 0 : dao.gcPauseMax;
+            gcPauseTotal = dao.gcPauseTotal;
+            maxHeapAfterGc = Math.max(kilobytes(dao.maxHeapAfterGcOld), kilobytes(dao.maxHeapAfterGcCombined));
+            maxHeapOccupancy = kilobytes(dao.maxHeapOccupancy);
+            maxHeapSpace = kilobytes(dao.maxHeapSpace);
+            maxOldSpace = kilobytes(dao.maxOldSpace);
+            maxPermAfterGc = kilobytes(dao.maxPermAfterGc);
+            maxPermOccupancy = kilobytes(dao.maxPermOccupancy);
+            maxPermSpace = kilobytes(dao.maxPermSpace);
+            maxYoungSpace = kilobytes(dao.maxYoungSpace);
+            long max = 0;
+            long total = 0;
+            for (ApplicationStoppedTimeEvent event : dao.stoppedTimeEvents) {
+                max = Math.max(max, event.getDuration());
+                total += event.getDuration();
+            }
+            stoppedTimeEventCount = dao.stoppedTimeEvents.size();
+            stoppedTimeHistogram.merge(dao.stoppedTimeHistogram);
+            stoppedTimeMax = max;
+            stoppedTimeTotal = total;
+            // Group by trigger (in order of first appearance): count, total, max
+            Map<Trigger, long[]> triggers = new LinkedHashMap<>();
+            max = 0;
+            total = 0;
+            for (UnifiedSafepointEvent event : dao.unifiedSafepointEvents) {
+                long[] totals = triggers.computeIfAbsent(event.getTrigger(), trigger -> new long[3]);
+                totals[0]++;
+                totals[1] += event.getDuration();
+                totals[2] = Math.max(totals[2], event.getDuration());
+                max = Math.max(max, event.getDuration());
+                total += event.getDuration();
+            }
+            List<SafepointEventSummary> summaries = new ArrayList<SafepointEventSummary>();
+            triggers.entrySet().stream().sorted(comparing((Map.Entry<Trigger, long[]> e) -> e.getValue()[1]).reversed())
+                    .forEach(e -> summaries.add(new SafepointEventSummary(e.getKey(), e.getValue()[0],
+                            JdkMath.convertMicrosToMillis(e.getValue()[1]).longValue(),
+                            JdkMath.convertMicrosToMillis(e.getValue()[2]).intValue())));
+            safepointEventSummaries = Collections.unmodifiableList(summaries);
+            unifiedSafepointEventCount = dao.unifiedSafepointEvents.size();
+            unifiedSafepointHistogram.merge(dao.unifiedSafepointHistogram);
+            unifiedSafepointTimeMax = max;
+            unifiedSafepointTimeTotal = total;
+        }
+    }
 
-    private static boolean created;
+    private static final Comparator<BlockingEvent> COMPARE_BY_TIMESTAMP = comparing(BlockingEvent::getTimestamp);
 
     /**
-     * SQL statement(s) to create table.
+     * Initial value for maximums maintained as <code>BlockingEvent</code>s are added.
      */
-    private static final String[] TABLES_CREATE_SQL = {
-            "create table safepoint_event (id integer identity, time_stamp bigint, trigger_type varchar(64), "
-                    + "duration integer, log_entry varchar(500))" };
+    static final long NO_DATA = Long.MIN_VALUE;
 
     private static Memory add(Memory m1, Memory m2) {
         return m1 == null ? nullSafe(m2) : m1.plus(nullSafe(m2));
@@ -85,72 +211,149 @@ public class JvmDao {
         return list.stream().map(function).filter(Objects::nonNull);
     }
 
-    private static <T> Stream<Long> longs(List<T> list, Function<T, Long> function) {
-        return list.stream().map(function).filter(Objects::nonNull);
-    }
-
-    private static Memory nullSafe(Memory memory) {
-        return memory == null ? ZERO : memory;
+    private static int kilobytes(long max) {
+        return max == NO_DATA ? 0 : (int) max;
     }
 
-    private static BlockingEvent toBlockingEvent(BlockingEvent e) {
-        return e;
+    private static long max(long max, Memory memory) {
+        return memory == null ? max : Math.max(max, memory.getValue(KILOBYTES));
     }
 
-    private static SafepointEvent toSafepointEvent(SafepointEvent e) {
-        return e;
+    private static Memory nullSafe(Memory memory) {
+        return memory == null ? ZERO : memory;
     }
 
     /**
      * Analysis property keys.
      */
-    private List<Analysis> analysis = new ArrayList<>();
+    private List<Analysis> analysis = new EnumSetList<>(Analysis.class);
+
+    /**
+     * Allocation and promotion rates.
+     */
+    AllocationRates allocationRates = new AllocationRates();
 
     /**
      * GC events that are blocking.
      */
-    private List<BlockingEvent> blockingEvents = new ArrayList<>();
+    List<BlockingEvent> blockingEvents = new ArrayList<>();
+
+    /**
+     * Whether or not <code>BlockingEvent</code>s were added in timestamp order. Logging that is out of order is sorted
+     * once before it is read.
+     */
+    boolean blockingEventsOrdered = true;
 
     /**
      * Collector families for JVM run.
      */
-    List<CollectorFamily> collectorFamilies = new ArrayList<>();
+    List<CollectorFamily> collectorFamilies = new EnumSetList<>(CollectorFamily.class);
 
     /**
      * List of all event types associate with JVM run.
      */
-    List<LogEventType> eventTypes = new ArrayList<>();
+    List<LogEventType> eventTypes = new EnumSetList<>(LogEventType.class);
+
+    /**
+     * GC CPU time.
+     */
+    GcCpu gcCpu = new GcCpu();
+
+    /**
+     * <code>BlockingEvent</code> pause (microseconds) histograms by event type.
+     */
+    EnumMap<LogEventType, Histogram> gcPauseHistograms = new EnumMap<>(LogEventType.class);
+
+    /**
+     * Maximum <code>BlockingEvent</code> pause (microseconds).
+     */
+    long gcPauseMax = NO_DATA;
+
+    /**
+     * Total <code>BlockingEvent</code> pause (microseconds).
+     */
+    long gcPauseTotal;
 
     /**
      * Number of <code>ParallelCollection</code> with "inverted" parallelism.
      */
     private long invertedParallelismCount;
 
+    /**
+     * Maximum <code>CombinedData</code> heap after GC (kilobytes).
+     */
+    long maxHeapAfterGcCombined = NO_DATA;
+
+    /**
+     * Maximum <code>OldData</code> heap after GC (kilobytes).
+     */
+    long maxHeapAfterGcOld = NO_DATA;
+
+    /**
+     * Maximum <code>BlockingEvent</code> heap occupancy (kilobytes).
+     */
+    long maxHeapOccupancy = NO_DATA;
+
     /**
      * Used for tracking max heap occupancy outside of <code>BlockingEvent</code>s.
      */
     private int maxHeapOccupancyNonBlocking;
 
+    /**
+     * Maximum <code>BlockingEvent</code> heap space (kilobytes).
+     */
+    long maxHeapSpace = NO_DATA;
+
     /**
      * Used for tracking max heap space outside of <code>BlockingEvent</code>s.
      */
     private int maxHeapSpaceNonBlocking;
 
+    /**
+     * Maximum old space (kilobytes).
+     */
+    long maxOldSpace = NO_DATA;
+
+    /**
+     * Maximum perm/metaspace after GC (kilobytes).
+     */
+    long maxPermAfterGc = NO_DATA;
+
+    /**
+     * Maximum <code>BlockingEvent</code> perm/metaspace occupancy (kilobytes).
+     */
+    long maxPermOccupancy = NO_DATA;
+
     /**
      * Used for tracking max perm occupancy outside of <code>BlockingEvent</code>s.
      */
     private int maxPermOccupancyNonBlocking;
 
+    /**
+     * Maximum <code>BlockingEvent</code> perm/metaspace space (kilobytes).
+     */
+    long maxPermSpace = NO_DATA;
+
     /**
      * Used for tracking max perm space outside of <code>BlockingEvent</code>s.
      */
     private int maxPermSpaceNonBlocking;
 
+    /**
+     * Maximum young space (kilobytes).
+     */
+    long maxYoungSpace = NO_DATA;
+
     /**
      * JVM memory information.
      */
     private String memory;
 
+    /**
+     * Old generation occupancy after old collections fit over time.
+     */
+    OldGenerationTrend oldGenerationTrend = new OldGenerationTrend();
+
     /**
      * The JVM options for the JVM run.
      */
@@ -171,10 +374,25 @@ public class JvmDao {
      */
     private long physicalMemoryFree;
 
+    /**
+     * Minute, hour, and day rollups of pauses, safepoint time, and heap after GC.
+     */
+    TimeRollup rollup = new TimeRollup();
+
+    /**
+     * Immutable view of the stored events, or null if not frozen since the data store was last modified.
+     */
+    private volatile Snapshot snapshot;
+
     /**
      * Stopped time events.
      */
-    private List<ApplicationStoppedTimeEvent> stoppedTimeEvents = new ArrayList<>();
+    List<ApplicationStoppedTimeEvent> stoppedTimeEvents = new ArrayList<>();
+
+    /**
+     * Stopped time event pause (microseconds) histogram.
+     */
+    Histogram stoppedTimeHistogram = new Histogram();
 
     /**
      * Swap size (bytes).
@@ -188,15 +406,25 @@ public class JvmDao {
      */
     private long swapFree;
 
+    /**
+     * Time to safepoint by safepoint trigger.
+     */
+    TimeToSafepoint timeToSafepoint = new TimeToSafepoint();
+
     /**
      * Logging lines that do not match any known GC events.
      */
-    private List<String> unidentifiedLogLines = new ArrayList<>();
+    UnidentifiedLogLines unidentifiedLogLines = new UnidentifiedLogLines();
 
     /**
      * Safepoint events.
      */
-    private List<UnifiedSafepointEvent> unifiedSafepointEvents = new ArrayList<>();
+    List<UnifiedSafepointEvent> unifiedSafepointEvents = new ArrayList<>();
+
+    /**
+     * Unified safepoint event pause (microseconds) histogram.
+     */
+    Histogram unifiedSafepointHistogram = new Histogram();
 
     /**
      * JVM version.
@@ -209,75 +437,133 @@ public class JvmDao {
     private LogEvent worstInvertedParallelismEvent;
 
     public JvmDao() {
-        if (created) {
-            cleanup();
-        } else {
-            created = true;
-        }
-        try {
-            // Load database driver.
-            Class.forName("org.hsqldb.jdbcDriver");
-        } catch (ClassNotFoundException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Failed to load HSQLDB JDBC driver.");
-        }
-
-        try {
-            // Connect to database.
-            connection = DriverManager.getConnection("jdbc:hsqldb:mem:vmdb", "sa", "");
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error accessing database.");
-        }
+        this(false);
+    }
 
-        // Create tables
-        Statement statement = null;
-        try {
-            statement = connection.createStatement();
-            for (int i = 0; i < TABLES_CREATE_SQL.length; i++) {
-                statement.executeUpdate(TABLES_CREATE_SQL[i]);
-            }
-        } catch (SQLException e) {
-            if (e.getMessage().startsWith("Table already exists")) {
-                cleanup();
-            } else {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error creating tables.");
-            }
-        } finally {
-            try {
-                statement.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing Statement.");
-            }
+    /**
+     * @param spill
+     *            Whether or not to spill <code>BlockingEvent</code>s, stopped time events, and safepoint events to
+     *            memory-mapped temporary files instead of keeping them on the heap.
+     */
+    public JvmDao(boolean spill) {
+        if (spill) {
+            blockingEvents = new MappedBlockingEventList();
+            stoppedTimeEvents = new MappedSafepointEventList.StoppedTimeEventList();
+            unifiedSafepointEvents = new MappedSafepointEventList.UnifiedSafepointEventList();
         }
     }
 
     public void addAnalysis(Analysis analysis) {
-        if (!this.analysis.contains(analysis)) {
-            this.analysis.add(analysis);
-        }
+        this.analysis.add(analysis);
     }
 
     public void addBlockingEvent(BlockingEvent event) {
-        blockingEvents.add(insertPosition(event), event);
+        thaw();
+        if (blockingEventsOrdered && !blockingEvents.isEmpty()
+                && COMPARE_BY_TIMESTAMP.compare(blockingEvents.get(blockingEvents.size() - 1), event) > 0) {
+            blockingEventsOrdered = false;
+        }
+        blockingEvents.add(event);
+        recordGcPause(event.getEventType(), event.getDuration());
+        gcPauseTotal += event.getDuration();
+        gcPauseMax = Math.max(gcPauseMax, event.getDuration());
+        long heapAfterGc = NO_DATA;
+        if (event instanceof OldData) {
+            OldData old = (OldData) event;
+            heapAfterGc = max(heapAfterGc, add(old.getYoungOccupancyEnd(), old.getOldOccupancyEnd()));
+            maxHeapAfterGcOld = Math.max(maxHeapAfterGcOld, heapAfterGc);
+            maxHeapOccupancy = max(maxHeapOccupancy, add(old.getYoungOccupancyInit(), old.getOldOccupancyInit()));
+            maxHeapSpace = max(maxHeapSpace, add(old.getYoungSpace(), old.getOldSpace()));
+            maxOldSpace = max(maxOldSpace, old.getOldSpace());
+        } else if (event instanceof CombinedData) {
+            maxHeapOccupancy = max(maxHeapOccupancy, ((CombinedData) event).getCombinedOccupancyInit());
+            maxHeapSpace = max(maxHeapSpace, ((CombinedData) event).getCombinedSpace());
+        } else {
+            maxHeapOccupancy = max(maxHeapOccupancy, ZERO);
+            maxHeapSpace = max(maxHeapSpace, ZERO);
+        }
+        if (event instanceof CombinedData) {
+            maxHeapAfterGcCombined = max(maxHeapAfterGcCombined, ((CombinedData) event).getCombinedOccupancyEnd());
+            heapAfterGc = max(heapAfterGc, ((CombinedData) event).getCombinedOccupancyEnd());
+        }
+        if (event instanceof PermMetaspaceData) {
+            PermMetaspaceData perm = (PermMetaspaceData) event;
+            maxPermAfterGc = max(maxPermAfterGc, perm.getPermOccupancyEnd());
+            maxPermOccupancy = max(maxPermOccupancy, perm.getPermOccupancyInit());
+            maxPermSpace = max(maxPermSpace, perm.getPermSpace());
+        }
+        if (event instanceof YoungData) {
+            maxYoungSpace = max(maxYoungSpace, ((YoungData) event).getYoungSpace());
+        }
+        rollup.recordPause(event.getTimestamp(), event.getDuration(), heapAfterGc);
+        rollup.recordGcCpu(event.getTimestamp(), gcCpu.record(event));
+        allocationRates.record(event);
+        oldGenerationTrend.record(event);
+    }
+
+    /**
+     * Record the heap sizes of a concurrent (non-blocking) event for allocation rates.
+     * 
+     * @param event
+     *            The concurrent event.
+     */
+    public void addConcurrentEvent(LogEvent event) {
+        allocationRates.record(event);
     }
 
     public void addSafepointEvent(UnifiedSafepointEvent event) {
+        thaw();
         unifiedSafepointEvents.add(event);
+        unifiedSafepointHistogram.record(event.getDuration());
+        timeToSafepoint.record(event.getTrigger() == null ? Trigger.UNKNOWN : event.getTrigger(),
+                event.getTimestamp(), event.getTimeToStopThreads(), event.getDuration(), event.getLogEntry());
+        rollup.recordSafepoint(event.getTimestamp(), event.getDuration());
     }
 
     public void addStoppedTimeEvent(ApplicationStoppedTimeEvent event) {
+        thaw();
         stoppedTimeEvents.add(event);
+        stoppedTimeHistogram.record(event.getDuration());
+        timeToSafepoint.record(null, event.getTimestamp(), event.getTimeToStopThreads(), event.getDuration(),
+                event.getLogEntry());
+        rollup.recordSafepoint(event.getTimestamp(), event.getDuration());
+    }
+
+    /**
+     * Release the events stored off the heap (e.g. temporary files or a sidecar file). The data store cannot be used
+     * after it is closed.
+     */
+    public synchronized void close() {
+        try {
+            if (blockingEvents instanceof StoredBlockingEventList) {
+                ((StoredBlockingEventList) blockingEvents).close();
+            }
+        } finally {
+            try {
+                if (stoppedTimeEvents instanceof MappedSafepointEventList) {
+                    ((MappedSafepointEventList<?>) stoppedTimeEvents).close();
+                }
+            } finally {
+                if (unifiedSafepointEvents instanceof MappedSafepointEventList) {
+                    ((MappedSafepointEventList<?>) unifiedSafepointEvents).close();
+                }
+            }
+        }
     }
 
     /**
-     * Cleanup operations.
+     * Cleanup operations: drop all stored data and release the events stored off the heap, leaving an empty data store
+     * that spills events if this one did.
      */
     public synchronized void cleanup() {
-        this.blockingEvents.clear();
-        JvmDao.created = false;
+        load(new JvmDao(blockingEvents instanceof MappedBlockingEventList));
+    }
+
+    /**
+     * @return The allocation and promotion rates.
+     */
+    public AllocationRates getAllocationRates() {
+        return allocationRates;
     }
 
     public List<Analysis> getAnalysis() {
@@ -289,8 +575,8 @@ public class JvmDao {
      * 
      * @return total number of blocking events.
      */
-    public synchronized int getBlockingEventCount() {
-        return this.blockingEvents.size();
+    public int getBlockingEventCount() {
+        return snapshot().blockingEvents.size();
     }
 
     /**
@@ -298,8 +584,18 @@ public class JvmDao {
      * 
      * @return <code>List</code> of events.
      */
-    public synchronized List<BlockingEvent> getBlockingEvents() {
-        return this.blockingEvents.stream().map(JvmDao::toBlockingEvent).collect(toList());
+    public List<BlockingEvent> getBlockingEvents() {
+        return snapshot().blockingEvents;
+    }
+
+    /**
+     * Retrieve all <code>BlockingEvent</code>s for analysis that only needs the timestamp, duration, and log entry.
+     * Events stored off the heap are created from those values without parsing the log entry.
+     * 
+     * @return <code>List</code> of events.
+     */
+    public List<BlockingEvent> getHydratedBlockingEvents() {
+        return snapshot().hydratedBlockingEvents;
     }
 
     /**
@@ -309,9 +605,47 @@ public class JvmDao {
      *            The event type to retrieve.
      * @return <code>List</code> of events.
      */
-    public synchronized List<BlockingEvent> getBlockingEvents(LogEventType eventType) {
-        return this.blockingEvents.stream().filter(e -> e.getName().equals(eventType.toString()))
-                .map(JvmDao::toBlockingEvent).collect(toList());
+    public List<BlockingEvent> getBlockingEvents(LogEventType eventType) {
+        List<BlockingEvent> events = new ArrayList<>();
+        for (BlockingEvent event : snapshot().blockingEvents) {
+            if (event.getEventType() == eventType) {
+                events.add(event);
+            }
+        }
+        return events;
+    }
+
+    /**
+     * @return The GC CPU time.
+     */
+    public GcCpu getGcCpu() {
+        return gcCpu;
+    }
+
+    /**
+     * The <code>BlockingEvent</code> pause histogram for all event types.
+     * 
+     * @return pause duration (microseconds) histogram.
+     */
+    public Histogram getGcPauseHistogram() {
+        Histogram histogram = new Histogram();
+        snapshot().gcPauseHistograms.values().forEach(histogram::merge);
+        return histogram;
+    }
+
+    /**
+     * The <code>BlockingEvent</code> pause histograms by event type.
+     * 
+     * @return pause duration (microseconds) histograms, in <code>LogEventType</code> order.
+     */
+    public Map<LogEventType, Histogram> getGcPauseHistograms() {
+        Map<LogEventType, Histogram> histograms = new EnumMap<>(LogEventType.class);
+        snapshot().gcPauseHistograms.forEach((eventType, histogram) -> {
+            Histogram copy = new Histogram();
+            copy.merge(histogram);
+            histograms.put(eventType, copy);
+        });
+        return histograms;
     }
 
     public List<CollectorFamily> getCollectorFamilies() {
@@ -329,9 +663,10 @@ public class JvmDao {
      * 
      * @return The first blocking event.
      */
-    public synchronized BlockingEvent getFirstGcEvent() {
+    public BlockingEvent getFirstGcEvent() {
         // TODO JdkUtil#parseLogLine no longer needed?
-        return this.blockingEvents.isEmpty() ? null : this.blockingEvents.get(0);
+        List<BlockingEvent> blockingEvents = snapshot().blockingEvents;
+        return blockingEvents.isEmpty() ? null : blockingEvents.get(0);
     }
 
     /**
@@ -339,32 +674,8 @@ public class JvmDao {
      * 
      * @return The first <code>SafepointEvent</code>.
      */
-    public synchronized SafepointEvent getFirstSafepointEvent() {
-        SafepointEvent firstSafepointEvent = null;
-        if (!unifiedSafepointEvents.isEmpty()) {
-            firstSafepointEvent = getFirstUnifiedSafepointEvent();
-        } else if (!stoppedTimeEvents.isEmpty()) {
-            firstSafepointEvent = getFirstStoppedEvent();
-        }
-        return firstSafepointEvent;
-    }
-
-    /**
-     * The first {@link org.eclipselabs.garbagecat.domain.jdk.ApplicationStoppedTimeEvent}.
-     * 
-     * @return The first stopped event.
-     */
-    private synchronized ApplicationStoppedTimeEvent getFirstStoppedEvent() {
-        return stoppedTimeEvents.isEmpty() ? null : stoppedTimeEvents.get(0);
-    }
-
-    /**
-     * The first {@link org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedSafepointEvent}.
-     * 
-     * @return The first unified safepoint event.
-     */
-    private synchronized UnifiedSafepointEvent getFirstUnifiedSafepointEvent() {
-        return unifiedSafepointEvents.isEmpty() ? null : unifiedSafepointEvents.get(0);
+    public SafepointEvent getFirstSafepointEvent() {
+        return snapshot().firstSafepointEvent;
     }
 
     /**
@@ -372,8 +683,8 @@ public class JvmDao {
      * 
      * @return total pause duration (microseconds).
      */
-    public synchronized long getGcPauseTotal() {
-        return longs(this.blockingEvents, BlockingEvent::getDuration).collect(summingLong(Long::valueOf));
+    public long getGcPauseTotal() {
+        return snapshot().gcPauseTotal;
     }
 
     /**
@@ -390,8 +701,9 @@ public class JvmDao {
      * 
      * @return The last blocking event.
      */
-    public synchronized BlockingEvent getLastGcEvent() {
-        return this.blockingEvents.isEmpty() ? null : this.blockingEvents.get(blockingEvents.size() - 1);
+    public BlockingEvent getLastGcEvent() {
+        List<BlockingEvent> blockingEvents = snapshot().blockingEvents;
+        return blockingEvents.isEmpty() ? null : blockingEvents.get(blockingEvents.size() - 1);
     }
 
     /**
@@ -399,32 +711,8 @@ public class JvmDao {
      * 
      * @return The last safepoint event.
      */
-    public synchronized SafepointEvent getLastSafepointEvent() {
-        SafepointEvent lastSafepointEvent = null;
-        if (!unifiedSafepointEvents.isEmpty()) {
-            lastSafepointEvent = getLastUnifiedSafepointEvent();
-        } else if (!stoppedTimeEvents.isEmpty()) {
-            lastSafepointEvent = getLastStoppedEvent();
-        }
-        return lastSafepointEvent;
-    }
-
-    /**
-     * Retrieve the last stopped event.
-     * 
-     * @return The last stopped event.
-     */
-    private synchronized ApplicationStoppedTimeEvent getLastStoppedEvent() {
-        return stoppedTimeEvents.isEmpty() ? null : stoppedTimeEvents.get(stoppedTimeEvents.size() - 1);
-    }
-
-    /**
-     * Retrieve the last safepoint event.
-     * 
-     * @return The last safepoint event.
-     */
-    private synchronized UnifiedSafepointEvent getLastUnifiedSafepointEvent() {
-        return unifiedSafepointEvents.isEmpty() ? null : unifiedSafepointEvents.get(unifiedSafepointEvents.size() - 1);
+    public SafepointEvent getLastSafepointEvent() {
+        return snapshot().lastSafepointEvent;
     }
 
     /**
@@ -432,8 +720,8 @@ public class JvmDao {
      * 
      * @return maximum pause duration (microseconds).
      */
-    public synchronized long getMaxGcPause() {
-        return longs(this.blockingEvents, BlockingEvent::getDuration).mapToLong(Long::valueOf).max().orElse(0);
+    public long getMaxGcPause() {
+        return snapshot().gcPauseMax;
     }
 
     /**
@@ -441,12 +729,8 @@ public class JvmDao {
      * 
      * @return maximum heap after GC (kilobytes).
      */
-    public synchronized int getMaxHeapAfterGc() {
-        int oldMaxHeapAfterGc = (int) kilobytes(OldData.class,
-                t -> add(t.getYoungOccupancyEnd(), t.getOldOccupancyEnd())).max().orElse(0);
-        int combinedMaxHeapAfterGc = (int) kilobytes(CombinedData.class, CombinedData::getCombinedOccupancyEnd).max()
-                .orElse(0);
-        return Math.max(oldMaxHeapAfterGc, combinedMaxHeapAfterGc);
+    public int getMaxHeapAfterGc() {
+        return snapshot().maxHeapAfterGc;
     }
 
     /**
@@ -454,20 +738,8 @@ public class JvmDao {
      * 
      * @return maximum heap occupancy (kilobytes).
      */
-    public synchronized int getMaxHeapOccupancy() {
-        return (int) this.blockingEvents.stream() //
-                .map(e -> {
-                    if (e instanceof OldData) {
-                        OldData old = (OldData) e;
-                        return add(old.getYoungOccupancyInit(), old.getOldOccupancyInit());
-                    } else if (e instanceof CombinedData) {
-                        return ((CombinedData) e).getCombinedOccupancyInit();
-                    } else {
-                        return ZERO;
-                    }
-                }) //
-                .filter(Objects::nonNull) //
-                .mapToLong(m -> m.getValue(KILOBYTES)).max().orElse(0);
+    public int getMaxHeapOccupancy() {
+        return snapshot().maxHeapOccupancy;
     }
 
     /**
@@ -482,20 +754,8 @@ public class JvmDao {
      * 
      * @return maximum heap size (kilobytes).
      */
-    public synchronized int getMaxHeapSpace() {
-        return (int) this.blockingEvents.stream() //
-                .map(e -> {
-                    if (e instanceof OldData) {
-                        OldData old = (OldData) e;
-                        return add(old.getYoungSpace(), old.getOldSpace());
-                    } else if (e instanceof CombinedData) {
-                        return ((CombinedData) e).getCombinedSpace();
-                    } else {
-                        return ZERO;
-                    }
-                }) //
-                .filter(Objects::nonNull) //
-                .mapToLong(m -> m.getValue(KILOBYTES)).max().orElse(0);
+    public int getMaxHeapSpace() {
+        return snapshot().maxHeapSpace;
     }
 
     /**
@@ -510,8 +770,8 @@ public class JvmDao {
      * 
      * @return maximum old space size (kilobytes).
      */
-    public synchronized int getMaxOldSpace() {
-        return (int) kilobytes(OldData.class, OldData::getOldSpace).max().orElse(0);
+    public int getMaxOldSpace() {
+        return snapshot().maxOldSpace;
     }
 
     /**
@@ -519,8 +779,8 @@ public class JvmDao {
      * 
      * @return maximum perm/metaspac after GC (kilobytes).
      */
-    public synchronized int getMaxPermAfterGc() {
-        return (int) kilobytes(PermMetaspaceData.class, PermMetaspaceData::getPermOccupancyEnd).max().orElse(0);
+    public int getMaxPermAfterGc() {
+        return snapshot().maxPermAfterGc;
     }
 
     /**
@@ -528,8 +788,8 @@ public class JvmDao {
      * 
      * @return maximum perm/metaspac occupancy (kilobytes).
      */
-    public synchronized int getMaxPermOccupancy() {
-        return (int) kilobytes(PermMetaspaceData.class, PermMetaspaceData::getPermOccupancyInit).max().orElse(0);
+    public int getMaxPermOccupancy() {
+        return snapshot().maxPermOccupancy;
     }
 
     /**
@@ -544,8 +804,8 @@ public class JvmDao {
      * 
      * @return maximum perm/metaspace footprint (kilobytes).
      */
-    public synchronized int getMaxPermSpace() {
-        return (int) kilobytes(PermMetaspaceData.class, PermMetaspaceData::getPermSpace).max().orElse(0);
+    public int getMaxPermSpace() {
+        return snapshot().maxPermSpace;
     }
 
     /**
@@ -560,8 +820,8 @@ public class JvmDao {
      * 
      * @return maximum young space size (kilobytes).
      */
-    public synchronized int getMaxYoungSpace() {
-        return (int) kilobytes(YoungData.class, YoungData::getYoungSpace).max().orElse(0);
+    public int getMaxYoungSpace() {
+        return snapshot().maxYoungSpace;
     }
 
     /**
@@ -571,6 +831,13 @@ public class JvmDao {
         return memory;
     }
 
+    /**
+     * @return The old generation occupancy after old collections fit over time.
+     */
+    public OldGenerationTrend getOldGenerationTrend() {
+        return oldGenerationTrend;
+    }
+
     /**
      * @return The JVM options.
      */
@@ -599,17 +866,22 @@ public class JvmDao {
         return physicalMemoryFree;
     }
 
+    /**
+     * The minute, hour, and day rollups of pauses, safepoint time, and heap after GC.
+     * 
+     * @return The rollups.
+     */
+    public TimeRollup getRollup() {
+        return rollup;
+    }
+
     /**
      * Retrieve all <code>SafepointEvent</code>s.
      * 
      * @return <code>List</code> of events.
      */
-    public synchronized List<SafepointEvent> getSafepointEvents() {
-        if (!this.stoppedTimeEvents.isEmpty()) {
-            return this.stoppedTimeEvents.stream().map(JvmDao::toSafepointEvent).collect(toList());
-        } else {
-            return this.unifiedSafepointEvents.stream().map(JvmDao::toSafepointEvent).collect(toList());
-        }
+    public List<SafepointEvent> getSafepointEvents() {
+        return snapshot().safepointEvents;
     }
 
     /**
@@ -617,76 +889,8 @@ public class JvmDao {
      * 
      * @return <code>List</code> of <code>SafepointEventSummary</code>s.
      */
-    public synchronized List<SafepointEventSummary> getSafepointEventSummaries() {
-        List<SafepointEventSummary> safepointEventSummaries = new ArrayList<SafepointEventSummary>();
-
-        PreparedStatement pst = null;
-        try {
-            String sqlInsertSafepointEvent = "insert into safepoint_event (time_stamp, trigger_type, duration, "
-                    + "log_entry) values (?, ?, ?, ?)";
-
-            final int TIME_STAMP_INDEX = 1;
-            final int TRIGGER_TYPE_INDEX = 2;
-            final int DURATION_INDEX = 3;
-            final int LOG_ENTRY_INDEX = 4;
-
-            pst = connection.prepareStatement(sqlInsertSafepointEvent);
-
-            for (int i = 0; i < unifiedSafepointEvents.size(); i++) {
-                UnifiedSafepointEvent event = unifiedSafepointEvents.get(i);
-                pst.setLong(TIME_STAMP_INDEX, event.getTimestamp());
-                // Use trigger for event name
-                pst.setString(TRIGGER_TYPE_INDEX, event.getTrigger().toString());
-                pst.setLong(DURATION_INDEX, event.getDuration());
-                pst.setString(LOG_ENTRY_INDEX, event.getLogEntry());
-                pst.addBatch();
-            }
-            pst.executeBatch();
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error inserting safepoint event.");
-        } finally {
-            try {
-                pst.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closingPreparedStatement.");
-            }
-        }
-
-        Statement statement = null;
-        ResultSet rs = null;
-        try {
-            statement = connection.createStatement();
-            StringBuffer sql = new StringBuffer();
-            sql.append("select trigger_type, count(id), sum(duration), max(duration) from safepoint_event group by "
-                    + "trigger_type order by sum(duration) desc");
-            rs = statement.executeQuery(sql.toString());
-            while (rs.next()) {
-                Trigger trigger = UnifiedSafepoint.identifyTrigger(rs.getString(1));
-                SafepointEventSummary summary = new SafepointEventSummary(trigger, rs.getLong(2),
-                        JdkMath.convertMicrosToMillis(rs.getLong(3)).longValue(),
-                        JdkMath.convertMicrosToMillis(rs.getInt(4)).intValue());
-                safepointEventSummaries.add(summary);
-            }
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error retrieving safepoint event summaries.");
-        } finally {
-            try {
-                rs.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing ResultSet.");
-            }
-            try {
-                statement.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing Statement.");
-            }
-        }
-        return safepointEventSummaries;
+    public List<SafepointEventSummary> getSafepointEventSummaries() {
+        return new ArrayList<SafepointEventSummary>(snapshot().safepointEventSummaries);
     }
 
     /**
@@ -694,8 +898,8 @@ public class JvmDao {
      * 
      * @return total number of stopped time events.
      */
-    public synchronized int getStoppedTimeEventCount() {
-        return this.stoppedTimeEvents.size();
+    public int getStoppedTimeEventCount() {
+        return snapshot().stoppedTimeEventCount;
     }
 
     /**
@@ -703,9 +907,8 @@ public class JvmDao {
      * 
      * @return maximum pause duration (microseconds).
      */
-    public synchronized long getStoppedTimeMax() {
-        return longs(this.stoppedTimeEvents, ApplicationStoppedTimeEvent::getDuration).mapToLong(Long::valueOf).max()
-                .orElse(0);
+    public long getStoppedTimeMax() {
+        return snapshot().stoppedTimeMax;
     }
 
     /**
@@ -713,9 +916,19 @@ public class JvmDao {
      * 
      * @return total pause duration (microseconds).
      */
-    public synchronized long getStoppedTimeTotal() {
-        return longs(this.stoppedTimeEvents, ApplicationStoppedTimeEvent::getDuration)
-                .collect(summingLong(Long::valueOf));
+    public long getStoppedTimeTotal() {
+        return snapshot().stoppedTimeTotal;
+    }
+
+    /**
+     * The stopped time event pause histogram.
+     * 
+     * @return pause duration (microseconds) histogram.
+     */
+    public Histogram getStoppedTimeHistogram() {
+        Histogram histogram = new Histogram();
+        histogram.merge(snapshot().stoppedTimeHistogram);
+        return histogram;
     }
 
     /**
@@ -732,7 +945,14 @@ public class JvmDao {
         return swapFree;
     }
 
-    public List<String> getUnidentifiedLogLines() {
+    /**
+     * @return Time to safepoint by safepoint trigger.
+     */
+    public TimeToSafepoint getTimeToSafepoint() {
+        return timeToSafepoint;
+    }
+
+    public UnidentifiedLogLines getUnidentifiedLogLines() {
         return unidentifiedLogLines;
     }
 
@@ -741,8 +961,8 @@ public class JvmDao {
      * 
      * @return total number of unified safepoint time events.
      */
-    public synchronized int getUnifiedSafepointEventCount() {
-        return this.unifiedSafepointEvents.size();
+    public int getUnifiedSafepointEventCount() {
+        return snapshot().unifiedSafepointEventCount;
     }
 
     /**
@@ -750,9 +970,8 @@ public class JvmDao {
      * 
      * @return maximum pause duration (microseconds).
      */
-    public synchronized long getUnifiedSafepointTimeMax() {
-        return longs(this.unifiedSafepointEvents, UnifiedSafepointEvent::getDuration).mapToLong(Long::valueOf).max()
-                .orElse(0);
+    public long getUnifiedSafepointTimeMax() {
+        return snapshot().unifiedSafepointTimeMax;
     }
 
     /**
@@ -760,9 +979,19 @@ public class JvmDao {
      * 
      * @return total pause duration (microseconds).
      */
-    public synchronized long getUnifiedSafepointTimeTotal() {
-        return longs(this.unifiedSafepointEvents, UnifiedSafepointEvent::getDuration)
-                .collect(summingLong(Long::valueOf));
+    public long getUnifiedSafepointTimeTotal() {
+        return snapshot().unifiedSafepointTimeTotal;
+    }
+
+    /**
+     * The unified safepoint event pause histogram.
+     * 
+     * @return pause duration (microseconds) histogram.
+     */
+    public Histogram getUnifiedSafepointHistogram() {
+        Histogram histogram = new Histogram();
+        histogram.merge(snapshot().unifiedSafepointHistogram);
+        return histogram;
     }
 
     /**
@@ -779,22 +1008,136 @@ public class JvmDao {
         return worstInvertedParallelismEvent;
     }
 
-    private int insertPosition(BlockingEvent event) {
-        int size = blockingEvents.size();
-        if (size > 0 && COMPARE_BY_TIMESTAMP.compare(blockingEvents.get(size - 1), event) <= 0) {
-            return size;
+    /**
+     * Record a <code>BlockingEvent</code> pause in the histogram for its event type.
+     * 
+     * @param eventType
+     *            The event type, or null if not known.
+     * @param duration
+     *            The pause duration (microseconds).
+     */
+    void recordGcPause(LogEventType eventType, long duration) {
+        gcPauseHistograms.computeIfAbsent(eventType == null ? LogEventType.UNKNOWN : eventType, type -> new Histogram())
+                .record(duration);
+    }
+
+    /**
+     * Freeze the stored events into an immutable snapshot (e.g. when storing is done). Until the data store is modified
+     * again, event lists and the values derived from them (e.g. pause totals and histograms) are shared by every reader
+     * without locks or copies, so analysis and reporting can read them from any number of threads. Modifying the data
+     * store after freezing leaves prior snapshots unchanged, except for events spilled off the heap, which must not be
+     * modified while snapshots are in use.
+     */
+    public void freeze() {
+        snapshot();
+    }
+
+    /**
+     * @return The current snapshot, frozen first if the data store was modified since it was last frozen.
+     */
+    private Snapshot snapshot() {
+        Snapshot snapshot = this.snapshot;
+        if (snapshot == null) {
+            synchronized (this) {
+                if (this.snapshot == null) {
+                    sortBlockingEvents();
+                    this.snapshot = new Snapshot(this);
+                }
+                snapshot = this.snapshot;
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Detach the event lists from the current snapshot before the data store is modified, so the snapshot stays
+     * immutable. Lists on the heap are copied once per freeze, not per read. Lists spilled off the heap are appended to
+     * in place.
+     */
+    private void thaw() {
+        if (snapshot != null) {
+            synchronized (this) {
+                if (!(blockingEvents instanceof StoredBlockingEventList)) {
+                    blockingEvents = new ArrayList<>(blockingEvents);
+                }
+                if (!(stoppedTimeEvents instanceof MappedSafepointEventList)) {
+                    stoppedTimeEvents = new ArrayList<>(stoppedTimeEvents);
+                }
+                if (!(unifiedSafepointEvents instanceof MappedSafepointEventList)) {
+                    unifiedSafepointEvents = new ArrayList<>(unifiedSafepointEvents);
+                }
+                snapshot = null;
+            }
+        }
+    }
+
+    /**
+     * Sort <code>BlockingEvent</code>s by timestamp if they were not added in order (e.g. reordered logging). The sort
+     * is stable (events with the same timestamp keep the order they were added) and runs in linear time on logging
+     * that is already sorted or made up of a few sorted runs.
+     */
+    void sortBlockingEvents() {
+        if (!blockingEventsOrdered) {
+            if (blockingEvents instanceof MappedBlockingEventList) {
+                ((MappedBlockingEventList) blockingEvents).sortByTimestamp();
+            } else {
+                blockingEvents.sort(COMPARE_BY_TIMESTAMP);
+            }
+            blockingEventsOrdered = true;
         }
-        // here we could raise an Exception: Add param boolean reorderingAllowed to method
-        // if (!reorderingAllowed) throw new TimeWarpException("bad order")
-        return -binarySearch(blockingEvents, event, COMPARE_BY_TIMESTAMP) - 1;
     }
 
-    private <T> LongStream kilobytes(Class<T> clazz, Function<T, Memory> func) {
-        return this.blockingEvents.stream() //
-                .filter(clazz::isInstance) //
-                .map(clazz::cast).map(func) //
-                .filter(Objects::nonNull) //
-                .mapToLong(m -> m.getValue(KILOBYTES));
+    /**
+     * Replace all data with the data from another data store (e.g. one loaded from a sidecar file).
+     * 
+     * @param other
+     *            The data store to copy.
+     */
+    synchronized void load(JvmDao other) {
+        // All event lists are replaced, so the current snapshot is dropped, not detached
+        snapshot = null;
+        close();
+        allocationRates = other.allocationRates;
+        analysis = other.analysis;
+        blockingEvents = other.blockingEvents;
+        blockingEventsOrdered = other.blockingEventsOrdered;
+        collectorFamilies = other.collectorFamilies;
+        eventTypes = other.eventTypes;
+        gcCpu = other.gcCpu;
+        gcPauseHistograms = other.gcPauseHistograms;
+        gcPauseMax = other.gcPauseMax;
+        gcPauseTotal = other.gcPauseTotal;
+        invertedParallelismCount = other.invertedParallelismCount;
+        maxHeapAfterGcCombined = other.maxHeapAfterGcCombined;
+        maxHeapAfterGcOld = other.maxHeapAfterGcOld;
+        maxHeapOccupancy = other.maxHeapOccupancy;
+        maxHeapOccupancyNonBlocking = other.maxHeapOccupancyNonBlocking;
+        maxHeapSpace = other.maxHeapSpace;
+        maxHeapSpaceNonBlocking = other.maxHeapSpaceNonBlocking;
+        maxOldSpace = other.maxOldSpace;
+        maxPermAfterGc = other.maxPermAfterGc;
+        maxPermOccupancy = other.maxPermOccupancy;
+        maxPermOccupancyNonBlocking = other.maxPermOccupancyNonBlocking;
+        maxPermSpace = other.maxPermSpace;
+        maxPermSpaceNonBlocking = other.maxPermSpaceNonBlocking;
+        maxYoungSpace = other.maxYoungSpace;
+        memory = other.memory;
+        oldGenerationTrend = other.oldGenerationTrend;
+        options = other.options;
+        parallelCount = other.parallelCount;
+        physicalMemory = other.physicalMemory;
+        physicalMemoryFree = other.physicalMemoryFree;
+        rollup = other.rollup;
+        stoppedTimeEvents = other.stoppedTimeEvents;
+        stoppedTimeHistogram = other.stoppedTimeHistogram;
+        swap = other.swap;
+        swapFree = other.swapFree;
+        timeToSafepoint = other.timeToSafepoint;
+        unidentifiedLogLines = other.unidentifiedLogLines;
+        unifiedSafepointEvents = other.unifiedSafepointEvents;
+        unifiedSafepointHistogram = other.unifiedSafepointHistogram;
+        version = other.version;
+        worstInvertedParallelismEvent = other.worstInvertedParallelismEvent;
     }
 
     /**
@@ -0,0 +1,145 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.dao;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * <p>
+ * Log entries appended to a temporary file for event storage that spills to disk. Entries are written through a small
+ * buffer and read back by offset and length, so heap usage does not grow with the number of entries.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+class LogEntryFile {
+
+    /**
+     * Write buffer size (bytes).
+     */
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * @param suffix
+     *            The file name suffix.
+     * @return A temporary file deleted on exit if not deleted before.
+     * @throws IOException
+     *             if the file cannot be created.
+     */
+    static File createTempFile(String suffix) throws IOException {
+        File file = File.createTempFile("garbagecat", suffix);
+        file.deleteOnExit();
+        return file;
+    }
+
+    private final FileChannel channel;
+
+    private final File file;
+
+    /**
+     * File size (bytes), including buffered writes.
+     */
+    private long size;
+
+    /**
+     * Buffered writes not yet written to the file.
+     */
+    private final ByteBuffer writeBuffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+
+    LogEntryFile() throws IOException {
+        file = createTempFile(".entries");
+        channel = new RandomAccessFile(file, "rw").getChannel();
+    }
+
+    /**
+     * @param entry
+     *            The log entry bytes.
+     * @return The offset of the entry in the file.
+     * @throws IOException
+     *             if the entry cannot be written.
+     */
+    synchronized long add(byte[] entry) throws IOException {
+        if (entry.length > writeBuffer.remaining()) {
+            flush();
+        }
+        long offset = size;
+        if (entry.length > writeBuffer.capacity()) {
+            channel.write(ByteBuffer.wrap(entry), offset);
+        } else {
+            writeBuffer.put(entry);
+        }
+        size += entry.length;
+        return offset;
+    }
+
+    /**
+     * Close and delete the file.
+     * 
+     * @throws IOException
+     *             if the file cannot be closed.
+     */
+    void close() throws IOException {
+        try {
+            channel.close();
+        } finally {
+            file.delete();
+        }
+    }
+
+    /**
+     * Write buffered entries to the file.
+     */
+    private void flush() throws IOException {
+        writeBuffer.flip();
+        long position = size - writeBuffer.remaining();
+        while (writeBuffer.hasRemaining()) {
+            position += channel.write(writeBuffer, position);
+        }
+        writeBuffer.clear();
+    }
+
+    /**
+     * @param offset
+     *            The offset of the entry in the file.
+     * @param length
+     *            The entry length (bytes).
+     * @return The log entry.
+     */
+    String get(long offset, int length) {
+        byte[] entry = new byte[length];
+        try {
+            synchronized (this) {
+                if (writeBuffer.position() > 0) {
+                    flush();
+                }
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(entry);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, offset + buffer.position()) < 0) {
+                    throw new IOException("Unexpected end of event storage.");
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read event.", e);
+        }
+        return new String(entry, UTF_8);
+    }
+}
@@ -0,0 +1,265 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.dao;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.eclipselabs.garbagecat.dao.LogEntryFile.createTempFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipselabs.garbagecat.domain.BlockingEvent;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
+
+/**
+ * <p>
+ * <code>BlockingEvent</code> storage that spills to disk so heap usage does not grow with the size of the log.
+ * </p>
+ * 
+ * <p>
+ * Each event is stored as a fixed-width record (timestamp, duration, log entry offset, log entry length, event type)
+ * appended to a temporary memory-mapped file. Log entries are appended to a second temporary file. Events are
+ * rehydrated from their log entry when read, so sequential and random access both return events equal to the ones
+ * added.
+ * </p>
+ * 
+ * <p>
+ * Sorting by timestamp merges sorted runs of records between two temporary files, so it does not need heap per event
+ * either.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+class MappedBlockingEventList extends StoredBlockingEventList {
+
+    /**
+     * Record width (bytes): timestamp (8), duration (8), entry offset (8), entry length (4), event type ordinal (4).
+     */
+    private static final int RECORD_SIZE = 32;
+
+    /**
+     * Records per mapped segment.
+     */
+    private static final int SEGMENT_RECORDS = 1 << 20;
+
+    /**
+     * Copy a record to the next position in the target segments.
+     */
+    private static void copyRecord(List<MappedByteBuffer> source, int from, List<MappedByteBuffer> target,
+            FileChannel channel, int to) throws IOException {
+        ByteBuffer segment = source.get(from / SEGMENT_RECORDS);
+        int position = (from % SEGMENT_RECORDS) * RECORD_SIZE;
+        putRecord(target, channel, to, segment.getLong(position), segment.getLong(position + 8),
+                segment.getLong(position + 16), segment.getInt(position + 24), segment.getInt(position + 28));
+    }
+
+    private static long getTimestamp(List<MappedByteBuffer> segments, int index) {
+        return segments.get(index / SEGMENT_RECORDS).getLong((index % SEGMENT_RECORDS) * RECORD_SIZE);
+    }
+
+    private static void putRecord(List<MappedByteBuffer> target, FileChannel channel, int index, long timestamp,
+            long duration, long offset, int length, int eventType) throws IOException {
+        int segmentIndex = index / SEGMENT_RECORDS;
+        if (segmentIndex == target.size()) {
+            long segmentSize = (long) SEGMENT_RECORDS * RECORD_SIZE;
+            target.add(channel.map(MapMode.READ_WRITE, segmentIndex * segmentSize, segmentSize));
+        }
+        MappedByteBuffer segment = target.get(segmentIndex);
+        int position = (index % SEGMENT_RECORDS) * RECORD_SIZE;
+        segment.putLong(position, timestamp);
+        segment.putLong(position + 8, duration);
+        segment.putLong(position + 16, offset);
+        segment.putInt(position + 24, length);
+        segment.putInt(position + 28, eventType);
+    }
+
+    /**
+     * Log entries.
+     */
+    private LogEntryFile entries;
+
+    /**
+     * Records file channel.
+     */
+    private FileChannel records;
+
+    /**
+     * Records file.
+     */
+    private File recordsFile;
+
+    /**
+     * Mapped record segments.
+     */
+    private List<MappedByteBuffer> segments;
+
+    /**
+     * Number of records.
+     */
+    private int size;
+
+    /**
+     * Create empty storage backed by temporary files.
+     */
+    MappedBlockingEventList() {
+        open();
+    }
+
+    public synchronized boolean add(BlockingEvent event) {
+        byte[] entry = event.getLogEntry().getBytes(UTF_8);
+        try {
+            long offset = entries.add(entry);
+            putRecord(segments, records, size, event.getTimestamp(), event.getDuration(), offset, entry.length,
+                    event.getEventType().ordinal());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to store event.", e);
+        }
+        size++;
+        modCount++;
+        return true;
+    }
+
+    public synchronized void clear() {
+        close();
+        open();
+        modCount++;
+    }
+
+    /**
+     * Release the temporary files. The mapped segments are dropped so they can be unmapped.
+     */
+    synchronized void close() {
+        try {
+            try {
+                records.close();
+            } finally {
+                entries.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to close events.", e);
+        } finally {
+            recordsFile.delete();
+            segments.clear();
+            size = 0;
+        }
+    }
+
+    long getDuration(int index) {
+        return segment(index).getLong((index % SEGMENT_RECORDS) * RECORD_SIZE + 8);
+    }
+
+    LogEventType getEventType(int index) {
+        return EVENT_TYPES[segment(index).getInt((index % SEGMENT_RECORDS) * RECORD_SIZE + 28)];
+    }
+
+    String getLogEntry(int index) {
+        ByteBuffer segment = segment(index);
+        int position = (index % SEGMENT_RECORDS) * RECORD_SIZE;
+        return entries.get(segment.getLong(position + 16), segment.getInt(position + 24));
+    }
+
+    long getTimestamp(int index) {
+        return segment(index).getLong((index % SEGMENT_RECORDS) * RECORD_SIZE);
+    }
+
+    private void open() {
+        segments = new ArrayList<>();
+        size = 0;
+        try {
+            recordsFile = createTempFile(".events");
+            records = new RandomAccessFile(recordsFile, "rw").getChannel();
+            entries = new LogEntryFile();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to create event storage.", e);
+        }
+    }
+
+    private synchronized ByteBuffer segment(int index) {
+        return segments.get(index / SEGMENT_RECORDS);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Stable sort by timestamp. Only the fixed-width records are rewritten; log entries are not moved. Each pass merges
+     * pairs of adjacent sorted runs (ascending timestamps) into a second temporary file, so logging made up of a few
+     * sorted runs (e.g. reordered by a few threads) is sorted in a few sequential passes, and no heap is needed per
+     * event. Merging takes the earlier run's record on equal timestamps, so events with the same timestamp keep the
+     * order they were added.
+     */
+    synchronized void sortByTimestamp() {
+        try {
+            File targetFile = createTempFile(".events");
+            FileChannel targetChannel = new RandomAccessFile(targetFile, "rw").getChannel();
+            boolean sorted = false;
+            while (!sorted) {
+                List<MappedByteBuffer> target = new ArrayList<>();
+                int runs = 0;
+                int low = 0;
+                while (low < size) {
+                    int middle = runEnd(low);
+                    int high = middle < size ? runEnd(middle) : size;
+                    int i = low;
+                    int j = middle;
+                    for (int k = low; k < high; k++) {
+                        if (i < middle && (j >= high || getTimestamp(segments, i) <= getTimestamp(segments, j))) {
+                            copyRecord(segments, i++, target, targetChannel, k);
+                        } else {
+                            copyRecord(segments, j++, target, targetChannel, k);
+                        }
+                    }
+                    runs++;
+                    low = high;
+                }
+                // Swap the merged records in; the prior records file is reused as the next target
+                File sourceFile = recordsFile;
+                FileChannel sourceChannel = records;
+                recordsFile = targetFile;
+                records = targetChannel;
+                segments = target;
+                targetFile = sourceFile;
+                targetChannel = sourceChannel;
+                sorted = runs <= 1;
+            }
+            targetChannel.close();
+            targetFile.delete();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to sort events.", e);
+        }
+        modCount++;
+    }
+
+    /**
+     * @param start
+     *            The start index of a sorted run.
+     * @return The index after the last record of the run (timestamps not decreasing).
+     */
+    private int runEnd(int start) {
+        int end = start + 1;
+        while (end < size && getTimestamp(segments, end - 1) <= getTimestamp(segments, end)) {
+            end++;
+        }
+        return end;
+    }
+}
@@ -0,0 +1,268 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.dao;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.eclipselabs.garbagecat.dao.LogEntryFile.createTempFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipselabs.garbagecat.domain.SafepointEvent;
+import org.eclipselabs.garbagecat.domain.jdk.ApplicationStoppedTimeEvent;
+import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedSafepointEvent;
+import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedSafepoint.Trigger;
+
+/**
+ * <p>
+ * <code>SafepointEvent</code> storage that spills to disk so heap usage does not grow with the size of the log.
+ * </p>
+ * 
+ * <p>
+ * Each event is stored as a fixed-width record (timestamp, time to stop threads, time threads stopped, log entry
+ * offset, log entry length, trigger) appended to a temporary memory-mapped file. Log entries are appended to a second
+ * temporary file and read when first used. Events are created from the stored values when read, the same way
+ * safepoint events are read from a sidecar file.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ * @param <E>
+ *            The safepoint event type.
+ */
+abstract class MappedSafepointEventList<E extends SafepointEvent> extends AbstractList<E> {
+
+    /**
+     * Spilled <code>ApplicationStoppedTimeEvent</code>s.
+     */
+    static class StoppedTimeEventList extends MappedSafepointEventList<ApplicationStoppedTimeEvent> {
+
+        ApplicationStoppedTimeEvent create(int index, long timestamp, Trigger trigger, long timeToStopThreads,
+                long timeThreadsStopped) {
+            return new ApplicationStoppedTimeEvent(null, timestamp, timeToStopThreads, timeThreadsStopped) {
+                private String logEntry;
+
+                public String getLogEntry() {
+                    if (logEntry == null) {
+                        logEntry = readLogEntry(index);
+                    }
+                    return logEntry;
+                }
+            };
+        }
+
+        long getTimeThreadsStopped(ApplicationStoppedTimeEvent event) {
+            return event.getTimeThreadsStopped();
+        }
+
+        long getTimeToStopThreads(ApplicationStoppedTimeEvent event) {
+            return event.getTimeToStopThreads();
+        }
+
+        Trigger getTrigger(ApplicationStoppedTimeEvent event) {
+            return null;
+        }
+    }
+
+    /**
+     * Spilled <code>UnifiedSafepointEvent</code>s.
+     */
+    static class UnifiedSafepointEventList extends MappedSafepointEventList<UnifiedSafepointEvent> {
+
+        UnifiedSafepointEvent create(int index, long timestamp, Trigger trigger, long timeToStopThreads,
+                long timeThreadsStopped) {
+            return new UnifiedSafepointEvent(null, timestamp, trigger, timeToStopThreads, timeThreadsStopped) {
+                private String logEntry;
+
+                public String getLogEntry() {
+                    if (logEntry == null) {
+                        logEntry = readLogEntry(index);
+                    }
+                    return logEntry;
+                }
+            };
+        }
+
+        long getTimeThreadsStopped(UnifiedSafepointEvent event) {
+            return event.getTimeThreadsStopped();
+        }
+
+        long getTimeToStopThreads(UnifiedSafepointEvent event) {
+            return event.getTimeToStopThreads();
+        }
+
+        Trigger getTrigger(UnifiedSafepointEvent event) {
+            return event.getTrigger();
+        }
+    }
+
+    /**
+     * Record width (bytes): timestamp (8), time to stop threads (8), time threads stopped (8), entry offset (8), entry
+     * length (4), trigger ordinal or -1 (4).
+     */
+    private static final int RECORD_SIZE = 40;
+
+    /**
+     * Records per mapped segment.
+     */
+    private static final int SEGMENT_RECORDS = 1 << 20;
+
+    private static final Trigger[] TRIGGERS = Trigger.values();
+
+    /**
+     * Log entries.
+     */
+    private LogEntryFile entries;
+
+    /**
+     * Records file channel.
+     */
+    private FileChannel records;
+
+    /**
+     * Records file.
+     */
+    private File recordsFile;
+
+    /**
+     * Mapped record segments.
+     */
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+
+    /**
+     * Number of records.
+     */
+    private int size;
+
+    /**
+     * Create empty storage backed by temporary files.
+     */
+    MappedSafepointEventList() {
+        try {
+            recordsFile = createTempFile(".safepoints");
+            records = new RandomAccessFile(recordsFile, "rw").getChannel();
+            entries = new LogEntryFile();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to create event storage.", e);
+        }
+    }
+
+    public synchronized boolean add(E event) {
+        byte[] entry = event.getLogEntry().getBytes(UTF_8);
+        try {
+            long offset = entries.add(entry);
+            int segmentIndex = size / SEGMENT_RECORDS;
+            if (segmentIndex == segments.size()) {
+                long segmentSize = (long) SEGMENT_RECORDS * RECORD_SIZE;
+                segments.add(records.map(MapMode.READ_WRITE, segmentIndex * segmentSize, segmentSize));
+            }
+            MappedByteBuffer segment = segments.get(segmentIndex);
+            int position = (size % SEGMENT_RECORDS) * RECORD_SIZE;
+            segment.putLong(position, event.getTimestamp());
+            segment.putLong(position + 8, getTimeToStopThreads(event));
+            segment.putLong(position + 16, getTimeThreadsStopped(event));
+            segment.putLong(position + 24, offset);
+            segment.putInt(position + 32, entry.length);
+            Trigger trigger = getTrigger(event);
+            segment.putInt(position + 36, trigger == null ? -1 : trigger.ordinal());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to store event.", e);
+        }
+        size++;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Release the temporary files. The mapped segments are dropped so they can be unmapped. The storage cannot be used
+     * after it is closed.
+     * 
+     * @throws UncheckedIOException
+     *             if the storage cannot be released.
+     */
+    synchronized void close() {
+        try {
+            try {
+                records.close();
+            } finally {
+                entries.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to close events.", e);
+        } finally {
+            recordsFile.delete();
+            segments.clear();
+            size = 0;
+        }
+    }
+
+    /**
+     * @param index
+     *            The event index.
+     * @param timestamp
+     *            The stored timestamp.
+     * @param trigger
+     *            The stored trigger, or null if none.
+     * @param timeToStopThreads
+     *            The stored time to stop threads.
+     * @param timeThreadsStopped
+     *            The stored time threads stopped.
+     * @return The event created from the stored values, reading the log entry when first used.
+     */
+    abstract E create(int index, long timestamp, Trigger trigger, long timeToStopThreads, long timeThreadsStopped);
+
+    public E get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        ByteBuffer segment = segment(index);
+        int position = (index % SEGMENT_RECORDS) * RECORD_SIZE;
+        int trigger = segment.getInt(position + 36);
+        return create(index, segment.getLong(position), trigger < 0 ? null : TRIGGERS[trigger],
+                segment.getLong(position + 8), segment.getLong(position + 16));
+    }
+
+    abstract long getTimeThreadsStopped(E event);
+
+    abstract long getTimeToStopThreads(E event);
+
+    abstract Trigger getTrigger(E event);
+
+    /**
+     * @param index
+     *            The event index.
+     * @return The event log entry at the specified index.
+     */
+    String readLogEntry(int index) {
+        ByteBuffer segment = segment(index);
+        int position = (index % SEGMENT_RECORDS) * RECORD_SIZE;
+        return entries.get(segment.getLong(position + 24), segment.getInt(position + 32));
+    }
+
+    private synchronized ByteBuffer segment(int index) {
+        return segments.get(index / SEGMENT_RECORDS);
+    }
+
+    public int size() {
+        return size;
+    }
+}
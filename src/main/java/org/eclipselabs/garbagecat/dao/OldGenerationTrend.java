@@ -0,0 +1,197 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.dao;
+
+import static org.eclipselabs.garbagecat.util.Memory.Unit.KILOBYTES;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import org.eclipselabs.garbagecat.domain.BlockingEvent;
+import org.eclipselabs.garbagecat.domain.CombinedData;
+import org.eclipselabs.garbagecat.domain.OldCollection;
+import org.eclipselabs.garbagecat.domain.OldData;
+import org.eclipselabs.garbagecat.util.Memory;
+
+/**
+ * <p>
+ * Old generation occupancy trend, updated incrementally as old (and full) collections are stored: an online least
+ * squares fit of occupancy after the collection (approximately the live set) over time, and the projected time until
+ * the occupancy reaches the old generation space (the heap space if old generation sizes are not logged).
+ * </p>
+ * 
+ * <p>
+ * The fit only keeps running sums, so the trend can be read at any time (e.g. while following a log) in constant time.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class OldGenerationTrend {
+
+    /**
+     * Minimum number of collections for a trend.
+     */
+    public static final int MIN_SAMPLES = 3;
+
+    /**
+     * Size or timestamp before any collections have been recorded.
+     */
+    static final long NO_DATA = Long.MIN_VALUE;
+
+    private static long kilobytes(Memory memory) {
+        return memory == null ? NO_DATA : memory.getValue(KILOBYTES);
+    }
+
+    /**
+     * Maximum old generation (or heap) space (kilobytes).
+     */
+    long capacity = NO_DATA;
+
+    /**
+     * Number of collections.
+     */
+    long count;
+
+    /**
+     * Occupancy after the last collection (kilobytes).
+     */
+    long occupancy = NO_DATA;
+
+    /**
+     * Timestamp of the first collection (milliseconds). Times are fit relative to it for precision.
+     */
+    long origin = NO_DATA;
+
+    /**
+     * Sum of times (seconds since the first collection).
+     */
+    double sumX;
+
+    /**
+     * Sum of times squared.
+     */
+    double sumXX;
+
+    /**
+     * Sum of times multiplied by occupancies.
+     */
+    double sumXY;
+
+    /**
+     * Sum of occupancies (kilobytes).
+     */
+    double sumY;
+
+    /**
+     * Timestamp of the last collection (milliseconds).
+     */
+    long timestamp = NO_DATA;
+
+    /**
+     * @return The maximum old generation (or heap) space (kilobytes), or 0 if no collections have been recorded.
+     */
+    public synchronized long getCapacity() {
+        return capacity == NO_DATA ? 0 : capacity;
+    }
+
+    /**
+     * @return The number of old collections recorded.
+     */
+    public synchronized long getCount() {
+        return count;
+    }
+
+    /**
+     * @return The occupancy after the last collection (kilobytes), or 0 if no collections have been recorded.
+     */
+    public synchronized long getOccupancy() {
+        return occupancy == NO_DATA ? 0 : occupancy;
+    }
+
+    /**
+     * @return The occupancy growth (kilobytes per second) fit to the collections, or null if there are too few
+     *         collections or they all happened at the same time.
+     */
+    public synchronized BigDecimal getSlope() {
+        double slope = slope();
+        return Double.isNaN(slope) ? null : BigDecimal.valueOf(slope).setScale(0, RoundingMode.HALF_EVEN);
+    }
+
+    /**
+     * @return The projected time (milliseconds) from the last collection until the fit occupancy reaches the space,
+     *         0 if it already has, or null if occupancy is not growing.
+     */
+    public synchronized Long getTimeToExhaustion() {
+        double slope = slope();
+        if (Double.isNaN(slope) || slope <= 0 || capacity == NO_DATA) {
+            return null;
+        }
+        double x = (timestamp - origin) / 1000.0;
+        double fit = (sumY - slope * sumX) / count + slope * x;
+        return Long.valueOf((long) Math.max(0, (capacity - fit) / slope * 1000));
+    }
+
+    /**
+     * @param event
+     *            The event. Only old collections with an occupancy after the collection are recorded.
+     */
+    synchronized void record(BlockingEvent event) {
+        if (!(event instanceof OldCollection)) {
+            return;
+        }
+        long end = NO_DATA;
+        long space = NO_DATA;
+        if (event instanceof OldData) {
+            end = kilobytes(((OldData) event).getOldOccupancyEnd());
+            space = kilobytes(((OldData) event).getOldSpace());
+        }
+        if ((end == NO_DATA || space <= 0) && event instanceof CombinedData) {
+            end = kilobytes(((CombinedData) event).getCombinedOccupancyEnd());
+            space = kilobytes(((CombinedData) event).getCombinedSpace());
+        }
+        if (end == NO_DATA || space <= 0) {
+            return;
+        }
+        if (origin == NO_DATA) {
+            origin = event.getTimestamp();
+        }
+        double x = (event.getTimestamp() - origin) / 1000.0;
+        count++;
+        sumX += x;
+        sumY += end;
+        sumXX += x * x;
+        sumXY += x * end;
+        capacity = Math.max(capacity, space);
+        if (event.getTimestamp() >= timestamp) {
+            occupancy = end;
+            timestamp = event.getTimestamp();
+        }
+    }
+
+    /**
+     * @return The least squares slope (kilobytes per second), or NaN if there are too few collections or they all
+     *         happened at the same time.
+     */
+    private double slope() {
+        if (count < MIN_SAMPLES) {
+            return Double.NaN;
+        }
+        double variance = count * sumXX - sumX * sumX;
+        // Rounding error when all the collections happened at the same time
+        if (variance <= 1e-9 * count * sumXX) {
+            return Double.NaN;
+        }
+        return (count * sumXY - sumX * sumY) / variance;
+    }
+}
@@ -0,0 +1,866 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.dao;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import org.eclipselabs.garbagecat.dao.UnidentifiedLogLines.Shape;
+import org.eclipselabs.garbagecat.domain.BlockingEvent;
+import org.eclipselabs.garbagecat.domain.LogEvent;
+import org.eclipselabs.garbagecat.domain.jdk.ApplicationStoppedTimeEvent;
+import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedSafepointEvent;
+import org.eclipselabs.garbagecat.util.jdk.Analysis;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.CollectorFamily;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
+import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedSafepoint.Trigger;
+
+/**
+ * <p>
+ * Binary sidecar file (e.g. <code>gc.log.gcat</code>) with everything needed to report on a log without re-reading and
+ * re-parsing it: JVM header information, aggregates, rollups, allocation rates, GC CPU time, analysis, event types,
+ * collector families, and stopped time, safepoint, and <code>BlockingEvent</code>s in columnar form (e.g. timestamps,
+ * durations, event types, log entry offsets and lengths, followed by the log entries).
+ * </p>
+ * 
+ * <p>
+ * A sidecar is only used if the log it was created from has the same size and modification time and was processed
+ * with the same options. Event columns are memory-mapped when the sidecar is loaded and events are rehydrated on
+ * demand. The sidecar is written to a temporary file that replaces the sidecar when complete, so a sidecar being
+ * written is never read.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class SidecarFile {
+
+    /**
+     * Sidecar file extension.
+     */
+    public static final String EXTENSION = ".gcat";
+
+    /**
+     * Sidecar file identifier.
+     */
+    private static final int MAGIC = 0x47434154;
+
+    /**
+     * Sidecar file format version.
+     */
+    private static final int VERSION = 7;
+
+    /**
+     * Log entries read from the memory-mapped columns (offsets and lengths) of a sidecar file, followed by the log
+     * entries.
+     */
+    private static class LogEntryColumn {
+
+        private final FileChannel channel;
+
+        private final long entriesPosition;
+
+        private final IntBuffer lengths;
+
+        private final LongBuffer offsets;
+
+        LogEntryColumn(FileChannel channel, long position, int size) throws IOException {
+            this.channel = channel;
+            offsets = channel.map(MapMode.READ_ONLY, position, 8L * size).asLongBuffer();
+            position += 8L * size;
+            lengths = channel.map(MapMode.READ_ONLY, position, 4L * size).asIntBuffer();
+            position += 4L * size;
+            entriesPosition = position;
+        }
+
+        String get(int index) {
+            ByteBuffer buffer = ByteBuffer.allocate(lengths.get(index));
+            long position = entriesPosition + offsets.get(index);
+            try {
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, position + buffer.position()) < 0) {
+                        throw new IOException("Unexpected end of sidecar file.");
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to read event.", e);
+            }
+            return new String(buffer.array(), UTF_8);
+        }
+    }
+
+    /**
+     * <code>BlockingEvent</code>s read from the memory-mapped columns of a sidecar file.
+     */
+    private static class SidecarBlockingEventList extends StoredBlockingEventList {
+
+        private final FileChannel channel;
+
+        private final LongBuffer durations;
+
+        private final LogEntryColumn entries;
+
+        private final IntBuffer eventTypes;
+
+        private final int size;
+
+        private final LongBuffer timestamps;
+
+        private final LogEventType[] types;
+
+        SidecarBlockingEventList(FileChannel channel, long position, int size, LogEventType[] types)
+                throws IOException {
+            this.channel = channel;
+            this.size = size;
+            this.types = types;
+            timestamps = channel.map(MapMode.READ_ONLY, position, 8L * size).asLongBuffer();
+            position += 8L * size;
+            durations = channel.map(MapMode.READ_ONLY, position, 8L * size).asLongBuffer();
+            position += 8L * size;
+            eventTypes = channel.map(MapMode.READ_ONLY, position, 4L * size).asIntBuffer();
+            position += 4L * size;
+            entries = new LogEntryColumn(channel, position, size);
+        }
+
+        /**
+         * Close the sidecar file. The stopped time and safepoint events read from it share the file.
+         */
+        void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to close sidecar file.", e);
+            }
+        }
+
+        long getDuration(int index) {
+            return durations.get(index);
+        }
+
+        LogEventType getEventType(int index) {
+            return types[eventTypes.get(index)];
+        }
+
+        String getLogEntry(int index) {
+            return entries.get(index);
+        }
+
+        long getTimestamp(int index) {
+            return timestamps.get(index);
+        }
+
+        public int size() {
+            return size;
+        }
+    }
+
+    /**
+     * <code>UnifiedSafepointEvent</code>s read from the memory-mapped columns of a sidecar file. Log entries are read
+     * when first used.
+     */
+    private static class SidecarSafepointEventList extends AbstractList<UnifiedSafepointEvent> {
+
+        private final LogEntryColumn entries;
+
+        private final int size;
+
+        private final LongBuffer timestamps;
+
+        private final LongBuffer timesThreadsStopped;
+
+        private final LongBuffer timesToStopThreads;
+
+        private final IntBuffer triggers;
+
+        private final Trigger[] triggerTable;
+
+        SidecarSafepointEventList(FileChannel channel, long position, int size, Trigger[] triggerTable)
+                throws IOException {
+            this.size = size;
+            this.triggerTable = triggerTable;
+            timestamps = channel.map(MapMode.READ_ONLY, position, 8L * size).asLongBuffer();
+            position += 8L * size;
+            triggers = channel.map(MapMode.READ_ONLY, position, 4L * size).asIntBuffer();
+            position += 4L * size;
+            timesToStopThreads = channel.map(MapMode.READ_ONLY, position, 8L * size).asLongBuffer();
+            position += 8L * size;
+            timesThreadsStopped = channel.map(MapMode.READ_ONLY, position, 8L * size).asLongBuffer();
+            position += 8L * size;
+            entries = new LogEntryColumn(channel, position, size);
+        }
+
+        public UnifiedSafepointEvent get(int index) {
+            int trigger = triggers.get(index);
+            return new UnifiedSafepointEvent(null, timestamps.get(index), trigger < 0 ? null : triggerTable[trigger],
+                    timesToStopThreads.get(index), timesThreadsStopped.get(index)) {
+                private String logEntry;
+
+                public String getLogEntry() {
+                    if (logEntry == null) {
+                        logEntry = entries.get(index);
+                    }
+                    return logEntry;
+                }
+            };
+        }
+
+        public int size() {
+            return size;
+        }
+    }
+
+    /**
+     * <code>ApplicationStoppedTimeEvent</code>s read from the memory-mapped columns of a sidecar file. Log entries are
+     * read when first used.
+     */
+    private static class SidecarStoppedTimeEventList extends AbstractList<ApplicationStoppedTimeEvent> {
+
+        private final LogEntryColumn entries;
+
+        private final int size;
+
+        private final LongBuffer timestamps;
+
+        private final LongBuffer timesThreadsStopped;
+
+        private final LongBuffer timesToStopThreads;
+
+        SidecarStoppedTimeEventList(FileChannel channel, long position, int size) throws IOException {
+            this.size = size;
+            timestamps = channel.map(MapMode.READ_ONLY, position, 8L * size).asLongBuffer();
+            position += 8L * size;
+            timesToStopThreads = channel.map(MapMode.READ_ONLY, position, 8L * size).asLongBuffer();
+            position += 8L * size;
+            timesThreadsStopped = channel.map(MapMode.READ_ONLY, position, 8L * size).asLongBuffer();
+            position += 8L * size;
+            entries = new LogEntryColumn(channel, position, size);
+        }
+
+        public ApplicationStoppedTimeEvent get(int index) {
+            return new ApplicationStoppedTimeEvent(null, timestamps.get(index), timesToStopThreads.get(index),
+                    timesThreadsStopped.get(index)) {
+                private String logEntry;
+
+                public String getLogEntry() {
+                    if (logEntry == null) {
+                        logEntry = entries.get(index);
+                    }
+                    return logEntry;
+                }
+            };
+        }
+
+        public int size() {
+            return size;
+        }
+    }
+
+    private static AllocationRates readAllocationRates(DataInputStream in) throws IOException {
+        AllocationRates allocationRates = new AllocationRates();
+        allocationRates.allocated = in.readLong();
+        allocationRates.allocatedPeak = in.readDouble();
+        allocationRates.allocatedPeakTimestamp = in.readLong();
+        allocationRates.interval = in.readLong();
+        allocationRates.intervalAllocated = in.readDouble();
+        allocationRates.intervalPromoted = in.readDouble();
+        allocationRates.origin = in.readLong();
+        allocationRates.priorHeapEnd = in.readLong();
+        allocationRates.priorYoungEnd = in.readLong();
+        allocationRates.promoted = in.readLong();
+        allocationRates.promotedPeak = in.readDouble();
+        allocationRates.promotedPeakTimestamp = in.readLong();
+        allocationRates.timestamp = in.readLong();
+        return allocationRates;
+    }
+
+    private static <E extends Enum<E>> E[] readNames(DataInputStream in, Class<E> enumClass, E[] table)
+            throws IOException {
+        int count = in.readInt();
+        List<E> values = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            values.add(Enum.valueOf(enumClass, readString(in)));
+        }
+        return values.toArray(table);
+    }
+
+    private static GcCpu readGcCpu(DataInputStream in) throws IOException {
+        GcCpu gcCpu = new GcCpu();
+        gcCpu.count = in.readLong();
+        for (int i = 0; i < gcCpu.parallelism.length; i++) {
+            gcCpu.parallelism[i] = in.readLong();
+        }
+        gcCpu.timeReal = in.readLong();
+        gcCpu.timeSys = in.readLong();
+        gcCpu.timeUser = in.readLong();
+        return gcCpu;
+    }
+
+    private static OldGenerationTrend readOldGenerationTrend(DataInputStream in) throws IOException {
+        OldGenerationTrend oldGenerationTrend = new OldGenerationTrend();
+        oldGenerationTrend.capacity = in.readLong();
+        oldGenerationTrend.count = in.readLong();
+        oldGenerationTrend.occupancy = in.readLong();
+        oldGenerationTrend.origin = in.readLong();
+        oldGenerationTrend.sumX = in.readDouble();
+        oldGenerationTrend.sumXX = in.readDouble();
+        oldGenerationTrend.sumXY = in.readDouble();
+        oldGenerationTrend.sumY = in.readDouble();
+        oldGenerationTrend.timestamp = in.readLong();
+        return oldGenerationTrend;
+    }
+
+    private static TimeRollup readRollup(DataInputStream in) throws IOException {
+        TimeRollup rollup = new TimeRollup();
+        rollup.origin = in.readLong();
+        for (int resolution = 0; resolution < rollup.buckets.length; resolution++) {
+            int size = in.readInt();
+            rollup.sizes[resolution] = size;
+            for (int field = 0; field < TimeRollup.FIELDS; field++) {
+                long[] values = new long[size];
+                for (int i = 0; i < size; i++) {
+                    values[i] = in.readLong();
+                }
+                rollup.buckets[resolution][field] = values;
+            }
+        }
+        return rollup;
+    }
+
+    private static UnidentifiedLogLines readUnidentifiedLogLines(DataInputStream in) throws IOException {
+        UnidentifiedLogLines unidentifiedLogLines = new UnidentifiedLogLines();
+        unidentifiedLogLines.count = in.readLong();
+        unidentifiedLogLines.first = readString(in);
+        unidentifiedLogLines.ungroupedCount = in.readLong();
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            Shape shape = new Shape(readString(in));
+            shape.count = in.readLong();
+            int examples = in.readInt();
+            for (int j = 0; j < examples; j++) {
+                shape.examples.add(readString(in));
+            }
+            unidentifiedLogLines.shapes.put(shape.shape, shape);
+        }
+        return unidentifiedLogLines;
+    }
+
+    /**
+     * @return The number of events in the columns at the specified position.
+     */
+    private static int readSize(FileChannel channel, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(4);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of sidecar file.");
+            }
+        }
+        int size = buffer.getInt(0);
+        if (size < 0) {
+            throw new IOException("Sidecar file damaged.");
+        }
+        return size;
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    private static void writeNames(DataOutputStream out, List<? extends Enum<?>> values) throws IOException {
+        out.writeInt(values.size());
+        for (Enum<?> value : values) {
+            writeString(out, value.name());
+        }
+    }
+
+    private static void writeAllocationRates(DataOutputStream out, AllocationRates allocationRates)
+            throws IOException {
+        synchronized (allocationRates) {
+            out.writeLong(allocationRates.allocated);
+            out.writeDouble(allocationRates.allocatedPeak);
+            out.writeLong(allocationRates.allocatedPeakTimestamp);
+            out.writeLong(allocationRates.interval);
+            out.writeDouble(allocationRates.intervalAllocated);
+            out.writeDouble(allocationRates.intervalPromoted);
+            out.writeLong(allocationRates.origin);
+            out.writeLong(allocationRates.priorHeapEnd);
+            out.writeLong(allocationRates.priorYoungEnd);
+            out.writeLong(allocationRates.promoted);
+            out.writeDouble(allocationRates.promotedPeak);
+            out.writeLong(allocationRates.promotedPeakTimestamp);
+            out.writeLong(allocationRates.timestamp);
+        }
+    }
+
+    private static void writeGcCpu(DataOutputStream out, GcCpu gcCpu) throws IOException {
+        synchronized (gcCpu) {
+            out.writeLong(gcCpu.count);
+            for (long count : gcCpu.parallelism) {
+                out.writeLong(count);
+            }
+            out.writeLong(gcCpu.timeReal);
+            out.writeLong(gcCpu.timeSys);
+            out.writeLong(gcCpu.timeUser);
+        }
+    }
+
+    private static void writeOldGenerationTrend(DataOutputStream out, OldGenerationTrend oldGenerationTrend)
+            throws IOException {
+        synchronized (oldGenerationTrend) {
+            out.writeLong(oldGenerationTrend.capacity);
+            out.writeLong(oldGenerationTrend.count);
+            out.writeLong(oldGenerationTrend.occupancy);
+            out.writeLong(oldGenerationTrend.origin);
+            out.writeDouble(oldGenerationTrend.sumX);
+            out.writeDouble(oldGenerationTrend.sumXX);
+            out.writeDouble(oldGenerationTrend.sumXY);
+            out.writeDouble(oldGenerationTrend.sumY);
+            out.writeLong(oldGenerationTrend.timestamp);
+        }
+    }
+
+    private static void writeRollup(DataOutputStream out, TimeRollup rollup) throws IOException {
+        synchronized (rollup) {
+            out.writeLong(rollup.origin);
+            for (int resolution = 0; resolution < rollup.buckets.length; resolution++) {
+                int size = rollup.sizes[resolution];
+                out.writeInt(size);
+                for (int field = 0; field < TimeRollup.FIELDS; field++) {
+                    for (int i = 0; i < size; i++) {
+                        out.writeLong(rollup.buckets[resolution][field][i]);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void writeUnidentifiedLogLines(DataOutputStream out, UnidentifiedLogLines unidentifiedLogLines)
+            throws IOException {
+        synchronized (unidentifiedLogLines) {
+            out.writeLong(unidentifiedLogLines.count);
+            writeString(out, unidentifiedLogLines.first);
+            out.writeLong(unidentifiedLogLines.ungroupedCount);
+            out.writeInt(unidentifiedLogLines.shapes.size());
+            for (Shape shape : unidentifiedLogLines.shapes.values()) {
+                writeString(out, shape.shape);
+                out.writeLong(shape.count);
+                out.writeInt(shape.examples.size());
+                for (String example : shape.examples) {
+                    writeString(out, example);
+                }
+            }
+        }
+    }
+
+    /**
+     * Write a log entry column: offsets, lengths, then the log entries.
+     */
+    private static void writeLogEntries(DataOutputStream out, int size, IntFunction<String> logEntries)
+            throws IOException {
+        long offset = 0;
+        int[] lengths = new int[size];
+        for (int i = 0; i < size; i++) {
+            lengths[i] = logEntries.apply(i).getBytes(UTF_8).length;
+            out.writeLong(offset);
+            offset += lengths[i];
+        }
+        for (int i = 0; i < size; i++) {
+            out.writeInt(lengths[i]);
+        }
+        for (int i = 0; i < size; i++) {
+            out.write(logEntries.apply(i).getBytes(UTF_8));
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String string) throws IOException {
+        if (string == null) {
+            out.writeInt(-1);
+        } else {
+            byte[] bytes = string.getBytes(UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * The sidecar file.
+     */
+    private final File file;
+
+    /**
+     * Last log line unprocessed.
+     */
+    private String lastLogLineUnprocessed;
+
+    /**
+     * Whether or not the JVM events are from a preprocessed file.
+     */
+    private boolean preprocessed;
+
+    /**
+     * @param logFile
+     *            The log file the sidecar is for.
+     */
+    public SidecarFile(File logFile) {
+        this.file = new File(logFile.getPath() + EXTENSION);
+    }
+
+    /**
+     * @return The sidecar file.
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * @return The last log line unprocessed when the sidecar was written.
+     */
+    public String getLastLogLineUnprocessed() {
+        return lastLogLineUnprocessed;
+    }
+
+    /**
+     * @return Whether or not the JVM events were from a preprocessed file when the sidecar was written.
+     */
+    public boolean isPreprocessed() {
+        return preprocessed;
+    }
+
+    /**
+     * Load the sidecar into an empty data store.
+     * 
+     * @param jvmDao
+     *            The JVM data access object.
+     * @param logFile
+     *            The log file the sidecar is for.
+     * @param key
+     *            The options used to process the log file.
+     * @return True if the sidecar was loaded, false if it does not exist or is not for the log file and options.
+     */
+    public boolean read(JvmDao jvmDao, File logFile, String key) {
+        if (!file.exists()) {
+            return false;
+        }
+        JvmDao sidecar = new JvmDao();
+        FileChannel channel = null;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return false;
+            }
+            long stoppedTimePosition = in.readLong();
+            long safepointPosition = in.readLong();
+            long eventsPosition = in.readLong();
+            if (in.readLong() != logFile.length() || in.readLong() != logFile.lastModified()
+                    || !key.equals(readString(in))) {
+                return false;
+            }
+            LogEventType[] logEventTypes = readNames(in, LogEventType.class, new LogEventType[0]);
+            Trigger[] triggers = readNames(in, Trigger.class, new Trigger[0]);
+            boolean preprocessed = in.readBoolean();
+            String lastLogLineUnprocessed = readString(in);
+            sidecar.setOptions(readString(in));
+            sidecar.setMemory(readString(in));
+            sidecar.setVersion(readString(in));
+            sidecar.setPhysicalMemory(in.readLong());
+            sidecar.setPhysicalMemoryFree(in.readLong());
+            sidecar.setSwap(in.readLong());
+            sidecar.setSwapFree(in.readLong());
+            sidecar.setParallelCount(in.readLong());
+            sidecar.setInvertedParallelismCount(in.readLong());
+            sidecar.setMaxHeapOccupancyNonBlocking(in.readInt());
+            sidecar.setMaxHeapSpaceNonBlocking(in.readInt());
+            sidecar.setMaxPermOccupancyNonBlocking(in.readInt());
+            sidecar.setMaxPermSpaceNonBlocking(in.readInt());
+            String worstInvertedParallelismEvent = readString(in);
+            if (worstInvertedParallelismEvent != null) {
+                sidecar.setWorstInvertedParallelismEvent(JdkUtil.parseLogLine(worstInvertedParallelismEvent));
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                sidecar.getAnalysis().add(Analysis.valueOf(readString(in)));
+            }
+            count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                sidecar.getEventTypes().add(LogEventType.valueOf(readString(in)));
+            }
+            count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                sidecar.getCollectorFamilies().add(CollectorFamily.valueOf(readString(in)));
+            }
+            sidecar.unidentifiedLogLines = readUnidentifiedLogLines(in);
+            sidecar.gcPauseMax = in.readLong();
+            sidecar.gcPauseTotal = in.readLong();
+            sidecar.maxHeapAfterGcCombined = in.readLong();
+            sidecar.maxHeapAfterGcOld = in.readLong();
+            sidecar.maxHeapOccupancy = in.readLong();
+            sidecar.maxHeapSpace = in.readLong();
+            sidecar.maxOldSpace = in.readLong();
+            sidecar.maxPermAfterGc = in.readLong();
+            sidecar.maxPermOccupancy = in.readLong();
+            sidecar.maxPermSpace = in.readLong();
+            sidecar.maxYoungSpace = in.readLong();
+            sidecar.rollup = readRollup(in);
+            sidecar.allocationRates = readAllocationRates(in);
+            sidecar.oldGenerationTrend = readOldGenerationTrend(in);
+            sidecar.gcCpu = readGcCpu(in);
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+            // Histograms and time to safepoint are rebuilt from the columns, reading only the worst log entries
+            SidecarStoppedTimeEventList stoppedTimeEvents = new SidecarStoppedTimeEventList(channel,
+                    stoppedTimePosition + 4, readSize(channel, stoppedTimePosition));
+            for (ApplicationStoppedTimeEvent event : stoppedTimeEvents) {
+                sidecar.stoppedTimeHistogram.record(event.getDuration());
+                sidecar.timeToSafepoint.record(null, event.getTimestamp(), event.getTimeToStopThreads(),
+                        event.getDuration(), event::getLogEntry);
+            }
+            sidecar.stoppedTimeEvents = stoppedTimeEvents;
+            SidecarSafepointEventList safepointEvents = new SidecarSafepointEventList(channel, safepointPosition + 4,
+                    readSize(channel, safepointPosition), triggers);
+            for (UnifiedSafepointEvent event : safepointEvents) {
+                sidecar.unifiedSafepointHistogram.record(event.getDuration());
+                sidecar.timeToSafepoint.record(event.getTrigger() == null ? Trigger.UNKNOWN : event.getTrigger(),
+                        event.getTimestamp(), event.getTimeToStopThreads(), event.getDuration(), event::getLogEntry);
+            }
+            sidecar.unifiedSafepointEvents = safepointEvents;
+            SidecarBlockingEventList blockingEvents = new SidecarBlockingEventList(channel, eventsPosition + 4,
+                    readSize(channel, eventsPosition), logEventTypes);
+            // Pause histograms are rebuilt from the duration and event type columns
+            for (int i = 0; i < blockingEvents.size(); i++) {
+                sidecar.recordGcPause(blockingEvents.getEventType(i), blockingEvents.getDuration(i));
+            }
+            sidecar.blockingEvents = blockingEvents;
+            this.preprocessed = preprocessed;
+            this.lastLogLineUnprocessed = lastLogLineUnprocessed;
+        } catch (IOException | RuntimeException e) {
+            // Sidecar written by a different version or damaged
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException e2) {
+                    e2.addSuppressed(e);
+                    throw new UncheckedIOException("Unable to close sidecar file.", e2);
+                }
+            }
+            return false;
+        }
+        jvmDao.load(sidecar);
+        return true;
+    }
+
+    /**
+     * Write the data store to the sidecar.
+     * 
+     * @param jvmDao
+     *            The JVM data access object.
+     * @param logFile
+     *            The log file the sidecar is for.
+     * @param key
+     *            The options used to process the log file.
+     * @param preprocessed
+     *            Whether or not the JVM events are from a preprocessed file.
+     * @param lastLogLineUnprocessed
+     *            Last log line unprocessed.
+     */
+    public void write(JvmDao jvmDao, File logFile, String key, boolean preprocessed, String lastLogLineUnprocessed) {
+        List<LogEventType> logEventTypes = Arrays.asList(LogEventType.values());
+        List<Trigger> triggers = Arrays.asList(Trigger.values());
+        File temporaryFile = null;
+        try {
+            // Hidden, so it is not taken for a log file (e.g. batch analysis of the directory)
+            temporaryFile = File.createTempFile("." + file.getName(), ".tmp", file.getAbsoluteFile().getParentFile());
+            long stoppedTimePosition;
+            long safepointPosition;
+            long eventsPosition;
+            synchronized (jvmDao) {
+                jvmDao.sortBlockingEvents();
+                try (FileOutputStream fileOut = new FileOutputStream(temporaryFile);
+                        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut, 64 * 1024))) {
+                    out.writeInt(MAGIC);
+                    out.writeInt(VERSION);
+                    // Column positions, written when known
+                    out.writeLong(0);
+                    out.writeLong(0);
+                    out.writeLong(0);
+                    out.writeLong(logFile.length());
+                    out.writeLong(logFile.lastModified());
+                    writeString(out, key);
+                    writeNames(out, logEventTypes);
+                    writeNames(out, triggers);
+                    out.writeBoolean(preprocessed);
+                    writeString(out, lastLogLineUnprocessed);
+                    writeString(out, jvmDao.getOptions());
+                    writeString(out, jvmDao.getMemory());
+                    writeString(out, jvmDao.getVersion());
+                    out.writeLong(jvmDao.getPhysicalMemory());
+                    out.writeLong(jvmDao.getPhysicalMemoryFree());
+                    out.writeLong(jvmDao.getSwap());
+                    out.writeLong(jvmDao.getSwapFree());
+                    out.writeLong(jvmDao.getParallelCount());
+                    out.writeLong(jvmDao.getInvertedParallelismCount());
+                    out.writeInt(jvmDao.getMaxHeapOccupancyNonBlocking());
+                    out.writeInt(jvmDao.getMaxHeapSpaceNonBlocking());
+                    out.writeInt(jvmDao.getMaxPermOccupancyNonBlocking());
+                    out.writeInt(jvmDao.getMaxPermSpaceNonBlocking());
+                    LogEvent worstInvertedParallelismEvent = jvmDao.getWorstInvertedParallelismEvent();
+                    writeString(out,
+                            worstInvertedParallelismEvent == null ? null : worstInvertedParallelismEvent.getLogEntry());
+                    writeNames(out, jvmDao.getAnalysis());
+                    writeNames(out, jvmDao.getEventTypes());
+                    writeNames(out, jvmDao.getCollectorFamilies());
+                    writeUnidentifiedLogLines(out, jvmDao.getUnidentifiedLogLines());
+                    out.writeLong(jvmDao.gcPauseMax);
+                    out.writeLong(jvmDao.gcPauseTotal);
+                    out.writeLong(jvmDao.maxHeapAfterGcCombined);
+                    out.writeLong(jvmDao.maxHeapAfterGcOld);
+                    out.writeLong(jvmDao.maxHeapOccupancy);
+                    out.writeLong(jvmDao.maxHeapSpace);
+                    out.writeLong(jvmDao.maxOldSpace);
+                    out.writeLong(jvmDao.maxPermAfterGc);
+                    out.writeLong(jvmDao.maxPermOccupancy);
+                    out.writeLong(jvmDao.maxPermSpace);
+                    out.writeLong(jvmDao.maxYoungSpace);
+                    writeRollup(out, jvmDao.rollup);
+                    writeAllocationRates(out, jvmDao.allocationRates);
+                    writeOldGenerationTrend(out, jvmDao.oldGenerationTrend);
+                    writeGcCpu(out, jvmDao.gcCpu);
+                    stoppedTimePosition = position(out, fileOut);
+                    writeStoppedTimeEvents(out, jvmDao.stoppedTimeEvents);
+                    safepointPosition = position(out, fileOut);
+                    writeSafepointEvents(out, jvmDao.unifiedSafepointEvents);
+                    eventsPosition = position(out, fileOut);
+                    writeEvents(out, jvmDao.blockingEvents);
+                }
+            }
+            try (RandomAccessFile raf = new RandomAccessFile(temporaryFile, "rw")) {
+                raf.seek(8);
+                raf.writeLong(stoppedTimePosition);
+                raf.writeLong(safepointPosition);
+                raf.writeLong(eventsPosition);
+            }
+            try {
+                Files.move(temporaryFile.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporaryFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            if (temporaryFile != null) {
+                temporaryFile.delete();
+            }
+            throw new UncheckedIOException("Unable to write sidecar file.", e);
+        }
+    }
+
+    /**
+     * @return The position (bytes) in the file being written, after the buffered writes.
+     */
+    private static long position(DataOutputStream out, FileOutputStream fileOut) throws IOException {
+        out.flush();
+        return fileOut.getChannel().position();
+    }
+
+    /**
+     * Write <code>UnifiedSafepointEvent</code> columns.
+     */
+    private static void writeSafepointEvents(DataOutputStream out, List<UnifiedSafepointEvent> events)
+            throws IOException {
+        int size = events.size();
+        out.writeInt(size);
+        for (UnifiedSafepointEvent event : events) {
+            out.writeLong(event.getTimestamp());
+        }
+        for (UnifiedSafepointEvent event : events) {
+            out.writeInt(event.getTrigger() == null ? -1 : event.getTrigger().ordinal());
+        }
+        for (UnifiedSafepointEvent event : events) {
+            out.writeLong(event.getTimeToStopThreads());
+        }
+        for (UnifiedSafepointEvent event : events) {
+            out.writeLong(event.getTimeThreadsStopped());
+        }
+        writeLogEntries(out, size, i -> events.get(i).getLogEntry());
+    }
+
+    /**
+     * Write <code>ApplicationStoppedTimeEvent</code> columns.
+     */
+    private static void writeStoppedTimeEvents(DataOutputStream out, List<ApplicationStoppedTimeEvent> events)
+            throws IOException {
+        int size = events.size();
+        out.writeInt(size);
+        for (ApplicationStoppedTimeEvent event : events) {
+            out.writeLong(event.getTimestamp());
+        }
+        for (ApplicationStoppedTimeEvent event : events) {
+            out.writeLong(event.getTimeToStopThreads());
+        }
+        for (ApplicationStoppedTimeEvent event : events) {
+            out.writeLong(event.getTimeThreadsStopped());
+        }
+        writeLogEntries(out, size, i -> events.get(i).getLogEntry());
+    }
+
+    /**
+     * Write <code>BlockingEvent</code> columns. Events stored off the heap are copied from their stored values without
+     * being parsed.
+     */
+    private void writeEvents(DataOutputStream out, List<BlockingEvent> events) throws IOException {
+        StoredBlockingEventList stored = null;
+        if (events instanceof StoredBlockingEventList) {
+            stored = (StoredBlockingEventList) events;
+        }
+        int size = events.size();
+        out.writeInt(size);
+        for (int i = 0; i < size; i++) {
+            out.writeLong(stored != null ? stored.getTimestamp(i) : events.get(i).getTimestamp());
+        }
+        for (int i = 0; i < size; i++) {
+            out.writeLong(stored != null ? stored.getDuration(i) : events.get(i).getDuration());
+        }
+        for (int i = 0; i < size; i++) {
+            out.writeInt(stored != null ? stored.getEventType(i).ordinal()
+                    : events.get(i).getEventType().ordinal());
+        }
+        StoredBlockingEventList storedEvents = stored;
+        writeLogEntries(out, size,
+                i -> storedEvents != null ? storedEvents.getLogEntry(i) : events.get(i).getLogEntry());
+    }
+}
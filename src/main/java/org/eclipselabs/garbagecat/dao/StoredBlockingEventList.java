@@ -0,0 +1,111 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.dao;
+
+import java.util.AbstractList;
+import java.util.List;
+
+import org.eclipselabs.garbagecat.domain.BlockingEvent;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
+
+/**
+ * <p>
+ * <code>BlockingEvent</code>s stored off the heap as values (timestamp, duration, event type, log entry).
+ * </p>
+ * 
+ * <p>
+ * Events are parsed from their log entry when read. Analysis that only needs timestamps, durations, and log entries
+ * can use {@link #getHydrated(int)} instead, which creates the event from the stored values without parsing.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+abstract class StoredBlockingEventList extends AbstractList<BlockingEvent> {
+
+    static final LogEventType[] EVENT_TYPES = LogEventType.values();
+
+    /**
+     * Release the storage (e.g. files). The events cannot be read after the storage is released.
+     * 
+     * @throws java.io.UncheckedIOException
+     *             if the storage cannot be released.
+     */
+    abstract void close();
+
+    public BlockingEvent get(int index) {
+        checkIndex(index);
+        return (BlockingEvent) JdkUtil.parseLogLine(getLogEntry(index), getEventType(index));
+    }
+
+    /**
+     * @param index
+     *            The event index.
+     * @return The event duration (microseconds) at the specified index.
+     */
+    abstract long getDuration(int index);
+
+    /**
+     * @param index
+     *            The event index.
+     * @return The event type at the specified index.
+     */
+    abstract LogEventType getEventType(int index);
+
+    /**
+     * @param index
+     *            The event index.
+     * @return The event created from the stored timestamp, duration, and log entry (no other event data).
+     */
+    BlockingEvent getHydrated(int index) {
+        checkIndex(index);
+        return JdkUtil.hydrateBlockingEvent(getEventType(index), getLogEntry(index), getTimestamp(index),
+                (int) getDuration(index));
+    }
+
+    /**
+     * @return The events created from the stored timestamp, duration, and log entry (no other event data).
+     */
+    List<BlockingEvent> getHydratedEvents() {
+        return new AbstractList<BlockingEvent>() {
+            public BlockingEvent get(int index) {
+                return getHydrated(index);
+            }
+
+            public int size() {
+                return StoredBlockingEventList.this.size();
+            }
+        };
+    }
+
+    /**
+     * @param index
+     *            The event index.
+     * @return The event log entry at the specified index.
+     */
+    abstract String getLogEntry(int index);
+
+    /**
+     * @param index
+     *            The event index.
+     * @return The event timestamp at the specified index.
+     */
+    abstract long getTimestamp(int index);
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+    }
+}
@@ -0,0 +1,397 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.dao;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * GC activity rolled up into fixed-width time buckets at minute, hour, and day resolution: pause count, pause total,
+ * maximum pause, safepoint time, maximum heap after GC, and GC CPU time.
+ * </p>
+ * 
+ * <p>
+ * Buckets are primitive arrays indexed by (timestamp - origin) / bucket width, where the origin is the start of the day
+ * of the earliest event (so logging with datestamp timestamps does not allocate buckets back to the epoch). Buckets
+ * are updated as events are stored, so any time range is answered by combining at most a few dozen buckets (whole
+ * days, then whole hours, then minutes) instead of rescanning events. Ranges are rounded out to minute boundaries.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class TimeRollup {
+
+    /**
+     * Bucket resolutions.
+     */
+    public enum Resolution {
+        //
+        MINUTE(60 * 1000L), HOUR(60 * 60 * 1000L), DAY(24 * 60 * 60 * 1000L);
+
+        private final long width;
+
+        private Resolution(long width) {
+            this.width = width;
+        }
+
+        /**
+         * @return The bucket width (milliseconds).
+         */
+        public long getWidth() {
+            return width;
+        }
+    }
+
+    /**
+     * GC CPU (user + sys) time total (milliseconds) field.
+     */
+    static final int GC_CPU_TOTAL = 0;
+
+    /**
+     * Maximum heap after GC (kilobytes) field.
+     */
+    static final int HEAP_AFTER_GC_MAX = 1;
+
+    /**
+     * Pause count field.
+     */
+    static final int PAUSE_COUNT = 2;
+
+    /**
+     * Maximum pause (microseconds) field.
+     */
+    static final int PAUSE_MAX = 3;
+
+    /**
+     * Pause total (microseconds) field.
+     */
+    static final int PAUSE_TOTAL = 4;
+
+    /**
+     * Safepoint time total (microseconds) field.
+     */
+    static final int SAFEPOINT_TOTAL = 5;
+
+    /**
+     * Number of fields per bucket.
+     */
+    static final int FIELDS = 6;
+
+    /**
+     * Origin before any events have been recorded.
+     */
+    static final long NO_ORIGIN = Long.MIN_VALUE;
+
+    private static final Resolution[] RESOLUTIONS = Resolution.values();
+
+    /**
+     * Minutes per hour bucket.
+     */
+    private static final int MINUTES_PER_HOUR = 60;
+
+    /**
+     * Minutes per day bucket.
+     */
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    /**
+     * Bucket values by resolution, field, and bucket index.
+     */
+    long[][][] buckets = new long[RESOLUTIONS.length][FIELDS][0];
+
+    /**
+     * Timestamp of the start of the first bucket at every resolution (milliseconds), or <code>NO_ORIGIN</code> if no
+     * events have been recorded.
+     */
+    long origin = NO_ORIGIN;
+
+    /**
+     * Number of buckets in use by resolution.
+     */
+    int[] sizes = new int[RESOLUTIONS.length];
+
+    /**
+     * Combine a field over a range of minute buckets, using whole day and hour buckets where possible.
+     */
+    private long combine(int field, long from, long to, boolean max) {
+        if (origin == NO_ORIGIN || to <= origin) {
+            return 0;
+        }
+        long lowest = (Math.max(from, origin) - origin) / Resolution.MINUTE.width;
+        // Overflows (to a negative span) only when to is near Long.MAX_VALUE and origin is negative
+        long span = to - 1 - origin;
+        long highest = Math.min((span < 0 ? Long.MAX_VALUE : span) / Resolution.MINUTE.width,
+                sizes[Resolution.MINUTE.ordinal()] - 1);
+        long value = 0;
+        long minute = lowest;
+        while (minute <= highest) {
+            Resolution resolution;
+            if (minute % MINUTES_PER_DAY == 0 && minute + MINUTES_PER_DAY - 1 <= highest) {
+                resolution = Resolution.DAY;
+            } else if (minute % MINUTES_PER_HOUR == 0 && minute + MINUTES_PER_HOUR - 1 <= highest) {
+                resolution = Resolution.HOUR;
+            } else {
+                resolution = Resolution.MINUTE;
+            }
+            int minutes = (int) (resolution.width / Resolution.MINUTE.width);
+            long bucketValue = buckets[resolution.ordinal()][field][(int) (minute / minutes)];
+            value = max ? Math.max(value, bucketValue) : value + bucketValue;
+            minute += minutes;
+        }
+        return value;
+    }
+
+    /**
+     * @param resolution
+     *            The bucket resolution.
+     * @return The number of buckets from the origin through the last event.
+     */
+    public synchronized int getBucketCount(Resolution resolution) {
+        return sizes[resolution.ordinal()];
+    }
+
+    /**
+     * @param resolution
+     *            The bucket resolution.
+     * @param bucket
+     *            The bucket index ((timestamp - origin) / bucket width).
+     * @return The GC CPU (user + sys) time total in the bucket (milliseconds).
+     */
+    public synchronized long getGcCpuTotal(Resolution resolution, int bucket) {
+        return value(resolution, GC_CPU_TOTAL, bucket);
+    }
+
+    /**
+     * @param from
+     *            The range start timestamp, inclusive (milliseconds).
+     * @param to
+     *            The range end timestamp, exclusive (milliseconds).
+     * @return The GC CPU (user + sys) time total in the range (milliseconds).
+     */
+    public synchronized long getGcCpuTotal(long from, long to) {
+        return combine(GC_CPU_TOTAL, from, to, false);
+    }
+
+    /**
+     * @param resolution
+     *            The bucket resolution.
+     * @param bucket
+     *            The bucket index ((timestamp - origin) / bucket width).
+     * @return The maximum heap after GC in the bucket (kilobytes).
+     */
+    public synchronized long getMaxHeapAfterGc(Resolution resolution, int bucket) {
+        return value(resolution, HEAP_AFTER_GC_MAX, bucket);
+    }
+
+    /**
+     * @param from
+     *            The range start timestamp, inclusive (milliseconds).
+     * @param to
+     *            The range end timestamp, exclusive (milliseconds).
+     * @return The maximum heap after GC in the range (kilobytes).
+     */
+    public synchronized long getMaxHeapAfterGc(long from, long to) {
+        return combine(HEAP_AFTER_GC_MAX, from, to, true);
+    }
+
+    /**
+     * @return The timestamp of the start of the first bucket (milliseconds), or 0 if no events have been recorded.
+     */
+    public synchronized long getOrigin() {
+        return origin == NO_ORIGIN ? 0 : origin;
+    }
+
+    /**
+     * @param resolution
+     *            The bucket resolution.
+     * @param bucket
+     *            The bucket index ((timestamp - origin) / bucket width).
+     * @return The number of pauses in the bucket.
+     */
+    public synchronized long getPauseCount(Resolution resolution, int bucket) {
+        return value(resolution, PAUSE_COUNT, bucket);
+    }
+
+    /**
+     * @param from
+     *            The range start timestamp, inclusive (milliseconds).
+     * @param to
+     *            The range end timestamp, exclusive (milliseconds).
+     * @return The number of pauses in the range.
+     */
+    public synchronized long getPauseCount(long from, long to) {
+        return combine(PAUSE_COUNT, from, to, false);
+    }
+
+    /**
+     * @param resolution
+     *            The bucket resolution.
+     * @param bucket
+     *            The bucket index ((timestamp - origin) / bucket width).
+     * @return The maximum pause in the bucket (microseconds).
+     */
+    public synchronized long getPauseMax(Resolution resolution, int bucket) {
+        return value(resolution, PAUSE_MAX, bucket);
+    }
+
+    /**
+     * @param from
+     *            The range start timestamp, inclusive (milliseconds).
+     * @param to
+     *            The range end timestamp, exclusive (milliseconds).
+     * @return The maximum pause in the range (microseconds).
+     */
+    public synchronized long getPauseMax(long from, long to) {
+        return combine(PAUSE_MAX, from, to, true);
+    }
+
+    /**
+     * @param resolution
+     *            The bucket resolution.
+     * @param bucket
+     *            The bucket index ((timestamp - origin) / bucket width).
+     * @return The pause total in the bucket (microseconds).
+     */
+    public synchronized long getPauseTotal(Resolution resolution, int bucket) {
+        return value(resolution, PAUSE_TOTAL, bucket);
+    }
+
+    /**
+     * @param from
+     *            The range start timestamp, inclusive (milliseconds).
+     * @param to
+     *            The range end timestamp, exclusive (milliseconds).
+     * @return The pause total in the range (microseconds).
+     */
+    public synchronized long getPauseTotal(long from, long to) {
+        return combine(PAUSE_TOTAL, from, to, false);
+    }
+
+    /**
+     * @param resolution
+     *            The bucket resolution.
+     * @param bucket
+     *            The bucket index ((timestamp - origin) / bucket width).
+     * @return The safepoint time total in the bucket (microseconds).
+     */
+    public synchronized long getSafepointTotal(Resolution resolution, int bucket) {
+        return value(resolution, SAFEPOINT_TOTAL, bucket);
+    }
+
+    /**
+     * @param from
+     *            The range start timestamp, inclusive (milliseconds).
+     * @param to
+     *            The range end timestamp, exclusive (milliseconds).
+     * @return The safepoint time total in the range (microseconds).
+     */
+    public synchronized long getSafepointTotal(long from, long to) {
+        return combine(SAFEPOINT_TOTAL, from, to, false);
+    }
+
+    /**
+     * Record GC CPU time.
+     * 
+     * @param timestamp
+     *            The event timestamp (milliseconds).
+     * @param cpu
+     *            The user + sys time (milliseconds).
+     */
+    synchronized void recordGcCpu(long timestamp, long cpu) {
+        for (Resolution resolution : RESOLUTIONS) {
+            int bucket = bucket(resolution, timestamp);
+            fields(resolution, bucket)[GC_CPU_TOTAL][bucket] += cpu;
+        }
+    }
+
+    /**
+     * Record a <code>BlockingEvent</code> pause.
+     * 
+     * @param timestamp
+     *            The event timestamp (milliseconds).
+     * @param duration
+     *            The pause duration (microseconds).
+     * @param heapAfterGc
+     *            The heap after GC (kilobytes), or a negative value if not known.
+     */
+    synchronized void recordPause(long timestamp, long duration, long heapAfterGc) {
+        for (Resolution resolution : RESOLUTIONS) {
+            int bucket = bucket(resolution, timestamp);
+            long[][] fields = fields(resolution, bucket);
+            fields[PAUSE_COUNT][bucket]++;
+            fields[PAUSE_TOTAL][bucket] += duration;
+            fields[PAUSE_MAX][bucket] = Math.max(fields[PAUSE_MAX][bucket], duration);
+            fields[HEAP_AFTER_GC_MAX][bucket] = Math.max(fields[HEAP_AFTER_GC_MAX][bucket], heapAfterGc);
+        }
+    }
+
+    /**
+     * Record safepoint time (stopped time or unified safepoint).
+     * 
+     * @param timestamp
+     *            The event timestamp (milliseconds).
+     * @param duration
+     *            The safepoint duration (microseconds).
+     */
+    synchronized void recordSafepoint(long timestamp, long duration) {
+        for (Resolution resolution : RESOLUTIONS) {
+            int bucket = bucket(resolution, timestamp);
+            fields(resolution, bucket)[SAFEPOINT_TOTAL][bucket] += duration;
+        }
+    }
+
+    /**
+     * @return The bucket index for the timestamp, moving the origin back if the timestamp is before it.
+     */
+    private int bucket(Resolution resolution, long timestamp) {
+        long day = Math.floorDiv(timestamp, Resolution.DAY.width) * Resolution.DAY.width;
+        if (origin == NO_ORIGIN) {
+            origin = day;
+        } else if (day < origin) {
+            for (Resolution r : RESOLUTIONS) {
+                int shift = (int) ((origin - day) / r.width);
+                long[][] fields = buckets[r.ordinal()];
+                for (int i = 0; i < FIELDS; i++) {
+                    long[] values = new long[fields[i].length + shift];
+                    System.arraycopy(fields[i], 0, values, shift, fields[i].length);
+                    fields[i] = values;
+                }
+                if (sizes[r.ordinal()] > 0) {
+                    sizes[r.ordinal()] += shift;
+                }
+            }
+            origin = day;
+        }
+        return (int) ((timestamp - origin) / resolution.width);
+    }
+
+    /**
+     * @return The fields for the resolution, grown to include the bucket.
+     */
+    private long[][] fields(Resolution resolution, int bucket) {
+        long[][] fields = buckets[resolution.ordinal()];
+        if (bucket >= fields[0].length) {
+            int length = Math.max(bucket + 1, 2 * fields[0].length);
+            for (int i = 0; i < FIELDS; i++) {
+                fields[i] = Arrays.copyOf(fields[i], length);
+            }
+        }
+        sizes[resolution.ordinal()] = Math.max(sizes[resolution.ordinal()], bucket + 1);
+        return fields;
+    }
+
+    private long value(Resolution resolution, int field, int bucket) {
+        return bucket < sizes[resolution.ordinal()] ? buckets[resolution.ordinal()][field][bucket] : 0;
+    }
+}
@@ -0,0 +1,280 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.dao;
+
+import static java.util.Comparator.comparing;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.eclipselabs.garbagecat.util.Histogram;
+import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedSafepoint.Trigger;
+
+/**
+ * <p>
+ * Time to safepoint (the time to reach the safepoint, before threads are stopped), updated incrementally as safepoint
+ * and stopped time events are stored: count, totals, a histogram, and the worst instances by <code>Trigger</code>.
+ * </p>
+ * 
+ * <p>
+ * Stopped time events do not log a trigger and are recorded with a null <code>Trigger</code>.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class TimeToSafepoint {
+
+    /**
+     * A safepoint and its time to safepoint.
+     */
+    public static final class Instance {
+
+        private final long duration;
+
+        private final String logEntry;
+
+        private final long timestamp;
+
+        private final long timeToSafepoint;
+
+        Instance(long timestamp, long timeToSafepoint, long duration, String logEntry) {
+            this.timestamp = timestamp;
+            this.timeToSafepoint = timeToSafepoint;
+            this.duration = duration;
+            this.logEntry = logEntry;
+        }
+
+        /**
+         * @return The safepoint pause, including the time to safepoint (microseconds).
+         */
+        public long getDuration() {
+            return duration;
+        }
+
+        public String getLogEntry() {
+            return logEntry;
+        }
+
+        /**
+         * @return The safepoint start (milliseconds).
+         */
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        /**
+         * @return The time to safepoint (microseconds).
+         */
+        public long getTimeToSafepoint() {
+            return timeToSafepoint;
+        }
+    }
+
+    /**
+     * Time to safepoint for a <code>Trigger</code>.
+     */
+    public static final class Summary {
+
+        private long count;
+
+        private final Histogram histogram = new Histogram();
+
+        /**
+         * Total safepoint pause, including the time to safepoint (microseconds).
+         */
+        private long pauseTotal;
+
+        private final Trigger trigger;
+
+        /**
+         * Total time to safepoint (microseconds).
+         */
+        private long total;
+
+        /**
+         * The instances with the longest time to safepoint, longest first.
+         */
+        private final List<Instance> worst = new ArrayList<Instance>();
+
+        Summary(Trigger trigger) {
+            this.trigger = trigger;
+        }
+
+        private Summary(Summary other) {
+            this.trigger = other.trigger;
+            this.count = other.count;
+            this.histogram.merge(other.histogram);
+            this.pauseTotal = other.pauseTotal;
+            this.total = other.total;
+            this.worst.addAll(other.worst);
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return The time to safepoint (microseconds) histogram.
+         */
+        public Histogram getHistogram() {
+            return histogram;
+        }
+
+        /**
+         * @return The maximum time to safepoint (microseconds).
+         */
+        public long getMax() {
+            return worst.isEmpty() ? 0 : worst.get(0).timeToSafepoint;
+        }
+
+        /**
+         * @return The total safepoint pause, including the time to safepoint (microseconds).
+         */
+        public long getPauseTotal() {
+            return pauseTotal;
+        }
+
+        /**
+         * @return The <code>Trigger</code>, or null for stopped time events.
+         */
+        public Trigger getTrigger() {
+            return trigger;
+        }
+
+        /**
+         * @return The total time to safepoint (microseconds).
+         */
+        public long getTotal() {
+            return total;
+        }
+
+        /**
+         * @return The instances with the longest time to safepoint, longest first.
+         */
+        public List<Instance> getWorst() {
+            return Collections.unmodifiableList(worst);
+        }
+
+        private void record(long timestamp, long timeToSafepoint, long duration, Supplier<String> logEntry) {
+            count++;
+            total += timeToSafepoint;
+            pauseTotal += duration;
+            histogram.record(timeToSafepoint);
+            if (worst.size() == WORST_COUNT && timeToSafepoint <= worst.get(WORST_COUNT - 1).timeToSafepoint) {
+                return;
+            }
+            int i = worst.size();
+            while (i > 0 && worst.get(i - 1).timeToSafepoint < timeToSafepoint) {
+                i--;
+            }
+            worst.add(i, new Instance(timestamp, timeToSafepoint, duration, logEntry.get()));
+            if (worst.size() > WORST_COUNT) {
+                worst.remove(WORST_COUNT);
+            }
+        }
+    }
+
+    /**
+     * Number of worst instances kept for each <code>Trigger</code>.
+     */
+    public static final int WORST_COUNT = 5;
+
+    /**
+     * Time to safepoint by <code>Trigger</code>, in order of first appearance.
+     */
+    private final Map<Trigger, Summary> summaries = new LinkedHashMap<Trigger, Summary>();
+
+    /**
+     * @return The maximum time to safepoint (microseconds).
+     */
+    public synchronized long getMax() {
+        long max = 0;
+        for (Summary summary : summaries.values()) {
+            max = Math.max(max, summary.getMax());
+        }
+        return max;
+    }
+
+    /**
+     * @return The total safepoint pause, including the time to safepoint (microseconds).
+     */
+    public synchronized long getPauseTotal() {
+        long pauseTotal = 0;
+        for (Summary summary : summaries.values()) {
+            pauseTotal += summary.pauseTotal;
+        }
+        return pauseTotal;
+    }
+
+    /**
+     * @return Copies of the time to safepoint by <code>Trigger</code>, longest total time to safepoint first.
+     */
+    public synchronized List<Summary> getSummaries() {
+        List<Summary> copies = new ArrayList<Summary>();
+        for (Summary summary : summaries.values()) {
+            copies.add(new Summary(summary));
+        }
+        copies.sort(comparing(Summary::getTotal).reversed());
+        return copies;
+    }
+
+    /**
+     * @return The total time to safepoint (microseconds).
+     */
+    public synchronized long getTotal() {
+        long total = 0;
+        for (Summary summary : summaries.values()) {
+            total += summary.total;
+        }
+        return total;
+    }
+
+    /**
+     * @param trigger
+     *            The <code>Trigger</code>, or null for stopped time events.
+     * @param timestamp
+     *            The safepoint start (milliseconds).
+     * @param timeToSafepoint
+     *            The time to safepoint (microseconds).
+     * @param duration
+     *            The safepoint pause, including the time to safepoint (microseconds).
+     * @param logEntry
+     *            The log entry.
+     */
+    public void record(Trigger trigger, long timestamp, long timeToSafepoint, long duration, String logEntry) {
+        record(trigger, timestamp, timeToSafepoint, duration, () -> logEntry);
+    }
+
+    /**
+     * @param trigger
+     *            The <code>Trigger</code>, or null for stopped time events.
+     * @param timestamp
+     *            The safepoint start (milliseconds).
+     * @param timeToSafepoint
+     *            The time to safepoint (microseconds).
+     * @param duration
+     *            The safepoint pause, including the time to safepoint (microseconds).
+     * @param logEntry
+     *            The log entry, only read if the safepoint is one of the worst instances (e.g. when the log entry is
+     *            stored off the heap).
+     */
+    synchronized void record(Trigger trigger, long timestamp, long timeToSafepoint, long duration,
+            Supplier<String> logEntry) {
+        summaries.computeIfAbsent(trigger, Summary::new).record(timestamp, timeToSafepoint, duration, logEntry);
+    }
+}
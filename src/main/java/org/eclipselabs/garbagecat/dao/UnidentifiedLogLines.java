@@ -0,0 +1,204 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.dao;
+
+import static java.util.Comparator.comparing;
+import static java.util.stream.Collectors.toList;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * Logging lines that do not match any known GC events, counted exactly and grouped by shape.
+ * </p>
+ * 
+ * <p>
+ * A shape is the line with every number (decimal digits or 0x hexadecimal) replaced by "#", so lines that differ only
+ * in timestamps, sizes, or durations are counted together. Each shape keeps a few example lines. Memory is bounded by
+ * the number of shapes tracked, not the number of lines: lines with a new shape after {@link #SHAPE_LIMIT} shapes are
+ * counted but not grouped.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class UnidentifiedLogLines {
+
+    /**
+     * Lines with the same shape.
+     */
+    public static class Shape {
+
+        long count;
+
+        final List<String> examples = new ArrayList<>();
+
+        final String shape;
+
+        Shape(String shape) {
+            this.shape = shape;
+        }
+
+        /**
+         * @return The number of lines with the shape.
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return The first lines with the shape (at most {@link UnidentifiedLogLines#EXAMPLE_LIMIT}).
+         */
+        public List<String> getExamples() {
+            return Collections.unmodifiableList(examples);
+        }
+
+        /**
+         * @return The line with numbers replaced by "#".
+         */
+        public String getShape() {
+            return shape;
+        }
+    }
+
+    /**
+     * The maximum number of example lines kept per shape.
+     */
+    public static final int EXAMPLE_LIMIT = 3;
+
+    /**
+     * The maximum shape length. Longer lines are grouped by their beginning.
+     */
+    static final int SHAPE_LENGTH_LIMIT = 200;
+
+    /**
+     * The maximum number of shapes tracked. A throttle to limit memory consumption.
+     */
+    public static final int SHAPE_LIMIT = 100;
+
+    /**
+     * @param logLine
+     *            The log line.
+     * @return The log line with numbers replaced by "#", truncated to {@link #SHAPE_LENGTH_LIMIT} characters.
+     */
+    static String shape(String logLine) {
+        StringBuilder shape = new StringBuilder(Math.min(logLine.length(), SHAPE_LENGTH_LIMIT));
+        int i = 0;
+        while (i < logLine.length() && shape.length() < SHAPE_LENGTH_LIMIT) {
+            char c = logLine.charAt(i);
+            if (c == '0' && i + 2 < logLine.length() && (logLine.charAt(i + 1) == 'x' || logLine.charAt(i + 1) == 'X')
+                    && Character.digit(logLine.charAt(i + 2), 16) >= 0) {
+                i += 2;
+                while (i < logLine.length() && Character.digit(logLine.charAt(i), 16) >= 0) {
+                    i++;
+                }
+                shape.append('#');
+            } else if (c >= '0' && c <= '9') {
+                while (i < logLine.length() && logLine.charAt(i) >= '0' && logLine.charAt(i) <= '9') {
+                    i++;
+                }
+                shape.append('#');
+            } else {
+                shape.append(c);
+                i++;
+            }
+        }
+        return shape.toString();
+    }
+
+    /**
+     * Total number of unidentified lines.
+     */
+    long count;
+
+    /**
+     * The first unidentified line.
+     */
+    String first;
+
+    /**
+     * Tracked shapes, in order of first appearance.
+     */
+    final Map<String, Shape> shapes = new LinkedHashMap<>();
+
+    /**
+     * Number of lines not grouped because {@link #SHAPE_LIMIT} shapes were already tracked.
+     */
+    long ungroupedCount;
+
+    /**
+     * Count an unidentified line.
+     * 
+     * @param logLine
+     *            The log line.
+     */
+    public synchronized void add(String logLine) {
+        if (count == 0) {
+            first = logLine;
+        }
+        count++;
+        String key = shape(logLine);
+        Shape shape = shapes.get(key);
+        if (shape == null) {
+            if (shapes.size() >= SHAPE_LIMIT) {
+                ungroupedCount++;
+                return;
+            }
+            shape = new Shape(key);
+            shapes.put(key, shape);
+        }
+        shape.count++;
+        if (shape.examples.size() < EXAMPLE_LIMIT) {
+            shape.examples.add(logLine);
+        }
+    }
+
+    /**
+     * @return The total number of unidentified lines.
+     */
+    public synchronized long getCount() {
+        return count;
+    }
+
+    /**
+     * @return The first unidentified line, or null if there are none.
+     */
+    public synchronized String getFirst() {
+        return first;
+    }
+
+    /**
+     * @return The tracked shapes, most frequent first (ties in order of first appearance).
+     */
+    public synchronized List<Shape> getShapes() {
+        return shapes.values().stream().sorted(comparing(Shape::getCount).reversed()).collect(toList());
+    }
+
+    /**
+     * @return The number of lines not grouped into a shape because {@link #SHAPE_LIMIT} shapes were already tracked.
+     */
+    public synchronized long getUngroupedCount() {
+        return ungroupedCount;
+    }
+
+    /**
+     * @return True if there are no unidentified lines, false otherwise.
+     */
+    public synchronized boolean isEmpty() {
+        return count == 0;
+    }
+}
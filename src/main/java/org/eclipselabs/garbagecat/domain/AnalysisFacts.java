@@ -0,0 +1,158 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.domain;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import org.eclipselabs.garbagecat.domain.AnalysisRule.Input;
+import org.eclipselabs.garbagecat.util.jdk.Analysis;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.CollectorFamily;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
+import org.eclipselabs.garbagecat.util.jdk.Jvm;
+
+/**
+ * <p>
+ * The facts about a JVM run that <code>AnalysisRule</code> conditions read, computed once before the rules are
+ * evaluated (e.g. the event types and collector families as sets, the JDK version parsed from the version string).
+ * </p>
+ * 
+ * <p>
+ * The analysis is the JVM run's live list, so rules see the analysis reported by the rules evaluated before them.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public final class AnalysisFacts {
+
+    /**
+     * The analysis reported.
+     */
+    private final List<Analysis> analysis;
+
+    /**
+     * The rule inputs available.
+     */
+    private final EnumSet<Input> available;
+
+    /**
+     * The collector families.
+     */
+    private final EnumSet<CollectorFamily> collectorFamilies;
+
+    /**
+     * The event types.
+     */
+    private final EnumSet<LogEventType> eventTypes;
+
+    /**
+     * The JDK version (e.g. '8'), or `0` if it could not be determined.
+     */
+    private final int jdkNumber;
+
+    /**
+     * The JDK update (e.g. '60'), or `0` if it could not be determined.
+     */
+    private final int jdkUpdate;
+
+    /**
+     * JVM environment information.
+     */
+    private final Jvm jvm;
+
+    /**
+     * The JVM run.
+     */
+    private final JvmRun jvmRun;
+
+    /**
+     * @param jvmRun
+     *            The JVM run.
+     */
+    public AnalysisFacts(JvmRun jvmRun) {
+        this.jvmRun = jvmRun;
+        this.jvm = jvmRun.getJvm();
+        this.analysis = jvmRun.getAnalysis();
+        eventTypes = EnumSet.noneOf(LogEventType.class);
+        eventTypes.addAll(jvmRun.getEventTypes());
+        collectorFamilies = EnumSet.noneOf(CollectorFamily.class);
+        collectorFamilies.addAll(jvmRun.getCollectorFamilies());
+        jdkNumber = jvm.JdkNumber();
+        jdkUpdate = jvm.JdkUpdate();
+        available = EnumSet.complementOf(EnumSet.of(Input.EVENTS, Input.OPTIONS));
+        if (jvm.getOptions() != null) {
+            available.add(Input.OPTIONS);
+        }
+        if (jvmRun.haveData()) {
+            available.add(Input.EVENTS);
+        }
+    }
+
+    /**
+     * @return The rule inputs available.
+     */
+    public EnumSet<Input> getAvailable() {
+        return available;
+    }
+
+    public int getJdkNumber() {
+        return jdkNumber;
+    }
+
+    public int getJdkUpdate() {
+        return jdkUpdate;
+    }
+
+    public Jvm getJvm() {
+        return jvm;
+    }
+
+    public JvmRun getJvmRun() {
+        return jvmRun;
+    }
+
+    /**
+     * @param analysis
+     *            The analysis.
+     * @return true if the analysis has been reported, false otherwise.
+     */
+    public boolean has(Analysis analysis) {
+        return this.analysis.contains(analysis);
+    }
+
+    /**
+     * @param collectorFamily
+     *            The collector family.
+     * @return true if the JVM run has events of the collector family, false otherwise.
+     */
+    public boolean has(CollectorFamily collectorFamily) {
+        return collectorFamilies.contains(collectorFamily);
+    }
+
+    /**
+     * @param eventType
+     *            The event type.
+     * @return true if the JVM run has events of the type, false otherwise.
+     */
+    public boolean has(LogEventType eventType) {
+        return eventTypes.contains(eventType);
+    }
+
+    /**
+     * @return true if the JVM run has no events, false otherwise.
+     */
+    public boolean hasNoEventTypes() {
+        return eventTypes.isEmpty();
+    }
+}
@@ -0,0 +1,167 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.domain;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.eclipselabs.garbagecat.util.jdk.Analysis;
+
+/**
+ * <p>
+ * Rule that reports an <code>Analysis</code> when its condition holds for the <code>AnalysisFacts</code> of a JVM run.
+ * </p>
+ * 
+ * <p>
+ * A rule declares the inputs its condition reads. Rules are only evaluated when all of their inputs are available
+ * (e.g. JVM options rules are skipped if the JVM options are unknown). A rule can replace less specific analysis (so
+ * the same issue is not reported twice) and can be reported before all other analysis.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public final class AnalysisRule {
+
+    /**
+     * Rule inputs.
+     */
+    public enum Input {
+        /**
+         * Analysis already reported (when parsing or by prior rules).
+         */
+        ANALYSIS,
+        /**
+         * Collector families.
+         */
+        COLLECTOR_FAMILIES,
+        /**
+         * Event types.
+         */
+        EVENT_TYPES,
+        /**
+         * Event aggregates (e.g. pause totals, throughput, space maximums). Available if there are GC events.
+         */
+        EVENTS,
+        /**
+         * JDK version and update.
+         */
+        JDK_VERSION,
+        /**
+         * JVM environment (e.g. physical memory, swap).
+         */
+        JVM_ENVIRONMENT,
+        /**
+         * JVM options. Available if the JVM options are known.
+         */
+        OPTIONS,
+        /**
+         * Unidentified log lines.
+         */
+        UNIDENTIFIED_LOG_LINES
+    }
+
+    /**
+     * @param analysis
+     *            The analysis reported.
+     * @param condition
+     *            The condition for reporting the analysis.
+     * @param inputs
+     *            The inputs the condition reads.
+     * @return A rule that reports the analysis when the condition holds.
+     */
+    public static AnalysisRule rule(Analysis analysis, Predicate<AnalysisFacts> condition, Input... inputs) {
+        EnumSet<Input> declared = EnumSet.noneOf(Input.class);
+        Collections.addAll(declared, inputs);
+        return new AnalysisRule(analysis, condition, declared, Collections.<Analysis> emptyList(), false);
+    }
+
+    /**
+     * The analysis reported.
+     */
+    private final Analysis analysis;
+
+    /**
+     * The condition for reporting the analysis.
+     */
+    private final Predicate<AnalysisFacts> condition;
+
+    /**
+     * Whether or not the analysis is reported before all other analysis.
+     */
+    private final boolean first;
+
+    /**
+     * The inputs the condition reads.
+     */
+    private final EnumSet<Input> inputs;
+
+    /**
+     * Analysis removed when the analysis is reported.
+     */
+    private final List<Analysis> replaced;
+
+    private AnalysisRule(Analysis analysis, Predicate<AnalysisFacts> condition, EnumSet<Input> inputs,
+            List<Analysis> replaced, boolean first) {
+        this.analysis = analysis;
+        this.condition = condition;
+        this.inputs = inputs;
+        this.replaced = replaced;
+        this.first = first;
+    }
+
+    /**
+     * Evaluate the rule, reporting the analysis if the rule's inputs are available and the condition holds.
+     * 
+     * @param facts
+     *            The JVM run facts.
+     * @param reported
+     *            The analysis reported.
+     */
+    void apply(AnalysisFacts facts, List<Analysis> reported) {
+        if (facts.getAvailable().containsAll(inputs) && condition.test(facts)) {
+            if (!reported.contains(analysis)) {
+                reported.add(first ? 0 : reported.size(), analysis);
+            }
+            reported.removeAll(replaced);
+        }
+    }
+
+    /**
+     * @return A copy of the rule with the analysis reported before all other analysis.
+     */
+    public AnalysisRule first() {
+        return new AnalysisRule(analysis, condition, inputs, replaced, true);
+    }
+
+    public Analysis getAnalysis() {
+        return analysis;
+    }
+
+    public Set<Input> getInputs() {
+        return Collections.unmodifiableSet(inputs);
+    }
+
+    /**
+     * @param analysis
+     *            Less specific analysis not to report when the rule's analysis is reported.
+     * @return A copy of the rule that replaces the specified analysis.
+     */
+    public AnalysisRule replacing(Analysis... analysis) {
+        return new AnalysisRule(this.analysis, condition, inputs, Arrays.asList(analysis), first);
+    }
+}
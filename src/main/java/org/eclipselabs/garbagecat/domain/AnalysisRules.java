@@ -0,0 +1,591 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.domain;
+
+import static org.eclipselabs.garbagecat.domain.AnalysisRule.rule;
+import static org.eclipselabs.garbagecat.domain.AnalysisRule.Input.ANALYSIS;
+import static org.eclipselabs.garbagecat.domain.AnalysisRule.Input.COLLECTOR_FAMILIES;
+import static org.eclipselabs.garbagecat.domain.AnalysisRule.Input.EVENTS;
+import static org.eclipselabs.garbagecat.domain.AnalysisRule.Input.EVENT_TYPES;
+import static org.eclipselabs.garbagecat.domain.AnalysisRule.Input.JDK_VERSION;
+import static org.eclipselabs.garbagecat.domain.AnalysisRule.Input.JVM_ENVIRONMENT;
+import static org.eclipselabs.garbagecat.domain.AnalysisRule.Input.OPTIONS;
+import static org.eclipselabs.garbagecat.domain.AnalysisRule.Input.UNIDENTIFIED_LOG_LINES;
+import static org.eclipselabs.garbagecat.util.Memory.gigabytes;
+import static org.eclipselabs.garbagecat.util.Memory.megabytes;
+import static org.eclipselabs.garbagecat.util.Memory.Unit.KILOBYTES;
+import static org.eclipselabs.garbagecat.util.jdk.Analysis.*;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipselabs.garbagecat.dao.OldGenerationTrend;
+import org.eclipselabs.garbagecat.dao.UnidentifiedLogLines;
+import org.eclipselabs.garbagecat.util.Constants;
+import org.eclipselabs.garbagecat.util.GcUtil;
+import org.eclipselabs.garbagecat.util.Memory;
+import org.eclipselabs.garbagecat.util.jdk.Analysis;
+import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.CollectorFamily;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
+import org.eclipselabs.garbagecat.util.jdk.Jvm;
+import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedRegEx;
+
+/**
+ * <p>
+ * The <code>AnalysisRule</code>s evaluated for a JVM run, in reporting order: JVM options rules, then unidentified log
+ * line rules, then event data rules.
+ * </p>
+ * 
+ * <p>
+ * The rules are evaluated in a single pass over <code>AnalysisFacts</code> computed once per JVM run. Additional rules
+ * can be registered (e.g. by an embedding application) and are evaluated after the built-in rules.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public final class AnalysisRules {
+
+    /**
+     * Maximum DGC interval not reported as large (milliseconds): 1 day.
+     */
+    private static final long RMI_DGC_INTERVAL_LARGE = 86_400_000;
+
+    /**
+     * Minimum DGC interval not reported as small (milliseconds): 1 hour.
+     */
+    private static final long RMI_DGC_INTERVAL_SMALL = 3_600_000;
+
+    /**
+     * The rules, in evaluation order.
+     */
+    private static final List<AnalysisRule> RULES = new CopyOnWriteArrayList<AnalysisRule>();
+
+    static {
+        registerOptionsRules();
+        registerUnidentifiedLogLineRules();
+        registerDataRules();
+    }
+
+    /**
+     * Evaluate the rules in order, adding the analysis reported to the JVM run analysis.
+     * 
+     * @param facts
+     *            The JVM run facts.
+     */
+    public static void evaluate(AnalysisFacts facts) {
+        List<Analysis> analysis = facts.getJvmRun().getAnalysis();
+        for (AnalysisRule rule : RULES) {
+            rule.apply(facts, analysis);
+        }
+    }
+
+    /**
+     * @return The rules, in evaluation order.
+     */
+    public static List<AnalysisRule> getRules() {
+        return Collections.unmodifiableList(RULES);
+    }
+
+    /**
+     * @return true if the G1 collector is used with JDK8 prior to update 40, false otherwise.
+     */
+    private static boolean isG1Jdk8PriorU40(AnalysisFacts f) {
+        return (f.has(CollectorFamily.G1) || f.getJvm().getUseG1Gc() != null) && f.getJdkNumber() == 8
+                && f.getJdkUpdate() < 40;
+    }
+
+    /**
+     * @return The JVM memory (heap, perm/metaspace, and compressed class space when it is used).
+     */
+    private static Memory jvmMemory(Jvm jvm) {
+        Memory jvmMemory = jvm.getMaxHeapBytes().plus(jvm.getMaxPermBytes()).plus(jvm.getMaxMetaspaceBytes());
+        if (jvm.getUseCompressedOopsDisabled() == null && jvm.getUseCompressedClassPointersDisabled() == null) {
+            // Using compressed class pointers space
+            jvmMemory = jvmMemory.plus(jvm.getCompressedClassSpaceSizeBytes());
+        }
+        return jvmMemory;
+    }
+
+    /**
+     * @return The max tenuring threshold, or null if not set.
+     */
+    private static Integer maxTenuringThreshold(Jvm jvm) {
+        if (jvm.getMaxTenuringThresholdOption() == null) {
+            return null;
+        }
+        return Integer.valueOf(jvm.getJvmOptions().getValue("-XX:MaxTenuringThreshold"));
+    }
+
+    /**
+     * Register a rule evaluated after the rules already registered.
+     * 
+     * @param rule
+     *            The rule.
+     */
+    public static void register(AnalysisRule rule) {
+        RULES.add(rule);
+    }
+
+    /**
+     * Register event data rules.
+     */
+    private static void registerDataRules() {
+        // Check for partial log
+        register(rule(INFO_FIRST_TIMESTAMP_THRESHOLD_EXCEEDED, f -> {
+            BlockingEvent firstGcEvent = f.getJvmRun().getFirstGcEvent();
+            return firstGcEvent != null && !firstGcEvent.getLogEntry().matches(JdkRegEx.DATESTAMP_EVENT)
+                    && !firstGcEvent.getLogEntry().matches(UnifiedRegEx.DATESTAMP_EVENT)
+                    && GcUtil.isPartialLog(firstGcEvent.getTimestamp());
+        }, EVENTS));
+
+        // Check to see if application stopped time enabled
+        register(rule(WARN_APPLICATION_STOPPED_TIME_MISSING,
+                f -> f.getJvmRun().getBlockingEventCount() > 0 && !(f.has(LogEventType.APPLICATION_STOPPED_TIME)
+                        || f.has(LogEventType.UNIFIED_SAFEPOINT)),
+                EVENTS, EVENT_TYPES));
+
+        // Check for significant stopped time unrelated to GC
+        register(rule(WARN_GC_STOPPED_RATIO,
+                f -> f.has(LogEventType.APPLICATION_STOPPED_TIME)
+                        && f.getJvmRun().getGcStoppedRatio() < Constants.GC_SAFEPOINT_RATIO_THRESHOLD
+                        && f.getJvmRun().getStoppedTimeThroughput() != f.getJvmRun().getGcThroughput(),
+                EVENTS, EVENT_TYPES));
+
+        // Check for significant safepoint time unrelated to GC
+        register(rule(WARN_GC_SAFEPOINT_RATIO,
+                f -> f.has(LogEventType.UNIFIED_SAFEPOINT)
+                        && f.getJvmRun().getGcUnifiedSafepointRatio() < Constants.GC_SAFEPOINT_RATIO_THRESHOLD
+                        && f.getJvmRun().getJvmRunDuration() > 0
+                        && f.getJvmRun().getUnifiedSafepointThroughput() != f.getJvmRun().getGcThroughput(),
+                EVENTS, EVENT_TYPES));
+
+        // Check for old generation growth projected to exhaust the old generation within the horizon
+        register(rule(WARN_OLD_GEN_EXHAUSTION_PROJECTED, f -> {
+            OldGenerationTrend trend = f.getJvmRun().getOldGenerationTrend();
+            Long timeToExhaustion = trend == null ? null : trend.getTimeToExhaustion();
+            return timeToExhaustion != null
+                    && timeToExhaustion <= f.getJvmRun().getOldGenerationHorizon() * 60 * 60 * 1000L;
+        }, EVENTS));
+
+        // Check for time to safepoint dominating safepoint pause time
+        register(rule(WARN_TIME_TO_SAFEPOINT,
+                f -> f.getJvmRun().getTimeToSafepointRatio() > Constants.TIME_TO_SAFEPOINT_RATIO_THRESHOLD
+                        && f.getJvmRun().getTimeToSafepoint().getMax() >= Constants.TIME_TO_SAFEPOINT_THRESHOLD
+                                * 1000L,
+                EVENTS));
+
+        // Check if logging indicates gc details missing
+        register(rule(WARN_PRINT_GC_DETAILS_MISSING,
+                f -> !f.has(WARN_PRINT_GC_DETAILS_DISABLED)
+                        && (f.has(LogEventType.VERBOSE_GC_OLD) || f.has(LogEventType.VERBOSE_GC_YOUNG)),
+                EVENTS, ANALYSIS, EVENT_TYPES));
+
+        // Check for -XX:+PrintReferenceGC by event type
+        register(rule(WARN_PRINT_REFERENCE_GC_ENABLED, f -> f.has(LogEventType.REFERENCE_GC), EVENTS, EVENT_TYPES));
+
+        // Check for PAR_NEW disabled. Replace general gc.serial analysis.
+        register(rule(WARN_CMS_PAR_NEW_DISABLED,
+                f -> f.has(LogEventType.SERIAL_NEW) && f.has(CollectorFamily.CMS), EVENTS, EVENT_TYPES,
+                COLLECTOR_FAMILIES).replacing(ERROR_SERIAL_GC));
+
+        // Check for swappiness
+        register(rule(INFO_SWAPPING, f -> f.getJvm().getPercentSwapFree() < 95, EVENTS, JVM_ENVIRONMENT));
+
+        // Check for swap disabled
+        register(rule(INFO_SWAP_DISABLED, f -> f.getJvm().getSwap().isZero(), EVENTS, JVM_ENVIRONMENT));
+
+        // Check for insufficient physical memory
+        register(rule(ERROR_PHYSICAL_MEMORY,
+                f -> !f.getJvm().getPhysicalMemory().isZero()
+                        && jvmMemory(f.getJvm()).greaterThan(f.getJvm().getPhysicalMemory()),
+                EVENTS, JVM_ENVIRONMENT));
+
+        // Check for humongous allocations on old JDK not able to fully reclaim them in a young collection
+        register(rule(ERROR_G1_HUMONGOUS_JDK_OLD,
+                f -> f.has(CollectorFamily.G1) && f.has(INFO_G1_HUMONGOUS_ALLOCATION)
+                        && (f.getJdkNumber() == 7 || (f.getJdkNumber() == 8 && f.getJdkUpdate() < 60)),
+                EVENTS, ANALYSIS, COLLECTOR_FAMILIES, JDK_VERSION).replacing(INFO_G1_HUMONGOUS_ALLOCATION));
+
+        // Check for using G1 collector JDK < u40
+        register(rule(WARN_G1_JDK8_PRIOR_U40, AnalysisRules::isG1Jdk8PriorU40, EVENTS, COLLECTOR_FAMILIES,
+                JDK_VERSION));
+
+        // Check for young space >= old space
+        register(rule(INFO_NEW_RATIO_INVERTED, f -> {
+            Memory maxYoungSpace = f.getJvmRun().getMaxYoungSpace();
+            Memory maxOldSpace = f.getJvmRun().getMaxOldSpace();
+            return maxYoungSpace != null && maxOldSpace != null && maxYoungSpace.getValue(KILOBYTES) > 0
+                    && maxYoungSpace.compareTo(maxOldSpace) >= 0;
+        }, EVENTS));
+
+        // Check for inverted parallelism
+        register(rule(WARN_PARALLELISM_INVERTED, f -> f.getJvmRun().getInvertedParallelismCount() > 0, EVENTS));
+
+        // Check for diagnostic options enabled
+        register(rule(INFO_DIAGNOSTIC_VM_OPTIONS_ENABLED, f -> f.getJvm().getUnlockDiagnosticVmOptions() != null,
+                EVENTS, JVM_ENVIRONMENT));
+
+        // Check for JMX enabled
+        register(rule(INFO_JMX_ENABLED, f -> f.getJvm().IsJmxEnabled(), EVENTS, JVM_ENVIRONMENT));
+    }
+
+    /**
+     * Register JVM options rules.
+     */
+    private static void registerOptionsRules() {
+        // Check to see if thread stack size explicitly set
+        register(rule(WARN_THREAD_STACK_SIZE_NOT_SET,
+                f -> f.getJvm().getThreadStackSizeOption() == null && !f.getJvm().is64Bit(), OPTIONS));
+
+        // Check to see if min and max heap sizes are the same
+        register(rule(WARN_HEAP_MIN_NOT_EQUAL_MAX, f -> !f.getJvm().isMinAndMaxHeapSpaceEqual(), OPTIONS));
+        register(rule(ERROR_ADAPTIVE_SIZE_POLICY_DISABLED, f -> !f.getJvm().isMinAndMaxHeapSpaceEqual()
+                && f.getJvm().getUseAdaptiveSizePolicyDisabledOption() != null, OPTIONS));
+
+        // Check to see if min and max perm gen sizes are the same
+        register(rule(WARN_PERM_MIN_NOT_EQUAL_MAX, f -> !f.getJvm().isMinAndMaxPermSpaceEqual(), OPTIONS));
+
+        // Check to see if perm gen explicitly set
+        register(rule(WARN_PERM_SIZE_NOT_SET, f -> f.has(INFO_PERM_GEN) && f.getJvm().getMinPermOption() == null
+                && f.getJvm().getMaxPermOption() == null, OPTIONS, ANALYSIS));
+
+        // Check to see if explicit gc is disabled
+        register(rule(WARN_EXPLICIT_GC_DISABLED, f -> f.getJvm().getDisableExplicitGCOption() != null, OPTIONS));
+
+        // Check for large thread stack size
+        register(rule(WARN_THREAD_STACK_SIZE_LARGE,
+                f -> f.getJvm().hasLargeThreadStackSize() && !f.getJvm().is64Bit(), OPTIONS));
+
+        // Check for setting DGC intervals when explicit GC is disabled.
+        register(rule(WARN_RMI_DGC_CLIENT_GCINTERVAL_REDUNDANT, f -> f.getJvm().getDisableExplicitGCOption() != null
+                && f.getJvm().getRmiDgcClientGcIntervalOption() != null, OPTIONS));
+        register(rule(WARN_RMI_DGC_SERVER_GCINTERVAL_REDUNDANT, f -> f.getJvm().getDisableExplicitGCOption() != null
+                && f.getJvm().getRmiDgcServerGcIntervalOption() != null, OPTIONS));
+
+        // Check for small DGC intervals.
+        register(rule(WARN_RMI_DGC_CLIENT_GCINTERVAL_SMALL, f -> f.getJvm().getRmiDgcClientGcIntervalOption() != null
+                && Long.parseLong(f.getJvm().getRmiDgcClientGcIntervalValue()) < RMI_DGC_INTERVAL_SMALL, OPTIONS));
+        register(rule(WARN_RMI_DGC_CLIENT_GCINTERVAL_LARGE, f -> f.getJvm().getRmiDgcClientGcIntervalOption() != null
+                && Long.parseLong(f.getJvm().getRmiDgcClientGcIntervalValue()) > RMI_DGC_INTERVAL_LARGE, OPTIONS));
+        register(rule(WARN_RMI_DGC_SERVER_GCINTERVAL_SMALL, f -> f.getJvm().getRmiDgcServerGcIntervalOption() != null
+                && Long.parseLong(f.getJvm().getRmiDgcServerGcIntervalValue()) < RMI_DGC_INTERVAL_SMALL, OPTIONS));
+        register(rule(WARN_RMI_DGC_SERVER_GCINTERVAL_LARGE, f -> f.getJvm().getRmiDgcServerGcIntervalOption() != null
+                && Long.parseLong(f.getJvm().getRmiDgcServerGcIntervalValue()) > RMI_DGC_INTERVAL_LARGE, OPTIONS));
+
+        // Check if explicit gc not detected, but JVM not configured to handle it concurrently.
+        register(rule(WARN_EXPLICIT_GC_NOT_CONCURRENT,
+                f -> (f.has(CollectorFamily.CMS) || f.has(CollectorFamily.G1))
+                        && f.getJvm().getDisableExplicitGCOption() == null
+                        && f.getJvm().getExplicitGcInvokesConcurrentOption() == null
+                        && !f.has(ERROR_EXPLICIT_GC_SERIAL_G1) && !f.has(ERROR_EXPLICIT_GC_SERIAL_CMS),
+                OPTIONS, ANALYSIS, COLLECTOR_FAMILIES));
+
+        // Specifying that explicit gc be collected concurrently makes no sense if explicit gc is disabled.
+        register(rule(WARN_EXPLICIT_GC_DISABLED_CONCURRENT, f -> f.getJvm().getDisableExplicitGCOption() != null
+                && f.getJvm().getExplicitGcInvokesConcurrentOption() != null, OPTIONS));
+
+        // Check to see if heap dump on OOME disabled or missing.
+        register(rule(WARN_HEAP_DUMP_ON_OOME_DISABLED,
+                f -> f.getJvm().getHeapDumpOnOutOfMemoryErrorDisabledOption() != null, OPTIONS));
+        register(rule(WARN_HEAP_DUMP_ON_OOME_MISSING,
+                f -> f.getJvm().getHeapDumpOnOutOfMemoryErrorDisabledOption() == null
+                        && f.getJvm().getHeapDumpOnOutOfMemoryErrorEnabledOption() == null,
+                OPTIONS));
+
+        // Check if heap dump path missing.
+        register(rule(INFO_HEAP_DUMP_PATH_MISSING,
+                f -> f.getJvm().getHeapDumpOnOutOfMemoryErrorEnabledOption() != null
+                        && f.getJvm().getHeapDumpPathOption() == null,
+                OPTIONS));
+
+        // Check if instrumentation being used.
+        register(rule(INFO_INSTRUMENTATION, f -> f.getJvm().getJavaagentOption() != null, OPTIONS));
+
+        // Check if native library being used.
+        register(rule(INFO_NATIVE, f -> f.getJvm().getAgentpathOption() != null, OPTIONS));
+
+        // Check if background compilation disabled.
+        register(rule(WARN_BYTECODE_BACKGROUND_COMPILE_DISABLED, f -> f.getJvm().getXBatchOption() != null
+                || f.getJvm().getDisableBackgroundCompilationOption() != null, OPTIONS));
+
+        // Check if compilation being forced on first invocation.
+        register(rule(WARN_BYTECODE_COMPILE_FIRST_INVOCATION, f -> f.getJvm().getXCompOption() != null, OPTIONS));
+
+        // Check if just in time (JIT) compilation disabled.
+        register(rule(WARN_BYTECODE_COMPILE_DISABLED, f -> f.getJvm().getXIntOption() != null, OPTIONS));
+
+        // Check for command line flags output.
+        register(rule(WARN_PRINT_COMMANDLINE_FLAGS,
+                f -> f.getJvm().getPrintCommandLineFlagsOption() == null && !f.hasNoEventTypes()
+                        && !f.has(LogEventType.HEADER_COMMAND_LINE_FLAGS),
+                OPTIONS, EVENT_TYPES));
+
+        // Check if print gc details option disabled or missing
+        register(rule(WARN_PRINT_GC_DETAILS_DISABLED, f -> f.getJvm().getPrintGCDetailsDisabled() != null, OPTIONS));
+        register(rule(WARN_PRINT_GC_DETAILS_MISSING, f -> f.getJvm().getPrintGCDetailsDisabled() == null
+                && f.getJvm().getPrintGCDetailsOption() == null, OPTIONS));
+
+        // Check if CMS not being used for old collections
+        register(rule(ERROR_CMS_SERIAL_OLD, f -> f.getJvm().getUseParNewGCOption() != null
+                && f.getJvm().getUseConcMarkSweepGCOption() == null, OPTIONS));
+
+        // Check if CMS handling Perm/Metaspace collections is explictily disabled or just not set.
+        register(rule(WARN_CMS_CLASS_UNLOADING_DISABLED, f -> f.getJvm().getCMSClassUnloadingDisabled() != null,
+                OPTIONS).replacing(WARN_CMS_CLASS_UNLOADING_NOT_ENABLED));
+        register(rule(WARN_CMS_CLASS_UNLOADING_NOT_ENABLED,
+                f -> f.getJvm().getCMSClassUnloadingDisabled() == null && f.has(CollectorFamily.CMS)
+                        && f.getJvm().getCMSClassUnloadingEnabled() == null,
+                OPTIONS, COLLECTOR_FAMILIES));
+
+        // Check for -XX:+PrintReferenceGC.
+        register(rule(WARN_PRINT_REFERENCE_GC_ENABLED, f -> f.getJvm().getPrintReferenceGC() != null, OPTIONS));
+
+        // Check for -XX:+PrintGCCause missing.
+        register(rule(WARN_PRINT_GC_CAUSE_MISSING,
+                f -> f.getJvm().getPrintGCCause() == null && f.getJdkNumber() == 7
+                        && !f.has(WARN_PRINT_GC_CAUSE_MISSING),
+                OPTIONS, ANALYSIS, JDK_VERSION).replacing(WARN_PRINT_GC_CAUSE_NOT_ENABLED));
+
+        // Check for -XX:-PrintGCCause (PrintGCCause disabled).
+        register(rule(WARN_PRINT_GC_CAUSE_DISABLED, f -> f.getJvm().getPrintGCCauseDisabled() != null, OPTIONS)
+                .replacing(WARN_PRINT_GC_CAUSE_NOT_ENABLED));
+
+        // Check for -XX:+TieredCompilation.
+        register(rule(WARN_TIERED_COMPILATION_ENABLED, f -> f.getJvm().getTieredCompilation() != null, OPTIONS));
+
+        // Check for -XX:+PrintStringDeduplicationStatistics.
+        register(rule(WARN_PRINT_STRING_DEDUP_STATS_ENABLED,
+                f -> f.getJvm().getPrintStringDeduplicationStatistics() != null, OPTIONS));
+
+        // Check for incremental mode in combination with -XX:CMSInitiatingOccupancyFraction=<n>.
+        register(rule(WARN_CMS_INC_MODE_WITH_INIT_OCCUP_FRACT, f -> f.has(WARN_CMS_INCREMENTAL_MODE)
+                && f.getJvm().getCMSInitiatingOccupancyFraction() != null, OPTIONS, ANALYSIS));
+
+        // Check for biased locking disabled with -XX:-UseBiasedLocking.
+        register(rule(WARN_BIASED_LOCKING_DISABLED, f -> f.getJvm().getBiasedLockingDisabled() != null
+                && !f.has(CollectorFamily.SHENANDOAH), OPTIONS, COLLECTOR_FAMILIES));
+
+        // Check for print class histogram output enabled with -XX:+PrintClassHistogram,
+        // -XX:+PrintClassHistogramBeforeFullGC, or -XX:+PrintClassHistogramAfterFullGC.
+        register(rule(WARN_PRINT_CLASS_HISTOGRAM, f -> f.getJvm().getPrintClassHistogramEnabled() != null, OPTIONS));
+        register(rule(WARN_PRINT_CLASS_HISTOGRAM_AFTER_FULL_GC,
+                f -> f.getJvm().getPrintClassHistogramAfterFullGcEnabled() != null, OPTIONS));
+        register(rule(WARN_PRINT_CLASS_HISTOGRAM_BEFORE_FULL_GC,
+                f -> f.getJvm().getPrintClassHistogramBeforeFullGcEnabled() != null, OPTIONS));
+
+        // Check for outputting application concurrent time
+        register(rule(WARN_PRINT_GC_APPLICATION_CONCURRENT_TIME,
+                f -> f.getJvm().getPrintGcApplicationConcurrentTime() != null, OPTIONS));
+
+        // Check for trace class unloading enabled with -XX:+TraceClassUnloading
+        register(rule(WARN_TRACE_CLASS_UNLOADING, f -> f.getJvm().getTraceClassUnloading() != null, OPTIONS));
+
+        // Compressed object references should only be used when heap < 32G. Should use compressed object pointers.
+        register(rule(WARN_COMP_OOPS_DISABLED_HEAP_UNK, f -> f.getJvm().getUseCompressedOopsDisabled() != null
+                && f.getJvm().getMaxHeapBytes().isZero(), OPTIONS));
+        register(rule(ERROR_COMP_OOPS_DISABLED_HEAP_LT_32G,
+                f -> f.getJvm().getUseCompressedOopsDisabled() != null && !f.getJvm().getMaxHeapBytes().isZero()
+                        && f.getJvm().getMaxHeapBytes().lessThan(gigabytes(32)),
+                OPTIONS));
+        register(rule(INFO_COMP_CLASS_SIZE_COMP_OOPS_DISABLED,
+                f -> f.getJvm().getUseCompressedOopsDisabled() != null
+                        && f.getJvm().getCompressedClassSpaceSizeOption() != null
+                        && f.getJvm().getMaxHeapBytes().lessThan(gigabytes(32)),
+                OPTIONS));
+
+        // Should use compressed class pointers
+        register(rule(WARN_COMP_CLASS_DISABLED_HEAP_UNK, f -> f.getJvm().getUseCompressedClassPointersDisabled() != null
+                && f.getJvm().getMaxHeapBytes().isZero(), OPTIONS));
+        register(rule(ERROR_COMP_CLASS_DISABLED_HEAP_LT_32G,
+                f -> f.getJvm().getUseCompressedClassPointersDisabled() != null
+                        && !f.getJvm().getMaxHeapBytes().isZero()
+                        && f.getJvm().getMaxHeapBytes().lessThan(gigabytes(32)),
+                OPTIONS));
+        register(rule(INFO_COMP_CLASS_SIZE_COMP_CLASS_DISABLED,
+                f -> f.getJvm().getUseCompressedClassPointersDisabled() != null
+                        && f.getJvm().getCompressedClassSpaceSizeOption() != null
+                        && f.getJvm().getMaxHeapBytes().lessThan(gigabytes(32)),
+                OPTIONS));
+
+        // Should not use compressed object pointers or class pointers, or set class pointer space size, when heap >=
+        // 32G
+        register(rule(ERROR_COMP_OOPS_ENABLED_HEAP_GT_32G, f -> f.getJvm().getUseCompressedOopsEnabled() != null
+                && !f.getJvm().getMaxHeapBytes().lessThan(gigabytes(32)), OPTIONS));
+        register(rule(ERROR_COMP_CLASS_ENABLED_HEAP_GT_32G,
+                f -> f.getJvm().getUseCompressedClassPointersEnabled() != null
+                        && !f.getJvm().getMaxHeapBytes().lessThan(gigabytes(32)),
+                OPTIONS));
+        register(rule(ERROR_COMP_CLASS_SIZE_HEAP_GT_32G, f -> f.getJvm().getCompressedClassSpaceSizeOption() != null
+                && !f.getJvm().getMaxHeapBytes().lessThan(gigabytes(32)), OPTIONS));
+
+        // Check for PrintFLSStatistics option is being used
+        register(rule(INFO_PRINT_FLS_STATISTICS, f -> f.getJvm().getPrintFLStatistics() != null, OPTIONS));
+
+        // Check if PAR_NEW collector disabled
+        register(rule(WARN_CMS_PAR_NEW_DISABLED, f -> f.getJvm().getUseParNewGcDisabled() != null, OPTIONS));
+
+        // Check if log file rotation disabled or missing, and log file overwritten on restart
+        register(rule(INFO_GC_LOG_FILE_ROTATION_DISABLED, f -> f.getJvm().getUseGcLogFileRotationDisabled() != null,
+                OPTIONS));
+        register(rule(INFO_GC_LOG_FILE_ROTATION_NOT_ENABLED,
+                f -> f.getJvm().getUseGcLogFileRotationDisabled() == null
+                        && f.getJvm().getUseGcLogFileRotationEnabled() == null,
+                OPTIONS));
+        register(rule(WARN_GC_LOG_FILE_OVERWRITE,
+                f -> (f.getJvm().getUseGcLogFileRotationDisabled() != null
+                        || f.getJvm().getUseGcLogFileRotationEnabled() == null)
+                        && f.getJvm().getGcLogFileName() != null && !f.getJvm().getGcLogFileName().contains("%"),
+                OPTIONS));
+
+        // Check if number of log files specified with log file rotation disabled
+        register(rule(WARN_GC_LOG_FILE_NUM_ROTATION_DISABLED, f -> f.getJvm().getNumberOfGcLogFiles() != null
+                && f.getJvm().getUseGcLogFileRotationDisabled() != null, OPTIONS));
+
+        // Check if log file size is small
+        register(rule(WARN_GC_LOG_FILE_SIZE_SMALL, f -> f.getJvm().getGcLogFileSize() != null
+                && f.getJvm().getGcLogFileSizeBytes().lessThan(megabytes(5)), OPTIONS));
+
+        // If explicit gc is disabled, don't need to set explicit gc options
+        register(rule(INFO_CRUFT_EXP_GC_INV_CON_AND_UNL_CLA,
+                f -> f.getJvm().getExplicitGcInvokesConcurrentAndUnloadsClassesDisabled() != null
+                        && f.getJvm().getDisableExplicitGCOption() != null,
+                OPTIONS));
+
+        // Check for class unloading disabled
+        register(rule(WARN_CLASS_UNLOADING_DISABLED, f -> f.getJvm().getClassUnloadingDisabled() != null, OPTIONS));
+
+        // Check for -XX:+PrintPromotionFailure option being used
+        register(rule(INFO_PRINT_PROMOTION_FAILURE, f -> f.getJvm().getPrintPromotionFailureEnabled() != null,
+                OPTIONS));
+
+        // Check for -XX:+UseMembar option being used
+        register(rule(WARN_USE_MEMBAR, f -> f.getJvm().getUseMembarEnabled() != null, OPTIONS));
+
+        // Check for -XX:-PrintAdaptiveSizePolicy option being used
+        register(rule(INFO_PRINT_ADAPTIVE_RESIZE_PLCY_DISABLED,
+                f -> f.getJvm().getPrintAdaptiveResizePolicyDisabled() != null, OPTIONS));
+
+        // Check for -XX:+PrintAdaptiveSizePolicy option being used
+        register(rule(INFO_PRINT_ADAPTIVE_RESIZE_PLCY_ENABLED,
+                f -> f.getJvm().getPrintAdaptiveResizePolicyEnabled() != null, OPTIONS));
+
+        // Check for-XX:CMSInitiatingOccupancyFraction without -XX:+UseCMSInitiatingOccupancyOnly.
+        register(rule(WARN_CMS_INIT_OCCUPANCY_ONLY_MISSING,
+                f -> f.getJvm().getCMSInitiatingOccupancyFraction() != null
+                        && f.getJvm().getCMSInitiatingOccupancyOnlyEnabled() == null,
+                OPTIONS));
+
+        // Check for tenuring disabled or default overriden
+        register(rule(WARN_TENURING_DISABLED, f -> {
+            Integer tenuring = maxTenuringThreshold(f.getJvm());
+            return tenuring != null && tenuring == 0;
+        }, OPTIONS));
+        register(rule(INFO_MAX_TENURING_OVERRIDE, f -> {
+            Integer tenuring = maxTenuringThreshold(f.getJvm());
+            return tenuring != null && tenuring != 0 && tenuring != 15;
+        }, OPTIONS));
+
+        // Check for -XX:SurvivorRatio option being used
+        register(rule(INFO_SURVIVOR_RATIO, f -> f.getJvm().getSurvivorRatio() != null, OPTIONS));
+
+        // Check for -XX:TargetSurvivorRatio option being used
+        register(rule(INFO_SURVIVOR_RATIO_TARGET, f -> f.getJvm().getTargetSurvivorRatio() != null, OPTIONS));
+
+        // Check for experimental options being used
+        register(rule(INFO_EXPERIMENTAL_VM_OPTIONS, f -> f.getJvm().getUnlockExperimentalVmOptionsEnabled() != null,
+                OPTIONS));
+        // Only report fast unordered timestamps if explicity set. If the JVM sets it via ergonomics,
+        // -XX:+UnlockExperimentalVMOptions will not be in the gc log header.
+        register(rule(WARN_FAST_UNORDERED_TIMESTAMPS,
+                f -> f.getJvm().getUseFastUnorderedTimeStampsEnabled() != null
+                        && f.getJvm().getUnlockExperimentalVmOptionsEnabled() != null,
+                OPTIONS).replacing(INFO_EXPERIMENTAL_VM_OPTIONS));
+        register(rule(WARN_G1_MIXED_GC_LIVE_THRSHOLD_PRCNT,
+                f -> f.getJvm().getG1MixedGCLiveThresholdPercent() != null, OPTIONS)
+                        .replacing(INFO_EXPERIMENTAL_VM_OPTIONS));
+        register(rule(WARN_CGROUP_MEMORY_LIMIT, f -> f.getJvm().getUseCGroupMemoryLimitForHeap() != null, OPTIONS)
+                .replacing(INFO_EXPERIMENTAL_VM_OPTIONS));
+
+        // Check for JDK < u40 recommendations (require experimental options)
+        register(rule(WARN_G1_JDK8_PRIOR_U40_RECS,
+                f -> isG1Jdk8PriorU40(f) && (f.getJvm().getG1MixedGCLiveThresholdPercent() == null
+                        || !f.getJvm().getG1MixedGCLiveThresholdPercentValue().equals("85")
+                        || f.getJvm().getG1HeapWastePercent() == null
+                        || !f.getJvm().getG1HeapWastePercentValue().equals("5")),
+                OPTIONS, COLLECTOR_FAMILIES, JDK_VERSION).replacing(INFO_EXPERIMENTAL_VM_OPTIONS));
+
+        // Check for multi-threaded CMS initial mark disabled
+        register(rule(ERROR_CMS_PARALLEL_INITIAL_MARK_DISABLED,
+                f -> f.getJvm().getCmsParallelInitialMarkDisabled() != null, OPTIONS));
+
+        // Check for multi-threaded CMS remark disabled
+        register(rule(ERROR_CMS_PARALLEL_REMARK_DISABLED, f -> f.getJvm().getCmsParallelRemarkDisabled() != null,
+                OPTIONS));
+
+        // Check if summarized remembered set processing information being output
+        register(rule(INFO_G1_SUMMARIZE_RSET_STATS_OUTPUT,
+                f -> f.has(CollectorFamily.G1) && f.getJvm().getG1SummarizeRSetStatsEnabled() != null
+                        && f.getJvm().getG1SummarizeRSetStatsPeriodValue() != null
+                        && Integer.parseInt(f.getJvm().getG1SummarizeRSetStatsPeriodValue()) > 0,
+                OPTIONS, COLLECTOR_FAMILIES));
+
+        // Check if MaxMetaspaceSize is less than CompressedClassSpaceSize (default 1g).
+        register(rule(ERROR_METASPACE_SIZE_LT_COMP_CLASS_SIZE, f -> {
+            Jvm jvm = f.getJvm();
+            if (jvm.getMaxMetaspaceOption() == null) {
+                return false;
+            }
+            Memory compressedClassSpaceSize = jvm.getCompressedClassSpaceSizeOption() != null
+                    ? jvm.getCompressedClassSpaceSizeBytes()
+                    : gigabytes(1);
+            return jvm.getMaxMetaspaceBytes().lessThan(compressedClassSpaceSize);
+        }, OPTIONS));
+
+        // Check if heap dump filename specified
+        register(rule(WARN_HEAP_DUMP_PATH_FILENAME, f -> f.getJvm().getHeapDumpPathValue() != null
+                && !f.getJvm().getHeapDumpPathValue().matches("^\\s*[\\//]$"), OPTIONS));
+
+        // Check for unaccounted disabled options
+        register(rule(INFO_UNACCOUNTED_OPTIONS_DISABLED, f -> f.getJvm().getUnaccountedDisabledOptions() != null,
+                OPTIONS));
+    }
+
+    /**
+     * Register unidentified log line rules.
+     */
+    private static void registerUnidentifiedLogLineRules() {
+        // Unidentified lines in a log that was not preprocessed
+        register(rule(ERROR_UNIDENTIFIED_LOG_LINES_PREPARSE,
+                f -> !f.getJvmRun().getUnidentifiedLogLines().isEmpty() && !f.getJvmRun().isPreprocessed(),
+                UNIDENTIFIED_LOG_LINES).replacing(INFO_UNIDENTIFIED_LOG_LINE_LAST));
+
+        // Check if the unidentified line is not the last preprocessed line but it is the beginning of the last
+        // unpreprocessed line (the line was split).
+        register(rule(INFO_UNIDENTIFIED_LOG_LINE_LAST, f -> {
+            UnidentifiedLogLines unidentifiedLogLines = f.getJvmRun().getUnidentifiedLogLines();
+            return f.getJvmRun().isPreprocessed() && unidentifiedLogLines.getCount() == 1
+                    && f.getJvmRun().getLastLogLineUnprocessed().startsWith(unidentifiedLogLines.getFirst());
+        }, UNIDENTIFIED_LOG_LINES));
+
+        // Multiple unidentified lines
+        register(rule(WARN_UNIDENTIFIED_LOG_LINE_REPORT,
+                f -> f.getJvmRun().isPreprocessed() && f.getJvmRun().getUnidentifiedLogLines().getCount() > 1,
+                UNIDENTIFIED_LOG_LINES).first().replacing(INFO_UNIDENTIFIED_LOG_LINE_LAST));
+    }
+
+    private AnalysisRules() {
+    }
+}
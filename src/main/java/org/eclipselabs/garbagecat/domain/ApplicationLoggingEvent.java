@@ -141,6 +141,10 @@ public class ApplicationLoggingEvent implements ThrowAwayEvent {
         return JdkUtil.LogEventType.APPLICATION_LOGGING.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.APPLICATION_LOGGING;
+    }
+
     public long getTimestamp() {
         return timestamp;
     }
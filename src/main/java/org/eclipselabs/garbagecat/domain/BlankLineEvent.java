@@ -59,6 +59,10 @@ public class BlankLineEvent implements ThrowAwayEvent {
         return JdkUtil.LogEventType.BLANK_LINE.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.BLANK_LINE;
+    }
+
     public long getTimestamp() {
         return timestamp;
     }
@@ -0,0 +1,122 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.domain;
+
+import java.util.Date;
+
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+
+/**
+ * <p>
+ * Consecutive events where throughput between them does not meet the throughput goal, used for reporting.
+ * </p>
+ * 
+ * <p>
+ * Events are identified by their index in the stored (timestamp ordered) events, so consecutive bottlenecks that share
+ * an event are found by comparing indexes. Log entries are converted to datestamps only when printed.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class Bottleneck {
+
+    /**
+     * The event index.
+     */
+    private int index;
+
+    /**
+     * The event log entry.
+     */
+    private String logEntry;
+
+    /**
+     * The prior event index.
+     */
+    private int priorIndex;
+
+    /**
+     * The prior event log entry.
+     */
+    private String priorLogEntry;
+
+    /**
+     * Throughput (percent, rounded down) from the end of the prior event to the end of the event.
+     */
+    private int throughput;
+
+    /**
+     * Default constructor.
+     * 
+     * @param priorIndex
+     *            The prior event index.
+     * @param priorLogEntry
+     *            The prior event log entry.
+     * @param index
+     *            The event index.
+     * @param logEntry
+     *            The event log entry.
+     * @param throughput
+     *            Throughput (percent) from the end of the prior event to the end of the event.
+     */
+    public Bottleneck(int priorIndex, String priorLogEntry, int index, String logEntry, int throughput) {
+        this.priorIndex = priorIndex;
+        this.priorLogEntry = priorLogEntry;
+        this.index = index;
+        this.logEntry = logEntry;
+        this.throughput = throughput;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public String getLogEntry() {
+        return logEntry;
+    }
+
+    /**
+     * @param jvmStartDate
+     *            The date and time the JVM was started, or null to keep timestamps.
+     * @return The event log entry, with timestamps converted to datestamps if the JVM start date is known.
+     */
+    public String getLogEntry(Date jvmStartDate) {
+        return datestamp(logEntry, jvmStartDate);
+    }
+
+    public int getPriorIndex() {
+        return priorIndex;
+    }
+
+    public String getPriorLogEntry() {
+        return priorLogEntry;
+    }
+
+    /**
+     * @param jvmStartDate
+     *            The date and time the JVM was started, or null to keep timestamps.
+     * @return The prior event log entry, with timestamps converted to datestamps if the JVM start date is known.
+     */
+    public String getPriorLogEntry(Date jvmStartDate) {
+        return datestamp(priorLogEntry, jvmStartDate);
+    }
+
+    public int getThroughput() {
+        return throughput;
+    }
+
+    private static String datestamp(String logEntry, Date jvmStartDate) {
+        return jvmStartDate == null ? logEntry : JdkUtil.convertLogEntryTimestampsToDateStamp(logEntry, jvmStartDate);
+    }
+}
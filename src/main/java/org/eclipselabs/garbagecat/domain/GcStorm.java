@@ -0,0 +1,142 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.domain;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
+
+/**
+ * <p>
+ * An episode of back-to-back <code>BlockingEvent</code>s where throughput between each event and the next does not
+ * meet the throughput goal (consecutive GC bottlenecks merged).
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class GcStorm {
+
+    /**
+     * The event type with the most pause time.
+     */
+    private LogEventType dominantEventType;
+
+    /**
+     * The end of the last event (milliseconds).
+     */
+    private long end;
+
+    /**
+     * Number of events.
+     */
+    private int eventCount;
+
+    /**
+     * Pause time (microseconds) by event type, while the episode is open.
+     */
+    private Map<LogEventType, Long> eventTypePauses = new EnumMap<LogEventType, Long>(LogEventType.class);
+
+    /**
+     * Total pause time (microseconds).
+     */
+    private long pauseTotal;
+
+    /**
+     * The start of the first event (milliseconds).
+     */
+    private long start;
+
+    /**
+     * @param event
+     *            The first event.
+     */
+    GcStorm(BlockingEvent event) {
+        start = event.getTimestamp();
+        add(event);
+    }
+
+    /**
+     * @param event
+     *            The next event.
+     */
+    void add(BlockingEvent event) {
+        eventCount++;
+        pauseTotal += event.getDuration();
+        end = Math.max(end, event.getTimestamp() + event.getDuration() / 1000);
+        LogEventType eventType = event.getEventType() == null ? LogEventType.UNKNOWN : event.getEventType();
+        eventTypePauses.merge(eventType, event.getDuration(), Long::sum);
+    }
+
+    /**
+     * Determine the dominant event type when the episode ends.
+     */
+    void close() {
+        long max = -1;
+        for (Map.Entry<LogEventType, Long> entry : eventTypePauses.entrySet()) {
+            if (entry.getValue() > max) {
+                max = entry.getValue();
+                dominantEventType = entry.getKey();
+            }
+        }
+        eventTypePauses = null;
+    }
+
+    /**
+     * @return The event type with the most pause time.
+     */
+    public LogEventType getDominantEventType() {
+        return dominantEventType;
+    }
+
+    /**
+     * @return The episode duration (milliseconds), from the start of the first event to the end of the last event.
+     */
+    public long getDuration() {
+        return end - start;
+    }
+
+    /**
+     * @return The end of the last event (milliseconds).
+     */
+    public long getEnd() {
+        return end;
+    }
+
+    public int getEventCount() {
+        return eventCount;
+    }
+
+    /**
+     * @return The total pause time (microseconds).
+     */
+    public long getPauseTotal() {
+        return pauseTotal;
+    }
+
+    /**
+     * @return The start of the first event (milliseconds).
+     */
+    public long getStart() {
+        return start;
+    }
+
+    /**
+     * @return Throughput (percent, rounded down) over the episode.
+     */
+    public int getThroughput() {
+        long duration = getDuration() * 1000;
+        return duration <= 0 ? 0 : (int) Math.max(0, (duration - pauseTotal) * 100 / duration);
+    }
+}
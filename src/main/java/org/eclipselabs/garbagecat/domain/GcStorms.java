@@ -0,0 +1,114 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.domain;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>
+ * Streaming GC storm (pause burst) detection: <code>BlockingEvent</code>s are added in timestamp order with whether
+ * throughput since the prior event does not meet the throughput goal, and consecutive low throughput intervals are
+ * merged into <code>GcStorm</code> episodes.
+ * </p>
+ * 
+ * <p>
+ * One pass with constant memory: only the open episode and the episodes with the most pause time are kept.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class GcStorms {
+
+    /**
+     * Maximum number of episodes kept (most pause time).
+     */
+    public static final int MAX_STORMS = 10;
+
+    /**
+     * The open episode, or null if throughput since the prior event met the throughput goal.
+     */
+    private GcStorm current;
+
+    /**
+     * The prior event.
+     */
+    private BlockingEvent priorEvent;
+
+    /**
+     * Number of episodes.
+     */
+    private int stormCount;
+
+    /**
+     * The episodes with the most pause time, most first.
+     */
+    private final List<GcStorm> storms = new ArrayList<GcStorm>();
+
+    /**
+     * @param event
+     *            The next event.
+     * @param bottleneck
+     *            Whether throughput from the end of the prior event to the end of the event does not meet the
+     *            throughput goal.
+     */
+    public void add(BlockingEvent event, boolean bottleneck) {
+        if (bottleneck) {
+            if (current == null) {
+                current = new GcStorm(priorEvent);
+            }
+            current.add(event);
+        } else {
+            close();
+        }
+        priorEvent = event;
+    }
+
+    /**
+     * End the open episode, if any.
+     */
+    public void close() {
+        if (current == null) {
+            return;
+        }
+        current.close();
+        stormCount++;
+        int i = storms.size();
+        while (i > 0 && storms.get(i - 1).getPauseTotal() < current.getPauseTotal()) {
+            i--;
+        }
+        if (i < MAX_STORMS) {
+            storms.add(i, current);
+            if (storms.size() > MAX_STORMS) {
+                storms.remove(MAX_STORMS);
+            }
+        }
+        current = null;
+    }
+
+    /**
+     * @return The number of episodes.
+     */
+    public int getStormCount() {
+        return stormCount;
+    }
+
+    /**
+     * @return The episodes with the most pause time, most first.
+     */
+    public List<GcStorm> getStorms() {
+        return Collections.unmodifiableList(storms);
+    }
+}
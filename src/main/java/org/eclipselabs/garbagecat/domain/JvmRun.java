@@ -13,26 +13,29 @@
 package org.eclipselabs.garbagecat.domain;
 
 import static java.math.RoundingMode.HALF_EVEN;
-import static org.eclipselabs.garbagecat.util.Memory.gigabytes;
-import static org.eclipselabs.garbagecat.util.Memory.megabytes;
 import static org.eclipselabs.garbagecat.util.Memory.Unit.KILOBYTES;
-import static org.eclipselabs.garbagecat.util.jdk.Analysis.*;
 
 import java.math.BigDecimal;
+import java.util.Collections;
 import java.util.List;
-
+import java.util.Map;
+
+import org.eclipselabs.garbagecat.dao.AllocationRates;
+import org.eclipselabs.garbagecat.dao.GcCpu;
+import org.eclipselabs.garbagecat.dao.OldGenerationTrend;
+import org.eclipselabs.garbagecat.dao.TimeRollup;
+import org.eclipselabs.garbagecat.dao.TimeRollup.Resolution;
+import org.eclipselabs.garbagecat.dao.TimeToSafepoint;
+import org.eclipselabs.garbagecat.dao.UnidentifiedLogLines;
 import org.eclipselabs.garbagecat.domain.jdk.unified.SafepointEventSummary;
 import org.eclipselabs.garbagecat.util.Constants;
-import org.eclipselabs.garbagecat.util.GcUtil;
+import org.eclipselabs.garbagecat.util.Histogram;
 import org.eclipselabs.garbagecat.util.Memory;
 import org.eclipselabs.garbagecat.util.jdk.Analysis;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
-import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
-import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil.CollectorFamily;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
 import org.eclipselabs.garbagecat.util.jdk.Jvm;
-import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedRegEx;
 
 /**
  * JVM run data.
@@ -43,9 +46,9 @@ import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedRegEx;
 public class JvmRun {
 
     /**
-     * Memory being allocated per second (kilobytes).
+     * Allocation and promotion rates.
      */
-    private BigDecimal allocationRate;
+    private AllocationRates allocationRates;
 
     /**
      * Analysis.
@@ -78,9 +81,14 @@ public class JvmRun {
     private SafepointEvent firstSafepointEvent;
 
     /**
-     * <code>BlockingEvent</code>s where throughput does not meet the throughput goal.
+     * GC CPU time.
      */
-    private List<String> gcBottlenecks;
+    private GcCpu gcCpu;
+
+    /**
+     * GC pause duration (microseconds) histograms by event type.
+     */
+    private Map<LogEventType, Histogram> gcPauseHistograms = Collections.emptyMap();
 
     /**
      * Maximum GC pause duration (microseconds).
@@ -92,6 +100,11 @@ public class JvmRun {
      */
     private long gcPauseTotal;
 
+    /**
+     * Consecutive GC bottlenecks merged into episodes.
+     */
+    private GcStorms gcStorms;
+
     /**
      * Number of <code>ParallelCollection</code> with "inverted" parallelism.
      */
@@ -177,6 +190,21 @@ public class JvmRun {
      */
     private Memory maxYoungSpace;
 
+    /**
+     * Minimum mutator utilization over the pauses of <code>BlockingEvent</code>s and <code>SafepointEvent</code>s.
+     */
+    private MutatorUtilization mutatorUtilization;
+
+    /**
+     * Projected old generation exhaustion within this horizon (hours) is reported.
+     */
+    private int oldGenerationHorizon = Constants.DEFAULT_OLD_GENERATION_HORIZON;
+
+    /**
+     * Old generation occupancy after old collections fit over time.
+     */
+    private OldGenerationTrend oldGenerationTrend;
+
     /**
      * SMALL Number of <code>ParallelCollection</code> events.
      */
@@ -187,10 +215,20 @@ public class JvmRun {
      */
     private boolean preprocessed;
 
+    /**
+     * Minute, hour, and day rollups of pauses, safepoint time, heap after GC, and GC CPU time.
+     */
+    private TimeRollup rollup;
+
     /**
      * <code>SafepointEvent</code>s where throughput does not meet the throughput goal.
      */
-    private List<String> safepointBottlenecks;
+    private List<Bottleneck> safepointBottlenecks;
+
+    /**
+     * <code>BlockingEvent</code>s joined to the safepoints they happen in.
+     */
+    private SafepointCorrelation safepointCorrelation;
 
     /**
      * <code>SafepointEventSummary</code> used for reporting.
@@ -202,6 +240,11 @@ public class JvmRun {
      */
     private int stoppedTimeEventCount;
 
+    /**
+     * Stopped time duration (microseconds) histogram.
+     */
+    private Histogram stoppedTimeHistogram = new Histogram();
+
     /**
      * Maximum stopped time duration (microseconds).
      */
@@ -218,16 +261,26 @@ public class JvmRun {
      */
     private int throughputThreshold;
 
+    /**
+     * Time to safepoint by safepoint trigger.
+     */
+    private TimeToSafepoint timeToSafepoint;
+
     /**
      * Log lines that do not match any existing logging patterns.
      */
-    private List<String> unidentifiedLogLines;
+    private UnidentifiedLogLines unidentifiedLogLines;
 
     /**
      * Total number of {@link org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedSafepointEvent}.
      */
     private int unifiedSafepointEventCount;
 
+    /**
+     * Unified safepoint time duration (microseconds) histogram.
+     */
+    private Histogram unifiedSafepointHistogram = new Histogram();
+
     /**
      * Maximum safepoint time duration (microseconds).
      */
@@ -257,622 +310,21 @@ public class JvmRun {
     }
 
     /**
-     * Do analysis.
+     * Do analysis: evaluate the <code>AnalysisRules</code> over facts computed once from the JVM run.
      */
     public void doAnalysis() {
-
-        if (jvm.getOptions() != null) {
-            doJvmOptionsAnalysis();
-        }
-
-        // Unidentified logging lines
-        if (!getUnidentifiedLogLines().isEmpty()) {
-            if (!preprocessed) {
-                analysis.add(ERROR_UNIDENTIFIED_LOG_LINES_PREPARSE);
-                // Don't double report
-                if (analysis.contains(INFO_UNIDENTIFIED_LOG_LINE_LAST)) {
-                    analysis.remove(INFO_UNIDENTIFIED_LOG_LINE_LAST);
-                }
-            } else if (getUnidentifiedLogLines().size() == 1) {
-                // Check if the unidentified line is not the last preprocessed line but it is the beginning of the last
-                // unpreprocessed line (the line was split).
-                if (!analysis.contains(INFO_UNIDENTIFIED_LOG_LINE_LAST)
-                        && lastLogLineUnprocessed.startsWith(getUnidentifiedLogLines().get(0))) {
-                    analysis.add(INFO_UNIDENTIFIED_LOG_LINE_LAST);
-                }
-            } else {
-                analysis.add(0, WARN_UNIDENTIFIED_LOG_LINE_REPORT);
-                // Don't double report
-                if (analysis.contains(INFO_UNIDENTIFIED_LOG_LINE_LAST)) {
-                    analysis.remove(INFO_UNIDENTIFIED_LOG_LINE_LAST);
-                }
-            }
-        }
-
-        if (haveData()) {
-            doDataAnalysis();
-        }
+        AnalysisRules.evaluate(new AnalysisFacts(this));
     }
 
     /**
-     * Do data analysis.
+     * @return The amount of memory allocated per second (kilobytes).
      */
-    private void doDataAnalysis() {
-        // Check for partial log
-        if (firstGcEvent != null && !firstGcEvent.getLogEntry().matches(JdkRegEx.DATESTAMP_EVENT)
-                && !firstGcEvent.getLogEntry().matches(UnifiedRegEx.DATESTAMP_EVENT)
-                && GcUtil.isPartialLog(firstGcEvent.getTimestamp())) {
-            analysis.add(INFO_FIRST_TIMESTAMP_THRESHOLD_EXCEEDED);
-        }
-
-        // Check to see if application stopped time enabled
-        if (getBlockingEventCount() > 0 && !(eventTypes.contains(LogEventType.APPLICATION_STOPPED_TIME)
-                || eventTypes.contains(LogEventType.UNIFIED_SAFEPOINT))) {
-            analysis.add(WARN_APPLICATION_STOPPED_TIME_MISSING);
-        }
-
-        // Check for significant stopped time unrelated to GC
-        if (eventTypes.contains(LogEventType.APPLICATION_STOPPED_TIME)
-                && getGcStoppedRatio() < Constants.GC_SAFEPOINT_RATIO_THRESHOLD
-                && getStoppedTimeThroughput() != getGcThroughput()) {
-            analysis.add(WARN_GC_STOPPED_RATIO);
-        }
-
-        // Check for significant safepoint time unrelated to GC
-        if (eventTypes.contains(LogEventType.UNIFIED_SAFEPOINT)
-                && getGcUnifiedSafepointRatio() < Constants.GC_SAFEPOINT_RATIO_THRESHOLD && getJvmRunDuration() > 0
-                && getUnifiedSafepointThroughput() != getGcThroughput()) {
-            analysis.add(WARN_GC_SAFEPOINT_RATIO);
-        }
-
-        // Check if logging indicates gc details missing
-        if (!analysis.contains(WARN_PRINT_GC_DETAILS_MISSING) && !analysis.contains(WARN_PRINT_GC_DETAILS_DISABLED)) {
-            if (getEventTypes().contains(LogEventType.VERBOSE_GC_OLD)
-                    || getEventTypes().contains(LogEventType.VERBOSE_GC_YOUNG)) {
-                analysis.add(WARN_PRINT_GC_DETAILS_MISSING);
-            }
-        }
-
-        // Check for -XX:+PrintReferenceGC by event type
-        if (!analysis.contains(WARN_PRINT_REFERENCE_GC_ENABLED)) {
-            if (getEventTypes().contains(LogEventType.REFERENCE_GC)) {
-                analysis.add(WARN_PRINT_REFERENCE_GC_ENABLED);
-            }
-        }
-
-        // Check for PAR_NEW disabled.
-        if (getEventTypes().contains(LogEventType.SERIAL_NEW) && collectorFamilies.contains(CollectorFamily.CMS)) {
-            // Replace general gc.serial analysis
-            if (analysis.contains(ERROR_SERIAL_GC)) {
-                analysis.remove(ERROR_SERIAL_GC);
-            }
-            if (!analysis.contains(WARN_CMS_PAR_NEW_DISABLED)) {
-                analysis.add(WARN_CMS_PAR_NEW_DISABLED);
-            }
-        }
-
-        // Check for swappiness
-        if (getJvm().getPercentSwapFree() < 95) {
-            analysis.add(INFO_SWAPPING);
-        }
-        // Check for swap disabled
-        if (getJvm().getSwap().isZero()) {
-            analysis.add(INFO_SWAP_DISABLED);
-        }
-
-        // Check for insufficient physical memory
-        if (!getJvm().getPhysicalMemory().isZero()) {
-            Memory jvmMemory;
-            if (jvm.getUseCompressedOopsDisabled() == null && jvm.getUseCompressedClassPointersDisabled() == null) {
-                // Using compressed class pointers space
-                jvmMemory = getJvm().getMaxHeapBytes().plus(getJvm().getMaxPermBytes())
-                        .plus(getJvm().getMaxMetaspaceBytes()).plus(getJvm().getCompressedClassSpaceSizeBytes());
-            } else {
-                // Not using compressed class pointers space
-                jvmMemory = getJvm().getMaxHeapBytes().plus(getJvm().getMaxPermBytes())
-                        .plus(getJvm().getMaxMetaspaceBytes());
-            }
-            if (jvmMemory.greaterThan(getJvm().getPhysicalMemory())) {
-                analysis.add(ERROR_PHYSICAL_MEMORY);
-            }
-        }
-
-        // Check for humongous allocations on old JDK not able to fully reclaim them in a young collection
-        if (collectorFamilies.contains(CollectorFamily.G1) && analysis.contains(INFO_G1_HUMONGOUS_ALLOCATION)
-                && (jvm.JdkNumber() == 7 || (jvm.JdkNumber() == 8 && jvm.JdkUpdate() < 60))) {
-            // Don't double report
-            analysis.remove(INFO_G1_HUMONGOUS_ALLOCATION);
-            analysis.add(ERROR_G1_HUMONGOUS_JDK_OLD);
-        }
-
-        // Check for using G1 collector JDK < u40
-        if ((collectorFamilies.contains(CollectorFamily.G1) || jvm.getUseG1Gc() != null) && jvm.JdkNumber() == 8
-                && jvm.JdkUpdate() < 40) {
-            analysis.add(WARN_G1_JDK8_PRIOR_U40);
-        }
-
-        // Check for young space >= old space
-        if (maxYoungSpace != null && maxOldSpace != null && maxYoungSpace.getValue(KILOBYTES) > 0
-                && maxYoungSpace.compareTo(maxOldSpace) >= 0) {
-            analysis.add(INFO_NEW_RATIO_INVERTED);
-        }
-
-        // Check for inverted parallelism
-        if (getInvertedParallelismCount() > 0) {
-            analysis.add(WARN_PARALLELISM_INVERTED);
-        }
-
-        // Check for diagnostic options enabled
-        if (jvm.getUnlockDiagnosticVmOptions() != null) {
-            analysis.add(INFO_DIAGNOSTIC_VM_OPTIONS_ENABLED);
-        }
-
-        // Check for JMX enabled
-        if (jvm.IsJmxEnabled()) {
-            analysis.add(INFO_JMX_ENABLED);
-        }
-    }
-
-    /**
-     * Do JVM options analysis.
-     */
-    private void doJvmOptionsAnalysis() {
-
-        // Check to see if thread stack size explicitly set
-        if (jvm.getThreadStackSizeOption() == null && !jvm.is64Bit()) {
-            analysis.add(WARN_THREAD_STACK_SIZE_NOT_SET);
-        }
-
-        // Check to see if min and max heap sizes are the same
-        if (!jvm.isMinAndMaxHeapSpaceEqual()) {
-            analysis.add(WARN_HEAP_MIN_NOT_EQUAL_MAX);
-            if (jvm.getUseAdaptiveSizePolicyDisabledOption() != null) {
-                analysis.add(ERROR_ADAPTIVE_SIZE_POLICY_DISABLED);
-            }
-        }
-
-        // Check to see if min and max perm gen sizes are the same
-        if (!jvm.isMinAndMaxPermSpaceEqual()) {
-            analysis.add(WARN_PERM_MIN_NOT_EQUAL_MAX);
-        }
-
-        // Check to see if perm gen explicitly set
-        if (analysis.contains(INFO_PERM_GEN)) {
-            if (jvm.getMinPermOption() == null && jvm.getMaxPermOption() == null) {
-                analysis.add(WARN_PERM_SIZE_NOT_SET);
-            }
-        }
-
-        // Check to see if explicit gc is disabled
-        if (jvm.getDisableExplicitGCOption() != null) {
-            analysis.add(WARN_EXPLICIT_GC_DISABLED);
-        }
-
-        // Check for large thread stack size
-        if (jvm.hasLargeThreadStackSize() && !jvm.is64Bit()) {
-            analysis.add(WARN_THREAD_STACK_SIZE_LARGE);
-        }
-
-        // Check for setting DGC intervals when explicit GC is disabled.
-        if (jvm.getDisableExplicitGCOption() != null && jvm.getRmiDgcClientGcIntervalOption() != null) {
-            analysis.add(WARN_RMI_DGC_CLIENT_GCINTERVAL_REDUNDANT);
-        }
-        if (jvm.getDisableExplicitGCOption() != null && jvm.getRmiDgcServerGcIntervalOption() != null) {
-            analysis.add(WARN_RMI_DGC_SERVER_GCINTERVAL_REDUNDANT);
-        }
-
-        // Check for small DGC intervals.
-        if (jvm.getRmiDgcClientGcIntervalOption() != null) {
-            long rmiDgcClientGcInterval = Long.parseLong(jvm.getRmiDgcClientGcIntervalValue());
-            if (rmiDgcClientGcInterval < 3_600_000) {
-                analysis.add(WARN_RMI_DGC_CLIENT_GCINTERVAL_SMALL);
-            } else if (rmiDgcClientGcInterval > 86_400_000) {
-                analysis.add(WARN_RMI_DGC_CLIENT_GCINTERVAL_LARGE);
-            }
-        }
-        if (jvm.getRmiDgcServerGcIntervalOption() != null) {
-            long rmiDgcServerGcInterval = Long.parseLong(jvm.getRmiDgcServerGcIntervalValue());
-            if (rmiDgcServerGcInterval < 3_600_000) {
-                analysis.add(WARN_RMI_DGC_SERVER_GCINTERVAL_SMALL);
-            } else if (rmiDgcServerGcInterval > 86_400_000) {
-                analysis.add(WARN_RMI_DGC_SERVER_GCINTERVAL_LARGE);
-            }
-        }
-
-        // Check if explicit gc not detected, but JVM not configured to handle it concurrently.
-        if ((collectorFamilies.contains(CollectorFamily.CMS) || collectorFamilies.contains(CollectorFamily.G1))
-                && jvm.getDisableExplicitGCOption() == null && jvm.getExplicitGcInvokesConcurrentOption() == null
-                && !analysis.contains(ERROR_EXPLICIT_GC_SERIAL_G1)
-                && !analysis.contains(ERROR_EXPLICIT_GC_SERIAL_CMS)) {
-            analysis.add(WARN_EXPLICIT_GC_NOT_CONCURRENT);
-        }
-
-        // Specifying that explicit gc be collected concurrently makes no sense if explicit gc is disabled.
-        if (jvm.getDisableExplicitGCOption() != null && jvm.getExplicitGcInvokesConcurrentOption() != null) {
-            analysis.add(WARN_EXPLICIT_GC_DISABLED_CONCURRENT);
-        }
-
-        // Check to see if heap dump on OOME disabled or missing.
-        if (jvm.getHeapDumpOnOutOfMemoryErrorDisabledOption() != null) {
-            analysis.add(WARN_HEAP_DUMP_ON_OOME_DISABLED);
-        } else if (jvm.getHeapDumpOnOutOfMemoryErrorEnabledOption() == null) {
-            analysis.add(WARN_HEAP_DUMP_ON_OOME_MISSING);
-        }
-
-        // Check if heap dump path missing.
-        if (jvm.getHeapDumpOnOutOfMemoryErrorEnabledOption() != null && jvm.getHeapDumpPathOption() == null) {
-            analysis.add(INFO_HEAP_DUMP_PATH_MISSING);
-        }
-
-        // Check if instrumentation being used.
-        if (jvm.getJavaagentOption() != null) {
-            analysis.add(INFO_INSTRUMENTATION);
-        }
-
-        // Check if native library being used.
-        if (jvm.getAgentpathOption() != null) {
-            analysis.add(INFO_NATIVE);
-        }
-
-        // Check if background compilation disabled.
-        if (jvm.getXBatchOption() != null || jvm.getDisableBackgroundCompilationOption() != null) {
-            analysis.add(WARN_BYTECODE_BACKGROUND_COMPILE_DISABLED);
-        }
-
-        // Check if compilation being forced on first invocation.
-        if (jvm.getXCompOption() != null) {
-            analysis.add(WARN_BYTECODE_COMPILE_FIRST_INVOCATION);
-        }
-
-        // Check if just in time (JIT) compilation disabled.
-        if (jvm.getXIntOption() != null) {
-            analysis.add(WARN_BYTECODE_COMPILE_DISABLED);
-        }
-
-        // Check for command line flags output.
-        if (jvm.getPrintCommandLineFlagsOption() == null && !getEventTypes().isEmpty()
-                && !getEventTypes().contains(LogEventType.HEADER_COMMAND_LINE_FLAGS)) {
-            analysis.add(WARN_PRINT_COMMANDLINE_FLAGS);
-        }
-
-        // Check if print gc details option disabled
-        if (jvm.getPrintGCDetailsDisabled() != null) {
-            analysis.add(WARN_PRINT_GC_DETAILS_DISABLED);
-        } else {
-            // Check if print gc details option missing
-            if (jvm.getPrintGCDetailsOption() == null) {
-                analysis.add(WARN_PRINT_GC_DETAILS_MISSING);
-            }
-        }
-
-        // Check if CMS not being used for old collections
-        if (jvm.getUseParNewGCOption() != null && jvm.getUseConcMarkSweepGCOption() == null) {
-            analysis.add(ERROR_CMS_SERIAL_OLD);
-        }
-
-        // Check if CMS handling Perm/Metaspace collections is explictily disabled or just not set.
-        if (jvm.getCMSClassUnloadingDisabled() != null) {
-            // Explicitly disabled.
-            analysis.add(WARN_CMS_CLASS_UNLOADING_DISABLED);
-            //
-            if (analysis.contains(WARN_CMS_CLASS_UNLOADING_NOT_ENABLED)) {
-                analysis.remove(WARN_CMS_CLASS_UNLOADING_NOT_ENABLED);
-            }
-        } else {
-            // Not enabled
-            if ((collectorFamilies.contains(CollectorFamily.CMS) && jvm.getCMSClassUnloadingEnabled() == null)) {
-                if (!analysis.contains(WARN_CMS_CLASS_UNLOADING_NOT_ENABLED)) {
-                    analysis.add(WARN_CMS_CLASS_UNLOADING_NOT_ENABLED);
-                }
-            }
-        }
-
-        // Check for -XX:+PrintReferenceGC.
-        if (jvm.getPrintReferenceGC() != null && !analysis.contains(WARN_PRINT_REFERENCE_GC_ENABLED)) {
-            analysis.add(WARN_PRINT_REFERENCE_GC_ENABLED);
-        }
-
-        // Check for -XX:+PrintGCCause missing.
-        if (jvm.getPrintGCCause() == null && jvm.JdkNumber() == 7 && !analysis.contains(WARN_PRINT_GC_CAUSE_MISSING)) {
-            analysis.add(WARN_PRINT_GC_CAUSE_MISSING);
-            // Don't double report
-            if (analysis.contains(WARN_PRINT_GC_CAUSE_NOT_ENABLED)) {
-                analysis.remove(WARN_PRINT_GC_CAUSE_NOT_ENABLED);
-            }
-        }
-
-        // Check for -XX:-PrintGCCause (PrintGCCause disabled).
-        if (jvm.getPrintGCCauseDisabled() != null) {
-            analysis.add(WARN_PRINT_GC_CAUSE_DISABLED);
-            // Don't double report
-            if (analysis.contains(WARN_PRINT_GC_CAUSE_NOT_ENABLED)) {
-                analysis.remove(WARN_PRINT_GC_CAUSE_NOT_ENABLED);
-            }
-        }
-
-        // Check for -XX:+TieredCompilation.
-        if (jvm.getTieredCompilation() != null) {
-            analysis.add(WARN_TIERED_COMPILATION_ENABLED);
-        }
-
-        // Check for -XX:+PrintStringDeduplicationStatistics.
-        if (jvm.getPrintStringDeduplicationStatistics() != null) {
-            analysis.add(WARN_PRINT_STRING_DEDUP_STATS_ENABLED);
-        }
-
-        // Check for incremental mode in combination with -XX:CMSInitiatingOccupancyFraction=<n>.
-        if (analysis.contains(WARN_CMS_INCREMENTAL_MODE) && jvm.getCMSInitiatingOccupancyFraction() != null) {
-            analysis.add(WARN_CMS_INC_MODE_WITH_INIT_OCCUP_FRACT);
-        }
-
-        // Check for biased locking disabled with -XX:-UseBiasedLocking.
-        if (jvm.getBiasedLockingDisabled() != null && !collectorFamilies.contains(CollectorFamily.SHENANDOAH)) {
-            analysis.add(WARN_BIASED_LOCKING_DISABLED);
-        }
-
-        // Check for print class histogram output enabled with -XX:+PrintClassHistogram,
-        // -XX:+PrintClassHistogramBeforeFullGC, or -XX:+PrintClassHistogramAfterFullGC.
-        if (jvm.getPrintClassHistogramEnabled() != null) {
-            analysis.add(WARN_PRINT_CLASS_HISTOGRAM);
-        }
-        if (jvm.getPrintClassHistogramAfterFullGcEnabled() != null) {
-            analysis.add(WARN_PRINT_CLASS_HISTOGRAM_AFTER_FULL_GC);
-        }
-        if (jvm.getPrintClassHistogramBeforeFullGcEnabled() != null) {
-            analysis.add(WARN_PRINT_CLASS_HISTOGRAM_BEFORE_FULL_GC);
-        }
-
-        // Check for outputting application concurrent time
-        if (!analysis.contains(WARN_PRINT_GC_APPLICATION_CONCURRENT_TIME)) {
-            if (jvm.getPrintGcApplicationConcurrentTime() != null) {
-                analysis.add(WARN_PRINT_GC_APPLICATION_CONCURRENT_TIME);
-            }
-        }
-
-        // Check for trace class unloading enabled with -XX:+TraceClassUnloading
-        if (!analysis.contains(WARN_TRACE_CLASS_UNLOADING)) {
-            if (jvm.getTraceClassUnloading() != null) {
-                analysis.add(WARN_TRACE_CLASS_UNLOADING);
-            }
-        }
-
-        // Compressed object references should only be used when heap < 32G
-        boolean heapLessThan32G = jvm.getMaxHeapBytes().lessThan(gigabytes(32));
-
-        if (heapLessThan32G) {
-            // Should use compressed object pointers
-            if (jvm.getUseCompressedOopsDisabled() != null) {
-
-                if (jvm.getMaxHeapBytes().isZero()) {
-                    // Heap size unknown
-                    analysis.add(WARN_COMP_OOPS_DISABLED_HEAP_UNK);
-                } else {
-                    // Heap < 32G
-                    analysis.add(ERROR_COMP_OOPS_DISABLED_HEAP_LT_32G);
-                }
-                if (jvm.getCompressedClassSpaceSizeOption() != null) {
-                    analysis.add(INFO_COMP_CLASS_SIZE_COMP_OOPS_DISABLED);
-                }
-            }
-
-            // Should use compressed class pointers
-            if (jvm.getUseCompressedClassPointersDisabled() != null) {
-                if (jvm.getMaxHeapBytes().isZero()) {
-                    // Heap size unknown
-                    analysis.add(WARN_COMP_CLASS_DISABLED_HEAP_UNK);
-                } else {
-                    // Heap < 32G
-                    analysis.add(ERROR_COMP_CLASS_DISABLED_HEAP_LT_32G);
-                }
-                if (jvm.getCompressedClassSpaceSizeOption() != null) {
-                    analysis.add(INFO_COMP_CLASS_SIZE_COMP_CLASS_DISABLED);
-                }
-            }
-        } else {
-            // Should not use compressed object pointers
-            if (jvm.getUseCompressedOopsEnabled() != null) {
-                analysis.add(ERROR_COMP_OOPS_ENABLED_HEAP_GT_32G);
-            }
-
-            // Should not use compressed class pointers
-            if (jvm.getUseCompressedClassPointersEnabled() != null) {
-                analysis.add(ERROR_COMP_CLASS_ENABLED_HEAP_GT_32G);
-            }
-
-            // Should not be setting class pointer space size
-            if (jvm.getCompressedClassSpaceSizeOption() != null) {
-                analysis.add(ERROR_COMP_CLASS_SIZE_HEAP_GT_32G);
-            }
-        }
-
-        // Check for PrintFLSStatistics option is being used
-        if (jvm.getPrintFLStatistics() != null && !analysis.contains(INFO_PRINT_FLS_STATISTICS)) {
-            analysis.add(INFO_PRINT_FLS_STATISTICS);
-        }
-
-        // Check if PAR_NEW collector disabled
-        if (jvm.getUseParNewGcDisabled() != null && !analysis.contains(WARN_CMS_PAR_NEW_DISABLED)) {
-            analysis.add(WARN_CMS_PAR_NEW_DISABLED);
-        }
-
-        // Check if log file rotation disabled or missing
-        if (jvm.getUseGcLogFileRotationDisabled() != null) {
-            analysis.add(INFO_GC_LOG_FILE_ROTATION_DISABLED);
-            if (jvm.getGcLogFileName() != null && !jvm.getGcLogFileName().contains("%")) {
-                analysis.add(WARN_GC_LOG_FILE_OVERWRITE);
-            }
-        } else {
-            if (jvm.getUseGcLogFileRotationEnabled() == null) {
-                analysis.add(INFO_GC_LOG_FILE_ROTATION_NOT_ENABLED);
-                if (jvm.getGcLogFileName() != null && !jvm.getGcLogFileName().contains("%")) {
-                    analysis.add(WARN_GC_LOG_FILE_OVERWRITE);
-                }
-            }
-        }
-
-        // Check if number of log files specified with log file rotation disabled
-        if (jvm.getNumberOfGcLogFiles() != null && jvm.getUseGcLogFileRotationDisabled() != null) {
-            analysis.add(WARN_GC_LOG_FILE_NUM_ROTATION_DISABLED);
-        }
-
-        // Check if log file size is small
-        if (jvm.getGcLogFileSize() != null) {
-            if (jvm.getGcLogFileSizeBytes().lessThan(megabytes(5))) {
-                analysis.add(WARN_GC_LOG_FILE_SIZE_SMALL);
-            }
-        }
-
-        // If explicit gc is disabled, don't need to set explicit gc options
-        if (jvm.getExplicitGcInvokesConcurrentAndUnloadsClassesDisabled() != null
-                && jvm.getDisableExplicitGCOption() != null) {
-            analysis.add(INFO_CRUFT_EXP_GC_INV_CON_AND_UNL_CLA);
-        }
-
-        // Check for class unloading disabled
-        if (jvm.getClassUnloadingDisabled() != null) {
-            analysis.add(WARN_CLASS_UNLOADING_DISABLED);
-        }
-
-        // Check for -XX:+PrintPromotionFailure option being used
-        if (jvm.getPrintPromotionFailureEnabled() != null && !analysis.contains(INFO_PRINT_PROMOTION_FAILURE)) {
-            analysis.add(INFO_PRINT_PROMOTION_FAILURE);
-        }
-
-        // Check for -XX:+UseMembar option being used
-        if (jvm.getUseMembarEnabled() != null) {
-            analysis.add(WARN_USE_MEMBAR);
-        }
-
-        // Check for -XX:-PrintAdaptiveSizePolicy option being used
-        if (jvm.getPrintAdaptiveResizePolicyDisabled() != null) {
-            analysis.add(INFO_PRINT_ADAPTIVE_RESIZE_PLCY_DISABLED);
-        }
-
-        // Check for -XX:+PrintAdaptiveSizePolicy option being used
-        if (jvm.getPrintAdaptiveResizePolicyEnabled() != null) {
-            analysis.add(INFO_PRINT_ADAPTIVE_RESIZE_PLCY_ENABLED);
-        }
-
-        // Check for-XX:CMSInitiatingOccupancyFraction without -XX:+UseCMSInitiatingOccupancyOnly.
-        if (jvm.getCMSInitiatingOccupancyFraction() != null && jvm.getCMSInitiatingOccupancyOnlyEnabled() == null) {
-            analysis.add(WARN_CMS_INIT_OCCUPANCY_ONLY_MISSING);
-        }
-
-        // Check for tenuring disabled or default overriden
-        if (jvm.getMaxTenuringThresholdOption() != null) {
-            String maxTenuringThreshold = JdkUtil.getOptionValue(jvm.getMaxTenuringThresholdOption());
-            if (maxTenuringThreshold != null) {
-                int tenuring = Integer.parseInt(maxTenuringThreshold);
-                if (tenuring == 0) {
-                    analysis.add(WARN_TENURING_DISABLED);
-                } else if (tenuring != 15) {
-                    analysis.add(INFO_MAX_TENURING_OVERRIDE);
-                }
-            }
-        }
-
-        // Check for -XX:SurvivorRatio option being used
-        if (jvm.getSurvivorRatio() != null) {
-            analysis.add(INFO_SURVIVOR_RATIO);
-        }
-
-        // Check for -XX:TargetSurvivorRatio option being used
-        if (jvm.getTargetSurvivorRatio() != null) {
-            analysis.add(INFO_SURVIVOR_RATIO_TARGET);
-        }
-
-        // Check for experimental options being used
-        if (jvm.getUnlockExperimentalVmOptionsEnabled() != null) {
-            analysis.add(INFO_EXPERIMENTAL_VM_OPTIONS);
-        }
-        // Only report fast unordered timestamps if explicity set. If the JVM sets it via ergonomics,
-        // -XX:+UnlockExperimentalVMOptions will not be in the gc log header.
-        if (jvm.getUseFastUnorderedTimeStampsEnabled() != null && jvm.getUnlockExperimentalVmOptionsEnabled() != null) {
-            analysis.add(WARN_FAST_UNORDERED_TIMESTAMPS);
-            // Don't double report
-            if (analysis.contains(INFO_EXPERIMENTAL_VM_OPTIONS)) {
-                analysis.remove(INFO_EXPERIMENTAL_VM_OPTIONS);
-            }
-        }
-        if (jvm.getG1MixedGCLiveThresholdPercent() != null) {
-            analysis.add(WARN_G1_MIXED_GC_LIVE_THRSHOLD_PRCNT);
-            // Don't double report
-            if (analysis.contains(INFO_EXPERIMENTAL_VM_OPTIONS)) {
-                analysis.remove(INFO_EXPERIMENTAL_VM_OPTIONS);
-            }
-        }
-        if (jvm.getUseCGroupMemoryLimitForHeap() != null) {
-            analysis.add(WARN_CGROUP_MEMORY_LIMIT);
-            // Don't double report
-            if (analysis.contains(INFO_EXPERIMENTAL_VM_OPTIONS)) {
-                analysis.remove(INFO_EXPERIMENTAL_VM_OPTIONS);
-            }
-        }
-
-        // Check for JDK < u40 recommendations (require experimental options)
-        if ((collectorFamilies.contains(CollectorFamily.G1) || jvm.getUseG1Gc() != null) && jvm.JdkNumber() == 8
-                && jvm.JdkUpdate() < 40) {
-            if (jvm.getG1MixedGCLiveThresholdPercent() == null
-                    || !jvm.getG1MixedGCLiveThresholdPercentValue().equals("85") || jvm.getG1HeapWastePercent() == null
-                    || !jvm.getG1HeapWastePercentValue().equals("5")) {
-                analysis.add(WARN_G1_JDK8_PRIOR_U40_RECS);
-                if (analysis.contains(INFO_EXPERIMENTAL_VM_OPTIONS)) {
-                    analysis.remove(INFO_EXPERIMENTAL_VM_OPTIONS);
-                }
-            }
-        }
-
-        // Check for multi-threaded CMS initial mark disabled
-        if (jvm.getCmsParallelInitialMarkDisabled() != null
-                && !analysis.contains(ERROR_CMS_PARALLEL_INITIAL_MARK_DISABLED)) {
-            analysis.add(ERROR_CMS_PARALLEL_INITIAL_MARK_DISABLED);
-        }
-
-        // Check for multi-threaded CMS remark disabled
-        if (jvm.getCmsParallelRemarkDisabled() != null && !analysis.contains(ERROR_CMS_PARALLEL_REMARK_DISABLED)) {
-            analysis.add(ERROR_CMS_PARALLEL_REMARK_DISABLED);
-        }
-
-        // Check if summarized remembered set processing information being output
-        if (collectorFamilies.contains(CollectorFamily.G1) && jvm.getG1SummarizeRSetStatsEnabled() != null
-                && jvm.getG1SummarizeRSetStatsPeriodValue() != null) {
-            int period = Integer.parseInt(jvm.getG1SummarizeRSetStatsPeriodValue());
-            if (period > 0) {
-                analysis.add(INFO_G1_SUMMARIZE_RSET_STATS_OUTPUT);
-            }
-        }
-
-        // Check if MaxMetaspaceSize is less than CompressedClassSpaceSize.
-        if (jvm.getMaxMetaspaceOption() != null) {
-            Memory compressedClassSpaceSize = Memory.ZERO;
-            if (jvm.getCompressedClassSpaceSizeOption() != null) {
-                compressedClassSpaceSize = jvm.getCompressedClassSpaceSizeBytes();
-            } else {
-                // Default is 1g
-                compressedClassSpaceSize = gigabytes(1);
-            }
-            if (jvm.getMaxMetaspaceBytes().lessThan(compressedClassSpaceSize)) {
-                analysis.add(ERROR_METASPACE_SIZE_LT_COMP_CLASS_SIZE);
-            }
-        }
-
-        // Check if heap dump filename specified
-        if (jvm.getHeapDumpPathValue() != null && !jvm.getHeapDumpPathValue().matches("^\\s*[\\//]$")) {
-            analysis.add(WARN_HEAP_DUMP_PATH_FILENAME);
-        }
-
-        // Check for unaccounted disabled options
-        if (jvm.getUnaccountedDisabledOptions() != null) {
-            analysis.add(INFO_UNACCOUNTED_OPTIONS_DISABLED);
-        }
+    public BigDecimal getAllocationRate() {
+        return allocationRates == null ? BigDecimal.ZERO : allocationRates.getAllocationRate();
     }
 
-    /**
-     *
-     * @return The amount of memory allocated per time unit expressed in MB/sec
-     */
-    public BigDecimal getAllocationRate() {
-        return allocationRate;
+    public AllocationRates getAllocationRates() {
+        return allocationRates;
     }
 
     public List<Analysis> getAnalysis() {
@@ -931,23 +383,72 @@ public class JvmRun {
         return firstSafepointEvent;
     }
 
-    public List<String> getGcBottlenecks() {
-        return gcBottlenecks;
+    public GcCpu getGcCpu() {
+        return gcCpu;
+    }
+
+    /**
+     * @return GC CPU (user + sys) time as a percent of JVM run duration, rounded down. 100 means one CPU was busy with
+     *         GC on average, so values can be greater than 100.
+     */
+    public int getGcCpuRatio() {
+        if (gcCpu == null || getJvmRunDuration() <= 0) {
+            return 0;
+        }
+        return (int) (gcCpu.getTotal() * 100 / getJvmRunDuration());
+    }
+
+    /**
+     * @return GC CPU (user + sys) time as a percent of one minute in the busiest minute, rounded down.
+     */
+    public int getGcCpuRatioPeak() {
+        if (rollup == null) {
+            return 0;
+        }
+        long max = 0;
+        for (int i = 0; i < rollup.getBucketCount(Resolution.MINUTE); i++) {
+            max = Math.max(max, rollup.getGcCpuTotal(Resolution.MINUTE, i));
+        }
+        return (int) (max * 100 / Resolution.MINUTE.getWidth());
+    }
+
+    /**
+     * @return GC pause duration (microseconds) histogram for all event types.
+     */
+    public Histogram getGcPauseHistogram() {
+        Histogram histogram = new Histogram();
+        gcPauseHistograms.values().forEach(histogram::merge);
+        return histogram;
+    }
+
+    /**
+     * @return GC pause duration (microseconds) histograms by event type.
+     */
+    public Map<LogEventType, Histogram> getGcPauseHistograms() {
+        return gcPauseHistograms;
     }
 
     public long getGcPauseTotal() {
         return gcPauseTotal;
     }
 
+    public GcStorms getGcStorms() {
+        return gcStorms;
+    }
+
     /**
      * 
-     * @return Ratio of GC to Stopped Time as a percent rounded to the nearest integer. 100 means all stopped time spent
-     *         doing GC. 0 means none of the stopped time was due to GC.
+     * @return Ratio of GC to Stopped Time as a percent. 100 means all stopped time spent doing GC. 0 means none of the
+     *         stopped time was due to GC. Stopped time with GC (including the safepoint overhead) is used if most GC
+     *         events are joined to stopped time events, otherwise GC pause time (rounded to the nearest integer).
      */
     public long getGcStoppedRatio() {
         if (gcPauseTotal <= 0 || stoppedTimeTotal <= 0) {
             return 100L;
         }
+        if (safepointCorrelation != null && safepointCorrelation.isJoined()) {
+            return safepointCorrelation.getGcRatio();
+        }
         BigDecimal ratio = new BigDecimal(gcPauseTotal);
         ratio = ratio.divide(new BigDecimal(stoppedTimeTotal), 2, HALF_EVEN);
         return ratio.movePointRight(2).longValue();
@@ -970,13 +471,19 @@ public class JvmRun {
 
     /**
      * 
-     * @return Ratio of GC to unified safepoint time as a percent rounded to the nearest integer. 100 means all
-     *         safepoint time spent doing GC. 0 means none of the safepoint time was due to GC.
+     * @return Ratio of GC to unified safepoint time as a percent. 100 means all safepoint time spent doing GC. 0 means
+     *         none of the safepoint time was due to GC. Safepoint time with GC (including the safepoint overhead) is
+     *         used if most GC events are joined to unified safepoint events, otherwise GC pause time (rounded to the
+     *         nearest integer).
      */
     public long getGcUnifiedSafepointRatio() {
         if (gcPauseTotal <= 0 || unifiedSafepointTimeTotal <= 0) {
             return 100L;
         }
+        // Stopped time events are joined if there are any
+        if (safepointCorrelation != null && safepointCorrelation.isJoined() && stoppedTimeEventCount == 0) {
+            return safepointCorrelation.getGcRatio();
+        }
         BigDecimal ratio = new BigDecimal(gcPauseTotal);
         ratio = ratio.divide(new BigDecimal(unifiedSafepointTimeTotal), 2, HALF_EVEN);
         return ratio.movePointRight(2).longValue();
@@ -1093,6 +600,18 @@ public class JvmRun {
         return maxYoungSpace;
     }
 
+    public MutatorUtilization getMutatorUtilization() {
+        return mutatorUtilization;
+    }
+
+    public int getOldGenerationHorizon() {
+        return oldGenerationHorizon;
+    }
+
+    public OldGenerationTrend getOldGenerationTrend() {
+        return oldGenerationTrend;
+    }
+
     /**
      * @return Ratio of old/young space sizes rounded to whole number.
      */
@@ -1109,10 +628,21 @@ public class JvmRun {
         return parallelCount;
     }
 
-    public List<String> getSafepointBottlenecks() {
+    /**
+     * @return Minute, hour, and day rollups of pauses, safepoint time, and heap after GC.
+     */
+    public TimeRollup getRollup() {
+        return rollup;
+    }
+
+    public List<Bottleneck> getSafepointBottlenecks() {
         return safepointBottlenecks;
     }
 
+    public SafepointCorrelation getSafepointCorrelation() {
+        return safepointCorrelation;
+    }
+
     public List<SafepointEventSummary> getSafepointEventSummaries() {
         return safepointEventSummaries;
     }
@@ -1121,6 +651,13 @@ public class JvmRun {
         return stoppedTimeEventCount;
     }
 
+    /**
+     * @return Stopped time duration (microseconds) histogram.
+     */
+    public Histogram getStoppedTimeHistogram() {
+        return stoppedTimeHistogram;
+    }
+
     public long getStoppedTimeMax() {
         return stoppedTimeMax;
     }
@@ -1151,7 +688,22 @@ public class JvmRun {
         return throughputThreshold;
     }
 
-    public List<String> getUnidentifiedLogLines() {
+    public TimeToSafepoint getTimeToSafepoint() {
+        return timeToSafepoint;
+    }
+
+    /**
+     * @return Percent of safepoint pause time spent reaching the safepoint (time to safepoint), or 0 if there is no
+     *         safepoint pause time.
+     */
+    public int getTimeToSafepointRatio() {
+        if (timeToSafepoint == null || timeToSafepoint.getPauseTotal() <= 0) {
+            return 0;
+        }
+        return (int) (timeToSafepoint.getTotal() * 100 / timeToSafepoint.getPauseTotal());
+    }
+
+    public UnidentifiedLogLines getUnidentifiedLogLines() {
         return unidentifiedLogLines;
     }
 
@@ -1178,6 +730,13 @@ public class JvmRun {
         return throughput.movePointRight(2).longValue();
     }
 
+    /**
+     * @return Unified safepoint time duration (microseconds) histogram.
+     */
+    public Histogram getUnifiedSafepointHistogram() {
+        return unifiedSafepointHistogram;
+    }
+
     public long getUnifiedSafepointTimeMax() {
         return unifiedSafepointTimeMax;
     }
@@ -1201,8 +760,8 @@ public class JvmRun {
         return preprocessed;
     }
 
-    public void setAllocationRate(BigDecimal mbPerSecond) {
-        allocationRate = mbPerSecond;
+    public void setAllocationRates(AllocationRates allocationRates) {
+        this.allocationRates = allocationRates;
     }
 
     public void setAnalysis(List<Analysis> analysis) {
@@ -1229,8 +788,12 @@ public class JvmRun {
         this.firstSafepointEvent = firstSafepointEvent;
     }
 
-    public void setGcBottlenecks(List<String> gcBottlenecks) {
-        this.gcBottlenecks = gcBottlenecks;
+    public void setGcCpu(GcCpu gcCpu) {
+        this.gcCpu = gcCpu;
+    }
+
+    public void setGcPauseHistograms(Map<LogEventType, Histogram> gcPauseHistograms) {
+        this.gcPauseHistograms = gcPauseHistograms;
     }
 
     public void setGcPauseMax(long gcPauseMax) {
@@ -1241,6 +804,10 @@ public class JvmRun {
         this.gcPauseTotal = gcPauseTotal;
     }
 
+    public void setGcStorms(GcStorms gcStorms) {
+        this.gcStorms = gcStorms;
+    }
+
     public void setInvertedParallelismCount(long invertedParallelismCount) {
         this.invertedParallelismCount = invertedParallelismCount;
     }
@@ -1309,6 +876,18 @@ public class JvmRun {
         this.maxYoungSpace = maxYoungSpace;
     }
 
+    public void setMutatorUtilization(MutatorUtilization mutatorUtilization) {
+        this.mutatorUtilization = mutatorUtilization;
+    }
+
+    public void setOldGenerationHorizon(int oldGenerationHorizon) {
+        this.oldGenerationHorizon = oldGenerationHorizon;
+    }
+
+    public void setOldGenerationTrend(OldGenerationTrend oldGenerationTrend) {
+        this.oldGenerationTrend = oldGenerationTrend;
+    }
+
     public void setParallelCount(long parallelCount) {
         this.parallelCount = parallelCount;
     }
@@ -1317,10 +896,18 @@ public class JvmRun {
         this.preprocessed = preprocessed;
     }
 
-    public void setSafepointBottlenecks(List<String> safepointBottlenecks) {
+    public void setRollup(TimeRollup rollup) {
+        this.rollup = rollup;
+    }
+
+    public void setSafepointBottlenecks(List<Bottleneck> safepointBottlenecks) {
         this.safepointBottlenecks = safepointBottlenecks;
     }
 
+    public void setSafepointCorrelation(SafepointCorrelation safepointCorrelation) {
+        this.safepointCorrelation = safepointCorrelation;
+    }
+
     public void setSafepointEventSummaries(List<SafepointEventSummary> safepointEventSummaries) {
         this.safepointEventSummaries = safepointEventSummaries;
     }
@@ -1329,6 +916,10 @@ public class JvmRun {
         this.stoppedTimeEventCount = stoppedTimeEventCount;
     }
 
+    public void setStoppedTimeHistogram(Histogram stoppedTimeHistogram) {
+        this.stoppedTimeHistogram = stoppedTimeHistogram;
+    }
+
     public void setStoppedTimeMax(long stoppedTimeMax) {
         this.stoppedTimeMax = stoppedTimeMax;
     }
@@ -1341,7 +932,11 @@ public class JvmRun {
         this.throughputThreshold = throughputThreshold;
     }
 
-    public void setUnidentifiedLogLines(List<String> unidentifiedLogLines) {
+    public void setTimeToSafepoint(TimeToSafepoint timeToSafepoint) {
+        this.timeToSafepoint = timeToSafepoint;
+    }
+
+    public void setUnidentifiedLogLines(UnidentifiedLogLines unidentifiedLogLines) {
         this.unidentifiedLogLines = unidentifiedLogLines;
     }
 
@@ -1349,6 +944,10 @@ public class JvmRun {
         this.unifiedSafepointEventCount = unifiedSafepointEventCount;
     }
 
+    public void setUnifiedSafepointHistogram(Histogram unifiedSafepointHistogram) {
+        this.unifiedSafepointHistogram = unifiedSafepointHistogram;
+    }
+
     public void setUnifiedSafepointTimeMax(long unifiedSafepointTimeMax) {
         this.unifiedSafepointTimeMax = unifiedSafepointTimeMax;
     }
@@ -12,6 +12,8 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.domain;
 
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
+
 /**
  * Base logging event.
  * 
@@ -31,9 +33,12 @@ public interface LogEvent {
     String getLogEntry();
 
     /**
-     * TODO: Change to LogEventType.
-     * 
      * @return The event identifier.
      */
     String getName();
+
+    /**
+     * @return The event type.
+     */
+    LogEventType getEventType();
 }
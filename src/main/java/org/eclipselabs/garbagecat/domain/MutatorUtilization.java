@@ -0,0 +1,175 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.domain;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <p>
+ * Minimum mutator utilization (MMU): the lowest percent of time available to the application in any window of a given
+ * size, over the pauses of both <code>BlockingEvent</code>s and <code>SafepointEvent</code>s.
+ * </p>
+ * 
+ * <p>
+ * Pauses are merged into sorted, disjoint intervals so overlapping GC and stopped time is counted once. Paused time in a
+ * window sliding across the run only peaks when the window starts at a pause start or ends at a pause end, so each
+ * window size is computed with two pointers sweeping those positions in O(n).
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class MutatorUtilization {
+
+    /**
+     * Report window sizes (milliseconds): 10ms, 100ms, 1s, 10s, 1min.
+     */
+    public static final long[] WINDOWS = { 10, 100, 1000, 10000, 60000 };
+
+    /**
+     * Pause interval ends (microseconds), ascending.
+     */
+    private final long[] ends;
+
+    /**
+     * Paused time (microseconds) of the intervals before each index (size + 1 values).
+     */
+    private final long[] pausedBefore;
+
+    /**
+     * Number of pause intervals.
+     */
+    private final int size;
+
+    /**
+     * Pause interval starts (microseconds), ascending.
+     */
+    private final long[] starts;
+
+    /**
+     * Merge the event pauses into disjoint intervals.
+     * 
+     * @param blockingEvents
+     *            The <code>BlockingEvent</code>s, sorted by timestamp.
+     * @param safepointEvents
+     *            The <code>SafepointEvent</code>s, sorted by timestamp. Unified safepoints are logged when the
+     *            safepoint ends, so they start their duration before the timestamp.
+     */
+    public MutatorUtilization(List<? extends SafepointEvent> blockingEvents,
+            List<? extends SafepointEvent> safepointEvents) {
+        int capacity = blockingEvents.size() + safepointEvents.size();
+        long[] intervalStarts = new long[capacity];
+        long[] intervalEnds = new long[capacity];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < blockingEvents.size() || j < safepointEvents.size()) {
+            SafepointEvent event;
+            if (j >= safepointEvents.size() || (i < blockingEvents.size() && blockingEvents.get(i).getTimestamp()
+                    * 1000 <= SafepointCorrelation.start(safepointEvents.get(j)))) {
+                event = blockingEvents.get(i++);
+            } else {
+                event = safepointEvents.get(j++);
+            }
+            long start = SafepointCorrelation.start(event);
+            long end = start + Math.max(0, event.getDuration());
+            if (count > 0 && start <= intervalEnds[count - 1]) {
+                // Overlaps (or abuts) the prior pause
+                intervalStarts[count - 1] = Math.min(intervalStarts[count - 1], start);
+                intervalEnds[count - 1] = Math.max(intervalEnds[count - 1], end);
+                // A start moved back by rounding can reach the pause before
+                while (count > 1 && intervalStarts[count - 1] <= intervalEnds[count - 2]) {
+                    intervalStarts[count - 2] = Math.min(intervalStarts[count - 2], intervalStarts[count - 1]);
+                    intervalEnds[count - 2] = Math.max(intervalEnds[count - 2], intervalEnds[count - 1]);
+                    count--;
+                }
+            } else if (end > start) {
+                intervalStarts[count] = start;
+                intervalEnds[count] = end;
+                count++;
+            }
+        }
+        size = count;
+        starts = Arrays.copyOf(intervalStarts, count);
+        ends = Arrays.copyOf(intervalEnds, count);
+        pausedBefore = new long[count + 1];
+        for (int k = 0; k < count; k++) {
+            pausedBefore[k + 1] = pausedBefore[k] + ends[k] - starts[k];
+        }
+    }
+
+    /**
+     * @return The number of disjoint pause intervals.
+     */
+    public int getIntervalCount() {
+        return size;
+    }
+
+    /**
+     * @param window
+     *            The window size (milliseconds).
+     * @return The most paused time (microseconds) in any window of the specified size, or -1 if the window is not
+     *         positive or is longer than the span of the pauses.
+     */
+    public long getMaxPausedTime(long window) {
+        long length = window * 1000;
+        if (size == 0 || length <= 0 || length > ends[size - 1] - starts[0]) {
+            return -1;
+        }
+        long maxPaused = 0;
+        // Windows starting at a pause start: j is the first interval starting at or after the window end
+        for (int i = 0, j = 0; i < size; i++) {
+            long windowEnd = starts[i] + length;
+            if (windowEnd > ends[size - 1]) {
+                break;
+            }
+            while (j < size && starts[j] < windowEnd) {
+                j++;
+            }
+            long paused = pausedBefore[j] - pausedBefore[i] - Math.max(0, ends[j - 1] - windowEnd);
+            maxPaused = Math.max(maxPaused, paused);
+        }
+        // Windows ending at a pause end: k is the first interval ending after the window start
+        for (int j = size - 1, k = size - 1; j >= 0; j--) {
+            long windowStart = ends[j] - length;
+            if (windowStart < starts[0]) {
+                break;
+            }
+            while (k > 0 && ends[k - 1] > windowStart) {
+                k--;
+            }
+            long paused = pausedBefore[j + 1] - pausedBefore[k] - Math.max(0, windowStart - starts[k]);
+            maxPaused = Math.max(maxPaused, paused);
+        }
+        return maxPaused;
+    }
+
+    /**
+     * @param window
+     *            The window size (milliseconds).
+     * @return The minimum mutator utilization as a percent (rounded down to 1 decimal place) over any window of the
+     *         specified size within the span from the first pause start to the last pause end, or null if the window
+     *         is not positive or is longer than the span.
+     */
+    public BigDecimal getMinimum(long window) {
+        long maxPaused = getMaxPausedTime(window);
+        if (maxPaused < 0) {
+            return null;
+        }
+        BigDecimal utilization = new BigDecimal(window * 1000 - maxPaused);
+        return utilization.movePointRight(2).divide(new BigDecimal(window * 1000), 1, RoundingMode.DOWN);
+    }
+}
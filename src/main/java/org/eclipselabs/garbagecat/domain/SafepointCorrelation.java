@@ -0,0 +1,337 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.domain;
+
+import static java.util.Comparator.comparing;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedSafepointEvent;
+import org.eclipselabs.garbagecat.util.Histogram;
+import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedSafepoint.Trigger;
+
+/**
+ * <p>
+ * <code>BlockingEvent</code>s joined to the <code>SafepointEvent</code>s (stopped time or unified safepoint) they
+ * happen in: the safepoint time spent on GC, the overhead of GC safepoints beyond the GC pause (e.g. reaching the
+ * safepoint, VM operation setup and cleanup), and the safepoints with no GC by <code>Trigger</code>.
+ * </p>
+ * 
+ * <p>
+ * Both event lists are sorted by timestamp, so they are merge-joined in one pass: a GC is in the last safepoint that
+ * starts by the time the GC starts, if that safepoint does not end before the GC starts. Timestamps are logged in
+ * milliseconds, so safepoint boundaries are widened by <code>SLACK</code>. Safepoints logged without timestamps (all
+ * 0) cannot be joined, and all GCs are left unmatched.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class SafepointCorrelation {
+
+    /**
+     * Safepoints with no GC for a <code>Trigger</code>.
+     */
+    public static final class Summary {
+
+        private long count;
+
+        private long max;
+
+        private long total;
+
+        private final Trigger trigger;
+
+        Summary(Trigger trigger) {
+            this.trigger = trigger;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return The maximum safepoint duration (microseconds).
+         */
+        public long getMax() {
+            return max;
+        }
+
+        /**
+         * @return The total safepoint duration (microseconds).
+         */
+        public long getTotal() {
+            return total;
+        }
+
+        /**
+         * @return The <code>Trigger</code>, or null for stopped time events.
+         */
+        public Trigger getTrigger() {
+            return trigger;
+        }
+    }
+
+    /**
+     * Microseconds safepoint boundaries are widened by for timestamps rounded to milliseconds.
+     */
+    static final long SLACK = 1000;
+
+    /**
+     * Number of <code>BlockingEvent</code>s in a safepoint.
+     */
+    private long gcCount;
+
+    /**
+     * Number of safepoints with GC.
+     */
+    private long gcSafepointCount;
+
+    /**
+     * Maximum duration (microseconds) of safepoints with GC.
+     */
+    private long gcSafepointMax;
+
+    /**
+     * Total duration (microseconds) of safepoints with GC.
+     */
+    private long gcSafepointTotal;
+
+    /**
+     * Number of <code>BlockingEvent</code>s not in a safepoint.
+     */
+    private long gcUnmatchedCount;
+
+    /**
+     * Safepoints with no GC by <code>Trigger</code>, in order of first appearance.
+     */
+    private final Map<Trigger, Summary> nonGc = new LinkedHashMap<Trigger, Summary>();
+
+    /**
+     * Number of safepoints with no GC.
+     */
+    private long nonGcCount;
+
+    /**
+     * Maximum duration (microseconds) of safepoints with no GC.
+     */
+    private long nonGcMax;
+
+    /**
+     * Total duration (microseconds) of safepoints with no GC.
+     */
+    private long nonGcTotal;
+
+    /**
+     * Overhead (microseconds) histogram of safepoints with GC.
+     */
+    private final Histogram overhead = new Histogram();
+
+    /**
+     * The safepoint with GC with the most overhead.
+     */
+    private String overheadMaxLogEntry;
+
+    /**
+     * Join the events.
+     * 
+     * @param blockingEvents
+     *            The <code>BlockingEvent</code>s, sorted by timestamp.
+     * @param safepointEvents
+     *            The <code>SafepointEvent</code>s, sorted by timestamp.
+     */
+    public SafepointCorrelation(List<? extends BlockingEvent> blockingEvents,
+            List<? extends SafepointEvent> safepointEvents) {
+        if (safepointEvents.isEmpty() || safepointEvents.get(safepointEvents.size() - 1).getTimestamp() <= 0) {
+            gcUnmatchedCount = blockingEvents.size();
+            return;
+        }
+        int j = 0;
+        int gcs = 0;
+        long gcPause = 0;
+        for (BlockingEvent event : blockingEvents) {
+            long start = event.getTimestamp() * 1000;
+            // Close the safepoints that end before the GC starts or are followed by a safepoint starting before it
+            while (j < safepointEvents.size() && (end(safepointEvents.get(j)) + SLACK <= start
+                    || (j + 1 < safepointEvents.size() && start(safepointEvents.get(j + 1)) <= start))) {
+                close(safepointEvents.get(j++), gcs, gcPause);
+                gcs = 0;
+                gcPause = 0;
+            }
+            if (j < safepointEvents.size() && start(safepointEvents.get(j)) - SLACK <= start) {
+                gcCount++;
+                gcs++;
+                gcPause += event.getDuration();
+            } else {
+                gcUnmatchedCount++;
+            }
+        }
+        while (j < safepointEvents.size()) {
+            close(safepointEvents.get(j++), gcs, gcPause);
+            gcs = 0;
+            gcPause = 0;
+        }
+    }
+
+    /**
+     * @param safepointEvent
+     *            The safepoint.
+     * @return The safepoint end (microseconds).
+     */
+    static long end(SafepointEvent safepointEvent) {
+        return start(safepointEvent) + safepointEvent.getDuration();
+    }
+
+    /**
+     * @param safepointEvent
+     *            The safepoint.
+     * @return The safepoint start (microseconds). Unified safepoints are logged (timestamped) when the safepoint ends.
+     */
+    static long start(SafepointEvent safepointEvent) {
+        long timestamp = safepointEvent.getTimestamp() * 1000;
+        return safepointEvent instanceof UnifiedSafepointEvent ? timestamp - safepointEvent.getDuration() : timestamp;
+    }
+
+    /**
+     * @param safepointEvent
+     *            The safepoint.
+     * @param gcs
+     *            The number of GCs in the safepoint.
+     * @param gcPause
+     *            The pause (microseconds) of the GCs in the safepoint.
+     */
+    private void close(SafepointEvent safepointEvent, int gcs, long gcPause) {
+        long duration = safepointEvent.getDuration();
+        if (gcs > 0) {
+            gcSafepointCount++;
+            gcSafepointTotal += duration;
+            gcSafepointMax = Math.max(gcSafepointMax, duration);
+            long safepointOverhead = Math.max(0, duration - gcPause);
+            if (overheadMaxLogEntry == null || safepointOverhead > overhead.getMax()) {
+                overheadMaxLogEntry = safepointEvent.getLogEntry();
+            }
+            overhead.record(safepointOverhead);
+        } else {
+            nonGcCount++;
+            nonGcTotal += duration;
+            nonGcMax = Math.max(nonGcMax, duration);
+            Trigger trigger = safepointEvent instanceof UnifiedSafepointEvent
+                    ? ((UnifiedSafepointEvent) safepointEvent).getTrigger()
+                    : null;
+            Summary summary = nonGc.computeIfAbsent(trigger, Summary::new);
+            summary.count++;
+            summary.total += duration;
+            summary.max = Math.max(summary.max, duration);
+        }
+    }
+
+    /**
+     * @return The number of <code>BlockingEvent</code>s in a safepoint.
+     */
+    public long getGcCount() {
+        return gcCount;
+    }
+
+    /**
+     * @return True if most <code>BlockingEvent</code>s are in a safepoint, so the join is representative, false
+     *         otherwise.
+     */
+    public boolean isJoined() {
+        return gcCount > gcUnmatchedCount;
+    }
+
+    /**
+     * @return Duration of safepoints with GC as a percent of safepoint duration, rounded down, or 100 if there is no
+     *         safepoint time.
+     */
+    public int getGcRatio() {
+        long total = gcSafepointTotal + nonGcTotal;
+        return total <= 0 ? 100 : (int) (gcSafepointTotal * 100 / total);
+    }
+
+    /**
+     * @return The number of safepoints with GC.
+     */
+    public long getGcSafepointCount() {
+        return gcSafepointCount;
+    }
+
+    /**
+     * @return The maximum duration (microseconds) of safepoints with GC.
+     */
+    public long getGcSafepointMax() {
+        return gcSafepointMax;
+    }
+
+    /**
+     * @return The total duration (microseconds) of safepoints with GC.
+     */
+    public long getGcSafepointTotal() {
+        return gcSafepointTotal;
+    }
+
+    /**
+     * @return The number of <code>BlockingEvent</code>s not in a safepoint.
+     */
+    public long getGcUnmatchedCount() {
+        return gcUnmatchedCount;
+    }
+
+    /**
+     * @return The number of safepoints with no GC.
+     */
+    public long getNonGcCount() {
+        return nonGcCount;
+    }
+
+    /**
+     * @return The maximum duration (microseconds) of safepoints with no GC.
+     */
+    public long getNonGcMax() {
+        return nonGcMax;
+    }
+
+    /**
+     * @return Safepoints with no GC by <code>Trigger</code>, longest total first.
+     */
+    public List<Summary> getNonGcSummaries() {
+        List<Summary> summaries = new ArrayList<Summary>(nonGc.values());
+        summaries.sort(comparing(Summary::getTotal).reversed());
+        return summaries;
+    }
+
+    /**
+     * @return The total duration (microseconds) of safepoints with no GC.
+     */
+    public long getNonGcTotal() {
+        return nonGcTotal;
+    }
+
+    /**
+     * @return The overhead (microseconds) histogram of safepoints with GC: safepoint duration beyond the GC pause.
+     */
+    public Histogram getOverhead() {
+        return overhead;
+    }
+
+    /**
+     * @return The log entry of the safepoint with GC with the most overhead, or null if there are no safepoints with
+     *         GC.
+     */
+    public String getOverheadMaxLogEntry() {
+        return overheadMaxLogEntry;
+    }
+}
@@ -45,6 +45,10 @@ public class UnknownEvent implements LogEvent {
         return JdkUtil.LogEventType.UNKNOWN.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.UNKNOWN;
+    }
+
     public long getTimestamp() {
         throw new UnsupportedOperationException("Event does not include timestamp information");
     }
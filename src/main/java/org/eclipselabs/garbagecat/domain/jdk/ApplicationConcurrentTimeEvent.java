@@ -52,7 +52,7 @@ public class ApplicationConcurrentTimeEvent implements ThrowAwayEvent {
     /**
      * RegEx pattern.
      */
-    private static Pattern pattern = Pattern.compile(ApplicationConcurrentTimeEvent.REGEX);
+    private static final Pattern pattern = Pattern.compile(ApplicationConcurrentTimeEvent.REGEX);
 
     public String getLogEntry() {
         throw new UnsupportedOperationException("Event does not include log entry information");
@@ -62,6 +62,10 @@ public class ApplicationConcurrentTimeEvent implements ThrowAwayEvent {
         return JdkUtil.LogEventType.APPLICATION_CONCURRENT_TIME.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.APPLICATION_CONCURRENT_TIME;
+    }
+
     public long getTimestamp() {
         throw new UnsupportedOperationException("Event does not include timestamp information");
     }
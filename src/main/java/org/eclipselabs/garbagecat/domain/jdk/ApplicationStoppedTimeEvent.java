@@ -105,7 +105,7 @@ public class ApplicationStoppedTimeEvent implements SafepointEvent {
     /**
      * RegEx pattern.
      */
-    private static Pattern pattern = Pattern.compile(REGEX);
+    private static final Pattern pattern = Pattern.compile(REGEX);
 
     /**
      * Determine if the logLine matches the logging pattern(s) for this event.
@@ -204,6 +204,10 @@ public class ApplicationStoppedTimeEvent implements SafepointEvent {
         return JdkUtil.LogEventType.APPLICATION_STOPPED_TIME.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.APPLICATION_STOPPED_TIME;
+    }
+
     public long getTimestamp() {
         return timestamp;
     }
@@ -141,6 +141,10 @@ public class ClassHistogramEvent implements ThrowAwayEvent {
         return JdkUtil.LogEventType.CLASS_HISTOGRAM.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.CLASS_HISTOGRAM;
+    }
+
     public long getTimestamp() {
         return timestamp;
     }
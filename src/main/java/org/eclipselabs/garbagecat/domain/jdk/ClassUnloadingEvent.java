@@ -91,6 +91,10 @@ public class ClassUnloadingEvent implements ThrowAwayEvent {
         return JdkUtil.LogEventType.CLASS_UNLOADING.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.CLASS_UNLOADING;
+    }
+
     public long getTimestamp() {
         return timestamp;
     }
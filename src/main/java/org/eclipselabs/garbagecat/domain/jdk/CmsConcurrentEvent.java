@@ -86,7 +86,7 @@ public class CmsConcurrentEvent extends CmsCollector implements LogEvent, Parall
             + "reset|reset-start|sweep|sweep-start)(: " + JdkRegEx.DURATION_FRACTION + ")?\\]" + TimesData.REGEX
             + "?[ ]*$";
 
-    private static Pattern pattern = Pattern.compile(REGEX);
+    private static final Pattern pattern = Pattern.compile(REGEX);
 
     public String getLogEntry() {
         throw new UnsupportedOperationException("Event does not include log entry information");
@@ -96,6 +96,10 @@ public class CmsConcurrentEvent extends CmsCollector implements LogEvent, Parall
         return JdkUtil.LogEventType.CMS_CONCURRENT.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.CMS_CONCURRENT;
+    }
+
     public long getTimestamp() {
         throw new UnsupportedOperationException("Event does not include timestamp information");
     }
@@ -162,6 +162,10 @@ public class CmsInitialMarkEvent extends CmsCollector implements BlockingEvent,
         return JdkUtil.LogEventType.CMS_INITIAL_MARK.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.CMS_INITIAL_MARK;
+    }
+
     public String getTrigger() {
         return trigger;
     }
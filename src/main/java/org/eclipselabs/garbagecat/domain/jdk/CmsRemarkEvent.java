@@ -344,6 +344,10 @@ public class CmsRemarkEvent extends CmsIncrementalModeCollector
         return JdkUtil.LogEventType.CMS_REMARK.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.CMS_REMARK;
+    }
+
     public String getTrigger() {
         return trigger;
     }
@@ -495,6 +495,10 @@ public class CmsSerialOldEvent extends CmsIncrementalModeCollector implements Bl
         return JdkUtil.LogEventType.CMS_SERIAL_OLD.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.CMS_SERIAL_OLD;
+    }
+
     public String getTrigger() {
         return trigger;
     }
@@ -235,6 +235,10 @@ public class FlsStatisticsEvent implements ThrowAwayEvent {
         return JdkUtil.LogEventType.FLS_STATISTICS.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.FLS_STATISTICS;
+    }
+
     public long getTimestamp() {
         return timestamp;
     }
@@ -264,6 +264,10 @@ public class FooterHeapEvent implements ThrowAwayEvent {
         return JdkUtil.LogEventType.FOOTER_HEAP.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.FOOTER_HEAP;
+    }
+
     public long getTimestamp() {
         return timestamp;
     }
@@ -580,6 +580,10 @@ public class FooterStatsEvent implements ThrowAwayEvent {
         return JdkUtil.LogEventType.FOOTER_STATS.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.FOOTER_STATS;
+    }
+
     public long getTimestamp() {
         return timestamp;
     }
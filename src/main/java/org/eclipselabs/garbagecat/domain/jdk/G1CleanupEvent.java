@@ -200,6 +200,10 @@ public class G1CleanupEvent extends G1Collector implements BlockingEvent, Parall
         return JdkUtil.LogEventType.G1_CLEANUP.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.G1_CLEANUP;
+    }
+
     public int getTimeUser() {
         return timeUser;
     }
@@ -162,6 +162,10 @@ public class G1ConcurrentEvent extends G1Collector implements LogEvent, Parallel
         return JdkUtil.LogEventType.G1_CONCURRENT.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.G1_CONCURRENT;
+    }
+
     public long getTimestamp() {
         return timestamp;
     }
@@ -301,6 +301,10 @@ public class G1FullGcEvent extends G1Collector implements BlockingEvent, YoungCo
         return JdkUtil.LogEventType.G1_FULL_GC_SERIAL.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.G1_FULL_GC_SERIAL;
+    }
+
     public String getTrigger() {
         return trigger;
     }
@@ -264,6 +264,10 @@ public class G1MixedPauseEvent extends G1Collector
         return JdkUtil.LogEventType.G1_MIXED_PAUSE.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.G1_MIXED_PAUSE;
+    }
+
     public String getTrigger() {
         return trigger;
     }
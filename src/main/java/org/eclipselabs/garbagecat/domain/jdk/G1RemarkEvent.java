@@ -166,6 +166,10 @@ public class G1RemarkEvent extends G1Collector implements BlockingEvent, Paralle
         return JdkUtil.LogEventType.G1_REMARK.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.G1_REMARK;
+    }
+
     public int getTimeUser() {
         return timeUser;
     }
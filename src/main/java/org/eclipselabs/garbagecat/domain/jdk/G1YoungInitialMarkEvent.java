@@ -270,6 +270,10 @@ public class G1YoungInitialMarkEvent extends G1Collector
         return JdkUtil.LogEventType.G1_YOUNG_INITIAL_MARK.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.G1_YOUNG_INITIAL_MARK;
+    }
+
     public String getTrigger() {
         return trigger;
     }
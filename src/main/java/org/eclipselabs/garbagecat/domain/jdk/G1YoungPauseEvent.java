@@ -380,6 +380,10 @@ public class G1YoungPauseEvent extends G1Collector
         return JdkUtil.LogEventType.G1_YOUNG_PAUSE.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.G1_YOUNG_PAUSE;
+    }
+
     public String getTrigger() {
         return trigger;
     }
@@ -182,6 +182,10 @@ public class GcInfoEvent implements ThrowAwayEvent {
         return JdkUtil.LogEventType.GC_INFO.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.GC_INFO;
+    }
+
     public long getTimestamp() {
         return timestamp;
     }
@@ -80,6 +80,10 @@ public class GcLockerEvent implements LogEvent {
         return JdkUtil.LogEventType.GC_LOCKER.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.GC_LOCKER;
+    }
+
     public long getTimestamp() {
         return timestamp;
     }
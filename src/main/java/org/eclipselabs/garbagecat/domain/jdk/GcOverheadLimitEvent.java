@@ -88,6 +88,10 @@ public class GcOverheadLimitEvent implements LogEvent {
         return JdkUtil.LogEventType.GC_OVERHEAD_LIMIT.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.GC_OVERHEAD_LIMIT;
+    }
+
     public long getTimestamp() {
         return timestamp;
     }
@@ -68,7 +68,7 @@ public class HeaderCommandLineFlagsEvent implements LogEvent {
      */
     private static final String REGEX = "^(CommandLine flags:|  JAVA_OPTS:)[ ]{1,2}(.+)$";
 
-    private static Pattern pattern = Pattern.compile(HeaderCommandLineFlagsEvent.REGEX);
+    private static final Pattern pattern = Pattern.compile(HeaderCommandLineFlagsEvent.REGEX);
 
     /**
      * The log entry for the event. Can be used for debugging purposes.
@@ -99,6 +99,10 @@ public class HeaderCommandLineFlagsEvent implements LogEvent {
         return JdkUtil.LogEventType.HEADER_COMMAND_LINE_FLAGS.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.HEADER_COMMAND_LINE_FLAGS;
+    }
+
     public long getTimestamp() {
         return timestamp;
     }
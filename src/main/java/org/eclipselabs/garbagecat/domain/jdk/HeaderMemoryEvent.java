@@ -61,7 +61,7 @@ public class HeaderMemoryEvent implements LogEvent {
     private static final String REGEX = "^Memory: (4|8)k page, physical " + SIZE + "\\(" + SIZE + " free\\)(, swap "
             + SIZE + "\\(" + SIZE + " free\\))?$";
 
-    private static Pattern pattern = Pattern.compile(REGEX);
+    private static final Pattern pattern = Pattern.compile(REGEX);
 
     /**
      * The log entry for the event. Can be used for debugging purposes.
@@ -121,6 +121,10 @@ public class HeaderMemoryEvent implements LogEvent {
         return JdkUtil.LogEventType.HEADER_MEMORY.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.HEADER_MEMORY;
+    }
+
     public long getTimestamp() {
         return timestamp;
     }
@@ -57,7 +57,7 @@ public class HeaderVersionEvent implements LogEvent {
             + "(linux|windows|solaris)-(amd64|ppc64|ppc64le|sparc|x86) JRE (\\(Zulu.+\\) )?\\("
             + JdkRegEx.RELEASE_STRING + "\\).+ built on " + JdkRegEx.BUILD_DATE_TIME + ".+$";
 
-    private static Pattern pattern = Pattern.compile(REGEX);
+    private static final Pattern pattern = Pattern.compile(REGEX);
 
     /**
      * The log entry for the event. Can be used for debugging purposes.
@@ -88,6 +88,10 @@ public class HeaderVersionEvent implements LogEvent {
         return JdkUtil.LogEventType.HEADER_VERSION.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.HEADER_VERSION;
+    }
+
     public long getTimestamp() {
         return timestamp;
     }
@@ -313,6 +313,10 @@ public class HeapAtGcEvent implements ThrowAwayEvent {
         return JdkUtil.LogEventType.HEAP_AT_GC.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.HEAP_AT_GC;
+    }
+
     public long getTimestamp() {
         return timestamp;
     }
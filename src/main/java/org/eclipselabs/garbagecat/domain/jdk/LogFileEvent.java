@@ -84,6 +84,10 @@ public class LogFileEvent implements ThrowAwayEvent {
         return JdkUtil.LogEventType.LOG_FILE.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.LOG_FILE;
+    }
+
     public long getTimestamp() {
         return timestamp;
     }
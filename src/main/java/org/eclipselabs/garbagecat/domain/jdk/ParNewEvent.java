@@ -308,6 +308,10 @@ public class ParNewEvent extends CmsIncrementalModeCollector
         return JdkUtil.LogEventType.PAR_NEW.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.PAR_NEW;
+    }
+
     public String getTrigger() {
         return trigger;
     }
@@ -185,7 +185,7 @@ public class ParallelCompactingOldEvent extends ParallelCollector implements Blo
             + JdkRegEx.SIZE_K + "->" + JdkRegEx.SIZE_K + "\\(" + JdkRegEx.SIZE_K + "\\)\\], " + JdkRegEx.DURATION
             + "\\]" + TimesData.REGEX + "?[ ]*$";
 
-    private static Pattern pattern = Pattern.compile(ParallelCompactingOldEvent.REGEX);
+    private static final Pattern pattern = Pattern.compile(ParallelCompactingOldEvent.REGEX);
 
     /**
      * Create event from log entry.
@@ -283,6 +283,10 @@ public class ParallelCompactingOldEvent extends ParallelCollector implements Blo
         return JdkUtil.LogEventType.PARALLEL_COMPACTING_OLD.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.PARALLEL_COMPACTING_OLD;
+    }
+
     public Memory getPermOccupancyInit() {
         return permGen;
     }
@@ -256,6 +256,10 @@ public class ParallelScavengeEvent extends ParallelCollector
         return JdkUtil.LogEventType.PARALLEL_SCAVENGE.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.PARALLEL_SCAVENGE;
+    }
+
     public String getTrigger() {
         return trigger;
     }
@@ -161,7 +161,7 @@ public class ParallelSerialOldEvent extends ParallelCollector implements Blockin
             + "\\)[,]{0,1} \\[(PSPermGen|Metaspace): " + JdkRegEx.SIZE_K + "->" + JdkRegEx.SIZE_K + "\\("
             + JdkRegEx.SIZE_K + "\\)\\], " + JdkRegEx.DURATION + "\\]" + TimesData.REGEX + "?[ ]*$";
 
-    private static Pattern pattern = Pattern.compile(ParallelSerialOldEvent.REGEX);
+    private static final Pattern pattern = Pattern.compile(ParallelSerialOldEvent.REGEX);
 
     /**
      * Create event from log entry.
@@ -315,6 +315,10 @@ public class ParallelSerialOldEvent extends ParallelCollector implements Blockin
         return JdkUtil.LogEventType.PARALLEL_SERIAL_OLD.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.PARALLEL_SERIAL_OLD;
+    }
+
     public String getTrigger() {
         return trigger;
     }
@@ -88,6 +88,10 @@ public class ReferenceGcEvent implements ThrowAwayEvent {
         return JdkUtil.LogEventType.REFERENCE_GC.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.REFERENCE_GC;
+    }
+
     public long getTimestamp() {
         return timestamp;
     }
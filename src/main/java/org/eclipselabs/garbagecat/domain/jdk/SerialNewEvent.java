@@ -230,6 +230,10 @@ public class SerialNewEvent extends SerialCollector
         return JdkUtil.LogEventType.SERIAL_NEW.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.SERIAL_NEW;
+    }
+
     public int getPermGen() {
         throw new UnsupportedOperationException("Event does not include perm gen information");
     }
@@ -177,7 +177,7 @@ public class SerialOldEvent extends SerialCollector implements BlockingEvent, Yo
             + JdkRegEx.SIZE_K + "\\(" + JdkRegEx.SIZE_K + "\\)\\], " + JdkRegEx.DURATION + "\\]" + TimesData.REGEX
             + "?[ ]*$";
 
-    private static Pattern pattern = Pattern.compile(SerialOldEvent.REGEX);
+    private static final Pattern pattern = Pattern.compile(SerialOldEvent.REGEX);
 
     /**
      * Default constructor
@@ -338,6 +338,10 @@ public class SerialOldEvent extends SerialCollector implements BlockingEvent, Yo
         return JdkUtil.LogEventType.SERIAL_OLD.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.SERIAL_OLD;
+    }
+
     public String getTrigger() {
         return trigger;
     }
@@ -55,7 +55,7 @@ public class ShenandoahCancellingGcEvent extends ShenandoahCollector implements
      */
     private static final String REGEX = "^(" + UnifiedRegEx.DECORATOR + " )?Cancelling GC: Stopping VM[ ]*$";
 
-    private static Pattern pattern = Pattern.compile(REGEX);
+    private static final Pattern pattern = Pattern.compile(REGEX);
 
     public String getLogEntry() {
         throw new UnsupportedOperationException("Event does not include log entry information");
@@ -65,6 +65,10 @@ public class ShenandoahCancellingGcEvent extends ShenandoahCollector implements
         return JdkUtil.LogEventType.SHENANDOAH_CANCELLING_GC.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.SHENANDOAH_CANCELLING_GC;
+    }
+
     public long getTimestamp() {
         throw new UnsupportedOperationException("Event does not include timestamp information");
     }
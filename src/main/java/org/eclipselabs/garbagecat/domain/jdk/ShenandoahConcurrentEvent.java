@@ -152,7 +152,7 @@ public class ShenandoahConcurrentEvent extends ShenandoahCollector
             + ")?[\\]]{0,1}([,]{0,1} [\\[]{0,1}Metaspace: " + JdkRegEx.SIZE + "->" + JdkRegEx.SIZE + "\\("
             + JdkRegEx.SIZE + "\\)[\\]]{0,1})?[ ]*$";
 
-    private static Pattern pattern = Pattern.compile(REGEX);
+    private static final Pattern pattern = Pattern.compile(REGEX);
 
     /**
      * The log entry for the event. Can be used for debugging purposes.
@@ -303,6 +303,10 @@ public class ShenandoahConcurrentEvent extends ShenandoahCollector
         return JdkUtil.LogEventType.SHENANDOAH_CONCURRENT.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.SHENANDOAH_CONCURRENT;
+    }
+
     /**
      * Determine if the logLine matches the logging pattern(s) for this event.
      * 
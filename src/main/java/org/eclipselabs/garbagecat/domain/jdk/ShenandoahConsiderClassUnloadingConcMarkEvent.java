@@ -59,7 +59,7 @@ public class ShenandoahConsiderClassUnloadingConcMarkEvent extends ShenandoahCol
             + " Consider -XX:\\+ClassUnloadingWithConcurrentMark if large pause times are "
             + "observed on class-unloading sensitive workloads[ ]*$";
 
-    private static Pattern pattern = Pattern.compile(REGEX);
+    private static final Pattern pattern = Pattern.compile(REGEX);
 
     /**
      * The log entry for the event. Can be used for debugging purposes.
@@ -112,6 +112,10 @@ public class ShenandoahConsiderClassUnloadingConcMarkEvent extends ShenandoahCol
         return JdkUtil.LogEventType.SHENANDOAH_CONSIDER_CLASS_UNLOADING_CONC_MARK.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.SHENANDOAH_CONSIDER_CLASS_UNLOADING_CONC_MARK;
+    }
+
     public long getTimestamp() {
         return timestamp;
     }
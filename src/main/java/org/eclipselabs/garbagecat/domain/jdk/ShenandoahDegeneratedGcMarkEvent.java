@@ -249,6 +249,10 @@ public class ShenandoahDegeneratedGcMarkEvent extends ShenandoahCollector
         return JdkUtil.LogEventType.SHENANDOAH_DEGENERATED_GC_MARK.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.SHENANDOAH_DEGENERATED_GC_MARK;
+    }
+
     /**
      * Determine if the logLine matches the logging pattern(s) for this event.
      * 
@@ -156,6 +156,10 @@ public class ShenandoahFinalEvacEvent extends ShenandoahCollector implements Blo
         return JdkUtil.LogEventType.SHENANDOAH_FINAL_EVAC.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.SHENANDOAH_FINAL_EVAC;
+    }
+
     /**
      * Determine if the logLine matches the logging pattern(s) for this event.
      * 
@@ -195,6 +195,10 @@ public class ShenandoahFinalMarkEvent extends ShenandoahCollector implements Blo
         return JdkUtil.LogEventType.SHENANDOAH_FINAL_MARK.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.SHENANDOAH_FINAL_MARK;
+    }
+
     /**
      * Determine if the logLine matches the logging pattern(s) for this event.
      * 
@@ -160,6 +160,10 @@ public class ShenandoahFinalUpdateEvent extends ShenandoahCollector implements B
         return JdkUtil.LogEventType.SHENANDOAH_FINAL_UPDATE.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.SHENANDOAH_FINAL_UPDATE;
+    }
+
     /**
      * Determine if the logLine matches the logging pattern(s) for this event.
      * 
@@ -234,6 +234,10 @@ public class ShenandoahFullGcEvent extends ShenandoahCollector
         return JdkUtil.LogEventType.SHENANDOAH_FULL_GC.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.SHENANDOAH_FULL_GC;
+    }
+
     /**
      * Determine if the logLine matches the logging pattern(s) for this event.
      * 
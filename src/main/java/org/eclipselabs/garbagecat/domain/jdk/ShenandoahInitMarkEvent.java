@@ -201,6 +201,10 @@ public class ShenandoahInitMarkEvent extends ShenandoahCollector implements Bloc
         return JdkUtil.LogEventType.SHENANDOAH_INIT_MARK.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.SHENANDOAH_INIT_MARK;
+    }
+
     /**
      * Determine if the logLine matches the logging pattern(s) for this event.
      * 
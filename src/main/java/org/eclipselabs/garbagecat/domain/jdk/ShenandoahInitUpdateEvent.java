@@ -161,6 +161,10 @@ public class ShenandoahInitUpdateEvent extends ShenandoahCollector implements Bl
         return JdkUtil.LogEventType.SHENANDOAH_INIT_UPDATE.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.SHENANDOAH_INIT_UPDATE;
+    }
+
     /**
      * Determine if the logLine matches the logging pattern(s) for this event.
      * 
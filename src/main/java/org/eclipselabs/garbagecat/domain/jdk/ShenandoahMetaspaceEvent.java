@@ -39,7 +39,7 @@ import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedRegEx;
  */
 public class ShenandoahMetaspaceEvent extends ShenandoahCollector implements ThrowAwayEvent {
 
-    private static Pattern pattern = Pattern.compile(ShenandoahMetaspaceEvent.REGEX);
+    private static final Pattern pattern = Pattern.compile(ShenandoahMetaspaceEvent.REGEX);
 
     /**
      * Regular expressions defining the logging.
@@ -85,6 +85,10 @@ public class ShenandoahMetaspaceEvent extends ShenandoahCollector implements Thr
         return JdkUtil.LogEventType.SHENANDOAH_METASPACE.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.SHENANDOAH_METASPACE;
+    }
+
     public long getTimestamp() {
         throw new UnsupportedOperationException("Event does not include timestamp information");
     }
@@ -157,6 +157,10 @@ public class ShenandoahStatsEvent extends ShenandoahCollector implements ThrowAw
         return JdkUtil.LogEventType.SHENANDOAH_STATS.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.SHENANDOAH_STATS;
+    }
+
     public long getTimestamp() {
         throw new UnsupportedOperationException("Event does not include timestamp information");
     }
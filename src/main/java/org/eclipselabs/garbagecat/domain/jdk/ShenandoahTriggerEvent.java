@@ -112,6 +112,10 @@ public class ShenandoahTriggerEvent extends ShenandoahCollector implements Throw
         return JdkUtil.LogEventType.SHENANDOAH_TRIGGER.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.SHENANDOAH_TRIGGER;
+    }
+
     public long getTimestamp() {
         throw new UnsupportedOperationException("Event does not include timestamp information");
     }
@@ -169,6 +169,10 @@ public class TenuringDistributionEvent implements ThrowAwayEvent {
         return JdkUtil.LogEventType.TENURING_DISTRIBUTION.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.TENURING_DISTRIBUTION;
+    }
+
     public long getTimestamp() {
         return timestamp;
     }
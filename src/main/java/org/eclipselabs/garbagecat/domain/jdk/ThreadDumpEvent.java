@@ -179,6 +179,10 @@ public class ThreadDumpEvent implements ThrowAwayEvent {
         return JdkUtil.LogEventType.THREAD_DUMP.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.THREAD_DUMP;
+    }
+
     public long getTimestamp() {
         return timestamp;
     }
@@ -113,7 +113,7 @@ public class VerboseGcOldEvent extends UnknownCollector
             + JdkRegEx.SIZE_K + "|" + JdkRegEx.SIZE + ")->(" + JdkRegEx.SIZE_K + "|" + JdkRegEx.SIZE + ")\\(("
             + JdkRegEx.SIZE_K + "|" + JdkRegEx.SIZE + ")\\), " + JdkRegEx.DURATION + "\\]?[ ]*$";
 
-    private static Pattern pattern = Pattern.compile(VerboseGcOldEvent.REGEX);
+    private static final Pattern pattern = Pattern.compile(VerboseGcOldEvent.REGEX);
 
     /**
      * Create event from log entry.
@@ -173,6 +173,10 @@ public class VerboseGcOldEvent extends UnknownCollector
         return JdkUtil.LogEventType.VERBOSE_GC_OLD.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.VERBOSE_GC_OLD;
+    }
+
     public String getLogEntry() {
         return logEntry;
     }
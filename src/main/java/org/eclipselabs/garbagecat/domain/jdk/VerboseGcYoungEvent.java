@@ -120,7 +120,7 @@ public class VerboseGcYoungEvent extends UnknownCollector
             + JdkRegEx.SIZE_K + "->)?" + JdkRegEx.SIZE_K + "\\(" + JdkRegEx.SIZE_K + "\\), " + JdkRegEx.DURATION
             + "\\]?[ ]*$";
 
-    private static Pattern pattern = Pattern.compile(VerboseGcYoungEvent.REGEX);
+    private static final Pattern pattern = Pattern.compile(VerboseGcYoungEvent.REGEX);
 
     /**
      * Create event from log entry.
@@ -173,6 +173,10 @@ public class VerboseGcYoungEvent extends UnknownCollector
         return JdkUtil.LogEventType.VERBOSE_GC_YOUNG.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.VERBOSE_GC_YOUNG;
+    }
+
     public String getLogEntry() {
         return logEntry;
     }
@@ -92,6 +92,10 @@ public class HeapAddressEvent implements UnifiedLogging, ThrowAwayEvent {
         return JdkUtil.LogEventType.HEAP_ADDRESS.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.HEAP_ADDRESS;
+    }
+
     public long getTimestamp() {
         return timestamp;
     }
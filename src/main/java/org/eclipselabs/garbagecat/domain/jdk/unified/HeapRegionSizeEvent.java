@@ -88,6 +88,10 @@ public class HeapRegionSizeEvent implements UnifiedLogging, ThrowAwayEvent {
         return JdkUtil.LogEventType.HEAP_REGION_SIZE.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.HEAP_REGION_SIZE;
+    }
+
     public long getTimestamp() {
         return timestamp;
     }
@@ -67,6 +67,10 @@ public class MetaspaceUtilsReportEvent implements ThrowAwayEvent {
         return JdkUtil.LogEventType.METASPACE_UTILS_REPORT.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.METASPACE_UTILS_REPORT;
+    }
+
     public long getTimestamp() {
         throw new UnsupportedOperationException("Event does not include timestamp information");
     }
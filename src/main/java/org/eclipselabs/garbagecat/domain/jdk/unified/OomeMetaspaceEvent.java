@@ -61,6 +61,10 @@ public class OomeMetaspaceEvent implements ThrowAwayEvent {
         return JdkUtil.LogEventType.OOME_METASPACE.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.OOME_METASPACE;
+    }
+
     public long getTimestamp() {
         throw new UnsupportedOperationException("Event does not include timestamp information");
     }
@@ -64,6 +64,10 @@ public class UnifiedBlankLineEvent implements ThrowAwayEvent {
         return JdkUtil.LogEventType.UNIFIED_BLANK_LINE.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.UNIFIED_BLANK_LINE;
+    }
+
     public long getTimestamp() {
         return timestamp;
     }
@@ -188,6 +188,10 @@ public class UnifiedCmsInitialMarkEvent extends CmsCollector
         return JdkUtil.LogEventType.UNIFIED_CMS_INITIAL_MARK.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.UNIFIED_CMS_INITIAL_MARK;
+    }
+
     /**
      * Determine if the logLine matches the logging pattern(s) for this event.
      * 
@@ -220,6 +220,10 @@ public class UnifiedConcurrentEvent extends UnknownCollector implements UnifiedL
         return JdkUtil.LogEventType.UNIFIED_CONCURRENT.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.UNIFIED_CONCURRENT;
+    }
+
     public long getTimestamp() {
         throw new UnsupportedOperationException("Event does not include timestamp information");
     }
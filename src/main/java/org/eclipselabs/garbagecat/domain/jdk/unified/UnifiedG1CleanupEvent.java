@@ -218,6 +218,10 @@ public class UnifiedG1CleanupEvent extends G1Collector
         return JdkUtil.LogEventType.UNIFIED_G1_CLEANUP.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.UNIFIED_G1_CLEANUP;
+    }
+
     public String getLogEntry() {
         return logEntry;
     }
@@ -212,6 +212,10 @@ public class UnifiedG1FullGcEvent extends G1Collector
         return JdkUtil.LogEventType.G1_FULL_GC_PARALLEL.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.G1_FULL_GC_PARALLEL;
+    }
+
     public String getLogEntry() {
         return logEntry;
     }
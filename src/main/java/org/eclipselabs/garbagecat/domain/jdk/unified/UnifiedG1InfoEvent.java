@@ -86,6 +86,10 @@ public class UnifiedG1InfoEvent implements UnifiedLogging, ThrowAwayEvent {
         return JdkUtil.LogEventType.UNIFIED_G1_INFO.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.UNIFIED_G1_INFO;
+    }
+
     public long getTimestamp() {
         return timestamp;
     }
@@ -210,6 +210,10 @@ public class UnifiedG1MixedPauseEvent extends G1Collector implements UnifiedLogg
         return JdkUtil.LogEventType.UNIFIED_G1_MIXED_PAUSE.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.UNIFIED_G1_MIXED_PAUSE;
+    }
+
     public String getLogEntry() {
         return logEntry;
     }
@@ -182,6 +182,10 @@ public class UnifiedG1YoungInitialMarkEvent extends G1Collector
         return JdkUtil.LogEventType.UNIFIED_G1_YOUNG_INITIAL_MARK.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.UNIFIED_G1_YOUNG_INITIAL_MARK;
+    }
+
     public String getLogEntry() {
         return logEntry;
     }
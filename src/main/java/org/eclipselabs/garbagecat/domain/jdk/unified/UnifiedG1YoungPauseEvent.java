@@ -324,6 +324,10 @@ public class UnifiedG1YoungPauseEvent extends G1Collector implements UnifiedLogg
         return JdkUtil.LogEventType.UNIFIED_G1_YOUNG_PAUSE.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.UNIFIED_G1_YOUNG_PAUSE;
+    }
+
     public int getTimeUser() {
         return timeUser;
     }
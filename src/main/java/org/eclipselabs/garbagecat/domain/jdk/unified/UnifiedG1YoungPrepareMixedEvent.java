@@ -204,6 +204,10 @@ public class UnifiedG1YoungPrepareMixedEvent extends G1Collector implements Unif
         return JdkUtil.LogEventType.UNIFIED_G1_YOUNG_PREPARE_MIXED.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.UNIFIED_G1_YOUNG_PREPARE_MIXED;
+    }
+
     public String getLogEntry() {
         return logEntry;
     }
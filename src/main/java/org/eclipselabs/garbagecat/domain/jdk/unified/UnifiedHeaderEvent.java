@@ -170,7 +170,7 @@ public class UnifiedHeaderEvent extends G1Collector implements UnifiedLogging {
             + "Large Page Support|Medium Page Size|Memory|Mode|Narrow klass base|NUMA Support|Parallel Workers|"
             + "Periodic GC|Pre-touch|Runtime Workers|TLAB Size Max|Uncommit( Delay)?|Version)(:)?.*$";
 
-    private static Pattern pattern = Pattern.compile(REGEX);
+    private static final Pattern pattern = Pattern.compile(REGEX);
 
     /**
      * The log entry for the event. Can be used for debugging purposes.
@@ -223,6 +223,10 @@ public class UnifiedHeaderEvent extends G1Collector implements UnifiedLogging {
         return JdkUtil.LogEventType.UNIFIED_HEADER.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.UNIFIED_HEADER;
+    }
+
     public long getTimestamp() {
         return timestamp;
     }
@@ -219,6 +219,10 @@ public class UnifiedOldEvent extends UnknownCollector implements UnifiedLogging,
         return JdkUtil.LogEventType.UNIFIED_OLD.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.UNIFIED_OLD;
+    }
+
     public String getLogEntry() {
         return logEntry;
     }
@@ -276,6 +276,10 @@ public class UnifiedParNewEvent extends ParallelCollector implements UnifiedLogg
         return JdkUtil.LogEventType.UNIFIED_PAR_NEW.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.UNIFIED_PAR_NEW;
+    }
+
     public String getTrigger() {
         return trigger;
     }
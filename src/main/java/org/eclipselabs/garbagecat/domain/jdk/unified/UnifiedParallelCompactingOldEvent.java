@@ -295,6 +295,10 @@ public class UnifiedParallelCompactingOldEvent extends ParallelCollector
         return JdkUtil.LogEventType.UNIFIED_PARALLEL_COMPACTING_OLD.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.UNIFIED_PARALLEL_COMPACTING_OLD;
+    }
+
     public String getTrigger() {
         return trigger;
     }
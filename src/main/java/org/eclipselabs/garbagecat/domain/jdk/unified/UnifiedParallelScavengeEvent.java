@@ -298,6 +298,10 @@ public class UnifiedParallelScavengeEvent extends ParallelCollector implements U
         return JdkUtil.LogEventType.UNIFIED_PARALLEL_SCAVENGE.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.UNIFIED_PARALLEL_SCAVENGE;
+    }
+
     public String getTrigger() {
         return trigger;
     }
@@ -205,6 +205,10 @@ public class UnifiedRemarkEvent extends UnknownCollector
         return JdkUtil.LogEventType.UNIFIED_REMARK.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.UNIFIED_REMARK;
+    }
+
     public int getTimeUser() {
         return timeUser;
     }
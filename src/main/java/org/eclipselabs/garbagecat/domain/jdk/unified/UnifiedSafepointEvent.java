@@ -226,6 +226,26 @@ public class UnifiedSafepointEvent implements SafepointEvent, UnifiedLogging {
         this.timeThreadsStopped = timeThreadsStopped;
     }
 
+    /**
+     * Alternate constructor. Create safepoint event from values, including the trigger.
+     * 
+     * @param logEntry
+     *            The log entry for the event.
+     * @param timestamp
+     *            The time when the safepoint event started in milliseconds after JVM startup.
+     * @param trigger
+     *            The safepoint trigger.
+     * @param timeToStopThreads
+     *            The elapsed clock time to stop all threads (bring the JVM to safepoint) in microseconds (rounded).
+     * @param timeThreadsStopped
+     *            The elapsed clock time the application threads were stopped (at safepont) in microseconds (rounded).
+     */
+    public UnifiedSafepointEvent(String logEntry, long timestamp, Trigger trigger, long timeToStopThreads,
+            long timeThreadsStopped) {
+        this(logEntry, timestamp, timeToStopThreads, timeThreadsStopped);
+        this.trigger = trigger;
+    }
+
     /**
      * The elapsed clock time for the safepoint event in microseconds (rounded). timeToStopThreads seems to be time in
      * addition to timeThreadsStopped.
@@ -242,6 +262,10 @@ public class UnifiedSafepointEvent implements SafepointEvent, UnifiedLogging {
         return JdkUtil.LogEventType.UNIFIED_SAFEPOINT.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.UNIFIED_SAFEPOINT;
+    }
+
     public long getTimestamp() {
         return timestamp;
     }
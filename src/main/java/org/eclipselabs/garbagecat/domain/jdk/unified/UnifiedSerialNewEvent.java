@@ -267,6 +267,10 @@ public class UnifiedSerialNewEvent extends SerialCollector implements UnifiedLog
         return JdkUtil.LogEventType.UNIFIED_SERIAL_NEW.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.UNIFIED_SERIAL_NEW;
+    }
+
     public String getTrigger() {
         return trigger;
     }
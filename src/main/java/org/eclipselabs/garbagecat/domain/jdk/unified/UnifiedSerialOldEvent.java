@@ -274,6 +274,10 @@ public class UnifiedSerialOldEvent extends SerialCollector implements UnifiedLog
         return JdkUtil.LogEventType.UNIFIED_SERIAL_OLD.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.UNIFIED_SERIAL_OLD;
+    }
+
     public String getTrigger() {
         return trigger;
     }
@@ -206,6 +206,10 @@ public class UnifiedYoungEvent extends UnknownCollector
         return JdkUtil.LogEventType.UNIFIED_YOUNG.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.UNIFIED_YOUNG;
+    }
+
     public long getTimestamp() {
         return timestamp;
     }
@@ -45,7 +45,7 @@ public class UsingCmsEvent extends CmsCollector implements UnifiedLogging {
      */
     private static final String REGEX = "^" + UnifiedRegEx.DECORATOR + " Using Concurrent Mark Sweep[ ]*$";
 
-    private static Pattern pattern = Pattern.compile(REGEX);
+    private static final Pattern pattern = Pattern.compile(REGEX);
 
     /**
      * The log entry for the event. Can be used for debugging purposes.
@@ -98,6 +98,10 @@ public class UsingCmsEvent extends CmsCollector implements UnifiedLogging {
         return JdkUtil.LogEventType.USING_CMS.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.USING_CMS;
+    }
+
     public long getTimestamp() {
         return timestamp;
     }
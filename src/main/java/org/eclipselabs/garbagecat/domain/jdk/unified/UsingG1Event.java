@@ -67,7 +67,7 @@ public class UsingG1Event extends G1Collector implements UnifiedLogging {
      */
     private static final String REGEX = "^" + UnifiedRegEx.DECORATOR + " Using G1[ ]*$";
 
-    private static Pattern pattern = Pattern.compile(REGEX);
+    private static final Pattern pattern = Pattern.compile(REGEX);
 
     /**
      * The log entry for the event. Can be used for debugging purposes.
@@ -120,6 +120,10 @@ public class UsingG1Event extends G1Collector implements UnifiedLogging {
         return JdkUtil.LogEventType.USING_G1.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.USING_G1;
+    }
+
     public long getTimestamp() {
         return timestamp;
     }
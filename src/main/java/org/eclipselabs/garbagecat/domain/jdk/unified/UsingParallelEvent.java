@@ -47,7 +47,7 @@ public class UsingParallelEvent extends ParallelCollector implements UnifiedLogg
      */
     private static final String REGEX = "^" + UnifiedRegEx.DECORATOR + " Using Parallel[ ]*$";
 
-    private static Pattern pattern = Pattern.compile(REGEX);
+    private static final Pattern pattern = Pattern.compile(REGEX);
 
     /**
      * The log entry for the event. Can be used for debugging purposes.
@@ -100,6 +100,10 @@ public class UsingParallelEvent extends ParallelCollector implements UnifiedLogg
         return JdkUtil.LogEventType.USING_PARALLEL.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.USING_PARALLEL;
+    }
+
     public long getTimestamp() {
         return timestamp;
     }
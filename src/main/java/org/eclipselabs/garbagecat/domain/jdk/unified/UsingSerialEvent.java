@@ -47,7 +47,7 @@ public class UsingSerialEvent extends SerialCollector implements UnifiedLogging
      */
     private static final String REGEX = "^" + UnifiedRegEx.DECORATOR + " Using Serial[ ]*$";
 
-    private static Pattern pattern = Pattern.compile(REGEX);
+    private static final Pattern pattern = Pattern.compile(REGEX);
 
     /**
      * The log entry for the event. Can be used for debugging purposes.
@@ -100,6 +100,10 @@ public class UsingSerialEvent extends SerialCollector implements UnifiedLogging
         return JdkUtil.LogEventType.USING_SERIAL.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.USING_SERIAL;
+    }
+
     public long getTimestamp() {
         return timestamp;
     }
@@ -67,7 +67,7 @@ public class UsingShenandoahEvent extends ShenandoahCollector implements Unified
      */
     private static final String REGEX = "^" + UnifiedRegEx.DECORATOR + " Using Shenandoah[ ]*$";
 
-    private static Pattern pattern = Pattern.compile(REGEX);
+    private static final Pattern pattern = Pattern.compile(REGEX);
 
     /**
      * The log entry for the event. Can be used for debugging purposes.
@@ -120,6 +120,10 @@ public class UsingShenandoahEvent extends ShenandoahCollector implements Unified
         return JdkUtil.LogEventType.USING_SHENANDOAH.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.USING_SHENANDOAH;
+    }
+
     public long getTimestamp() {
         return timestamp;
     }
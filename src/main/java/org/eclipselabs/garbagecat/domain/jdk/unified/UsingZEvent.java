@@ -67,7 +67,7 @@ public class UsingZEvent extends ShenandoahCollector implements UnifiedLogging {
      */
     private static final String REGEX = "^" + UnifiedRegEx.DECORATOR + " Using The Z Garbage Collector[ ]*$";
 
-    private static Pattern pattern = Pattern.compile(REGEX);
+    private static final Pattern pattern = Pattern.compile(REGEX);
 
     /**
      * The log entry for the event. Can be used for debugging purposes.
@@ -120,6 +120,10 @@ public class UsingZEvent extends ShenandoahCollector implements UnifiedLogging {
         return JdkUtil.LogEventType.USING_Z.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.USING_Z;
+    }
+
     public long getTimestamp() {
         return timestamp;
     }
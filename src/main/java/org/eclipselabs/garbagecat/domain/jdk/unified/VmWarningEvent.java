@@ -73,6 +73,10 @@ public class VmWarningEvent implements UnifiedLogging {
         return JdkUtil.LogEventType.VM_WARNING.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.VM_WARNING;
+    }
+
     public long getTimestamp() {
         return timestamp;
     }
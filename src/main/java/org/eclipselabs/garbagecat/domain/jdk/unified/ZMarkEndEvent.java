@@ -138,6 +138,10 @@ public class ZMarkEndEvent extends ZCollector implements UnifiedLogging, Blockin
         return JdkUtil.LogEventType.Z_MARK_END.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.Z_MARK_END;
+    }
+
     public long getTimestamp() {
         return timestamp;
     }
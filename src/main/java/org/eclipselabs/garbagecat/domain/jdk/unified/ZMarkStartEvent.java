@@ -138,6 +138,10 @@ public class ZMarkStartEvent extends ZCollector implements UnifiedLogging, Block
         return JdkUtil.LogEventType.Z_MARK_START.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.Z_MARK_START;
+    }
+
     public long getTimestamp() {
         return timestamp;
     }
@@ -138,6 +138,10 @@ public class ZRelocateStartEvent extends ZCollector implements UnifiedLogging, B
         return JdkUtil.LogEventType.Z_RELOCATE_START.toString();
     }
 
+    public JdkUtil.LogEventType getEventType() {
+        return JdkUtil.LogEventType.Z_RELOCATE_START;
+    }
+
     public long getTimestamp() {
         return timestamp;
     }
@@ -18,27 +18,41 @@ import static org.eclipselabs.garbagecat.util.Memory.Unit.KILOBYTES;
 
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
+import java.io.Closeable;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.math.BigDecimal;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.EnumSet;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
-import org.eclipselabs.garbagecat.Main;
 import org.eclipselabs.garbagecat.dao.JvmDao;
+import org.eclipselabs.garbagecat.dao.SidecarFile;
 import org.eclipselabs.garbagecat.domain.ApplicationLoggingEvent;
 import org.eclipselabs.garbagecat.domain.BlockingEvent;
+import org.eclipselabs.garbagecat.domain.Bottleneck;
 import org.eclipselabs.garbagecat.domain.CombinedData;
+import org.eclipselabs.garbagecat.domain.GcStorms;
 import org.eclipselabs.garbagecat.domain.JvmRun;
 import org.eclipselabs.garbagecat.domain.LogEvent;
+import org.eclipselabs.garbagecat.domain.MutatorUtilization;
 import org.eclipselabs.garbagecat.domain.ParallelEvent;
 import org.eclipselabs.garbagecat.domain.PermMetaspaceData;
+import org.eclipselabs.garbagecat.domain.SafepointCorrelation;
 import org.eclipselabs.garbagecat.domain.SafepointEvent;
 import org.eclipselabs.garbagecat.domain.SerialCollection;
 import org.eclipselabs.garbagecat.domain.ThrowAwayEvent;
@@ -58,7 +72,6 @@ import org.eclipselabs.garbagecat.domain.jdk.FlsStatisticsEvent;
 import org.eclipselabs.garbagecat.domain.jdk.G1Collector;
 import org.eclipselabs.garbagecat.domain.jdk.G1FullGcEvent;
 import org.eclipselabs.garbagecat.domain.jdk.G1YoungInitialMarkEvent;
-import org.eclipselabs.garbagecat.domain.jdk.G1YoungPauseEvent;
 import org.eclipselabs.garbagecat.domain.jdk.GcEvent;
 import org.eclipselabs.garbagecat.domain.jdk.GcLockerEvent;
 import org.eclipselabs.garbagecat.domain.jdk.GcOverheadLimitEvent;
@@ -84,6 +97,7 @@ import org.eclipselabs.garbagecat.preprocess.jdk.SerialPreprocessAction;
 import org.eclipselabs.garbagecat.preprocess.jdk.ShenandoahPreprocessAction;
 import org.eclipselabs.garbagecat.preprocess.jdk.unified.UnifiedPreprocessAction;
 import org.eclipselabs.garbagecat.util.Constants;
+import org.eclipselabs.garbagecat.util.EnumSetList;
 import org.eclipselabs.garbagecat.util.Memory;
 import org.eclipselabs.garbagecat.util.jdk.Analysis;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
@@ -102,13 +116,205 @@ import org.eclipselabs.garbagecat.util.jdk.Jvm;
  * @author jborelo
  * 
  */
-public class GcManager {
+public class GcManager implements Closeable {
+
+    /**
+     * <p>
+     * Incremental parsing: log lines are added as they are read (e.g. while following a growing log), preprocessed (if
+     * enabled) and stored, with the same result as preprocessing and storing the whole log file.
+     * </p>
+     * 
+     * <p>
+     * Preprocessing looks ahead one log line, and preprocessed logging is stored one complete line at a time, so the
+     * last log line added is not stored until the next log line is added or the feed is closed.
+     * </p>
+     */
+    public final class LogFeed {
+
+        /**
+         * The last log line stored, or null if none.
+         */
+        private LogEvent lastEvent;
+
+        /**
+         * Preprocessed logging not yet stored (not a complete line).
+         */
+        private final StringBuilder preprocessedLogging = new StringBuilder();
+
+        /**
+         * The preprocessing state, or null if not preprocessing.
+         */
+        private final Preprocessor preprocessor;
+
+        /**
+         * The last <code>BlockingEvent</code> stored, or null if none.
+         */
+        private BlockingEvent priorEvent;
+
+        /**
+         * Whether or not to allow logging to be reordered by timestamp.
+         */
+        private final boolean reorder;
+
+        private LogFeed(boolean preprocess, Date jvmStartDate, boolean reorder) {
+            this.preprocessor = preprocess ? new Preprocessor(jvmStartDate) : null;
+            this.reorder = reorder;
+            if (preprocess) {
+                preprocessed = true;
+            }
+        }
+
+        /**
+         * @param logLine
+         *            The next log line, without the line terminator.
+         */
+        public void add(String logLine) {
+            if (preprocessor == null) {
+                storeLogLine(logLine);
+            } else {
+                preprocessedLogging.append(preprocessor.add(logLine));
+                storePreprocessedLogging(false);
+                // Analysis raised preprocessing thrown away logging
+                raiseAnalysis();
+            }
+        }
+
+        /**
+         * End of the logging: store the log lines held back for preprocessing and share the stored events with
+         * analysis and reporting.
+         */
+        public void close() {
+            if (preprocessor != null) {
+                preprocessedLogging.append(preprocessor.end());
+                storePreprocessedLogging(true);
+            }
+            storeEnd(lastEvent);
+            jvmDao.freeze();
+        }
+
+        private void storeLogLine(String logLine) {
+            lastEvent = JdkUtil.parseLogLine(logLine);
+            priorEvent = store(lastEvent, logLine, priorEvent, reorder);
+        }
+
+        /**
+         * Store the complete lines of preprocessed logging.
+         * 
+         * @param end
+         *            Whether or not the preprocessed logging is complete.
+         */
+        private void storePreprocessedLogging(boolean end) {
+            int start = 0;
+            int i;
+            while ((i = preprocessedLogging.indexOf(Constants.LINE_SEPARATOR, start)) >= 0) {
+                storeLogLine(preprocessedLogging.substring(start, i));
+                start = i + Constants.LINE_SEPARATOR.length();
+            }
+            if (end && start < preprocessedLogging.length()) {
+                storeLogLine(preprocessedLogging.substring(start));
+                start = preprocessedLogging.length();
+            }
+            preprocessedLogging.delete(0, start);
+        }
+    }
+
+    /**
+     * Preprocessing state carried from one log line to the next, so logging can be preprocessed one log line at a time.
+     */
+    private final class Preprocessor {
+
+        /**
+         * Used to provide context for preprocessing decisions.
+         */
+        private final Set<String> context = new HashSet<String>();
+
+        /**
+         * The log line being preprocessed (preprocessing looks ahead one log line).
+         */
+        private String currentLogLine = "";
+
+        /**
+         * Used for detangling intermingled logging events that span multiple lines.
+         */
+        private final List<String> entangledLogLines = new ArrayList<String>();
+
+        private final Date jvmStartDate;
+
+        private String priorLogEntry = Constants.LINE_SEPARATOR;
+
+        private String priorLogLine = "";
+
+        private Preprocessor(Date jvmStartDate) {
+            this.jvmStartDate = jvmStartDate;
+        }
+
+        /**
+         * @param nextLogLine
+         *            The next log line.
+         * @return The preprocessed logging for the prior log line.
+         */
+        private String add(String nextLogLine) {
+            String preprocessedLogLine = getPreprocessedLogEntry(currentLogLine, priorLogLine, nextLogLine,
+                    jvmStartDate, entangledLogLines, context);
+            String preprocessedLogging = output(preprocessedLogLine);
+            if (preprocessedLogLine != null) {
+                priorLogEntry = preprocessedLogLine;
+            }
+            priorLogLine = currentLogLine;
+            currentLogLine = nextLogLine;
+            lastLogLineUnprocessed = currentLogLine;
+            return preprocessedLogging;
+        }
+
+        /**
+         * @return The preprocessed logging for the last log line and any entangled log lines.
+         */
+        private String end() {
+            // Process last line
+            StringBuilder preprocessedLogging = new StringBuilder(output(getPreprocessedLogEntry(currentLogLine,
+                    priorLogLine, null, jvmStartDate, entangledLogLines, context)));
+            // output entangled log lines
+            if (!entangledLogLines.isEmpty()) {
+                for (String logLine : entangledLogLines) {
+                    preprocessedLogging.append(Constants.LINE_SEPARATOR + logLine);
+                }
+                // Reset entangled log lines
+                entangledLogLines.clear();
+            }
+            return preprocessedLogging.toString();
+        }
+
+        /**
+         * @param preprocessedLogLine
+         *            The preprocessed log line, or null if it was thrown away.
+         * @return The preprocessed logging output, starting a new line if the log line is the beginning of an event.
+         */
+        private String output(String preprocessedLogLine) {
+            if (preprocessedLogLine == null) {
+                return "";
+            } else if (context.contains(PreprocessAction.TOKEN_BEGINNING_OF_EVENT)
+                    && !priorLogEntry.endsWith(Constants.LINE_SEPARATOR)) {
+                return Constants.LINE_SEPARATOR + preprocessedLogLine;
+            }
+            return preprocessedLogLine;
+        }
+    }
 
     /**
      * The JVM data access object.
      */
     private JvmDao jvmDao;
 
+    /**
+     * The analysis passed to the listeners.
+     */
+    private final Set<Analysis> analysisRaised = EnumSet.noneOf(Analysis.class);
+
+    /**
+     * The listeners called as logging is stored.
+     */
+    private final List<LogListener> listeners = new CopyOnWriteArrayList<LogListener>();
+
     /**
      * Whether or not the JVM events are from a preprocessed file.
      */
@@ -119,6 +325,17 @@ public class GcManager {
      */
     private String lastLogLineUnprocessed;
 
+    /**
+     * Projected old generation exhaustion within this horizon (hours) is reported.
+     */
+    private int oldGenerationHorizon = Constants.DEFAULT_OLD_GENERATION_HORIZON;
+
+    /**
+     * The pool the independent JVM run metrics (aggregates, safepoint summaries, bottlenecks, mutator utilization) are
+     * computed on concurrently, or null to compute them one after another in the calling thread.
+     */
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+
     /**
      * Default constructor.
      */
@@ -126,6 +343,22 @@ public class GcManager {
         this.jvmDao = new JvmDao();
     }
 
+    /**
+     * @param spill
+     *            Whether or not to spill blocking events to disk to bound heap usage on large logs.
+     */
+    public GcManager(boolean spill) {
+        this.jvmDao = new JvmDao(spill);
+    }
+
+    /**
+     * Release the data store (e.g. the temporary files events are spilled to). The data store cannot be used after it
+     * is closed.
+     */
+    public void close() {
+        jvmDao.close();
+    }
+
     public boolean isPreprocessed() {
         return preprocessed;
     }
@@ -134,6 +367,103 @@ public class GcManager {
         return lastLogLineUnprocessed;
     }
 
+    /**
+     * @param listener
+     *            The listener to call as logging is stored.
+     */
+    public void addListener(LogListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * @param listener
+     *            The listener to stop calling.
+     */
+    public void removeListener(LogListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Start incremental parsing of logging read one log line at a time.
+     * 
+     * @param preprocess
+     *            Whether or not to preprocess the logging.
+     * @param jvmStartDate
+     *            The date and time the JVM was started.
+     * @param reorder
+     *            Whether or not to allow logging to be reordered by timestamp.
+     * @return The <code>LogFeed</code> to add log lines to.
+     */
+    public LogFeed openFeed(boolean preprocess, Date jvmStartDate, boolean reorder) {
+        return new LogFeed(preprocess, jvmStartDate, reorder);
+    }
+
+    /**
+     * Parse logging from a stream (e.g. logging already in memory or from a pipe) and store the data in the data store,
+     * without temporary files.
+     * 
+     * @param inputStream
+     *            The garbage collection logging, in the default character set.
+     * @param preprocess
+     *            Whether or not to preprocess the logging.
+     * @param jvmStartDate
+     *            The date and time the JVM was started.
+     * @param reorder
+     *            Whether or not to allow logging to be reordered by timestamp.
+     * @throws IOException
+     *             if the logging cannot be read.
+     */
+    public void store(InputStream inputStream, boolean preprocess, Date jvmStartDate, boolean reorder)
+            throws IOException {
+        store(new InputStreamReader(inputStream, Charset.defaultCharset()), preprocess, jvmStartDate, reorder);
+    }
+
+    /**
+     * Parse logging from an iterator of log lines and store the data in the data store.
+     * 
+     * @param logLines
+     *            The garbage collection log lines, without line terminators.
+     * @param preprocess
+     *            Whether or not to preprocess the logging.
+     * @param jvmStartDate
+     *            The date and time the JVM was started.
+     * @param reorder
+     *            Whether or not to allow logging to be reordered by timestamp.
+     */
+    public void store(Iterator<String> logLines, boolean preprocess, Date jvmStartDate, boolean reorder) {
+        LogFeed logFeed = openFeed(preprocess, jvmStartDate, reorder);
+        while (logLines.hasNext()) {
+            logFeed.add(logLines.next());
+        }
+        logFeed.close();
+    }
+
+    /**
+     * Parse logging from a reader (e.g. logging already in memory or from a pipe) and store the data in the data
+     * store, without temporary files.
+     * 
+     * @param reader
+     *            The garbage collection logging.
+     * @param preprocess
+     *            Whether or not to preprocess the logging.
+     * @param jvmStartDate
+     *            The date and time the JVM was started.
+     * @param reorder
+     *            Whether or not to allow logging to be reordered by timestamp.
+     * @throws IOException
+     *             if the logging cannot be read.
+     */
+    public void store(Reader reader, boolean preprocess, Date jvmStartDate, boolean reorder) throws IOException {
+        BufferedReader bufferedReader = new BufferedReader(reader);
+        LogFeed logFeed = openFeed(preprocess, jvmStartDate, reorder);
+        String logLine = bufferedReader.readLine();
+        while (logLine != null) {
+            logFeed.add(logLine);
+            logLine = bufferedReader.readLine();
+        }
+        logFeed.close();
+    }
+
     /**
      * Preprocess log file. Remove extraneous information and format the log file for parsing.
      * 
@@ -153,64 +483,15 @@ public class GcManager {
         BufferedWriter bufferedWriter = null;
 
         try {
-            String currentLogLine = "";
-            String priorLogLine = "";
-            String preprocessedLogLine = "";
-
             bufferedReader = new BufferedReader(new FileReader(logFile));
             bufferedWriter = new BufferedWriter(new FileWriter(preprocessFile));
-
-            // Used for detangling intermingled logging events that span multiple lines
-            List<String> entangledLogLines = new ArrayList<String>();
-            // Used to provide context for preprocessing decisions
-            Set<String> context = new HashSet<String>();
-
-            String priorLogEntry = Constants.LINE_SEPARATOR;
-
+            Preprocessor preprocessor = new Preprocessor(jvmStartDate);
             String nextLogLine = bufferedReader.readLine();
             while (nextLogLine != null) {
-                preprocessedLogLine = getPreprocessedLogEntry(currentLogLine, priorLogLine, nextLogLine, jvmStartDate,
-                        entangledLogLines, context);
-                if (preprocessedLogLine != null) {
-                    if (context.contains(PreprocessAction.TOKEN_BEGINNING_OF_EVENT)
-                            && !priorLogEntry.endsWith(Constants.LINE_SEPARATOR)) {
-                        bufferedWriter.write(Constants.LINE_SEPARATOR + preprocessedLogLine);
-                    } else {
-                        bufferedWriter.write(preprocessedLogLine);
-                    }
-                    priorLogEntry = preprocessedLogLine;
-                }
-
-                priorLogLine = currentLogLine;
-                currentLogLine = nextLogLine;
+                bufferedWriter.write(preprocessor.add(nextLogLine));
                 nextLogLine = bufferedReader.readLine();
-
-                if (nextLogLine == null) {
-                    lastLogLineUnprocessed = currentLogLine;
-                }
             }
-
-            // Process last line
-            preprocessedLogLine = getPreprocessedLogEntry(currentLogLine, priorLogLine, nextLogLine, jvmStartDate,
-                    entangledLogLines, context);
-            if (preprocessedLogLine != null) {
-                if (context.contains(PreprocessAction.TOKEN_BEGINNING_OF_EVENT)
-                        && !priorLogEntry.endsWith(Constants.LINE_SEPARATOR)) {
-                    bufferedWriter.write(Constants.LINE_SEPARATOR + preprocessedLogLine);
-                } else {
-                    bufferedWriter.write(preprocessedLogLine);
-                }
-            }
-
-            // output entangled log lines
-            if (!entangledLogLines.isEmpty()) {
-                for (String logLine : entangledLogLines) {
-                    bufferedWriter.write(Constants.LINE_SEPARATOR + logLine);
-                }
-                // Reset entangled log lines
-                entangledLogLines.clear();
-            }
-
+            bufferedWriter.write(preprocessor.end());
         } catch (FileNotFoundException e) {
             e.printStackTrace();
         } catch (IOException e) {
@@ -427,6 +708,58 @@ public class GcManager {
         return preprocessedLogLine;
     }
 
+    /**
+     * Load the data store from the sidecar file written for the log file by a prior run, instead of preprocessing and
+     * storing the log file.
+     * 
+     * @param logFile
+     *            The garbage collection log file.
+     * @param preprocess
+     *            Whether or not the log file is preprocessed.
+     * @param jvmStartDate
+     *            The date and time the JVM was started.
+     * @param reorder
+     *            Whether or not logging is allowed to be reordered by timestamp.
+     * @return True if the sidecar file was loaded, false if there is no sidecar file for the unchanged log file and
+     *         options.
+     */
+    public boolean loadSidecar(File logFile, boolean preprocess, Date jvmStartDate, boolean reorder) {
+        SidecarFile sidecarFile = new SidecarFile(logFile);
+        if (!sidecarFile.read(jvmDao, logFile, sidecarKey(preprocess, jvmStartDate, reorder))) {
+            return false;
+        }
+        preprocessed = sidecarFile.isPreprocessed();
+        lastLogLineUnprocessed = sidecarFile.getLastLogLineUnprocessed();
+        jvmDao.freeze();
+        return true;
+    }
+
+    /**
+     * @return The sidecar file key for the options that affect the data store.
+     */
+    private static String sidecarKey(boolean preprocess, Date jvmStartDate, boolean reorder) {
+        return "preprocess=" + preprocess + ",startdatetime=" + (jvmStartDate == null ? "" : jvmStartDate.getTime())
+                + ",reorder=" + reorder;
+    }
+
+    /**
+     * Write the data store to a sidecar file (log file name + {@link SidecarFile#EXTENSION}) so a later run on the
+     * unchanged log file can skip preprocessing and storing.
+     * 
+     * @param logFile
+     *            The garbage collection log file.
+     * @param preprocess
+     *            Whether or not the log file was preprocessed.
+     * @param jvmStartDate
+     *            The date and time the JVM was started.
+     * @param reorder
+     *            Whether or not logging was allowed to be reordered by timestamp.
+     */
+    public void writeSidecar(File logFile, boolean preprocess, Date jvmStartDate, boolean reorder) {
+        new SidecarFile(logFile).write(jvmDao, logFile, sidecarKey(preprocess, jvmStartDate, reorder), preprocessed,
+                lastLogLineUnprocessed);
+    }
+
     /**
      * Parse the garbage collection logging for the JVM run and store the data in the data store.
      * 
@@ -434,6 +767,8 @@ public class GcManager {
      *            The garbage collection log file.
      * @param reorder
      *            Whether or not to allow logging to be reordered by timestamp.
+     * @throws UncheckedIOException
+     *             if the log file cannot be read.
      */
     public void store(File logFile, boolean reorder) {
 
@@ -447,553 +782,559 @@ public class GcManager {
             bufferedReader = new BufferedReader(new FileReader(logFile));
             String logLine = bufferedReader.readLine();
             BlockingEvent priorEvent = null;
+            LogEvent event = null;
             while (logLine != null) {
-                // If event has no timestamp, use most recent blocking timestamp.
-                LogEvent event = JdkUtil.parseLogLine(logLine);
-                if (event instanceof BlockingEvent) {
-
-                    // Verify logging in correct order. If overridden, logging will be stored and reordered by timestamp
-                    // for analysis.
-                    if (!reorder && priorEvent != null && event.getTimestamp() < priorEvent.getTimestamp()) {
-                        throw new TimeWarpException("Logging reversed: " + Constants.LINE_SEPARATOR
-                                + priorEvent.getLogEntry() + Constants.LINE_SEPARATOR + event.getLogEntry());
-                    }
+                event = JdkUtil.parseLogLine(logLine);
+                priorEvent = store(event, logLine, priorEvent, reorder);
+                logLine = bufferedReader.readLine();
+            }
+            storeEnd(event);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read log file.", e);
+        } finally {
+            // Close streams
+            if (bufferedReader != null) {
+                try {
+                    bufferedReader.close();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
 
-                    jvmDao.addBlockingEvent((BlockingEvent) event);
-
-                    // Analysis
-
-                    // 1) Explicit GC
-                    if (event instanceof TriggerData) {
-                        String trigger = ((TriggerData) event).getTrigger();
-                        if (trigger != null && trigger.matches(JdkRegEx.TRIGGER_SYSTEM_GC)) {
-                            CollectorFamily collectorFamily = ((GcEvent) event).getCollectorFamily();
-
-                            switch (collectorFamily) {
-                            case G1:
-                                if (!jvmDao.getAnalysis().contains(Analysis.ERROR_EXPLICIT_GC_SERIAL_G1)
-                                        && event instanceof G1FullGcEvent) {
-                                    jvmDao.addAnalysis(Analysis.ERROR_EXPLICIT_GC_SERIAL_G1);
-                                } else if (!jvmDao.getAnalysis()
-                                        .contains(Analysis.WARN_EXPLICIT_GC_G1_YOUNG_INITIAL_MARK)
-                                        && event instanceof G1YoungInitialMarkEvent) {
-                                    jvmDao.addAnalysis(Analysis.WARN_EXPLICIT_GC_G1_YOUNG_INITIAL_MARK);
-                                }
-                                break;
-                            case CMS:
-                                if (!jvmDao.getAnalysis().contains(Analysis.ERROR_EXPLICIT_GC_SERIAL_CMS)) {
-                                    jvmDao.addAnalysis(Analysis.ERROR_EXPLICIT_GC_SERIAL_CMS);
-                                }
-                                break;
-                            case PARALLEL:
-                                if (event instanceof ParallelSerialOldEvent) {
-                                    if (!jvmDao.getAnalysis().contains(Analysis.WARN_EXPLICIT_GC_SERIAL_PARALLEL)) {
-                                        jvmDao.addAnalysis(Analysis.WARN_EXPLICIT_GC_SERIAL_PARALLEL);
-                                    }
-                                    if (!jvmDao.getAnalysis().contains(Analysis.ERROR_SERIAL_GC_PARALLEL)) {
-                                        jvmDao.addAnalysis(Analysis.ERROR_SERIAL_GC_PARALLEL);
-                                    }
-                                } else if (event instanceof ParallelCompactingOldEvent) {
-                                    if (!jvmDao.getAnalysis().contains(Analysis.WARN_EXPLICIT_GC_PARALLEL)) {
-                                        jvmDao.addAnalysis(Analysis.WARN_EXPLICIT_GC_PARALLEL);
-                                    }
-                                }
-                                break;
-                            case SERIAL:
-                                if (!jvmDao.getAnalysis().contains(Analysis.WARN_EXPLICIT_GC_SERIAL)) {
-                                    jvmDao.addAnalysis(Analysis.WARN_EXPLICIT_GC_SERIAL);
-                                }
-                                break;
-                            case SHENANDOAH:
-                                break;
-                            case UNKNOWN:
-                                if (!jvmDao.getAnalysis().contains(Analysis.WARN_EXPLICIT_GC_UNKNOWN)) {
-                                    jvmDao.addAnalysis(Analysis.WARN_EXPLICIT_GC_UNKNOWN);
-                                }
-                                break;
-                            default:
-                                break;
-                            }
-                        }
-                    }
+        // Share the stored events with analysis and reporting without locks or copies
+        jvmDao.freeze();
+    }
+
+    /**
+     * Store a parsed log line in the data store and do the analysis that can be done one event at a time.
+     * 
+     * @param event
+     *            The parsed log line.
+     * @param logLine
+     *            The log line.
+     * @param priorEvent
+     *            The prior <code>BlockingEvent</code>, or null if there is none.
+     * @param reorder
+     *            Whether or not to allow logging to be reordered by timestamp.
+     * @return The prior <code>BlockingEvent</code> for the next log line.
+     */
+    private BlockingEvent store(LogEvent event, String logLine, BlockingEvent priorEvent, boolean reorder) {
+        if (event instanceof BlockingEvent) {
+
+            // Verify logging in correct order. If overridden, logging will be stored and reordered by timestamp
+            // for analysis.
+            if (!reorder && priorEvent != null && event.getTimestamp() < priorEvent.getTimestamp()) {
+                throw new TimeWarpException("Logging reversed: " + Constants.LINE_SEPARATOR
+                        + priorEvent.getLogEntry() + Constants.LINE_SEPARATOR + event.getLogEntry());
+            }
 
-                    // 2) Serial collections not caused by explicit GC
-                    if (event instanceof SerialCollection) {
-                        String trigger = null;
-                        if (event instanceof TriggerData) {
-                            trigger = ((TriggerData) event).getTrigger();
+            jvmDao.addBlockingEvent((BlockingEvent) event);
+
+            // Analysis
+
+            // 1) Explicit GC
+            if (event instanceof TriggerData) {
+                String trigger = ((TriggerData) event).getTrigger();
+                if (trigger != null && trigger.matches(JdkRegEx.TRIGGER_SYSTEM_GC)) {
+                    CollectorFamily collectorFamily = ((GcEvent) event).getCollectorFamily();
+
+                    switch (collectorFamily) {
+                    case G1:
+                        if (!jvmDao.getAnalysis().contains(Analysis.ERROR_EXPLICIT_GC_SERIAL_G1)
+                                && event instanceof G1FullGcEvent) {
+                            jvmDao.addAnalysis(Analysis.ERROR_EXPLICIT_GC_SERIAL_G1);
+                        } else if (!jvmDao.getAnalysis()
+                                .contains(Analysis.WARN_EXPLICIT_GC_G1_YOUNG_INITIAL_MARK)
+                                && event instanceof G1YoungInitialMarkEvent) {
+                            jvmDao.addAnalysis(Analysis.WARN_EXPLICIT_GC_G1_YOUNG_INITIAL_MARK);
                         }
-                        CollectorFamily collectorFamily = ((GcEvent) event).getCollectorFamily();
-
-                        if (trigger == null || (!trigger.matches(JdkRegEx.TRIGGER_SYSTEM_GC)
-                                && !trigger.matches(JdkRegEx.TRIGGER_CLASS_HISTOGRAM)
-                                && !trigger.matches(JdkRegEx.TRIGGER_HEAP_INSPECTION_INITIATED_GC)
-                                && !trigger.matches(JdkRegEx.TRIGGER_HEAP_DUMP_INITIATED_GC))) {
-                            switch (collectorFamily) {
-                            case G1:
-                                if (!jvmDao.getAnalysis().contains(Analysis.ERROR_SERIAL_GC_G1)) {
-                                    jvmDao.addAnalysis(Analysis.ERROR_SERIAL_GC_G1);
-                                }
-                                break;
-                            case CMS:
-                                if (!jvmDao.getAnalysis().contains(Analysis.ERROR_SERIAL_GC_CMS)) {
-                                    jvmDao.addAnalysis(Analysis.ERROR_SERIAL_GC_CMS);
-                                }
-                                break;
-                            case PARALLEL:
-                                if (!jvmDao.getAnalysis().contains(Analysis.ERROR_SERIAL_GC_PARALLEL)) {
-                                    jvmDao.addAnalysis(Analysis.ERROR_SERIAL_GC_PARALLEL);
-                                }
-                                break;
-                            case SERIAL:
-                                if (!jvmDao.getAnalysis().contains(Analysis.ERROR_SERIAL_GC)) {
-                                    jvmDao.addAnalysis(Analysis.ERROR_SERIAL_GC);
-                                }
-                                break;
-                            case UNKNOWN:
-                                break;
-                            default:
-                                break;
-                            }
+                        break;
+                    case CMS:
+                        if (!jvmDao.getAnalysis().contains(Analysis.ERROR_EXPLICIT_GC_SERIAL_CMS)) {
+                            jvmDao.addAnalysis(Analysis.ERROR_EXPLICIT_GC_SERIAL_CMS);
                         }
-                    }
-
-                    // 3) CMS concurrent mode failure
-                    if (!jvmDao.getAnalysis().contains(Analysis.ERROR_CMS_CONCURRENT_MODE_FAILURE)) {
-                        if (event instanceof CmsSerialOldEvent) {
-                            String trigger = ((TriggerData) event).getTrigger();
-                            if (trigger != null && trigger.matches(JdkRegEx.TRIGGER_CONCURRENT_MODE_FAILURE)) {
-                                jvmDao.addAnalysis(Analysis.ERROR_CMS_CONCURRENT_MODE_FAILURE);
+                        break;
+                    case PARALLEL:
+                        if (event instanceof ParallelSerialOldEvent) {
+                            if (!jvmDao.getAnalysis().contains(Analysis.WARN_EXPLICIT_GC_SERIAL_PARALLEL)) {
+                                jvmDao.addAnalysis(Analysis.WARN_EXPLICIT_GC_SERIAL_PARALLEL);
                             }
-                        }
-                    }
-
-                    // 4) CMS concurrent mode interrupted
-                    if (!jvmDao.getAnalysis().contains(Analysis.ERROR_CMS_CONCURRENT_MODE_INTERRUPTED)) {
-                        if (event instanceof CmsSerialOldEvent) {
-                            String trigger = ((TriggerData) event).getTrigger();
-                            if (trigger != null && trigger.matches(JdkRegEx.TRIGGER_CONCURRENT_MODE_INTERRUPTED)) {
-                                jvmDao.addAnalysis(Analysis.ERROR_CMS_CONCURRENT_MODE_INTERRUPTED);
+                            if (!jvmDao.getAnalysis().contains(Analysis.ERROR_SERIAL_GC_PARALLEL)) {
+                                jvmDao.addAnalysis(Analysis.ERROR_SERIAL_GC_PARALLEL);
                             }
-                        }
-                    }
-
-                    // 5) CMS incremental mode
-                    if (!jvmDao.getAnalysis().contains(Analysis.WARN_CMS_INCREMENTAL_MODE)) {
-                        if (event instanceof CmsIncrementalModeCollector) {
-                            if (((CmsIncrementalModeCollector) event).isIncrementalMode()) {
-                                jvmDao.addAnalysis(Analysis.WARN_CMS_INCREMENTAL_MODE);
+                        } else if (event instanceof ParallelCompactingOldEvent) {
+                            if (!jvmDao.getAnalysis().contains(Analysis.WARN_EXPLICIT_GC_PARALLEL)) {
+                                jvmDao.addAnalysis(Analysis.WARN_EXPLICIT_GC_PARALLEL);
                             }
                         }
-                    }
-
-                    // 6) Heap dump initiated gc
-                    if (!jvmDao.getAnalysis().contains(Analysis.WARN_HEAP_DUMP_INITIATED_GC)) {
-                        if (event instanceof TriggerData) {
-                            String trigger = ((TriggerData) event).getTrigger();
-                            if (trigger != null && trigger.matches(JdkRegEx.TRIGGER_HEAP_DUMP_INITIATED_GC)) {
-                                jvmDao.addAnalysis(Analysis.WARN_HEAP_DUMP_INITIATED_GC);
-                            }
+                        break;
+                    case SERIAL:
+                        if (!jvmDao.getAnalysis().contains(Analysis.WARN_EXPLICIT_GC_SERIAL)) {
+                            jvmDao.addAnalysis(Analysis.WARN_EXPLICIT_GC_SERIAL);
                         }
-                    }
-
-                    // 7) Heap inspection initiated gc
-                    if (!jvmDao.getAnalysis().contains(Analysis.WARN_HEAP_INSPECTION_INITIATED_GC)) {
-                        if (event instanceof TriggerData) {
-                            String trigger = ((TriggerData) event).getTrigger();
-                            if (trigger != null && trigger.matches(JdkRegEx.TRIGGER_HEAP_INSPECTION_INITIATED_GC)) {
-                                jvmDao.addAnalysis(Analysis.WARN_HEAP_INSPECTION_INITIATED_GC);
-                            }
+                        break;
+                    case SHENANDOAH:
+                        break;
+                    case UNKNOWN:
+                        if (!jvmDao.getAnalysis().contains(Analysis.WARN_EXPLICIT_GC_UNKNOWN)) {
+                            jvmDao.addAnalysis(Analysis.WARN_EXPLICIT_GC_UNKNOWN);
                         }
+                        break;
+                    default:
+                        break;
                     }
+                }
+            }
 
-                    // 8) Metaspace allocation failure
-                    if (!jvmDao.getAnalysis().contains(Analysis.ERROR_METASPACE_ALLOCATION_FAILURE)) {
-                        if (event instanceof TriggerData) {
-                            String trigger = ((TriggerData) event).getTrigger();
-                            if (trigger != null && trigger.matches(JdkRegEx.TRIGGER_LAST_DITCH_COLLECTION)) {
-                                jvmDao.addAnalysis(Analysis.ERROR_METASPACE_ALLOCATION_FAILURE);
-                            }
+            // 2) Serial collections not caused by explicit GC
+            if (event instanceof SerialCollection) {
+                String trigger = null;
+                if (event instanceof TriggerData) {
+                    trigger = ((TriggerData) event).getTrigger();
+                }
+                CollectorFamily collectorFamily = ((GcEvent) event).getCollectorFamily();
+
+                if (trigger == null || (!trigger.matches(JdkRegEx.TRIGGER_SYSTEM_GC)
+                        && !trigger.matches(JdkRegEx.TRIGGER_CLASS_HISTOGRAM)
+                        && !trigger.matches(JdkRegEx.TRIGGER_HEAP_INSPECTION_INITIATED_GC)
+                        && !trigger.matches(JdkRegEx.TRIGGER_HEAP_DUMP_INITIATED_GC))) {
+                    switch (collectorFamily) {
+                    case G1:
+                        if (!jvmDao.getAnalysis().contains(Analysis.ERROR_SERIAL_GC_G1)) {
+                            jvmDao.addAnalysis(Analysis.ERROR_SERIAL_GC_G1);
                         }
-                    }
-
-                    // 9) JVM TI explicit gc
-                    if (!jvmDao.getAnalysis().contains(Analysis.WARN_EXPLICIT_GC_JVMTI)) {
-                        if (event instanceof TriggerData) {
-                            String trigger = ((TriggerData) event).getTrigger();
-                            if (trigger != null
-                                    && trigger.matches(JdkRegEx.TRIGGER_JVM_TI_FORCED_GAREBAGE_COLLECTION)) {
-                                jvmDao.addAnalysis(Analysis.WARN_EXPLICIT_GC_JVMTI);
-                            }
+                        break;
+                    case CMS:
+                        if (!jvmDao.getAnalysis().contains(Analysis.ERROR_SERIAL_GC_CMS)) {
+                            jvmDao.addAnalysis(Analysis.ERROR_SERIAL_GC_CMS);
                         }
-                    }
-
-                    // 10) G1 evacuation failure
-                    if (event instanceof TriggerData) {
-                        String trigger = ((TriggerData) event).getTrigger();
-                        if (trigger != null && (trigger.matches(JdkRegEx.TRIGGER_TO_SPACE_EXHAUSTED)
-                                || trigger.matches(JdkRegEx.TRIGGER_TO_SPACE_OVERFLOW))) {
-                            if (!jvmDao.getAnalysis().contains(Analysis.ERROR_G1_EVACUATION_FAILURE)) {
-                                jvmDao.addAnalysis(Analysis.ERROR_G1_EVACUATION_FAILURE);
-                            }
+                        break;
+                    case PARALLEL:
+                        if (!jvmDao.getAnalysis().contains(Analysis.ERROR_SERIAL_GC_PARALLEL)) {
+                            jvmDao.addAnalysis(Analysis.ERROR_SERIAL_GC_PARALLEL);
                         }
-                    }
-
-                    // 11) CMS promotion failure
-                    if (event instanceof TriggerData) {
-                        String trigger = ((TriggerData) event).getTrigger();
-                        if (trigger != null && trigger.matches(JdkRegEx.TRIGGER_PROMOTION_FAILED)) {
-                            CollectorFamily collectorFamily = ((GcEvent) event).getCollectorFamily();
-                            if (!jvmDao.getAnalysis().contains(Analysis.ERROR_CMS_PROMOTION_FAILED)
-                                    && collectorFamily.equals(CollectorFamily.CMS)) {
-                                jvmDao.addAnalysis(Analysis.ERROR_CMS_PROMOTION_FAILED);
-                            }
+                        break;
+                    case SERIAL:
+                        if (!jvmDao.getAnalysis().contains(Analysis.ERROR_SERIAL_GC)) {
+                            jvmDao.addAnalysis(Analysis.ERROR_SERIAL_GC);
                         }
+                        break;
+                    case UNKNOWN:
+                        break;
+                    default:
+                        break;
                     }
+                }
+            }
 
-                    // 12) -XX:+PrintGCCause is essential for troubleshooting G1 full GCs
-                    if (event instanceof G1FullGcEvent) {
-                        String trigger = ((TriggerData) event).getTrigger();
-                        if (trigger == null) {
-                            if (!jvmDao.getAnalysis().contains(Analysis.WARN_PRINT_GC_CAUSE_NOT_ENABLED)) {
-                                jvmDao.addAnalysis(Analysis.WARN_PRINT_GC_CAUSE_NOT_ENABLED);
-                            }
-                        }
+            // 3) CMS concurrent mode failure
+            if (!jvmDao.getAnalysis().contains(Analysis.ERROR_CMS_CONCURRENT_MODE_FAILURE)) {
+                if (event instanceof CmsSerialOldEvent) {
+                    String trigger = ((TriggerData) event).getTrigger();
+                    if (trigger != null && trigger.matches(JdkRegEx.TRIGGER_CONCURRENT_MODE_FAILURE)) {
+                        jvmDao.addAnalysis(Analysis.ERROR_CMS_CONCURRENT_MODE_FAILURE);
                     }
+                }
+            }
 
-                    // 13) CMS_REMARK class unloading
-                    if (event instanceof CmsRemarkEvent && !((CmsRemarkEvent) event).isClassUnloading()
-                            && !jvmDao.getAnalysis().contains(Analysis.WARN_CMS_CLASS_UNLOADING_NOT_ENABLED)) {
-                        jvmDao.addAnalysis(Analysis.WARN_CMS_CLASS_UNLOADING_NOT_ENABLED);
+            // 4) CMS concurrent mode interrupted
+            if (!jvmDao.getAnalysis().contains(Analysis.ERROR_CMS_CONCURRENT_MODE_INTERRUPTED)) {
+                if (event instanceof CmsSerialOldEvent) {
+                    String trigger = ((TriggerData) event).getTrigger();
+                    if (trigger != null && trigger.matches(JdkRegEx.TRIGGER_CONCURRENT_MODE_INTERRUPTED)) {
+                        jvmDao.addAnalysis(Analysis.ERROR_CMS_CONCURRENT_MODE_INTERRUPTED);
                     }
+                }
+            }
 
-                    // 14) Humongous allocation
-                    if (event instanceof G1Collector && event instanceof TriggerData
-                            && !jvmDao.getAnalysis().contains(Analysis.INFO_G1_HUMONGOUS_ALLOCATION)) {
-                        String trigger = ((TriggerData) event).getTrigger();
-                        if (trigger != null && trigger.matches(JdkRegEx.TRIGGER_G1_HUMONGOUS_ALLOCATION)) {
-                            jvmDao.addAnalysis(Analysis.INFO_G1_HUMONGOUS_ALLOCATION);
-                        }
+            // 5) CMS incremental mode
+            if (!jvmDao.getAnalysis().contains(Analysis.WARN_CMS_INCREMENTAL_MODE)) {
+                if (event instanceof CmsIncrementalModeCollector) {
+                    if (((CmsIncrementalModeCollector) event).isIncrementalMode()) {
+                        jvmDao.addAnalysis(Analysis.WARN_CMS_INCREMENTAL_MODE);
                     }
+                }
+            }
 
-                    // 15) Inverted parallelism
-                    if (event instanceof ParallelEvent && event instanceof TimesData) {
-                        if (((TimesData) event).getTimeUser() != TimesData.NO_DATA
-                                && ((TimesData) event).getTimeReal() != TimesData.NO_DATA) {
-                            jvmDao.setParallelCount(jvmDao.getParallelCount() + 1);
-                            if (event instanceof TimesData && ((TimesData) event).getTimeUser() > 0
-                                    && JdkMath.isInvertedParallelism(((TimesData) event).getParallelism())) {
-                                jvmDao.setInvertedParallelismCount(jvmDao.getInvertedParallelismCount() + 1);
-                                if (jvmDao.getWorstInvertedParallelismEvent() == null) {
-                                    jvmDao.setWorstInvertedParallelismEvent(event);
-                                } else {
-                                    if (((TimesData) event)
-                                            .getParallelism() < ((TimesData) jvmDao.getWorstInvertedParallelismEvent())
-                                                    .getParallelism()) {
-                                        // Update lowest "low"
-                                        jvmDao.setWorstInvertedParallelismEvent(event);
-                                    }
-                                }
-                            }
-                        }
+            // 6) Heap dump initiated gc
+            if (!jvmDao.getAnalysis().contains(Analysis.WARN_HEAP_DUMP_INITIATED_GC)) {
+                if (event instanceof TriggerData) {
+                    String trigger = ((TriggerData) event).getTrigger();
+                    if (trigger != null && trigger.matches(JdkRegEx.TRIGGER_HEAP_DUMP_INITIATED_GC)) {
+                        jvmDao.addAnalysis(Analysis.WARN_HEAP_DUMP_INITIATED_GC);
                     }
+                }
+            }
 
-                    // 16) Check for CMS initial mark low parallelism
-                    if (event instanceof CmsInitialMarkEvent && ((TimesData) event).getTimeUser() > 0
-                            && ((TimesData) event).getTimeReal() > 0 && ((BlockingEvent) event).getDuration() >= 10000
-                            && JdkMath.isLowParallelism(((TimesData) event).getParallelism())) {
-                        if (!jvmDao.getAnalysis().contains(Analysis.WARN_CMS_INITIAL_MARK_LOW_PARALLELISM)) {
-                            jvmDao.addAnalysis(Analysis.WARN_CMS_INITIAL_MARK_LOW_PARALLELISM);
-                        }
+            // 7) Heap inspection initiated gc
+            if (!jvmDao.getAnalysis().contains(Analysis.WARN_HEAP_INSPECTION_INITIATED_GC)) {
+                if (event instanceof TriggerData) {
+                    String trigger = ((TriggerData) event).getTrigger();
+                    if (trigger != null && trigger.matches(JdkRegEx.TRIGGER_HEAP_INSPECTION_INITIATED_GC)) {
+                        jvmDao.addAnalysis(Analysis.WARN_HEAP_INSPECTION_INITIATED_GC);
                     }
+                }
+            }
 
-                    // 17) Check for CMS remark low parallelism
-                    if (event instanceof CmsRemarkEvent && ((TimesData) event).getTimeUser() > 0
-                            && ((TimesData) event).getTimeReal() > 0 && ((BlockingEvent) event).getDuration() >= 10000
-                            && JdkMath.isLowParallelism(((TimesData) event).getParallelism())) {
-                        if (!jvmDao.getAnalysis().contains(Analysis.WARN_CMS_REMARK_LOW_PARALLELISM)) {
-                            jvmDao.addAnalysis(Analysis.WARN_CMS_REMARK_LOW_PARALLELISM);
-                        }
+            // 8) Metaspace allocation failure
+            if (!jvmDao.getAnalysis().contains(Analysis.ERROR_METASPACE_ALLOCATION_FAILURE)) {
+                if (event instanceof TriggerData) {
+                    String trigger = ((TriggerData) event).getTrigger();
+                    if (trigger != null && trigger.matches(JdkRegEx.TRIGGER_LAST_DITCH_COLLECTION)) {
+                        jvmDao.addAnalysis(Analysis.ERROR_METASPACE_ALLOCATION_FAILURE);
                     }
+                }
+            }
 
-                    // 18) Check for old JDKs using perm gen
-                    if (event instanceof PermMetaspaceData && event.getLogEntry() != null
-                            && event.getLogEntry().matches("^.*Perm.*$")) {
-                        if (!jvmDao.getAnalysis().contains(Analysis.INFO_PERM_GEN)) {
-                            jvmDao.addAnalysis(Analysis.INFO_PERM_GEN);
-                        }
+            // 9) JVM TI explicit gc
+            if (!jvmDao.getAnalysis().contains(Analysis.WARN_EXPLICIT_GC_JVMTI)) {
+                if (event instanceof TriggerData) {
+                    String trigger = ((TriggerData) event).getTrigger();
+                    if (trigger != null
+                            && trigger.matches(JdkRegEx.TRIGGER_JVM_TI_FORCED_GAREBAGE_COLLECTION)) {
+                        jvmDao.addAnalysis(Analysis.WARN_EXPLICIT_GC_JVMTI);
                     }
+                }
+            }
 
-                    // 19) Shenandoah Full GC
-                    if (event instanceof ShenandoahFullGcEvent) {
-                        if (!jvmDao.getAnalysis().contains(Analysis.ERROR_SHENANDOAH_FULL_GC)) {
-                            jvmDao.addAnalysis(Analysis.ERROR_SHENANDOAH_FULL_GC);
-                        }
+            // 10) G1 evacuation failure
+            if (event instanceof TriggerData) {
+                String trigger = ((TriggerData) event).getTrigger();
+                if (trigger != null && (trigger.matches(JdkRegEx.TRIGGER_TO_SPACE_EXHAUSTED)
+                        || trigger.matches(JdkRegEx.TRIGGER_TO_SPACE_OVERFLOW))) {
+                    if (!jvmDao.getAnalysis().contains(Analysis.ERROR_G1_EVACUATION_FAILURE)) {
+                        jvmDao.addAnalysis(Analysis.ERROR_G1_EVACUATION_FAILURE);
                     }
+                }
+            }
 
-                    priorEvent = (BlockingEvent) event;
-
-                } else if (event instanceof ApplicationStoppedTimeEvent) {
-                    jvmDao.addStoppedTimeEvent((ApplicationStoppedTimeEvent) event);
-                } else if (event instanceof UnifiedSafepointEvent) {
-                    jvmDao.addSafepointEvent((UnifiedSafepointEvent) event);
-                } else if (event instanceof HeaderCommandLineFlagsEvent) {
-                    jvmDao.setOptions(((HeaderCommandLineFlagsEvent) event).getJvmOptions());
-                } else if (event instanceof HeaderMemoryEvent) {
-                    jvmDao.setMemory(((HeaderMemoryEvent) event).getLogEntry());
-                    jvmDao.setPhysicalMemory((long) KILOBYTES.toBytes(((HeaderMemoryEvent) event).getPhysicalMemory()));
-                    jvmDao.setPhysicalMemoryFree(
-                            (long) KILOBYTES.toBytes(((HeaderMemoryEvent) event).getPhysicalMemoryFree()));
-                    jvmDao.setSwap((long) KILOBYTES.toBytes(((HeaderMemoryEvent) event).getSwap()));
-                    jvmDao.setSwapFree((long) KILOBYTES.toBytes(((HeaderMemoryEvent) event).getSwapFree()));
-                } else if (event instanceof HeaderVersionEvent) {
-                    jvmDao.setVersion(((HeaderVersionEvent) event).getLogEntry());
-                } else if (event instanceof GcOverheadLimitEvent) {
-                    if (!jvmDao.getAnalysis().contains(Analysis.ERROR_GC_TIME_LIMIT_EXCEEEDED)) {
-                        jvmDao.getAnalysis().add(Analysis.ERROR_GC_TIME_LIMIT_EXCEEEDED);
+            // 11) CMS promotion failure
+            if (event instanceof TriggerData) {
+                String trigger = ((TriggerData) event).getTrigger();
+                if (trigger != null && trigger.matches(JdkRegEx.TRIGGER_PROMOTION_FAILED)) {
+                    CollectorFamily collectorFamily = ((GcEvent) event).getCollectorFamily();
+                    if (!jvmDao.getAnalysis().contains(Analysis.ERROR_CMS_PROMOTION_FAILED)
+                            && collectorFamily.equals(CollectorFamily.CMS)) {
+                        jvmDao.addAnalysis(Analysis.ERROR_CMS_PROMOTION_FAILED);
                     }
-                } else if (event instanceof GcLockerEvent) {
-                    if (!jvmDao.getAnalysis().contains(Analysis.ERROR_CMS_PAR_NEW_GC_LOCKER_FAILED)) {
-                        jvmDao.addAnalysis(Analysis.ERROR_CMS_PAR_NEW_GC_LOCKER_FAILED);
-                    }
-                } else if (event instanceof ShenandoahConcurrentEvent) {
-                    if (greater(((CombinedData) event).getCombinedOccupancyInit(),
-                            jvmDao.getMaxHeapOccupancyNonBlocking())) {
-                        jvmDao.setMaxHeapOccupancyNonBlocking(
-                                (int) ((CombinedData) event).getCombinedOccupancyInit().getValue(KILOBYTES));
-                    }
-                    if (greater(((CombinedData) event).getCombinedSpace(), jvmDao.getMaxHeapSpaceNonBlocking())) {
-                        jvmDao.setMaxHeapSpaceNonBlocking(
-                                (int) ((CombinedData) event).getCombinedSpace().getValue(KILOBYTES));
-                    }
-                    if (greater(((PermMetaspaceData) event).getPermOccupancyInit(),
-                            jvmDao.getMaxPermOccupancyNonBlocking())) {
-                        jvmDao.setMaxPermOccupancyNonBlocking(
-                                (int) ((PermMetaspaceData) event).getPermOccupancyInit().getValue(KILOBYTES));
-                    }
-                    if (greater(((PermMetaspaceData) event).getPermSpace(), jvmDao.getMaxPermSpaceNonBlocking())) {
-                        jvmDao.setMaxPermSpaceNonBlocking(
-                                (int) ((PermMetaspaceData) event).getPermSpace().getValue(KILOBYTES));
+                }
+            }
+
+            // 12) -XX:+PrintGCCause is essential for troubleshooting G1 full GCs
+            if (event instanceof G1FullGcEvent) {
+                String trigger = ((TriggerData) event).getTrigger();
+                if (trigger == null) {
+                    if (!jvmDao.getAnalysis().contains(Analysis.WARN_PRINT_GC_CAUSE_NOT_ENABLED)) {
+                        jvmDao.addAnalysis(Analysis.WARN_PRINT_GC_CAUSE_NOT_ENABLED);
                     }
-                } else if (event instanceof VmWarningEvent) {
-                    if (((VmWarningEvent) event).getErrNo().equals("12")) {
-                        if (!jvmDao.getAnalysis().contains(Analysis.ERROR_SHARED_MEMORY_12)) {
-                            jvmDao.addAnalysis(Analysis.ERROR_SHARED_MEMORY_12);
+                }
+            }
+
+            // 13) CMS_REMARK class unloading
+            if (event instanceof CmsRemarkEvent && !((CmsRemarkEvent) event).isClassUnloading()
+                    && !jvmDao.getAnalysis().contains(Analysis.WARN_CMS_CLASS_UNLOADING_NOT_ENABLED)) {
+                jvmDao.addAnalysis(Analysis.WARN_CMS_CLASS_UNLOADING_NOT_ENABLED);
+            }
+
+            // 14) Humongous allocation
+            if (event instanceof G1Collector && event instanceof TriggerData
+                    && !jvmDao.getAnalysis().contains(Analysis.INFO_G1_HUMONGOUS_ALLOCATION)) {
+                String trigger = ((TriggerData) event).getTrigger();
+                if (trigger != null && trigger.matches(JdkRegEx.TRIGGER_G1_HUMONGOUS_ALLOCATION)) {
+                    jvmDao.addAnalysis(Analysis.INFO_G1_HUMONGOUS_ALLOCATION);
+                }
+            }
+
+            // 15) Inverted parallelism
+            if (event instanceof ParallelEvent && event instanceof TimesData) {
+                if (((TimesData) event).getTimeUser() != TimesData.NO_DATA
+                        && ((TimesData) event).getTimeReal() != TimesData.NO_DATA) {
+                    jvmDao.setParallelCount(jvmDao.getParallelCount() + 1);
+                    if (event instanceof TimesData && ((TimesData) event).getTimeUser() > 0
+                            && JdkMath.isInvertedParallelism(((TimesData) event).getParallelism())) {
+                        jvmDao.setInvertedParallelismCount(jvmDao.getInvertedParallelismCount() + 1);
+                        if (jvmDao.getWorstInvertedParallelismEvent() == null) {
+                            jvmDao.setWorstInvertedParallelismEvent(event);
+                        } else {
+                            if (((TimesData) event)
+                                    .getParallelism() < ((TimesData) jvmDao.getWorstInvertedParallelismEvent())
+                                            .getParallelism()) {
+                                // Update lowest "low"
+                                jvmDao.setWorstInvertedParallelismEvent(event);
+                            }
                         }
                     }
-                } else if (event instanceof ThreadDumpEvent) {
-                    if (!jvmDao.getAnalysis().contains(Analysis.INFO_THREAD_DUMP)) {
-                        jvmDao.addAnalysis(Analysis.INFO_THREAD_DUMP);
-                    }
-                } else if (event instanceof UnknownEvent) {
-                    if (jvmDao.getUnidentifiedLogLines().size() < Main.REJECT_LIMIT) {
-                        jvmDao.getUnidentifiedLogLines().add(logLine);
-                    }
                 }
+            }
 
-                // Populate events list.
-                List<JdkUtil.LogEventType> eventTypes = jvmDao.getEventTypes();
-                JdkUtil.LogEventType eventType = JdkUtil.determineEventType(event.getName());
-                if (!eventTypes.contains(eventType)) {
-                    eventTypes.add(eventType);
+            // 16) Check for CMS initial mark low parallelism
+            if (event instanceof CmsInitialMarkEvent && ((TimesData) event).getTimeUser() > 0
+                    && ((TimesData) event).getTimeReal() > 0 && ((BlockingEvent) event).getDuration() >= 10000
+                    && JdkMath.isLowParallelism(((TimesData) event).getParallelism())) {
+                if (!jvmDao.getAnalysis().contains(Analysis.WARN_CMS_INITIAL_MARK_LOW_PARALLELISM)) {
+                    jvmDao.addAnalysis(Analysis.WARN_CMS_INITIAL_MARK_LOW_PARALLELISM);
                 }
+            }
 
-                // Populate collector type list.
-                if (event instanceof GcEvent) {
-                    List<JdkUtil.CollectorFamily> collectorFamilies = jvmDao.getCollectorFamilies();
-                    if (!collectorFamilies.contains(((GcEvent) event).getCollectorFamily())) {
-                        collectorFamilies.add(((GcEvent) event).getCollectorFamily());
-                    }
+            // 17) Check for CMS remark low parallelism
+            if (event instanceof CmsRemarkEvent && ((TimesData) event).getTimeUser() > 0
+                    && ((TimesData) event).getTimeReal() > 0 && ((BlockingEvent) event).getDuration() >= 10000
+                    && JdkMath.isLowParallelism(((TimesData) event).getParallelism())) {
+                if (!jvmDao.getAnalysis().contains(Analysis.WARN_CMS_REMARK_LOW_PARALLELISM)) {
+                    jvmDao.addAnalysis(Analysis.WARN_CMS_REMARK_LOW_PARALLELISM);
                 }
+            }
 
-                logLine = bufferedReader.readLine();
+            // 18) Check for old JDKs using perm gen
+            if (event instanceof PermMetaspaceData && event.getLogEntry() != null
+                    && event.getLogEntry().matches("^.*Perm.*$")) {
+                if (!jvmDao.getAnalysis().contains(Analysis.INFO_PERM_GEN)) {
+                    jvmDao.addAnalysis(Analysis.INFO_PERM_GEN);
+                }
+            }
 
-                // Check for partial last line
-                if (logLine == null) {
-                    if (event instanceof UnknownEvent && jvmDao.getUnidentifiedLogLines().size() == 1) {
-                        jvmDao.addAnalysis(Analysis.INFO_UNIDENTIFIED_LOG_LINE_LAST);
-                    }
+            // 19) Shenandoah Full GC
+            if (event instanceof ShenandoahFullGcEvent) {
+                if (!jvmDao.getAnalysis().contains(Analysis.ERROR_SHENANDOAH_FULL_GC)) {
+                    jvmDao.addAnalysis(Analysis.ERROR_SHENANDOAH_FULL_GC);
                 }
             }
-        } catch (FileNotFoundException e) {
-            e.printStackTrace();
-        } catch (IOException e) {
-            e.printStackTrace();
-        } finally {
-            // Close streams
-            if (bufferedReader != null) {
-                try {
-                    bufferedReader.close();
-                } catch (IOException e) {
-                    e.printStackTrace();
+
+            priorEvent = (BlockingEvent) event;
+
+        } else if (event instanceof ApplicationStoppedTimeEvent) {
+            jvmDao.addStoppedTimeEvent((ApplicationStoppedTimeEvent) event);
+        } else if (event instanceof UnifiedSafepointEvent) {
+            jvmDao.addSafepointEvent((UnifiedSafepointEvent) event);
+        } else if (event instanceof HeaderCommandLineFlagsEvent) {
+            jvmDao.setOptions(((HeaderCommandLineFlagsEvent) event).getJvmOptions());
+        } else if (event instanceof HeaderMemoryEvent) {
+            jvmDao.setMemory(((HeaderMemoryEvent) event).getLogEntry());
+            jvmDao.setPhysicalMemory((long) KILOBYTES.toBytes(((HeaderMemoryEvent) event).getPhysicalMemory()));
+            jvmDao.setPhysicalMemoryFree(
+                    (long) KILOBYTES.toBytes(((HeaderMemoryEvent) event).getPhysicalMemoryFree()));
+            jvmDao.setSwap((long) KILOBYTES.toBytes(((HeaderMemoryEvent) event).getSwap()));
+            jvmDao.setSwapFree((long) KILOBYTES.toBytes(((HeaderMemoryEvent) event).getSwapFree()));
+        } else if (event instanceof HeaderVersionEvent) {
+            jvmDao.setVersion(((HeaderVersionEvent) event).getLogEntry());
+        } else if (event instanceof GcOverheadLimitEvent) {
+            if (!jvmDao.getAnalysis().contains(Analysis.ERROR_GC_TIME_LIMIT_EXCEEEDED)) {
+                jvmDao.getAnalysis().add(Analysis.ERROR_GC_TIME_LIMIT_EXCEEEDED);
+            }
+        } else if (event instanceof GcLockerEvent) {
+            if (!jvmDao.getAnalysis().contains(Analysis.ERROR_CMS_PAR_NEW_GC_LOCKER_FAILED)) {
+                jvmDao.addAnalysis(Analysis.ERROR_CMS_PAR_NEW_GC_LOCKER_FAILED);
+            }
+        } else if (event instanceof ShenandoahConcurrentEvent) {
+            jvmDao.addConcurrentEvent(event);
+            if (greater(((CombinedData) event).getCombinedOccupancyInit(),
+                    jvmDao.getMaxHeapOccupancyNonBlocking())) {
+                jvmDao.setMaxHeapOccupancyNonBlocking(
+                        (int) ((CombinedData) event).getCombinedOccupancyInit().getValue(KILOBYTES));
+            }
+            if (greater(((CombinedData) event).getCombinedSpace(), jvmDao.getMaxHeapSpaceNonBlocking())) {
+                jvmDao.setMaxHeapSpaceNonBlocking(
+                        (int) ((CombinedData) event).getCombinedSpace().getValue(KILOBYTES));
+            }
+            if (greater(((PermMetaspaceData) event).getPermOccupancyInit(),
+                    jvmDao.getMaxPermOccupancyNonBlocking())) {
+                jvmDao.setMaxPermOccupancyNonBlocking(
+                        (int) ((PermMetaspaceData) event).getPermOccupancyInit().getValue(KILOBYTES));
+            }
+            if (greater(((PermMetaspaceData) event).getPermSpace(), jvmDao.getMaxPermSpaceNonBlocking())) {
+                jvmDao.setMaxPermSpaceNonBlocking(
+                        (int) ((PermMetaspaceData) event).getPermSpace().getValue(KILOBYTES));
+            }
+        } else if (event instanceof VmWarningEvent) {
+            if (((VmWarningEvent) event).getErrNo().equals("12")) {
+                if (!jvmDao.getAnalysis().contains(Analysis.ERROR_SHARED_MEMORY_12)) {
+                    jvmDao.addAnalysis(Analysis.ERROR_SHARED_MEMORY_12);
                 }
             }
+        } else if (event instanceof ThreadDumpEvent) {
+            if (!jvmDao.getAnalysis().contains(Analysis.INFO_THREAD_DUMP)) {
+                jvmDao.addAnalysis(Analysis.INFO_THREAD_DUMP);
+            }
+        } else if (event instanceof UnknownEvent) {
+            jvmDao.getUnidentifiedLogLines().add(logLine);
         }
 
+        // Populate events list.
+        jvmDao.getEventTypes().add(event.getEventType());
+
+        // Populate collector type list.
+        if (event instanceof GcEvent) {
+            jvmDao.getCollectorFamilies().add(((GcEvent) event).getCollectorFamily());
+        }
+
+        if (!listeners.isEmpty()) {
+            if (!(event instanceof UnknownEvent)) {
+                for (LogListener listener : listeners) {
+                    listener.eventStored(event);
+                }
+            }
+            raiseAnalysis();
+        }
+        return priorEvent;
     }
 
-    private static boolean greater(Memory memory, int value) {
-        return memory != null && memory.getValue(KILOBYTES) > value;
+    /**
+     * Pass the analysis not passed before to the listeners.
+     */
+    private void raiseAnalysis() {
+        raiseAnalysis(jvmDao.getAnalysis());
     }
 
     /**
-     * Allocation rate in KB per second.
+     * Pass the analysis not passed before to the listeners.
      * 
-     * @param jvm
+     * @param analysis
+     *            The analysis to pass.
      */
-    private BigDecimal getAllocationRate(Jvm jvm) {
-        List<BlockingEvent> blockingEvents = jvmDao.getBlockingEvents(LogEventType.G1_YOUNG_PAUSE);
-
-        if (blockingEvents.isEmpty())
-            return BigDecimal.ZERO;
-
-        long allocatedKb = 0;
-        G1YoungPauseEvent prior = null;
-        long firstEventTs = 0;
-        for (BlockingEvent event : blockingEvents) {
-            G1YoungPauseEvent young = (G1YoungPauseEvent) event;
-            if (prior == null) {
-                // skip the first event since we don't know if this is a complete JVM run
-                // and therefore can't accurately calculate allocation rate prior to the first log
-                // youngGc pause event
-                prior = young;
-                firstEventTs = prior.getTimestamp();
-                continue;
-            }
-            // will not have eden information if gc details not being logged
-            if (young.getEdenOccupancyInit() != null && prior.getEdenOccupancyEnd() != null) {
-                allocatedKb += young.getEdenOccupancyInit().minus(prior.getEdenOccupancyEnd()).getValue(KILOBYTES);
+    private void raiseAnalysis(List<Analysis> analysis) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        for (Analysis item : analysis) {
+            if (analysisRaised.add(item)) {
+                for (LogListener listener : listeners) {
+                    listener.analysisRaised(item);
+                }
             }
-            prior = young;
         }
+    }
 
-        BigDecimal durationMs = BigDecimal.valueOf(prior.getTimestamp() - firstEventTs);
-        if (durationMs.longValue() <= 0)
-            return BigDecimal.ZERO;
-
-        Memory allocated = Memory.kilobytes(allocatedKb);
-
-        BigDecimal kilobytesPerSec = BigDecimal.valueOf(allocated.getValue(KILOBYTES) / durationMs.longValue());
+    /**
+     * Analysis done at the end of the logging.
+     * 
+     * @param lastEvent
+     *            The last parsed log line, or null if there was no logging.
+     */
+    private void storeEnd(LogEvent lastEvent) {
+        // Check for partial last line
+        if (lastEvent instanceof UnknownEvent && jvmDao.getUnidentifiedLogLines().getCount() == 1) {
+            jvmDao.addAnalysis(Analysis.INFO_UNIDENTIFIED_LOG_LINE_LAST);
+        }
+        raiseAnalysis();
+    }
 
-        return kilobytesPerSec.multiply(BigDecimal.valueOf(1000));
+    private static boolean greater(Memory memory, int value) {
+        return memory != null && memory.getValue(KILOBYTES) > value;
     }
 
     /**
-     * Determine <code>BlockingEvent</code>s where throughput since last event does not meet the throughput goal.
+     * Record a bottleneck if throughput between two consecutive events does not meet the throughput goal.
      * 
-     * @param jvm
-     *            The JVM environment information.
+     * @param bottlenecks
+     *            The bottlenecks.
+     * @param priorEvent
+     *            The prior event, or null if the event is the first.
+     * @param event
+     *            The event.
+     * @param index
+     *            The event index.
      * @param throughputThreshold
      *            The bottleneck reporting throughput threshold.
-     * @return A <code>List</code> of <code>BlockingEvent</code>s where the throughput between events is less than the
-     *         throughput threshold goal.
+     * @return The event (the prior event for the next event).
      */
-    private List<String> getGcBottlenecks(Jvm jvm, int throughputThreshold) {
-        List<String> bottlenecks = new ArrayList<String>();
-        List<BlockingEvent> blockingEvents = jvmDao.getBlockingEvents();
-        BlockingEvent priorEvent = null;
-        for (BlockingEvent event : blockingEvents) {
-            if (priorEvent != null && JdkUtil.isBottleneck(event, priorEvent, throughputThreshold)) {
-                if (bottlenecks.isEmpty()) {
-                    // Add current and prior event
-                    if (jvm.getStartDate() != null) {
-                        // Convert timestamps to date/time
-                        bottlenecks.add(JdkUtil.convertLogEntryTimestampsToDateStamp(priorEvent.getLogEntry(),
-                                jvm.getStartDate()));
-                        bottlenecks.add(
-                                JdkUtil.convertLogEntryTimestampsToDateStamp(event.getLogEntry(), jvm.getStartDate()));
-                    } else {
-                        bottlenecks.add(priorEvent.getLogEntry());
-                        bottlenecks.add(event.getLogEntry());
-                    }
-                } else {
-                    if (jvm.getStartDate() != null) {
-                        // Compare datetime, since bottleneck has datetime
-                        if (!JdkUtil.convertLogEntryTimestampsToDateStamp(priorEvent.getLogEntry(), jvm.getStartDate())
-                                .equals(bottlenecks.get(bottlenecks.size() - 1))) {
-                            bottlenecks.add("...");
-                            bottlenecks.add(JdkUtil.convertLogEntryTimestampsToDateStamp(priorEvent.getLogEntry(),
-                                    jvm.getStartDate()));
-                            bottlenecks.add(JdkUtil.convertLogEntryTimestampsToDateStamp(event.getLogEntry(),
-                                    jvm.getStartDate()));
-                        } else {
-                            bottlenecks.add(JdkUtil.convertLogEntryTimestampsToDateStamp(event.getLogEntry(),
-                                    jvm.getStartDate()));
-                        }
-                    } else {
-                        // Compare timestamps, since bottleneck has timestamp
-                        if (!priorEvent.getLogEntry().equals(bottlenecks.get(bottlenecks.size() - 1))) {
-                            bottlenecks.add("...");
-                            bottlenecks.add(priorEvent.getLogEntry());
-                            bottlenecks.add(event.getLogEntry());
-                        } else {
-                            bottlenecks.add(event.getLogEntry());
-                        }
-                    }
-                }
-            }
-            priorEvent = event;
+    private static SafepointEvent addBottleneck(List<Bottleneck> bottlenecks, SafepointEvent priorEvent,
+            SafepointEvent event, int index, int throughputThreshold) {
+        if (priorEvent != null && JdkUtil.isBottleneck(event, priorEvent, throughputThreshold)) {
+            // Interval from the end of the prior event to the end of the event (microseconds)
+            long interval = event.getTimestamp() * 1000 + event.getDuration() - priorEvent.getTimestamp() * 1000
+                    - priorEvent.getDuration();
+            int throughput = interval <= 0 ? 0 : (int) Math.max(0, (interval - event.getDuration()) * 100 / interval);
+            bottlenecks.add(
+                    new Bottleneck(index - 1, priorEvent.getLogEntry(), index, event.getLogEntry(), throughput));
         }
-        return bottlenecks;
+        return event;
     }
 
     /**
-     * Determine <code>SafepointEvent</code>s where throughput since last event does not meet the throughput goal.
+     * Determine <code>BlockingEvent</code>s and <code>SafepointEvent</code>s where throughput since the prior event of
+     * the same kind does not meet the throughput goal, in one pass over the stored events. <code>BlockingEvent</code>
+     * bottlenecks are only merged into GC storms (not kept), so memory does not grow with the number of bottlenecks.
      * 
-     * @param jvm
-     *            The JVM environment information.
      * @param throughputThreshold
      *            The bottleneck reporting throughput threshold.
-     * @return A <code>List</code> of <code>SafepointEvent</code>s where the throughput between events is less than the
-     *         throughput threshold goal.
+     * @param safepointBottlenecks
+     *            The <code>SafepointEvent</code> bottlenecks found.
+     * @param gcStorms
+     *            Consecutive <code>BlockingEvent</code> bottlenecks merged into episodes.
      */
-    private List<String> getSafepointBottlenecks(Jvm jvm, int throughputThreshold) {
-        List<String> bottlenecks = new ArrayList<String>();
+    private void getBottlenecks(int throughputThreshold, List<Bottleneck> safepointBottlenecks,
+            GcStorms gcStorms) {
+        List<BlockingEvent> blockingEvents = jvmDao.getHydratedBlockingEvents();
         List<SafepointEvent> safepointEvents = jvmDao.getSafepointEvents();
-        SafepointEvent priorEvent = null;
-        for (SafepointEvent event : safepointEvents) {
-            if (priorEvent != null && JdkUtil.isBottleneck(event, priorEvent, throughputThreshold)) {
-                if (bottlenecks.isEmpty()) {
-                    // Add current and prior event
-                    if (jvm.getStartDate() != null) {
-                        // Convert timestamps to date/time
-                        bottlenecks.add(JdkUtil.convertLogEntryTimestampsToDateStamp(priorEvent.getLogEntry(),
-                                jvm.getStartDate()));
-                        bottlenecks.add(
-                                JdkUtil.convertLogEntryTimestampsToDateStamp(event.getLogEntry(), jvm.getStartDate()));
-                    } else {
-                        bottlenecks.add(priorEvent.getLogEntry());
-                        bottlenecks.add(event.getLogEntry());
-                    }
-                } else {
-                    if (jvm.getStartDate() != null) {
-                        // Compare datetime, since bottleneck has datetime
-                        if (!JdkUtil.convertLogEntryTimestampsToDateStamp(priorEvent.getLogEntry(), jvm.getStartDate())
-                                .equals(bottlenecks.get(bottlenecks.size() - 1))) {
-                            bottlenecks.add("...");
-                            bottlenecks.add(JdkUtil.convertLogEntryTimestampsToDateStamp(priorEvent.getLogEntry(),
-                                    jvm.getStartDate()));
-                            bottlenecks.add(JdkUtil.convertLogEntryTimestampsToDateStamp(event.getLogEntry(),
-                                    jvm.getStartDate()));
-                        } else {
-                            bottlenecks.add(JdkUtil.convertLogEntryTimestampsToDateStamp(event.getLogEntry(),
-                                    jvm.getStartDate()));
-                        }
-                    } else {
-                        // Compare timestamps, since bottleneck has timestamp
-                        if (!priorEvent.getLogEntry().equals(bottlenecks.get(bottlenecks.size() - 1))) {
-                            bottlenecks.add("...");
-                            bottlenecks.add(priorEvent.getLogEntry());
-                            bottlenecks.add(event.getLogEntry());
-                        } else {
-                            bottlenecks.add(event.getLogEntry());
-                        }
-                    }
-                }
+        SafepointEvent priorGcEvent = null;
+        SafepointEvent priorSafepointEvent = null;
+        for (int i = 0; i < Math.max(blockingEvents.size(), safepointEvents.size()); i++) {
+            if (i < blockingEvents.size()) {
+                BlockingEvent event = blockingEvents.get(i);
+                gcStorms.add(event,
+                        priorGcEvent != null && JdkUtil.isBottleneck(event, priorGcEvent, throughputThreshold));
+                priorGcEvent = event;
+            }
+            if (i < safepointEvents.size()) {
+                priorSafepointEvent = addBottleneck(safepointBottlenecks, priorSafepointEvent, safepointEvents.get(i),
+                        i, throughputThreshold);
             }
-            priorEvent = event;
         }
-        return bottlenecks;
+        gcStorms.close();
+    }
+
+    /**
+     * Run independent tasks on the analysis pool, or one after another in the calling thread if there is no pool.
+     * Returns when all tasks have completed, so anything the tasks set is visible to the caller.
+     * 
+     * @param tasks
+     *            The tasks.
+     */
+    private void fanOut(Runnable... tasks) {
+        if (pool == null) {
+            for (Runnable task : tasks) {
+                task.run();
+            }
+            return;
+        }
+        List<ForkJoinTask<?>> forked = new ArrayList<ForkJoinTask<?>>();
+        for (Runnable task : tasks) {
+            forked.add(pool.submit(task));
+        }
+        for (ForkJoinTask<?> task : forked) {
+            task.join();
+        }
+    }
+
+    /**
+     * @return The horizon (hours) for reporting projected old generation exhaustion.
+     */
+    public int getOldGenerationHorizon() {
+        return oldGenerationHorizon;
+    }
+
+    /**
+     * @param oldGenerationHorizon
+     *            The horizon (hours) for reporting projected old generation exhaustion.
+     */
+    public void setOldGenerationHorizon(int oldGenerationHorizon) {
+        this.oldGenerationHorizon = oldGenerationHorizon;
+    }
+
+    /**
+     * @return The pool JVM run metrics are computed on, or null if they are computed serially.
+     */
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    /**
+     * @param pool
+     *            The pool to compute JVM run metrics on, or null to compute them serially in the calling thread.
+     */
+    public void setPool(ForkJoinPool pool) {
+        this.pool = pool;
     }
 
     /**
@@ -1031,23 +1372,44 @@ public class GcManager {
         jvmRun.setMaxPermAfterGc(kilobytes(jvmDao.getMaxPermAfterGc()));
         jvmRun.setGcPauseMax(jvmDao.getMaxGcPause());
         jvmRun.setGcPauseTotal(jvmDao.getGcPauseTotal());
+        jvmRun.setGcPauseHistograms(jvmDao.getGcPauseHistograms());
         jvmRun.setBlockingEventCount(jvmDao.getBlockingEventCount());
         jvmRun.setFirstSafepointEvent(jvmDao.getFirstSafepointEvent());
         jvmRun.setLastSafepointEvent(jvmDao.getLastSafepointEvent());
-        jvmRun.setStoppedTimeMax(jvmDao.getStoppedTimeMax());
-        jvmRun.setStoppedTimeTotal(jvmDao.getStoppedTimeTotal());
         jvmRun.setStoppedTimeEventCount(jvmDao.getStoppedTimeEventCount());
-        jvmRun.setUnifiedSafepointTimeMax(jvmDao.getUnifiedSafepointTimeMax());
-        jvmRun.setUnifiedSafepointTimeTotal(jvmDao.getUnifiedSafepointTimeTotal());
         jvmRun.setUnifiedSafepointEventCount(jvmDao.getUnifiedSafepointEventCount());
-        jvmRun.setSafepointEventSummaries(jvmDao.getSafepointEventSummaries());
+        jvmRun.setRollup(jvmDao.getRollup());
+        jvmRun.setTimeToSafepoint(jvmDao.getTimeToSafepoint());
         jvmRun.setUnidentifiedLogLines(jvmDao.getUnidentifiedLogLines());
         jvmRun.setEventTypes(jvmDao.getEventTypes());
         jvmRun.setCollectorFamilies(jvmDao.getCollectorFamilies());
-        jvmRun.setAnalysis(jvmDao.getAnalysis());
-        jvmRun.setGcBottlenecks(getGcBottlenecks(jvm, throughputThreshold));
-        jvmRun.setSafepointBottlenecks(getSafepointBottlenecks(jvm, throughputThreshold));
-        jvmRun.setAllocationRate(getAllocationRate(jvm));
+        // The rules add to a copy, leaving the stored analysis as is for the next JVM run
+        List<Analysis> analysis = new EnumSetList<Analysis>(Analysis.class);
+        analysis.addAll(jvmDao.getAnalysis());
+        jvmRun.setAnalysis(analysis);
+        // Independent read-only passes over the stored events, each setting different JvmRun data
+        jvmDao.freeze();
+        List<Bottleneck> safepointBottlenecks = new ArrayList<Bottleneck>();
+        GcStorms gcStorms = new GcStorms();
+        fanOut(() -> {
+            jvmRun.setStoppedTimeMax(jvmDao.getStoppedTimeMax());
+            jvmRun.setStoppedTimeTotal(jvmDao.getStoppedTimeTotal());
+            jvmRun.setStoppedTimeHistogram(jvmDao.getStoppedTimeHistogram());
+            jvmRun.setUnifiedSafepointTimeMax(jvmDao.getUnifiedSafepointTimeMax());
+            jvmRun.setUnifiedSafepointTimeTotal(jvmDao.getUnifiedSafepointTimeTotal());
+            jvmRun.setUnifiedSafepointHistogram(jvmDao.getUnifiedSafepointHistogram());
+        }, () -> jvmRun.setSafepointEventSummaries(jvmDao.getSafepointEventSummaries()),
+                () -> getBottlenecks(throughputThreshold, safepointBottlenecks, gcStorms),
+                () -> jvmRun.setMutatorUtilization(
+                        new MutatorUtilization(jvmDao.getHydratedBlockingEvents(), jvmDao.getSafepointEvents())),
+                () -> jvmRun.setSafepointCorrelation(
+                        new SafepointCorrelation(jvmDao.getHydratedBlockingEvents(), jvmDao.getSafepointEvents())));
+        jvmRun.setSafepointBottlenecks(safepointBottlenecks);
+        jvmRun.setGcStorms(gcStorms);
+        jvmRun.setAllocationRates(jvmDao.getAllocationRates());
+        jvmRun.setOldGenerationTrend(jvmDao.getOldGenerationTrend());
+        jvmRun.setGcCpu(jvmDao.getGcCpu());
+        jvmRun.setOldGenerationHorizon(oldGenerationHorizon);
         jvmRun.setParallelCount(jvmDao.getParallelCount());
         jvmRun.setInvertedParallelismCount(jvmDao.getInvertedParallelismCount());
         jvmRun.setWorstInvertedParallelismEvent(jvmDao.getWorstInvertedParallelismEvent());
@@ -1056,6 +1418,7 @@ public class GcManager {
         jvmRun.setMaxPermOccupancyNonBlocking(kilobytes(jvmDao.getMaxPermOccupancyNonBlocking()));
         jvmRun.setMaxPermSpaceNonBlocking(kilobytes(jvmDao.getMaxPermSpaceNonBlocking()));
         jvmRun.doAnalysis();
+        raiseAnalysis(analysis);
         return jvmRun;
     }
 
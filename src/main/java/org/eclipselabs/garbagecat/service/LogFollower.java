@@ -0,0 +1,198 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+
+import org.eclipselabs.garbagecat.service.GcManager.LogFeed;
+
+/**
+ * <p>
+ * Follow a growing gc log file (like <code>tail -F</code>), adding each complete log line to a <code>LogFeed</code> as
+ * it is written.
+ * </p>
+ * 
+ * <p>
+ * A partially written last line waits until it is complete. When the log file is rotated (a new file at the log file
+ * path) the rest of the rotated file is read before following the new file, and when the log file is truncated it is
+ * followed from the beginning. Either way the new logging is a continuation of the same JVM run.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class LogFollower implements Closeable {
+
+    /**
+     * Read buffer size (bytes).
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * @param file
+     *            The file.
+     * @return The file key identifying the file (e.g. the inode), or null if the file does not exist or the file
+     *         system does not provide one.
+     */
+    private static Object fileKey(File file) {
+        try {
+            return Files.readAttributes(file.toPath(), BasicFileAttributes.class).fileKey();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+    /**
+     * The open log file, or null if the log file does not exist yet.
+     */
+    private FileChannel channel;
+
+    /**
+     * The file key of the open log file, or null if the file system does not provide one.
+     */
+    private Object fileKey;
+
+    private final LogFeed logFeed;
+
+    private final File logFile;
+
+    /**
+     * The partially written last line.
+     */
+    private final ByteArrayOutputStream partialLogLine = new ByteArrayOutputStream();
+
+    /**
+     * The position in the open log file to read from.
+     */
+    private long position;
+
+    /**
+     * @param logFile
+     *            The log file to follow. It does not have to exist yet.
+     * @param logFeed
+     *            The <code>LogFeed</code> the log lines are added to.
+     */
+    public LogFollower(File logFile, LogFeed logFeed) {
+        this.logFile = logFile;
+        this.logFeed = logFeed;
+    }
+
+    /**
+     * Stop following the log file. The <code>LogFeed</code> is not closed, since the last log line may be incomplete.
+     */
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    /**
+     * Add the partially written last line, if any, as a complete log line.
+     * 
+     * @return The number of log lines added.
+     */
+    private int endLogLine() {
+        if (partialLogLine.size() == 0) {
+            return 0;
+        }
+        logLine();
+        return 1;
+    }
+
+    /**
+     * Add the log line read so far and start the next log line.
+     */
+    private void logLine() {
+        String logLine = new String(partialLogLine.toByteArray(), Charset.defaultCharset());
+        partialLogLine.reset();
+        if (logLine.endsWith("\r")) {
+            logLine = logLine.substring(0, logLine.length() - 1);
+        }
+        logFeed.add(logLine);
+    }
+
+    /**
+     * Add the log lines written since the last poll.
+     * 
+     * @return The number of log lines added.
+     * @throws IOException
+     *             if the log file cannot be read.
+     */
+    public int poll() throws IOException {
+        int logLines = 0;
+        if (channel != null) {
+            logLines += read();
+            Object currentFileKey = fileKey(logFile);
+            if (currentFileKey != null && fileKey != null && !currentFileKey.equals(fileKey)) {
+                // Rotated: logging written before the rotation, then the rotated file's last line is complete
+                logLines += read();
+                logLines += endLogLine();
+                close();
+            } else if (channel.size() < position) {
+                // Truncated
+                logLines += endLogLine();
+                close();
+            }
+        }
+        if (channel == null && logFile.exists()) {
+            try {
+                channel = FileChannel.open(logFile.toPath(), StandardOpenOption.READ);
+            } catch (NoSuchFileException e) {
+                return logLines;
+            }
+            fileKey = fileKey(logFile);
+            position = 0;
+            logLines += read();
+        }
+        return logLines;
+    }
+
+    /**
+     * @return The number of complete log lines read from the open log file.
+     */
+    private int read() throws IOException {
+        int logLines = 0;
+        while (true) {
+            buffer.clear();
+            int count = channel.read(buffer, position);
+            if (count <= 0) {
+                break;
+            }
+            position += count;
+            int start = 0;
+            for (int i = 0; i < count; i++) {
+                if (buffer.get(i) == '\n') {
+                    partialLogLine.write(buffer.array(), start, i - start);
+                    logLine();
+                    logLines++;
+                    start = i + 1;
+                }
+            }
+            partialLogLine.write(buffer.array(), start, count - start);
+        }
+        return logLines;
+    }
+}
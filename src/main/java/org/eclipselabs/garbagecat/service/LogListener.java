@@ -0,0 +1,47 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.service;
+
+import org.eclipselabs.garbagecat.domain.LogEvent;
+import org.eclipselabs.garbagecat.util.jdk.Analysis;
+
+/**
+ * <p>
+ * Callbacks for an application embedding garbagecat, registered with {@link GcManager#addListener(LogListener)} and
+ * called on the thread storing the logging, as the logging is stored.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public interface LogListener {
+
+    /**
+     * Called when an <code>Analysis</code> is raised for the first time, while storing (e.g. explicit GC) or when a JVM
+     * run is created (the analysis rules).
+     * 
+     * @param analysis
+     *            The analysis.
+     */
+    default void analysisRaised(Analysis analysis) {
+    }
+
+    /**
+     * Called for each identified log event after it is stored (not for unidentified log lines).
+     * 
+     * @param event
+     *            The log event.
+     */
+    default void eventStored(LogEvent event) {
+    }
+}
@@ -31,6 +31,11 @@ public class Constants {
      */
     public static final int DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD = 90;
 
+    /**
+     * Default horizon (hours) for reporting projected old generation exhaustion.
+     */
+    public static final int DEFAULT_OLD_GENERATION_HORIZON = 24;
+
     /**
      * The threshold for the time (seconds) for the first log entry for a GC log to be considered complete. First log
      * entries with timestamps below the threshold may indicate a partial GC log or GC events that were not a
@@ -48,6 +53,36 @@ public class Constants {
      */
     public static final String LINE_SEPARATOR = System.getProperty("line.separator");
 
+    /**
+     * Batch command line long option.
+     */
+    public static final String OPTION_BATCH_LONG = "batch";
+
+    /**
+     * Batch command line short option.
+     */
+    public static final String OPTION_BATCH_SHORT = "b";
+
+    /**
+     * Client command line long option.
+     */
+    public static final String OPTION_CLIENT_LONG = "client";
+
+    /**
+     * Client command line short option.
+     */
+    public static final String OPTION_CLIENT_SHORT = "u";
+
+    /**
+     * Follow command line long option.
+     */
+    public static final String OPTION_FOLLOW_LONG = "follow";
+
+    /**
+     * Follow command line short option.
+     */
+    public static final String OPTION_FOLLOW_SHORT = "f";
+
     /**
      * Help command line long option.
      */
@@ -58,6 +93,16 @@ public class Constants {
      */
     public static final String OPTION_HELP_SHORT = "h";
 
+    /**
+     * Old generation exhaustion horizon command line long option.
+     */
+    public static final String OPTION_HORIZON_LONG = "horizon";
+
+    /**
+     * Old generation exhaustion horizon command line short option.
+     */
+    public static final String OPTION_HORIZON_SHORT = "e";
+
     /**
      * JVM options command line long option.
      */
@@ -108,6 +153,36 @@ public class Constants {
      */
     public static final String OPTION_REORDER_SHORT = "r";
 
+    /**
+     * Server command line long option.
+     */
+    public static final String OPTION_SERVER_LONG = "server";
+
+    /**
+     * Server command line short option.
+     */
+    public static final String OPTION_SERVER_SHORT = "n";
+
+    /**
+     * Sidecar (binary analysis file) command line long option.
+     */
+    public static final String OPTION_SIDECAR_LONG = "sidecar";
+
+    /**
+     * Sidecar (binary analysis file) command line short option.
+     */
+    public static final String OPTION_SIDECAR_SHORT = "c";
+
+    /**
+     * Spill (store events on disk) command line long option.
+     */
+    public static final String OPTION_SPILL_LONG = "spill";
+
+    /**
+     * Spill (store events on disk) command line short option.
+     */
+    public static final String OPTION_SPILL_SHORT = "d";
+
     /**
      * JVM start datetime command line long option.
      */
@@ -149,6 +224,17 @@ public class Constants {
     public static final String TEST_DATA_DIR = "src" + System.getProperty("file.separator") + "test"
             + System.getProperty("file.separator") + "data" + System.getProperty("file.separator");
 
+    /**
+     * The percent of safepoint pause time spent reaching the safepoint for reporting excessive time to safepoint.
+     */
+    public static final int TIME_TO_SAFEPOINT_RATIO_THRESHOLD = 50;
+
+    /**
+     * The time to safepoint (milliseconds) at least one safepoint must exceed for reporting excessive time to
+     * safepoint, so logs with only sub-millisecond safepoints are not flagged.
+     */
+    public static final int TIME_TO_SAFEPOINT_THRESHOLD = 10;
+
     /**
      * Make default constructor private so the class cannot be instantiated.
      */
@@ -0,0 +1,131 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * <p>
+ * <code>List</code> of distinct enum constants that keeps insertion order (for reporting) with <code>EnumSet</code>
+ * membership, so <code>contains</code> is a bit test instead of a scan.
+ * </p>
+ * 
+ * <p>
+ * The list has set semantics: each constant is in the list at most once. Adding a constant that is already in the
+ * list to the end does nothing and returns false (as for a <code>Set</code>). Inserting or setting a constant that is
+ * already at another position throws <code>IllegalArgumentException</code>, since there is no return value to signal
+ * that the list was not changed.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ * @param <E>
+ *            The enum type.
+ */
+public class EnumSetList<E extends Enum<E>> extends AbstractList<E> implements RandomAccess {
+
+    /**
+     * Constants in insertion order.
+     */
+    private final List<E> elements = new ArrayList<>();
+
+    /**
+     * Constants in the list.
+     */
+    private final EnumSet<E> members;
+
+    /**
+     * @param type
+     *            The enum type.
+     */
+    public EnumSetList(Class<E> type) {
+        members = EnumSet.noneOf(type);
+    }
+
+    public boolean add(E element) {
+        if (!members.add(element)) {
+            return false;
+        }
+        elements.add(element);
+        modCount++;
+        return true;
+    }
+
+    public void add(int index, E element) {
+        if (members.contains(element)) {
+            throw new IllegalArgumentException("Duplicate element: " + element);
+        }
+        elements.add(index, element);
+        members.add(element);
+        modCount++;
+    }
+
+    public void clear() {
+        members.clear();
+        elements.clear();
+        modCount++;
+    }
+
+    public boolean contains(Object element) {
+        return members.contains(element);
+    }
+
+    public E get(int index) {
+        return elements.get(index);
+    }
+
+    public int indexOf(Object element) {
+        return members.contains(element) ? elements.indexOf(element) : -1;
+    }
+
+    public int lastIndexOf(Object element) {
+        return indexOf(element);
+    }
+
+    public E remove(int index) {
+        E element = elements.remove(index);
+        members.remove(element);
+        modCount++;
+        return element;
+    }
+
+    public boolean remove(Object element) {
+        if (!members.remove(element)) {
+            return false;
+        }
+        elements.remove(element);
+        modCount++;
+        return true;
+    }
+
+    public E set(int index, E element) {
+        E replaced = elements.get(index);
+        if (replaced != element) {
+            if (members.contains(element)) {
+                throw new IllegalArgumentException("Duplicate element: " + element);
+            }
+            members.remove(replaced);
+            members.add(element);
+            elements.set(index, element);
+        }
+        return replaced;
+    }
+
+    public int size() {
+        return elements.size();
+    }
+}
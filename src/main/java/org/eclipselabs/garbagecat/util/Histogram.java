@@ -0,0 +1,176 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Log-linear histogram of non-negative values (e.g. pause durations in microseconds) for percentiles without keeping
+ * the values.
+ * </p>
+ * 
+ * <p>
+ * Values less than 128 are counted exactly. Larger values are counted in 64 equal sub-buckets per power of 2, so a
+ * value is reported within 1/64 (~1.6%) of its actual value. Memory is bounded by the largest value recorded (at most
+ * ~3,700 buckets), not by the number of values. Histograms are mergeable (e.g. across event types or files).
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class Histogram {
+
+    /**
+     * Number of bits of sub-bucket precision.
+     */
+    private static final int SUB_BUCKET_BITS = 6;
+
+    /**
+     * Sub-buckets per power of 2.
+     */
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * @param index
+     *            The bucket index.
+     * @return The highest value counted in the bucket.
+     */
+    static long highestValue(int index) {
+        if (index < 2 * SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        long subBucket = index % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * @param value
+     *            The value.
+     * @return The index of the bucket the value is counted in.
+     */
+    static int index(long value) {
+        if (value < 2 * SUB_BUCKET_COUNT) {
+            return (int) Math.max(value, 0);
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return shift * SUB_BUCKET_COUNT + (int) (value >>> shift);
+    }
+
+    /**
+     * Number of values recorded.
+     */
+    private long count;
+
+    /**
+     * Value counts by bucket index.
+     */
+    private long[] counts = new long[0];
+
+    /**
+     * Maximum value recorded.
+     */
+    private long max;
+
+    /**
+     * Sum of values recorded.
+     */
+    private long total;
+
+    /**
+     * @return The number of values recorded.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return The maximum value recorded, or 0 if no values have been recorded.
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * @return The sum of the values recorded.
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * The value at a percentile (e.g. 99.9). The value is the highest value in the bucket the percentile falls in,
+     * capped at the maximum value recorded, so it is never less than the actual value.
+     * 
+     * @param percentile
+     *            The percentile (0-100).
+     * @return The value at the percentile, or 0 if no values have been recorded.
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max((long) Math.ceil(Math.min(percentile, 100) / 100 * count), 1);
+        long cumulative = 0;
+        for (int i = 0; i < counts.length; i++) {
+            cumulative += counts[i];
+            if (cumulative >= rank) {
+                return Math.min(highestValue(i), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * @return True if no values have been recorded, false otherwise.
+     */
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Add the values recorded in another histogram.
+     * 
+     * @param other
+     *            The histogram to merge.
+     */
+    public void merge(Histogram other) {
+        if (other.counts.length > counts.length) {
+            counts = Arrays.copyOf(counts, other.counts.length);
+        }
+        for (int i = 0; i < other.counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        total += other.total;
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Record a value. Negative values are recorded as 0.
+     * 
+     * @param value
+     *            The value.
+     */
+    public void record(long value) {
+        int index = index(value);
+        if (index >= counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(index + 1, 2 * counts.length));
+        }
+        counts[index]++;
+        count++;
+        total += Math.max(value, 0);
+        max = Math.max(max, value);
+    }
+}
@@ -554,6 +554,12 @@ public enum Analysis {
      */
     WARN_HEAP_MIN_NOT_EQUAL_MAX("warn.heap.min.not.equal.max"),
 
+    /**
+     * Property key for old generation occupancy after old collections projected to reach the old generation space
+     * within the reporting horizon.
+     */
+    WARN_OLD_GEN_EXHAUSTION_PROJECTED("warn.old.gen.exhaustion.projected"),
+
     /**
      * Property key for inverted parallelism.
      */
@@ -689,6 +695,12 @@ public enum Analysis {
      */
     WARN_TIERED_COMPILATION_ENABLED("warn.tiered.compilation.enabled"),
 
+    /**
+     * Property key for time to safepoint (reaching the safepoint before threads are stopped) being most of the
+     * safepoint pause time.
+     */
+    WARN_TIME_TO_SAFEPOINT("warn.time.to.safepoint"),
+
     /**
      * Property key for outputting class unloading information (-XX:+TraceClassUnloading).
      */
@@ -16,6 +16,8 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -195,6 +197,17 @@ public final class JdkUtil {
         ERGONOMICS, HEAP_INSPECTION_INITIATED_GC, HEAP_DUMP_INITIATED_GC;
     };
 
+    /**
+     * <code>LogEventType</code>s by name, for looking up the type of an event without scanning every type.
+     */
+    private static final Map<String, LogEventType> EVENT_TYPES_BY_NAME = new HashMap<>();
+
+    static {
+        for (LogEventType logEventType : LogEventType.values()) {
+            EVENT_TYPES_BY_NAME.putIfAbsent(logEventType.toString(), logEventType);
+        }
+    }
+
     /**
      * Convert datestamp to milliseconds. For example: Convert 2019-02-05T14:47:34.229-0200 to 23.
      * 
@@ -234,13 +247,7 @@ public final class JdkUtil {
     }
 
     public static final LogEventType determineEventType(String eventTypeString) {
-        LogEventType[] logEventTypes = LogEventType.values();
-        for (LogEventType logEventType : logEventTypes) {
-            if (logEventType.toString().equals(eventTypeString)) {
-                return logEventType;
-            }
-        }
-        return null;
+        return EVENT_TYPES_BY_NAME.get(eventTypeString);
     }
 
     /**
@@ -343,6 +350,12 @@ public final class JdkUtil {
             return new UnifiedSerialOldEvent(logEntry, timestamp, duration);
         case UNIFIED_YOUNG:
             return new UnifiedYoungEvent(logEntry, timestamp, duration);
+        case Z_MARK_END:
+            return new ZMarkEndEvent(logEntry, timestamp, duration);
+        case Z_MARK_START:
+            return new ZMarkStartEvent(logEntry, timestamp, duration);
+        case Z_RELOCATE_START:
+            return new ZRelocateStartEvent(logEntry, timestamp, duration);
 
         // G1
         case G1_YOUNG_PAUSE:
@@ -789,7 +802,20 @@ public final class JdkUtil {
      * @return The <code>LogEvent</code> corresponding to the log line.
      */
     public static final LogEvent parseLogLine(String logLine) {
-        LogEventType eventType = identifyEventType(logLine);
+        return parseLogLine(logLine, identifyEventType(logLine));
+    }
+
+    /**
+     * Create <code>LogEvent</code> from a GC log line whose event type is already known (e.g. when rehydrating stored
+     * events).
+     * 
+     * @param logLine
+     *            The log line as it appears in the GC log.
+     * @param eventType
+     *            The log line event type.
+     * @return The <code>LogEvent</code> corresponding to the log line.
+     */
+    public static final LogEvent parseLogLine(String logLine, LogEventType eventType) {
         switch (eventType) {
         // Unified (order of appearance)
         case HEAP_ADDRESS:
@@ -16,7 +16,6 @@ import static org.eclipselabs.garbagecat.util.Memory.fromOptionSize;
 import static org.eclipselabs.garbagecat.util.Memory.megabytes;
 import static org.eclipselabs.garbagecat.util.Memory.Unit.BYTES;
 import static org.eclipselabs.garbagecat.util.Memory.Unit.KILOBYTES;
-import static org.eclipselabs.garbagecat.util.jdk.JdkUtil.getOptionValue;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -26,7 +25,6 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.util.Memory;
-import org.eclipselabs.garbagecat.util.Memory.Unit;
 
 /**
  * JVM environment information
@@ -36,6 +34,17 @@ import org.eclipselabs.garbagecat.util.Memory.Unit;
  */
 public class Jvm {
 
+    /**
+     * JDK version, e.g. '8' in "JRE (1.8.0_60-b27)".
+     */
+    private static final Pattern JDK_NUMBER_PATTERN = Pattern.compile("^.+JRE \\(1\\.(5|6|7|8|9).+$");
+
+    /**
+     * JDK update, e.g. '60' in "JRE (1.8.0_60-b27)".
+     */
+    private static final Pattern JDK_UPDATE_PATTERN = Pattern
+            .compile("^.+JRE \\(1\\.(5|6|7|8|9)\\.\\d_(\\d{1,3})-.+$");
+
     /**
      * The date and time the JVM was started.
      */
@@ -46,6 +55,11 @@ public class Jvm {
      */
     private String options;
 
+    /**
+     * The JVM options parsed, or null if not parsed yet.
+     */
+    private JvmOptions jvmOptions;
+
     /**
      * JVM version.
      */
@@ -109,6 +123,17 @@ public class Jvm {
      */
     public void setOptions(String options) {
         this.options = options;
+        this.jvmOptions = null;
+    }
+
+    /**
+     * @return The JVM options parsed (only parsed once for the same JVM options string).
+     */
+    public JvmOptions getJvmOptions() {
+        if (jvmOptions == null) {
+            jvmOptions = JvmOptions.parse(options);
+        }
+        return jvmOptions;
     }
 
     /**
@@ -190,8 +215,7 @@ public class Jvm {
      * @return The JVM thread stack size setting, or null if not explicitly set.
      */
     public String getThreadStackSizeOption() {
-        String regex = "(-(X)?(ss|X:ThreadStackSize=)(\\d{1,12})(" + JdkRegEx.OPTION_SIZE + ")?)";
-        return getJvmOption(regex);
+        return getJvmOptions().getSizeOption("-Xss", "-ss", "-XX:ThreadStackSize");
     }
 
     /**
@@ -208,8 +232,10 @@ public class Jvm {
         if (threadStackSizeOption == null) {
             return null;
         }
-        Unit unit = threadStackSizeOption.startsWith("-XX:ThreadStackSize=") ? KILOBYTES : BYTES;
-        return fromOptionSize(getOptionValue(threadStackSizeOption), unit);
+        if (threadStackSizeOption.startsWith("-XX:ThreadStackSize=")) {
+            return fromOptionSize(getJvmOptions().getValue("-XX:ThreadStackSize"), KILOBYTES);
+        }
+        return getJvmOptions().getSize("-Xss", "-ss");
     }
 
     /**
@@ -218,8 +244,7 @@ public class Jvm {
      * @return True if -XX:+DisableExplicitGC option exists, false otherwise.
      */
     public String getDisableExplicitGCOption() {
-        String regex = "(-XX:\\+DisableExplicitGC)";
-        return getJvmOption(regex);
+        return getJvmOptions().getOption("-XX:+DisableExplicitGC");
     }
 
     /**
@@ -233,8 +258,7 @@ public class Jvm {
      * @return The minimum heap space, or null if not explicitly set.
      */
     public String getMinHeapOption() {
-        String regex = "(-X(ms|X:InitialHeapSize=)(\\d{1,12})(" + JdkRegEx.OPTION_SIZE + ")?)";
-        return getJvmOption(regex);
+        return getJvmOptions().getSizeOption("-Xms", "-XX:InitialHeapSize");
     }
 
     /**
@@ -245,7 +269,7 @@ public class Jvm {
      *         </pre>
      */
     public String getMinHeapValue() {
-        return getOptionValue(getMinHeapOption());
+        return getJvmOptions().getSizeValue("-Xms", "-XX:InitialHeapSize");
     }
 
     /**
@@ -259,8 +283,7 @@ public class Jvm {
      * @return The maximum heap space, or null if not explicitly set.
      */
     public String getMaxHeapOption() {
-        String regex = "(-X(mx|X:MaxHeapSize=)(\\d{1,12})(" + JdkRegEx.OPTION_SIZE + ")?)";
-        return getJvmOption(regex);
+        return getJvmOptions().getSizeOption("-Xmx", "-XX:MaxHeapSize");
     }
 
     /**
@@ -271,28 +294,31 @@ public class Jvm {
      *         </pre>
      */
     public String getMaxHeapValue() {
-        return getOptionValue(getMaxHeapOption());
+        return getJvmOptions().getSizeValue("-Xmx", "-XX:MaxHeapSize");
     }
 
     /**
      * @return The maximum heap space, or 0 if not set.
      */
     public Memory getMaxHeapBytes() {
-        return getMaxHeapValue() == null ? Memory.ZERO : Memory.fromOptionSize(getMaxHeapValue());
+        Memory maxHeap = getJvmOptions().getSize("-Xmx", "-XX:MaxHeapSize");
+        return maxHeap == null ? Memory.ZERO : maxHeap;
     }
 
     /**
      * @return The maximum perm space in bytes, or 0 if not set.
      */
     public Memory getMaxPermBytes() {
-        return getMaxPermValue() == null ? Memory.ZERO : Memory.fromOptionSize(getMaxPermValue());
+        Memory maxPerm = getJvmOptions().getSize("-XX:MaxPermSize");
+        return maxPerm == null ? Memory.ZERO : maxPerm;
     }
 
     /**
      * @return The maximum metaspace in bytes, or 0 if not set.
      */
     public Memory getMaxMetaspaceBytes() {
-        return getMaxMetaspaceValue() == null ? Memory.ZERO : Memory.fromOptionSize(getMaxMetaspaceValue());
+        Memory maxMetaspace = getJvmOptions().getSize("-XX:MaxMetaspaceSize");
+        return maxMetaspace == null ? Memory.ZERO : maxMetaspace;
     }
 
     /**
@@ -314,8 +340,7 @@ public class Jvm {
      * @return The minimum permanent generation space, or null if not explicitly set.
      */
     public String getMinPermOption() {
-        String regex = "(-XX:PermSize=(\\d{1,12})(" + JdkRegEx.OPTION_SIZE + ")?)";
-        return getJvmOption(regex);
+        return getJvmOptions().getSizeOption("-XX:PermSize");
     }
 
     /**
@@ -326,7 +351,7 @@ public class Jvm {
      *         </pre>
      */
     public String getMinPermValue() {
-        return getOptionValue(getMinPermOption());
+        return getJvmOptions().getSizeValue("-XX:PermSize");
     }
 
     /**
@@ -339,8 +364,7 @@ public class Jvm {
      * @return The minimum permanent generation space, or null if not explicitly set.
      */
     public String getMinMetaspaceOption() {
-        String regex = "(-XX:MetaspaceSize=(\\d{1,10})(" + JdkRegEx.OPTION_SIZE + ")?)";
-        return getJvmOption(regex);
+        return getJvmOptions().getSizeOption("-XX:MetaspaceSize");
     }
 
     /**
@@ -351,7 +375,7 @@ public class Jvm {
      *         </pre>
      */
     public String getMinMetaspaceValue() {
-        return getOptionValue(getMinMetaspaceOption());
+        return getJvmOptions().getSizeValue("-XX:MetaspaceSize");
     }
 
     /**
@@ -364,8 +388,7 @@ public class Jvm {
      * @return The maximum permanent generation space, or null if not explicitly set.
      */
     public String getMaxPermOption() {
-        String regex = "(-XX:MaxPermSize=(\\d{1,10})(" + JdkRegEx.OPTION_SIZE + ")?)";
-        return getJvmOption(regex);
+        return getJvmOptions().getSizeOption("-XX:MaxPermSize");
     }
 
     /**
@@ -376,7 +399,7 @@ public class Jvm {
      *         </pre>
      */
     public String getMaxPermValue() {
-        return getOptionValue(getMaxPermOption());
+        return getJvmOptions().getSizeValue("-XX:MaxPermSize");
     }
 
     /**
@@ -389,8 +412,7 @@ public class Jvm {
      * @return The maximum Metaspace, or null if not explicitly set.
      */
     public String getMaxMetaspaceOption() {
-        String regex = "(-XX:MaxMetaspaceSize=(\\d{1,10})(" + JdkRegEx.OPTION_SIZE + ")?)";
-        return getJvmOption(regex);
+        return getJvmOptions().getSizeOption("-XX:MaxMetaspaceSize");
     }
 
     /**
@@ -401,7 +423,7 @@ public class Jvm {
      *         </pre>
      */
     public String getMaxMetaspaceValue() {
-        return getOptionValue(getMaxMetaspaceOption());
+        return getJvmOptions().getSizeValue("-XX:MaxMetaspaceSize");
     }
 
     /**
@@ -414,8 +436,7 @@ public class Jvm {
      * @return The client Distributed Garbage Collection (DGC), or null if not explicitly set.
      */
     public String getRmiDgcClientGcIntervalOption() {
-        String regex = "(-Dsun.rmi.dgc.client.gcInterval=(\\d{1,12}))";
-        return getJvmOption(regex);
+        return getJvmOptions().getNumberOption("-Dsun.rmi.dgc.client.gcInterval");
     }
 
     /**
@@ -427,7 +448,8 @@ public class Jvm {
      *         </pre>
      */
     public String getRmiDgcClientGcIntervalValue() {
-        return getOptionValue(getRmiDgcClientGcIntervalOption());
+        return getRmiDgcClientGcIntervalOption() == null ? null
+                : getJvmOptions().getValue("-Dsun.rmi.dgc.client.gcInterval");
     }
 
     /**
@@ -440,8 +462,7 @@ public class Jvm {
      * @return The server Distributed Garbage Collection (DGC), or null if not explicitly set.
      */
     public String getRmiDgcServerGcIntervalOption() {
-        String regex = "(-Dsun.rmi.dgc.server.gcInterval=(\\d{1,12}))";
-        return getJvmOption(regex);
+        return getJvmOptions().getNumberOption("-Dsun.rmi.dgc.server.gcInterval");
     }
 
     /**
@@ -453,7 +474,8 @@ public class Jvm {
      *         </pre>
      */
     public String getRmiDgcServerGcIntervalValue() {
-        return getOptionValue(getRmiDgcServerGcIntervalOption());
+        return getRmiDgcServerGcIntervalOption() == null ? null
+                : getJvmOptions().getValue("-Dsun.rmi.dgc.server.gcInterval");
     }
 
     /**
@@ -466,8 +488,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getHeapDumpOnOutOfMemoryErrorDisabledOption() {
-        String regex = "(-XX:-HeapDumpOnOutOfMemoryError)";
-        return getJvmOption(regex);
+        return getJvmOptions().getOption("-XX:-HeapDumpOnOutOfMemoryError");
     }
 
     /**
@@ -480,8 +501,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getHeapDumpOnOutOfMemoryErrorEnabledOption() {
-        String regex = "(-XX:\\+HeapDumpOnOutOfMemoryError)";
-        return getJvmOption(regex);
+        return getJvmOptions().getOption("-XX:+HeapDumpOnOutOfMemoryError");
     }
 
     /**
@@ -494,8 +514,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getHeapDumpPathOption() {
-        String regex = "(-XX:HeapDumpPath=\\S+)";
-        return getJvmOption(regex);
+        return getHeapDumpPathValue() == null ? null : getJvmOptions().getOption("-XX:HeapDumpPath");
     }
 
     /**
@@ -506,17 +525,8 @@ public class Jvm {
      *         </pre>
      */
     public String getHeapDumpPathValue() {
-        String option = getHeapDumpPathOption();
-        String value = null;
-        if (option != null) {
-            String regex = "(-XX:HeapDumpPath=(\\S+))";
-            Pattern pattern = Pattern.compile(regex);
-            Matcher matcher = pattern.matcher(option);
-            if (matcher.find()) {
-                value = matcher.group(2);
-            }
-        }
-        return value;
+        String value = getJvmOptions().getValue("-XX:HeapDumpPath");
+        return value == null || value.isEmpty() ? null : value;
     }
 
     /**
@@ -529,8 +539,8 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getJavaagentOption() {
-        String regex = "(-javaagent:[\\S]+)";
-        return getJvmOption(regex);
+        String value = getJvmOptions().getValue("-javaagent");
+        return value == null || value.isEmpty() ? null : getJvmOptions().getOption("-javaagent");
     }
 
     /**
@@ -543,8 +553,8 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getAgentpathOption() {
-        String regex = "(-agentpath:[\\S]+)";
-        return getJvmOption(regex);
+        String value = getJvmOptions().getValue("-agentpath");
+        return value == null || value.isEmpty() ? null : getJvmOptions().getOption("-agentpath");
     }
 
     /**
@@ -557,8 +567,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getXBatchOption() {
-        String regex = "(-Xbatch)";
-        return getJvmOption(regex);
+        return getJvmOptions().getOption("-Xbatch");
     }
 
     /**
@@ -571,8 +580,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getDisableBackgroundCompilationOption() {
-        String regex = "(-XX:-BackgroundCompilation)";
-        return getJvmOption(regex);
+        return getJvmOptions().getOption("-XX:-BackgroundCompilation");
     }
 
     /**
@@ -585,8 +593,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getXCompOption() {
-        String regex = "(-Xcomp)";
-        return getJvmOption(regex);
+        return getJvmOptions().getOption("-Xcomp");
     }
 
     /**
@@ -599,8 +606,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getXIntOption() {
-        String regex = "(-Xint)";
-        return getJvmOption(regex);
+        return getJvmOptions().getOption("-Xint");
     }
 
     /**
@@ -611,11 +617,14 @@ public class Jvm {
      * -XX:+ExplicitGCInvokesConcurrent
      * </pre>
      * 
+     * <code>-XX:+ExplicitGCInvokesConcurrentAndUnloadsClasses</code> also handles explicit garbage collection
+     * concurrently.
+     * 
      * @return the option if it exists, null otherwise.
      */
     public String getExplicitGcInvokesConcurrentOption() {
-        String regex = "(-XX:\\+ExplicitGCInvokesConcurrent)";
-        return getJvmOption(regex);
+        return getJvmOptions().getOption("-XX:+ExplicitGCInvokesConcurrent",
+                "-XX:+ExplicitGCInvokesConcurrentAndUnloadsClasses");
     }
 
     /**
@@ -628,8 +637,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getPrintCommandLineFlagsOption() {
-        String regex = "(-XX:\\+PrintCommandLineFlags)";
-        return getJvmOption(regex);
+        return getJvmOptions().getOption("-XX:+PrintCommandLineFlags");
     }
 
     /**
@@ -642,8 +650,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getPrintGCDetailsOption() {
-        String regex = "(-XX:\\+PrintGCDetails)";
-        return getJvmOption(regex);
+        return getJvmOptions().getOption("-XX:+PrintGCDetails");
     }
 
     /**
@@ -656,8 +663,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getPrintGCDetailsDisabled() {
-        String regex = "(-XX:\\-PrintGCDetails)";
-        return getJvmOption(regex);
+        return getJvmOptions().getOption("-XX:-PrintGCDetails");
     }
 
     /**
@@ -670,8 +676,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getUseParNewGCOption() {
-        String regex = "(-XX:\\+UseParNewGC)";
-        return getJvmOption(regex);
+        return getJvmOptions().getOption("-XX:+UseParNewGC");
     }
 
     /**
@@ -684,8 +689,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getUseParNewGcDisabled() {
-        String regex = "(-XX:\\-UseParNewGC)";
-        return getJvmOption(regex);
+        return getJvmOptions().getOption("-XX:-UseParNewGC");
     }
 
     /**
@@ -698,8 +702,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getUseConcMarkSweepGCOption() {
-        String regex = "(-XX:\\+UseConcMarkSweepGC)";
-        return getJvmOption(regex);
+        return getJvmOptions().getOption("-XX:+UseConcMarkSweepGC");
     }
 
     /**
@@ -712,8 +715,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getCMSClassUnloadingEnabled() {
-        String regex = "(-XX:\\+CMSClassUnloadingEnabled)";
-        return getJvmOption(regex);
+        return getJvmOptions().getOption("-XX:+CMSClassUnloadingEnabled");
     }
 
     /**
@@ -726,8 +728,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getCMSClassUnloadingDisabled() {
-        String regex = "(-XX:\\-CMSClassUnloadingEnabled)";
-        return getJvmOption(regex);
+        return getJvmOptions().getOption("-XX:-CMSClassUnloadingEnabled");
     }
 
     /**
@@ -740,8 +741,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getPrintReferenceGC() {
-        String regex = "(-XX:\\+PrintReferenceGC)";
-        return getJvmOption(regex);
+        return getJvmOptions().getOption("-XX:+PrintReferenceGC");
     }
 
     /**
@@ -754,8 +754,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getPrintGCCause() {
-        String regex = "(-XX:\\+PrintGCCause)";
-        return getJvmOption(regex);
+        return getJvmOptions().getOption("-XX:+PrintGCCause");
     }
 
     /**
@@ -768,8 +767,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getPrintGCCauseDisabled() {
-        String regex = "(-XX:\\-PrintGCCause)";
-        return getJvmOption(regex);
+        return getJvmOptions().getOption("-XX:-PrintGCCause");
     }
 
     /**
@@ -782,8 +780,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getTieredCompilation() {
-        String regex = "(-XX:\\+TieredCompilation)";
-        return getJvmOption(regex);
+        return getJvmOptions().getOption("-XX:+TieredCompilation");
     }
 
     /**
@@ -796,8 +793,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getPrintStringDeduplicationStatistics() {
-        String regex = "(-XX:\\+PrintStringDeduplicationStatistics)";
-        return getJvmOption(regex);
+        return getJvmOptions().getOption("-XX:+PrintStringDeduplicationStatistics");
     }
 
     /**
@@ -811,8 +807,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getCMSInitiatingOccupancyFraction() {
-        String regex = "(-XX:CMSInitiatingOccupancyFraction=\\d{1,3})";
-        return getJvmOption(regex);
+        return getJvmOptions().getNumberOption("-XX:CMSInitiatingOccupancyFraction");
     }
 
     /**
@@ -828,8 +823,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getCMSInitiatingOccupancyOnlyEnabled() {
-        String regex = "(-XX:\\+UseCMSInitiatingOccupancyOnly)";
-        return getJvmOption(regex);
+        return getJvmOptions().getOption("-XX:+UseCMSInitiatingOccupancyOnly");
     }
 
     /**
@@ -842,8 +836,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getBiasedLockingDisabled() {
-        String regex = "(-XX:\\-UseBiasedLocking)";
-        return getJvmOption(regex);
+        return getJvmOptions().getOption("-XX:-UseBiasedLocking");
     }
 
     /**
@@ -856,8 +849,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getPrintClassHistogramEnabled() {
-        String regex = "(-XX:\\+PrintClassHistogram)\\b";
-        return getJvmOption(regex);
+        return getJvmOptions().getOption("-XX:+PrintClassHistogram");
     }
 
     /**
@@ -870,8 +862,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getPrintClassHistogramAfterFullGcEnabled() {
-        String regex = "(-XX:\\+PrintClassHistogramAfterFullGC)";
-        return getJvmOption(regex);
+        return getJvmOptions().getOption("-XX:+PrintClassHistogramAfterFullGC");
     }
 
     /**
@@ -884,8 +875,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getPrintClassHistogramBeforeFullGcEnabled() {
-        String regex = "(-XX:\\+PrintClassHistogramBeforeFullGC)";
-        return getJvmOption(regex);
+        return getJvmOptions().getOption("-XX:+PrintClassHistogramBeforeFullGC");
     }
 
     /**
@@ -898,8 +888,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getPrintGcApplicationConcurrentTime() {
-        String regex = "(-XX:\\+PrintGCApplicationConcurrentTime)";
-        return getJvmOption(regex);
+        return getJvmOptions().getOption("-XX:+PrintGCApplicationConcurrentTime");
     }
 
     /**
@@ -912,8 +901,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getTraceClassUnloading() {
-        String regex = "(-XX:\\+TraceClassUnloading)";
-        return getJvmOption(regex);
+        return getJvmOptions().getOption("-XX:+TraceClassUnloading");
     }
 
     /**
@@ -926,8 +914,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getUseCompressedOopsDisabled() {
-        String regex = "(-XX:\\-UseCompressedOops)";
-        return getJvmOption(regex);
+        return getJvmOptions().getOption("-XX:-UseCompressedOops");
     }
 
     /**
@@ -940,8 +927,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getUseCompressedOopsEnabled() {
-        String regex = "(-XX:\\+UseCompressedOops)";
-        return getJvmOption(regex);
+        return getJvmOptions().getOption("-XX:+UseCompressedOops");
     }
 
     /**
@@ -954,8 +940,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getUseGcLogFileRotationDisabled() {
-        String regex = "(-XX:\\-UseGCLogFileRotation)";
-        return getJvmOption(regex);
+        return getJvmOptions().getOption("-XX:-UseGCLogFileRotation");
     }
 
     /**
@@ -968,8 +953,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getUseGcLogFileRotationEnabled() {
-        String regex = "(-XX:\\+UseGCLogFileRotation)";
-        return getJvmOption(regex);
+        return getJvmOptions().getOption("-XX:+UseGCLogFileRotation");
     }
 
     /**
@@ -982,8 +966,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getNumberOfGcLogFiles() {
-        String regex = "(-XX:NumberOfGCLogFiles=\\d{1,2})";
-        return getJvmOption(regex);
+        return getJvmOptions().getNumberOption("-XX:NumberOfGCLogFiles");
     }
 
     /**
@@ -996,8 +979,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getGcLogFileSize() {
-        String regex = "(-XX:GCLogFileSize=(\\d{1,9})([kKmM])?)";
-        return getJvmOption(regex);
+        return getJvmOptions().getSizeOption("-XX:GCLogFileSize");
     }
 
     /**
@@ -1011,14 +993,15 @@ public class Jvm {
      * 
      */
     public String getGcLogFileSizeValue() {
-        return getOptionValue(getGcLogFileSize());
+        return getJvmOptions().getSizeValue("-XX:GCLogFileSize");
     }
 
     /**
      * @return The gc log file size in bytes, or 0 if not set.
      */
     public Memory getGcLogFileSizeBytes() {
-        return getGcLogFileSizeValue() == null ? Memory.ZERO : Memory.fromOptionSize(getGcLogFileSizeValue());
+        Memory gcLogFileSize = getJvmOptions().getSize("-XX:GCLogFileSize");
+        return gcLogFileSize == null ? Memory.ZERO : gcLogFileSize;
     }
 
     /**
@@ -1031,8 +1014,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getUseCompressedClassPointersEnabled() {
-        String regex = "(-XX:\\+UseCompressedClassPointers)";
-        return getJvmOption(regex);
+        return getJvmOptions().getOption("-XX:+UseCompressedClassPointers");
     }
 
     /**
@@ -1045,8 +1027,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getUseCompressedClassPointersDisabled() {
-        String regex = "(-XX:\\-UseCompressedClassPointers)";
-        return getJvmOption(regex);
+        return getJvmOptions().getOption("-XX:-UseCompressedClassPointers");
     }
 
     /**
@@ -1059,8 +1040,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getCompressedClassSpaceSizeOption() {
-        String regex = "(-XX:CompressedClassSpaceSize=((\\d{1,10})(" + JdkRegEx.OPTION_SIZE + ")?))";
-        return getJvmOption(regex);
+        return getJvmOptions().getSizeOption("-XX:CompressedClassSpaceSize");
     }
 
     /**
@@ -1074,15 +1054,15 @@ public class Jvm {
      * 
      */
     public String getCompressedClassSpaceSizeValue() {
-        return getOptionValue(getCompressedClassSpaceSizeOption());
+        return getJvmOptions().getSizeValue("-XX:CompressedClassSpaceSize");
     }
 
     /**
      * @return The compressed class space in bytes, or 0 if not set.
      */
     public Memory getCompressedClassSpaceSizeBytes() {
-        return getCompressedClassSpaceSizeValue() == null ? Memory.ZERO
-                : Memory.fromOptionSize(getCompressedClassSpaceSizeValue());
+        Memory compressedClassSpaceSize = getJvmOptions().getSize("-XX:CompressedClassSpaceSize");
+        return compressedClassSpaceSize == null ? Memory.ZERO : compressedClassSpaceSize;
     }
 
     /**
@@ -1095,8 +1075,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getPrintFLStatistics() {
-        String regex = "(-XX:PrintFLSStatistics=(\\d))";
-        return getJvmOption(regex);
+        return getJvmOptions().getNumberOption("-XX:PrintFLSStatistics");
     }
 
     /**
@@ -1109,8 +1088,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getPrintTenuringDistribution() {
-        String regex = "(-XX:\\+PrintTenuringDistribution)";
-        return getJvmOption(regex);
+        return getJvmOptions().getOption("-XX:+PrintTenuringDistribution");
     }
 
     /**
@@ -1123,8 +1101,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getExplicitGcInvokesConcurrentAndUnloadsClassesDisabled() {
-        String regex = "(-XX:\\-ExplicitGCInvokesConcurrentAndUnloadsClasses)";
-        return getJvmOption(regex);
+        return getJvmOptions().getOption("-XX:-ExplicitGCInvokesConcurrentAndUnloadsClasses");
     }
 
     /**
@@ -1137,8 +1114,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getClassUnloadingDisabled() {
-        String regex = "(-XX:\\-ClassUnloading)";
-        return getJvmOption(regex);
+        return getJvmOptions().getOption("-XX:-ClassUnloading");
     }
 
     /**
@@ -1151,8 +1127,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getD64() {
-        String regex = "(-d64)";
-        return getJvmOption(regex);
+        return getJvmOptions().getOption("-d64");
     }
 
     /**
@@ -1165,8 +1140,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getPrintPromotionFailureEnabled() {
-        String regex = "(-XX:\\+PrintPromotionFailure)";
-        return getJvmOption(regex);
+        return getJvmOptions().getOption("-XX:+PrintPromotionFailure");
     }
 
     /**
@@ -1179,8 +1153,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getUseMembarEnabled() {
-        String regex = "(-XX:\\+UseMembar)";
-        return getJvmOption(regex);
+        return getJvmOptions().getOption("-XX:+UseMembar");
     }
 
     /**
@@ -1193,8 +1166,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getPrintAdaptiveResizePolicyDisabled() {
-        String regex = "(-XX:\\-PrintAdaptiveSizePolicy)";
-        return getJvmOption(regex);
+        return getJvmOptions().getOption("-XX:-PrintAdaptiveSizePolicy");
     }
 
     /**
@@ -1207,8 +1179,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getPrintAdaptiveResizePolicyEnabled() {
-        String regex = "(-XX:\\+PrintAdaptiveSizePolicy)";
-        return getJvmOption(regex);
+        return getJvmOptions().getOption("-XX:+PrintAdaptiveSizePolicy");
     }
 
     /**
@@ -1222,8 +1193,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getMaxTenuringThresholdOption() {
-        String regex = "(-XX:MaxTenuringThreshold=(\\d+))";
-        return getJvmOption(regex);
+        return getJvmOptions().getNumberOption("-XX:MaxTenuringThreshold");
     }
 
     /**
@@ -1236,8 +1206,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getSurvivorRatio() {
-        String regex = "(-XX:SurvivorRatio=(\\d+))";
-        return getJvmOption(regex);
+        return getJvmOptions().getNumberOption("-XX:SurvivorRatio");
     }
 
     /**
@@ -1250,8 +1219,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getTargetSurvivorRatio() {
-        String regex = "(-XX:TargetSurvivorRatio=(\\d{1,3}))";
-        return getJvmOption(regex);
+        return getJvmOptions().getNumberOption("-XX:TargetSurvivorRatio");
     }
 
     /**
@@ -1264,8 +1232,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getUnlockExperimentalVmOptionsEnabled() {
-        String regex = "(-XX:\\+UnlockExperimentalVMOptions)";
-        return getJvmOption(regex);
+        return getJvmOptions().getOption("-XX:+UnlockExperimentalVMOptions");
     }
 
     /**
@@ -1278,8 +1245,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getUseFastUnorderedTimeStampsEnabled() {
-        String regex = "(-XX:\\+UseFastUnorderedTimeStamps)";
-        return getJvmOption(regex);
+        return getJvmOptions().getOption("-XX:+UseFastUnorderedTimeStamps");
     }
 
     /**
@@ -1293,8 +1259,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getG1MixedGCLiveThresholdPercent() {
-        String regex = "(-XX:G1MixedGCLiveThresholdPercent=\\d{1,3})";
-        return getJvmOption(regex);
+        return getJvmOptions().getNumberOption("-XX:G1MixedGCLiveThresholdPercent");
     }
 
     /**
@@ -1306,17 +1271,8 @@ public class Jvm {
      *         </pre>
      */
     public String getG1MixedGCLiveThresholdPercentValue() {
-        // Cannot use JdkUtil.getOptionValue() because the option name has a number in it.
-        String value = null;
-        if (getG1MixedGCLiveThresholdPercent() != null) {
-            String regex = "^-XX:G1MixedGCLiveThresholdPercent=(\\d{1,3})$";
-            Pattern pattern = Pattern.compile(regex);
-            Matcher matcher = pattern.matcher(getG1MixedGCLiveThresholdPercent());
-            if (matcher.find()) {
-                value = matcher.group(1);
-            }
-        }
-        return value;
+        return getG1MixedGCLiveThresholdPercent() == null ? null
+                : getJvmOptions().getValue("-XX:G1MixedGCLiveThresholdPercent");
     }
 
     /**
@@ -1329,8 +1285,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getG1HeapWastePercent() {
-        String regex = "(-XX:G1HeapWastePercent=\\d{1,3})";
-        return getJvmOption(regex);
+        return getJvmOptions().getNumberOption("-XX:G1HeapWastePercent");
     }
 
     /**
@@ -1341,17 +1296,7 @@ public class Jvm {
      *         </pre>
      */
     public String getG1HeapWastePercentValue() {
-        // Cannot use JdkUtil.getOptionValue() because the option name has a number in it.
-        String value = null;
-        if (getG1HeapWastePercent() != null) {
-            String regex = "^-XX:G1HeapWastePercent=(\\d{1,3})$";
-            Pattern pattern = Pattern.compile(regex);
-            Matcher matcher = pattern.matcher(getG1HeapWastePercent());
-            if (matcher.find()) {
-                value = matcher.group(1);
-            }
-        }
-        return value;
+        return getG1HeapWastePercent() == null ? null : getJvmOptions().getValue("-XX:G1HeapWastePercent");
     }
 
     /**
@@ -1364,8 +1309,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getUseG1Gc() {
-        String regex = "(-XX:\\+UseG1GC)";
-        return getJvmOption(regex);
+        return getJvmOptions().getOption("-XX:+UseG1GC");
     }
 
     /**
@@ -1378,8 +1322,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getCmsParallelInitialMarkDisabled() {
-        String regex = "(-XX:-CMSParallelInitialMarkEnabled)";
-        return getJvmOption(regex);
+        return getJvmOptions().getOption("-XX:-CMSParallelInitialMarkEnabled");
     }
 
     /**
@@ -1392,8 +1335,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getCmsParallelRemarkDisabled() {
-        String regex = "(-XX:-CMSParallelRemarkEnabled)";
-        return getJvmOption(regex);
+        return getJvmOptions().getOption("-XX:-CMSParallelRemarkEnabled");
     }
 
     /**
@@ -1406,8 +1348,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getG1SummarizeRSetStatsEnabled() {
-        String regex = "(-XX:\\+G1SummarizeRSetStats)";
-        return getJvmOption(regex);
+        return getJvmOptions().getOption("-XX:+G1SummarizeRSetStats");
     }
 
     /**
@@ -1420,8 +1361,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getG1SummarizeRSetStatsPeriod() {
-        String regex = "(-XX:G1SummarizeRSetStatsPeriod=\\d{1,3})";
-        return getJvmOption(regex);
+        return getJvmOptions().getNumberOption("-XX:G1SummarizeRSetStatsPeriod");
     }
 
     /**
@@ -1432,17 +1372,8 @@ public class Jvm {
      *         </pre>
      */
     public String getG1SummarizeRSetStatsPeriodValue() {
-        // Cannot use JdkUtil.getOptionValue() because the option name has a number in it.
-        String value = null;
-        if (getG1SummarizeRSetStatsPeriod() != null) {
-            String regex = "^-XX:G1SummarizeRSetStatsPeriod=(\\d{1,3})$";
-            Pattern pattern = Pattern.compile(regex);
-            Matcher matcher = pattern.matcher(getG1SummarizeRSetStatsPeriod());
-            if (matcher.find()) {
-                value = matcher.group(1);
-            }
-        }
-        return value;
+        return getG1SummarizeRSetStatsPeriod() == null ? null
+                : getJvmOptions().getValue("-XX:G1SummarizeRSetStatsPeriod");
     }
 
     /**
@@ -1455,8 +1386,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getUseCGroupMemoryLimitForHeap() {
-        String regex = "(-XX:\\+UseCGroupMemoryLimitForHeap)";
-        return getJvmOption(regex);
+        return getJvmOptions().getOption("-XX:+UseCGroupMemoryLimitForHeap");
     }
 
     /**
@@ -1464,12 +1394,15 @@ public class Jvm {
      * @return True if the minimum and maximum permanent generation space are set equal.
      */
     public boolean isMinAndMaxPermSpaceEqual() {
-        return (getMinPermValue() == null && getMaxPermValue() == null)
-                || (getMinPermValue() != null && getMaxPermValue() != null
-                        && Memory.fromOptionSize(getMinPermValue()).equals(Memory.fromOptionSize(getMaxPermValue())));
+        Memory minPerm = getJvmOptions().getSize("-XX:PermSize");
+        Memory maxPerm = getJvmOptions().getSize("-XX:MaxPermSize");
+        return minPerm == null ? maxPerm == null : minPerm.equals(maxPerm);
     }
 
     /**
+     * Find an option by regular expression (scanning the JVM options string). The option getters are lookups in the
+     * parsed <code>JvmOptions</code>.
+     * 
      * @param regex
      *            The option regular expression.
      * @return The JVM option, or null if not explicitly set.
@@ -1497,11 +1430,9 @@ public class Jvm {
      * @return The JDK version (e.g. '8'), or `0` if it could not be determined.
      */
     public int JdkNumber() {
-        String regex = "^.+JRE \\(1\\.(5|6|7|8|9).+$";
         int number = 0;
         if (version != null) {
-            Pattern pattern = Pattern.compile(regex);
-            Matcher matcher = pattern.matcher(version);
+            Matcher matcher = JDK_NUMBER_PATTERN.matcher(version);
             if (matcher.find()) {
                 if (matcher.group(1) != null) {
                     number = Integer.parseInt(matcher.group(1));
@@ -1515,11 +1446,9 @@ public class Jvm {
      * @return The JDK update (e.g. '60'), or `0` if it could not be determined.
      */
     public int JdkUpdate() {
-        String regex = "^.+JRE \\(1\\.(5|6|7|8|9)\\.\\d_(\\d{1,3})-.+$";
         int number = 0;
         if (version != null) {
-            Pattern pattern = Pattern.compile(regex);
-            Matcher matcher = pattern.matcher(version);
+            Matcher matcher = JDK_UPDATE_PATTERN.matcher(version);
             if (matcher.find()) {
                 if (matcher.group(1) != null) {
                     number = Integer.parseInt(matcher.group(2));
@@ -1567,20 +1496,15 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getUnlockDiagnosticVmOptions() {
-        String regex = "(-XX:\\+UnlockDiagnosticVMOptions)";
-        return getJvmOption(regex);
+        return getJvmOptions().getOption("-XX:+UnlockDiagnosticVMOptions");
     }
 
     /**
      * @return true if JMX enable, false otherwise.
      */
     public boolean IsJmxEnabled() {
-        boolean isJmxEnabled = false;
-        if (getJvmOption("(-XX:\\+ManagementServer)") != null
-                || getJvmOption("(-Dcom.sun.management.jmxremote)") != null) {
-            isJmxEnabled = true;
-        }
-        return isJmxEnabled;
+        return getJvmOptions().getOption("-XX:+ManagementServer") != null
+                || getJvmOptions().getOptionStartingWith("-Dcom.sun.management.jmxremote") != null;
     }
 
     /**
@@ -1589,14 +1513,7 @@ public class Jvm {
      * @return the disabled JVM options, null otherwise.
      */
     public ArrayList<String> getDisabledOptions() {
-        String regex = "(-XX:-[\\S]+)";
-        ArrayList<String> disabledOptions = new ArrayList<String>();
-        Pattern pattern = Pattern.compile(regex);
-        Matcher matcher = pattern.matcher(options);
-        while (matcher.find()) {
-            disabledOptions.add(matcher.group(1));
-        }
-        return disabledOptions;
+        return new ArrayList<String>(getJvmOptions().getDisabledOptions());
     }
 
     /**
@@ -1634,7 +1551,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getUseAdaptiveSizePolicyDisabledOption() {
-        return getJvmOption("(-XX:-UseAdaptiveSizePolicy)");
+        return getJvmOptions().getOption("-XX:-UseAdaptiveSizePolicy");
     }
 
     /**
@@ -1647,7 +1564,8 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getXlogGcOption() {
-        return getJvmOption("(-Xloggc:\\S+)");
+        String value = getJvmOptions().getValue("-Xloggc");
+        return value == null || value.isEmpty() ? null : getJvmOptions().getOption("-Xloggc");
     }
 
     /**
@@ -1656,15 +1574,6 @@ public class Jvm {
      * @return the GC log file name, null otherwise.
      */
     public String getGcLogFileName() {
-        String gcLogFileName = null;
-        String regex = "-Xloggc:(.+)";
-        Pattern pattern = Pattern.compile(regex);
-        if (getXlogGcOption() != null) {
-            Matcher matcher = pattern.matcher(getXlogGcOption());
-            if (matcher.find()) {
-                gcLogFileName = matcher.group(1);
-            }
-        }
-        return gcLogFileName;
+        return getXlogGcOption() == null ? null : getJvmOptions().getValue("-Xloggc");
     }
 }
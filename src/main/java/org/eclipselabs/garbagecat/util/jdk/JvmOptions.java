@@ -0,0 +1,326 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util.jdk;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import org.eclipselabs.garbagecat.util.Memory;
+
+/**
+ * <p>
+ * JVM options tokenized once into options keyed by name, with their values (sizes parsed to <code>Memory</code>).
+ * </p>
+ * 
+ * <p>
+ * Option names:
+ * </p>
+ * 
+ * <ul>
+ * <li>Boolean flags are keyed by the flag with its sign (e.g. <code>-XX:+PrintGCDetails</code>,
+ * <code>-XX:-UseBiasedLocking</code>), so an option enabled and disabled can both be looked up.</li>
+ * <li><code>-XX:</code> and <code>-D</code> options with a value are keyed by the text before the '=' (e.g.
+ * <code>-XX:MaxMetaspaceSize</code>, <code>-Dsun.rmi.dgc.client.gcInterval</code>).</li>
+ * <li>Other options with a value after a ':' are keyed by the text before the ':' (e.g. <code>-Xloggc</code>,
+ * <code>-javaagent</code>).</li>
+ * <li>Sizes appended to the option are keyed by the option (<code>-Xms</code>, <code>-Xmx</code>, <code>-Xmn</code>,
+ * <code>-Xss</code>, <code>-ss</code>).</li>
+ * <li>Other options are keyed by the option (e.g. <code>-Xbatch</code>, <code>-d64</code>).</li>
+ * </ul>
+ * 
+ * <p>
+ * If an option is repeated, the first occurrence is kept.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public final class JvmOptions {
+
+    /**
+     * A JVM option.
+     */
+    private static final class Option {
+
+        /**
+         * The position of the option on the command line.
+         */
+        private final int position;
+
+        /**
+         * The option value size, or null if the value is not a size.
+         */
+        private final Memory size;
+
+        /**
+         * The option as it appears on the command line (e.g. <code>-Xmx2048m</code>).
+         */
+        private final String text;
+
+        /**
+         * The option value (e.g. <code>2048m</code>), or null if the option has no value.
+         */
+        private final String value;
+
+        private Option(String text, String value, int position) {
+            this.text = text;
+            this.value = value;
+            this.size = isSize(value) ? Memory.fromOptionSize(value) : null;
+            this.position = position;
+        }
+    }
+
+    /**
+     * Maximum number of parsed JVM options cached.
+     */
+    private static final int CACHE_SIZE = 64;
+
+    /**
+     * Parsed JVM options by JVM options string, so the JVM options of logs from the same JVM configuration (e.g. when
+     * analyzing many logs) are only parsed once.
+     */
+    private static final Map<String, JvmOptions> CACHE = new ConcurrentHashMap<String, JvmOptions>();
+
+    /**
+     * Options with a size appended to the option name.
+     */
+    private static final String[] SIZE_PREFIXES = { "-Xms", "-Xmx", "-Xmn", "-Xss", "-ss" };
+
+    /**
+     * Separates options: whitespace and quotes, and the start of a -X option run into the prior option (e.g.
+     * <code>-Xcomp-Xms2048M</code>).
+     */
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[\\s\"']+|(?<=\\w)(?=-X)");
+
+    /**
+     * No JVM options.
+     */
+    public static final JvmOptions EMPTY = new JvmOptions("");
+
+    /**
+     * @param value
+     *            The option value.
+     * @return true if the value is a number (digits only), false otherwise.
+     */
+    private static boolean isNumber(String value) {
+        if (value == null || value.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (!Character.isDigit(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param value
+     *            The option value.
+     * @return true if the value is a size (a number optionally followed by a unit, e.g. <code>128k</code>), false
+     *         otherwise.
+     */
+    private static boolean isSize(String value) {
+        if (value == null || value.isEmpty()) {
+            return false;
+        }
+        char unit = value.charAt(value.length() - 1);
+        if ("bBkKmMgG".indexOf(unit) >= 0) {
+            return isNumber(value.substring(0, value.length() - 1));
+        }
+        return isNumber(value);
+    }
+
+    /**
+     * @param options
+     *            The JVM options.
+     * @return The parsed JVM options, from the cache if the same options have already been parsed.
+     */
+    public static JvmOptions parse(String options) {
+        if (options == null) {
+            return EMPTY;
+        }
+        JvmOptions jvmOptions = CACHE.get(options);
+        if (jvmOptions == null) {
+            jvmOptions = new JvmOptions(options);
+            if (CACHE.size() >= CACHE_SIZE) {
+                CACHE.clear();
+            }
+            CACHE.put(options, jvmOptions);
+        }
+        return jvmOptions;
+    }
+
+    /**
+     * Disabled options (<code>-XX:-</code>), including repeats, in command line order.
+     */
+    private final List<String> disabledOptions = new ArrayList<String>();
+
+    /**
+     * Options by name.
+     */
+    private final Map<String, Option> options = new HashMap<String, Option>();
+
+    private JvmOptions(String options) {
+        String[] tokens = TOKEN_SEPARATOR.split(options);
+        for (int i = 0; i < tokens.length; i++) {
+            String token = tokens[i];
+            if (!token.startsWith("-")) {
+                continue;
+            }
+            String name = token;
+            String value = null;
+            if (token.startsWith("-XX:+") || token.startsWith("-XX:-")) {
+                if (token.startsWith("-XX:-")) {
+                    disabledOptions.add(token);
+                }
+            } else if (token.startsWith("-XX:") || token.startsWith("-D")) {
+                int index = token.indexOf('=');
+                if (index > 0) {
+                    name = token.substring(0, index);
+                    value = token.substring(index + 1);
+                }
+            } else if (token.indexOf(':') > 0) {
+                int index = token.indexOf(':');
+                name = token.substring(0, index);
+                value = token.substring(index + 1);
+            } else {
+                for (String prefix : SIZE_PREFIXES) {
+                    if (token.startsWith(prefix) && isSize(token.substring(prefix.length()))) {
+                        name = prefix;
+                        value = token.substring(prefix.length());
+                        break;
+                    }
+                }
+            }
+            if (!this.options.containsKey(name)) {
+                this.options.put(name, new Option(token, value, i));
+            }
+        }
+    }
+
+    /**
+     * @return The option appearing first on the command line, or null if none of the options are set.
+     */
+    private Option first(String[] names, boolean size) {
+        Option first = null;
+        for (String name : names) {
+            Option option = options.get(name);
+            if (option != null && (!size || option.size != null)
+                    && (first == null || option.position < first.position)) {
+                first = option;
+            }
+        }
+        return first;
+    }
+
+    /**
+     * @return The disabled options (<code>-XX:-</code>), including repeats, in command line order.
+     */
+    public List<String> getDisabledOptions() {
+        return Collections.unmodifiableList(disabledOptions);
+    }
+
+    /**
+     * @param name
+     *            The option name.
+     * @return The option with a number value (e.g. <code>-XX:SurvivorRatio=6</code>), or null if the option is not
+     *         set or the value is not a number.
+     */
+    public String getNumberOption(String name) {
+        Option option = options.get(name);
+        return option != null && isNumber(option.value) ? option.text : null;
+    }
+
+    /**
+     * @param names
+     *            Option names.
+     * @return The option appearing first on the command line (e.g. <code>-XX:+PrintGCDetails</code>), or null if none
+     *         of the options are set.
+     */
+    public String getOption(String... names) {
+        Option option = first(names, false);
+        return option == null ? null : option.text;
+    }
+
+    /**
+     * @param prefix
+     *            The option name prefix.
+     * @return The first option with a name starting with the prefix on the command line, or null if there is none.
+     */
+    public String getOptionStartingWith(String prefix) {
+        Option first = null;
+        for (Map.Entry<String, Option> entry : options.entrySet()) {
+            if (entry.getKey().startsWith(prefix) && (first == null || entry.getValue().position < first.position)) {
+                first = entry.getValue();
+            }
+        }
+        return first == null ? null : first.text;
+    }
+
+    /**
+     * @param names
+     *            Option names.
+     * @return The size of the option with a size value appearing first on the command line (units default to bytes),
+     *         or null if none of the options are set with a size.
+     */
+    public Memory getSize(String... names) {
+        Option option = first(names, true);
+        return option == null ? null : option.size;
+    }
+
+    /**
+     * @param names
+     *            Option names.
+     * @return The option with a size value appearing first on the command line (e.g. <code>-Xmx2048m</code>), or null
+     *         if none of the options are set with a size.
+     */
+    public String getSizeOption(String... names) {
+        Option option = first(names, true);
+        return option == null ? null : option.text;
+    }
+
+    /**
+     * @param names
+     *            Option names.
+     * @return The size value of the option with a size value appearing first on the command line (e.g.
+     *         <code>2048m</code>), or null if none of the options are set with a size.
+     */
+    public String getSizeValue(String... names) {
+        Option option = first(names, true);
+        return option == null ? null : option.value;
+    }
+
+    /**
+     * @param name
+     *            The option name.
+     * @return The option value (e.g. <code>/var/log/gc.log</code> for <code>-Xloggc:/var/log/gc.log</code>), or null
+     *         if the option is not set or has no value.
+     */
+    public String getValue(String name) {
+        Option option = options.get(name);
+        return option == null ? null : option.value;
+    }
+
+    /**
+     * @return The number of options (repeated options counted once).
+     */
+    public int size() {
+        return options.size();
+    }
+}
@@ -0,0 +1,122 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.cli.ParseException;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+class TestAnalysisServer {
+
+    @Test
+    void testSubmit(@TempDir Path temporaryFolder) throws Exception {
+        File testFile = TestUtil.getFile("dataset2.txt");
+        File report = temporaryFolder.resolve("report.txt").toFile();
+        Main.main("-t", "80", "-o", report.getPath(), testFile.getPath());
+        String expected = new String(Files.readAllBytes(report.toPath()), "UTF-8");
+        try (AnalysisServer analysisServer = new AnalysisServer(0)) {
+            Thread thread = new Thread(analysisServer::run);
+            thread.start();
+            // Twice, to use a warm server
+            for (int i = 0; i < 2; i++) {
+                assertEquals(expected,
+                        AnalysisClient.submit(analysisServer.getPort(), Arrays.asList("-t", "80", testFile.getPath())),
+                        "Server report does not match.");
+            }
+            // Client writes the report as if analyzed in the client JVM
+            File clientReport = temporaryFolder.resolve("client.txt").toFile();
+            Main.main("-u", String.valueOf(analysisServer.getPort()), "-t", "80", "-o", clientReport.getPath(),
+                    testFile.getPath());
+            assertEquals(expected, new String(Files.readAllBytes(clientReport.toPath()), "UTF-8"),
+                    "Client report does not match.");
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> AnalysisClient
+                    .submit(analysisServer.getPort(), Arrays.asList("-t", "x", testFile.getPath())));
+            assertTrue(e.getMessage().startsWith("Invalid threshold"), "Error message not correct.");
+            assertThrows(IllegalArgumentException.class, () -> AnalysisClient.submit(analysisServer.getPort(),
+                    Arrays.asList("-f", "1", testFile.getPath())));
+            analysisServer.close();
+            thread.join(10000);
+        }
+    }
+
+    @Test
+    void testUnreadableLogFile(@TempDir Path temporaryFolder) throws Exception {
+        File missing = temporaryFolder.resolve("missing.log").toFile();
+        File directory = temporaryFolder.resolve("directory.log").toFile();
+        assertTrue(directory.mkdir(), "Log directory not created.");
+        try (AnalysisServer analysisServer = new AnalysisServer(0)) {
+            Thread thread = new Thread(analysisServer::run);
+            thread.start();
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                    () -> AnalysisClient.submit(analysisServer.getPort(), Arrays.asList(missing.getPath())));
+            assertTrue(e.getMessage().startsWith("Invalid log file"), "Error message not correct.");
+            // Read errors are reported, not an empty report
+            e = assertThrows(IllegalArgumentException.class,
+                    () -> AnalysisClient.submit(analysisServer.getPort(), Arrays.asList(directory.getPath())));
+            assertTrue(e.getMessage().contains(directory.getPath()), "Error message not correct.");
+            e = assertThrows(IllegalArgumentException.class,
+                    () -> AnalysisClient.submit(analysisServer.getPort(), Arrays.asList("-p", directory.getPath())));
+            assertTrue(e.getMessage().contains(directory.getPath()), "Error message not correct.");
+            analysisServer.close();
+            thread.join(10000);
+        }
+    }
+
+    @Test
+    void testReadJob() throws Exception {
+        assertEquals(Arrays.asList("-t", "80", "gc.log"),
+                AnalysisServer.readJob(new StringReader("-t\r\n80\ngc.log\n\nignored\n")), "Job not read.");
+        assertEquals(Arrays.asList("-t", "80"), AnalysisServer.readJob(new StringReader("-t\n80")),
+                "Job ended by the end of the stream not read.");
+        String job = String.join("\n", Collections.nCopies(AnalysisServer.JOB_ARGS_MAX + 1, "-r"));
+        ParseException e = assertThrows(ParseException.class, () -> AnalysisServer.readJob(new StringReader(job)));
+        assertTrue(e.getMessage().startsWith("Too many arguments"), "Error message not correct.");
+        String arg = String.join("", Collections.nCopies(AnalysisServer.JOB_ARG_LENGTH_MAX + 1, "x"));
+        e = assertThrows(ParseException.class, () -> AnalysisServer.readJob(new StringReader(arg + "\n\n")));
+        assertTrue(e.getMessage().startsWith("Argument too long"), "Error message not correct.");
+    }
+
+    @Test
+    void testJobTooBig() throws Exception {
+        File testFile = TestUtil.getFile("dataset2.txt");
+        List<String> args = new ArrayList<String>(Collections.nCopies(AnalysisServer.JOB_ARGS_MAX, "-r"));
+        args.add(testFile.getPath());
+        try (AnalysisServer analysisServer = new AnalysisServer(0)) {
+            Thread thread = new Thread(analysisServer::run);
+            thread.start();
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                    () -> AnalysisClient.submit(analysisServer.getPort(), args));
+            assertTrue(e.getMessage().startsWith("Too many arguments"), "Error message not correct.");
+            analysisServer.close();
+            thread.join(10000);
+        }
+    }
+}
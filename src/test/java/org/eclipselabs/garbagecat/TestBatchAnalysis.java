@@ -0,0 +1,88 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.cli.ParseException;
+import org.eclipselabs.garbagecat.BatchAnalysis.Summary;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+class TestBatchAnalysis {
+
+    @Test
+    void testBatch(@TempDir Path temporaryFolder) throws Exception {
+        Path logs = Files.createDirectories(temporaryFolder.resolve("logs"));
+        Files.copy(TestUtil.getFile("dataset1.txt").toPath(), logs.resolve("dataset1.txt"));
+        Files.copy(TestUtil.getFile("dataset2.txt").toPath(), logs.resolve("dataset2.txt"));
+        // Same name as a log file in the directory
+        Path other = Files.createDirectories(temporaryFolder.resolve("other"));
+        Files.copy(TestUtil.getFile("dataset3.txt").toPath(), other.resolve("dataset1.txt"));
+        Path reports = Files.createDirectories(temporaryFolder.resolve("reports"));
+        File index = reports.resolve("index.txt").toFile();
+
+        List<Summary> summaries = new BatchAnalysis(OptionsParser.parseOptions(new String[] { "-b", "2", "-o",
+                index.getPath(), logs.toString(), other.resolve("dataset1.txt").toString() })).run();
+        assertEquals(3, summaries.size(), "Log file count not correct.");
+        assertEquals("dataset1.txt.report.txt", summaries.get(0).getReportFile().getName(),
+                "Report file not correct.");
+        assertEquals("dataset2.txt.report.txt", summaries.get(1).getReportFile().getName(),
+                "Report file not correct.");
+        assertEquals("dataset1.txt-2.report.txt", summaries.get(2).getReportFile().getName(),
+                "Duplicate log file name report file not correct.");
+        for (Summary summary : summaries) {
+            assertNull(summary.getFailure(), "Log file not analyzed: " + summary.getLogFile());
+            assertTrue(summary.getReportFile().exists(), "Report not written: " + summary.getReportFile());
+        }
+
+        // Batch report matches single log file report
+        File report = temporaryFolder.resolve("report.txt").toFile();
+        Main.main("-o", report.getPath(), logs.resolve("dataset2.txt").toString());
+        assertEquals(new String(Files.readAllBytes(report.toPath()), "UTF-8"),
+                new String(Files.readAllBytes(summaries.get(1).getReportFile().toPath()), "UTF-8"),
+                "Batch report does not match single log file report.");
+
+        String indexReport = new String(Files.readAllBytes(index.toPath()), "UTF-8");
+        assertTrue(indexReport.startsWith("Log Files: 3"), "Index log file count not correct.");
+        assertEquals(3 + 3, indexReport.split("\r?\n").length, "Index line count not correct.");
+        assertTrue(indexReport.contains("dataset1.txt-2.report.txt"), "Index report not listed.");
+
+        // Reports and sidecar files are not log files
+        Files.createFile(logs.resolve("dataset1.txt" + BatchAnalysis.REPORT_SUFFIX));
+        Files.createFile(logs.resolve("dataset1.txt.gcat"));
+        assertEquals(Arrays.asList(logs.resolve("dataset1.txt").toFile(), logs.resolve("dataset2.txt").toFile()),
+                BatchAnalysis.getLogFiles(Arrays.asList(logs.toString()), index), "Log files not correct.");
+    }
+
+    @Test
+    void testInvalidWorkers(@TempDir File temporaryFolder) {
+        assertThrows(ParseException.class,
+                () -> OptionsParser.parseOptions(new String[] { "-b", "0", temporaryFolder.getAbsolutePath() }));
+        assertThrows(ParseException.class, () -> OptionsParser.parseOptions(
+                new String[] { "-b", "2", "missing.txt", temporaryFolder.getAbsolutePath() }));
+    }
+}
@@ -30,13 +30,20 @@ import static org.eclipselabs.garbagecat.util.Constants.OPTION_THRESHOLD_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_THRESHOLD_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_VERSION_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_VERSION_SHORT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
 
 import org.apache.commons.cli.CommandLine;
+import org.eclipselabs.garbagecat.dao.SidecarFile;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
@@ -128,6 +135,76 @@ class TestMain {
         assertNull(cmd);
     }
 
+    @Test
+    void testSidecarNotWritable(@TempDir File temporaryFolder) throws Exception {
+        File logFile = new File(temporaryFolder, "gc.log");
+        Files.copy(TestUtil.getFile("dataset2.txt").toPath(), logFile.toPath());
+        // A non-empty directory where the sidecar file goes cannot be written or replaced
+        File sidecarFile = new File(logFile.getPath() + SidecarFile.EXTENSION);
+        assertTrue(new File(sidecarFile, "file").mkdirs(), "Directory not created.");
+        File report = new File(temporaryFolder, "report.txt");
+        Main.main("-c", "-o", report.getPath(), logFile.getPath());
+        assertTrue(report.length() > 0, "Report not written.");
+        assertTrue(sidecarFile.isDirectory(), "Sidecar file directory replaced.");
+    }
+
+    @Test
+    void testPreprocessNoTemporaryFile(@TempDir File temporaryFolder) throws Exception {
+        File logFile = new File(temporaryFolder, "gc.log");
+        Files.copy(TestUtil.getFile("dataset2.txt").toPath(), logFile.toPath());
+        File report = new File(temporaryFolder, "report.txt");
+        Main.main("-p", "-o", report.getPath(), logFile.getPath());
+        assertTrue(report.length() > 0, "Report not written.");
+        assertEquals(2, temporaryFolder.list().length, "Preprocessed logging written to a file.");
+    }
+
+    @Test
+    void testTimeToSafepointNoPauseTime(@TempDir File temporaryFolder) throws Exception {
+        // Time to safepoint with no time stopped
+        File logFile = new File(temporaryFolder, "gc.log");
+        Files.write(logFile.toPath(), Collections.singletonList("1.000: Total time for which application threads "
+                + "were stopped: 0.0000000 seconds, Stopping threads took: 0.0001000 seconds"));
+        File report = new File(temporaryFolder, "report.txt");
+        Main.main("-o", report.getPath(), logFile.getPath());
+        String reportText = new String(Files.readAllBytes(report.toPath()), StandardCharsets.UTF_8);
+        assertTrue(reportText.contains("Stopped Time                       1     0.100    -"),
+                "Time to safepoint not reported.");
+    }
+
+    @Test
+    void testSafepointsByCauseNoSafepointTime(@TempDir File temporaryFolder) throws Exception {
+        // A GC in a safepoint, both with durations that round to zero
+        File logFile = new File(temporaryFolder, "gc.log");
+        Files.write(logFile.toPath(), Arrays.asList(
+                "1.000: [GC [PSYoungGen: 335699K->33192K(397312K)] 1220565K->918194K(1287680K), 0.0000000 secs]",
+                "1.000: Total time for which application threads were stopped: 0.0000000 seconds, Stopping threads "
+                        + "took: 0.0000000 seconds"));
+        File report = new File(temporaryFolder, "report.txt");
+        Main.main("-o", report.getPath(), logFile.getPath());
+        String reportText = new String(Files.readAllBytes(report.toPath()), StandardCharsets.UTF_8);
+        assertTrue(reportText.contains("GC                                 1     0.000    -"),
+                "Safepoints by cause not reported.");
+    }
+
+    @Test
+    void testGcActivity(@TempDir File temporaryFolder) throws Exception {
+        File logFile = new File(temporaryFolder, "gc.log");
+        Files.write(logFile.toPath(), Arrays.asList(
+                "10.000: [GC [PSYoungGen: 335699K->33192K(397312K)] 1220565K->918194K(1287680K), 0.0243428 secs]",
+                "20.000: [GC [PSYoungGen: 335699K->33192K(397312K)] 1220565K->918194K(1287680K), 0.0243428 secs]",
+                "130.000: [GC [PSYoungGen: 335699K->33192K(397312K)] 1220565K->918194K(1287680K), 0.0243428 secs]"));
+        File report = new File(temporaryFolder, "report.txt");
+        Main.main("-o", report.getPath(), logFile.getPath());
+        String reportText = new String(Files.readAllBytes(report.toPath()), StandardCharsets.UTF_8);
+        assertTrue(reportText.contains("GC ACTIVITY BY MINUTE:"), "GC activity not reported.");
+        assertTrue(reportText.contains("0.000               2      0.049      0.024         0.000       918194K"),
+                "First minute not correct.");
+        // Minute with no activity not reported
+        assertFalse(reportText.contains("60.000 "), "Empty minute reported.");
+        assertTrue(reportText.contains("120.000             1      0.024      0.024         0.000       918194K"),
+                "Third minute not correct.");
+    }
+
     private static void assertHasOption(CommandLine cmd, String option) {
         assertTrue(cmd.hasOption(option), "'-" + option + "' is a valid option");
     }
@@ -0,0 +1,72 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+class TestAllocationRates {
+
+    @Test
+    void testConcurrent() {
+        AllocationRates allocationRates = new AllocationRates();
+        allocationRates
+                .record(JdkUtil.parseLogLine("[1.000s][info][gc] GC(0) Concurrent reset 15M->16M(64M) 4.701ms"));
+        allocationRates
+                .record(JdkUtil.parseLogLine("[2.000s][info][gc] GC(0) Concurrent reset 20M->24M(64M) 4.701ms"));
+        // Growth between and during concurrent events
+        assertEquals(8 * 1024, allocationRates.getAllocated(), "Allocated not correct.");
+        assertEquals(new BigDecimal(8 * 1024), allocationRates.getAllocationRate(), "Allocation rate not correct.");
+        assertEquals(0, allocationRates.getPromoted(), "Promoted not correct.");
+    }
+
+    @Test
+    void testEmpty() {
+        AllocationRates allocationRates = new AllocationRates();
+        assertEquals(BigDecimal.ZERO, allocationRates.getAllocationRate(), "Allocation rate not correct.");
+        assertEquals(BigDecimal.ZERO, allocationRates.getAllocationRatePeak(), "Allocation rate peak not correct.");
+        assertEquals(0, allocationRates.getAllocationRatePeakTimestamp(), "Peak timestamp not correct.");
+    }
+
+    @Test
+    void testPeaks() {
+        AllocationRates allocationRates = new AllocationRates();
+        allocationRates.record(JdkUtil.parseLogLine(
+                "1.000: [GC [PSYoungGen: 100K->10K(200K)] 300K->220K(1000K), 0.0100000 secs]"));
+        allocationRates.record(JdkUtil.parseLogLine(
+                "2.000: [GC [PSYoungGen: 150K->20K(200K)] 360K->250K(1000K), 0.0100000 secs]"));
+        // Out of order
+        allocationRates.record(JdkUtil.parseLogLine(
+                "1.500: [GC [PSYoungGen: 900K->20K(200K)] 900K->250K(1000K), 0.0100000 secs]"));
+        allocationRates.record(JdkUtil.parseLogLine(
+                "121.000: [GC [PSYoungGen: 1210K->30K(2000K)] 1440K->1000K(3000K), 0.0100000 secs]"));
+        assertEquals(120000, allocationRates.getDuration(), "Duration not correct.");
+        assertEquals(140 + 1190, allocationRates.getAllocated(), "Allocated not correct.");
+        assertEquals(10 + 20 + 740, allocationRates.getPromoted(), "Promoted not correct.");
+        assertEquals(new BigDecimal(11), allocationRates.getAllocationRate(), "Allocation rate not correct.");
+        // 140K plus 59/119 of the 1190K allocated from 2s to 121s
+        assertEquals(new BigDecimal(12), allocationRates.getAllocationRatePeak(), "Allocation rate peak not correct.");
+        assertEquals(1000, allocationRates.getAllocationRatePeakTimestamp(), "Allocation peak timestamp not correct.");
+        assertEquals(new BigDecimal(6), allocationRates.getPromotionRate(), "Promotion rate not correct.");
+        assertEquals(new BigDecimal(12), allocationRates.getPromotionRatePeak(), "Promotion rate peak not correct.");
+        assertEquals(121000, allocationRates.getPromotionRatePeakTimestamp(), "Promotion peak timestamp not correct.");
+    }
+}
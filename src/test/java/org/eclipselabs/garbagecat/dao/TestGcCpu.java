@@ -0,0 +1,62 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.dao;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.eclipselabs.garbagecat.dao.TimeRollup.Resolution;
+import org.eclipselabs.garbagecat.domain.jdk.ParallelScavengeEvent;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+class TestGcCpu {
+
+    private static ParallelScavengeEvent youngGc(String timestamp, String times) {
+        return new ParallelScavengeEvent(timestamp + ": [GC [PSYoungGen: 335699K->33192K(397312K)] "
+                + "1220565K->918194K(1287680K), 0.0243428 secs]" + times);
+    }
+
+    @Test
+    void testBucket() {
+        assertEquals(0, GcCpu.bucket(99), "Inverted parallelism bucket not correct.");
+        assertEquals(1, GcCpu.bucket(100), "Parallelism bucket not correct.");
+        assertEquals(GcCpu.PARALLELISM_LABELS.length - 1, GcCpu.bucket(Integer.MAX_VALUE),
+                "Last parallelism bucket not correct.");
+    }
+
+    @Test
+    void testGcCpu() {
+        JvmDao jvmDao = new JvmDao();
+        jvmDao.addBlockingEvent(youngGc("10.000", " [Times: user=0.07 sys=0.01, real=0.03 secs]"));
+        jvmDao.addBlockingEvent(youngGc("20.000", " [Times: user=0.24 sys=0.00, real=0.17 secs]"));
+        // No times data
+        jvmDao.addBlockingEvent(youngGc("30.000", ""));
+        jvmDao.addBlockingEvent(youngGc("70.000", " [Times: user=0.01 sys=0.01, real=0.04 secs]"));
+        GcCpu gcCpu = jvmDao.getGcCpu();
+        assertEquals(3, gcCpu.getCount(), "Count not correct.");
+        assertEquals(320, gcCpu.getUser(), "User time not correct.");
+        assertEquals(20, gcCpu.getSys(), "Sys time not correct.");
+        assertEquals(340, gcCpu.getTotal(), "Total time not correct.");
+        assertEquals(240, gcCpu.getReal(), "Real time not correct.");
+        assertArrayEquals(new long[] { 1, 1, 1, 0, 0, 0 }, gcCpu.getParallelism(),
+                "Parallelism distribution not correct.");
+        TimeRollup rollup = jvmDao.getRollup();
+        assertEquals(320, rollup.getGcCpuTotal(Resolution.MINUTE, 0), "First minute GC CPU not correct.");
+        assertEquals(20, rollup.getGcCpuTotal(Resolution.MINUTE, 1), "Second minute GC CPU not correct.");
+        assertEquals(340, rollup.getGcCpuTotal(0, 120000), "Range GC CPU not correct.");
+    }
+}
@@ -12,13 +12,23 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.dao;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.List;
 
 import org.eclipselabs.garbagecat.domain.BlockingEvent;
+import org.eclipselabs.garbagecat.domain.SafepointEvent;
+import org.eclipselabs.garbagecat.domain.jdk.ApplicationStoppedTimeEvent;
 import org.eclipselabs.garbagecat.domain.jdk.ParNewEvent;
 import org.eclipselabs.garbagecat.domain.jdk.SerialOldEvent;
+import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedSafepointEvent;
+import org.eclipselabs.garbagecat.util.jdk.Analysis;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
+import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedSafepoint.Trigger;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -47,4 +57,153 @@ class TestJvmDao {
         assertTrue(events.get(1) instanceof ParNewEvent);
         assertTrue(events.get(2) instanceof SerialOldEvent);
     }
+
+    @Test
+    void testOutOfOrderSorted() {
+        JvmDao jvmDao = new JvmDao();
+        ParNewEvent event1 = new ParNewEvent(
+                "3010786.012: [GC 3010786.012: [ParNew: 356703K->356703K(368640K), 0.0000190 secs]"
+                        + " 824995K->824995K(1187840K), 0.0001460 secs]");
+        jvmDao.addBlockingEvent(event1);
+        ParNewEvent event2 = new ParNewEvent("3010778.296: [GC 3010778.296: [ParNew: 337824K->32173K(368640K),"
+                + " 0.0803880 secs] 806117K->500466K(1187840K), 0.0805980 secs]");
+        jvmDao.addBlockingEvent(event2);
+        SerialOldEvent event3 = new SerialOldEvent("3010786.012: [Full GC 3010786.012:"
+                + " [Tenured: 468292K->482213K(819200K), 1.9920590 secs] 824995K->482213K(1187840K),"
+                + " [Perm : 123092K->122684K(262144K)], 1.9924510 secs]");
+        jvmDao.addBlockingEvent(event3);
+
+        List<BlockingEvent> events = jvmDao.getBlockingEvents();
+        assertEquals(3010778296L, events.get(0).getTimestamp(), "Event not sorted.");
+        assertTrue(events.get(1) instanceof ParNewEvent, "Same timestamp event order not preserved.");
+        assertTrue(events.get(2) instanceof SerialOldEvent, "Same timestamp event order not preserved.");
+        assertEquals(3010778296L, jvmDao.getFirstGcEvent().getTimestamp(), "First GC event not correct.");
+        assertEquals(3010786012L, jvmDao.getLastGcEvent().getTimestamp(), "Last GC event not correct.");
+    }
+
+    @Test
+    void testOutOfOrderSortedSpilled() {
+        JvmDao heap = new JvmDao();
+        JvmDao jvmDao = new JvmDao(true);
+        try (JvmDao closeable = jvmDao) {
+            // Many sorted runs, each timestamp twice
+            for (int i = 0; i < 100; i++) {
+                String logEntry = String.format("%d.000: [GC %d.000: [ParNew: %dK->32173K(368640K), 0.0803880 secs]"
+                        + " 806117K->500466K(1187840K), 0.0805980 secs]", i * 37 % 50, i * 37 % 50, 300000 + i);
+                heap.addBlockingEvent(new ParNewEvent(logEntry));
+                jvmDao.addBlockingEvent(new ParNewEvent(logEntry));
+            }
+            List<BlockingEvent> expected = heap.getBlockingEvents();
+            List<BlockingEvent> events = jvmDao.getBlockingEvents();
+            assertEquals(expected.size(), events.size(), "Event count not correct.");
+            for (int i = 0; i < events.size(); i++) {
+                assertEquals(expected.get(i).getLogEntry(), events.get(i).getLogEntry(),
+                        "Event " + i + " not sorted stably.");
+            }
+        }
+    }
+
+    @Test
+    void testSafepointEventsSpilled() {
+        JvmDao jvmDao = new JvmDao(true);
+        try (JvmDao closeable = jvmDao) {
+            jvmDao.addSafepointEvent(new UnifiedSafepointEvent("cleanup", 1000, Trigger.CLEANUP, 100, 50));
+            jvmDao.addSafepointEvent(new UnifiedSafepointEvent("unknown", 2000, null, 300, 400));
+            List<SafepointEvent> events = jvmDao.getSafepointEvents();
+            assertEquals(2, events.size(), "Event count not correct.");
+            UnifiedSafepointEvent event = (UnifiedSafepointEvent) events.get(0);
+            assertEquals(1000, event.getTimestamp(), "Timestamp not correct.");
+            assertEquals(Trigger.CLEANUP, event.getTrigger(), "Trigger not correct.");
+            assertEquals(100, event.getTimeToStopThreads(), "Time to stop threads not correct.");
+            assertEquals(50, event.getTimeThreadsStopped(), "Time threads stopped not correct.");
+            assertEquals("cleanup", event.getLogEntry(), "Log entry not correct.");
+            assertNull(((UnifiedSafepointEvent) events.get(1)).getTrigger(), "Trigger not correct.");
+            assertEquals("unknown", events.get(1).getLogEntry(), "Log entry not correct.");
+            assertEquals(700, jvmDao.getUnifiedSafepointTimeMax(), "Max not correct.");
+            assertEquals(850, jvmDao.getUnifiedSafepointTimeTotal(), "Total not correct.");
+            ApplicationStoppedTimeEvent stoppedTimeEvent = new ApplicationStoppedTimeEvent(
+                    "3010786.500: Total time for which application threads were stopped: 0.0012345 seconds");
+            jvmDao.addStoppedTimeEvent(stoppedTimeEvent);
+            assertEquals(1, jvmDao.getStoppedTimeEventCount(), "Stopped time event count not correct.");
+            assertEquals(1234, jvmDao.getStoppedTimeTotal(), "Stopped time total not correct.");
+            assertEquals(stoppedTimeEvent.getTimestamp(), jvmDao.getSafepointEvents().get(0).getTimestamp(),
+                    "Timestamp not correct.");
+        }
+        assertTrue(jvmDao.stoppedTimeEvents.isEmpty(), "Spilled stopped time events not released.");
+        assertTrue(jvmDao.unifiedSafepointEvents.isEmpty(), "Spilled safepoint events not released.");
+    }
+
+    @Test
+    void testTypeQuery() {
+        JvmDao jvmDao = new JvmDao();
+        addQueryEvents(jvmDao);
+        assertEquals(2, jvmDao.getBlockingEvents(LogEventType.PAR_NEW).size(), "PAR_NEW count not correct.");
+        assertEquals(1, jvmDao.getBlockingEvents(LogEventType.SERIAL_OLD).size(), "SERIAL_OLD count not correct.");
+        assertTrue(jvmDao.getBlockingEvents(LogEventType.G1_YOUNG_PAUSE).isEmpty(), "G1_YOUNG_PAUSE not empty.");
+        List<BlockingEvent> events = jvmDao.getBlockingEvents(LogEventType.PAR_NEW);
+        assertEquals(3010778296L, events.get(0).getTimestamp(), "Events not in timestamp order.");
+        assertEquals(3010786012L, events.get(1).getTimestamp(), "Events not in timestamp order.");
+    }
+
+    @Test
+    void testTypeQuerySpilled() {
+        JvmDao jvmDao = new JvmDao(true);
+        try (JvmDao closeable = jvmDao) {
+            addQueryEvents(jvmDao);
+            List<BlockingEvent> events = jvmDao.getBlockingEvents(LogEventType.SERIAL_OLD);
+            assertEquals(1, events.size(), "Event count not correct.");
+            assertTrue(events.get(0) instanceof SerialOldEvent, "Event type not correct.");
+            assertEquals(3010786012L, events.get(0).getTimestamp(), "Event timestamp not correct.");
+            assertEquals(2, jvmDao.getBlockingEvents(LogEventType.PAR_NEW).size(), "PAR_NEW count not correct.");
+        }
+        assertTrue(jvmDao.blockingEvents.isEmpty(), "Spilled events not released.");
+    }
+
+    @Test
+    void testCleanup() {
+        JvmDao jvmDao = new JvmDao();
+        addQueryEvents(jvmDao);
+        jvmDao.addStoppedTimeEvent(new ApplicationStoppedTimeEvent(
+                "3010786.500: Total time for which application threads were stopped: 0.0012345 seconds"));
+        jvmDao.addAnalysis(Analysis.WARN_EXPLICIT_GC_UNKNOWN);
+        jvmDao.getEventTypes().add(LogEventType.PAR_NEW);
+        jvmDao.getUnidentifiedLogLines().add("unidentified");
+        jvmDao.freeze();
+        jvmDao.cleanup();
+        assertEquals(0, jvmDao.getBlockingEventCount(), "Blocking events not dropped.");
+        assertTrue(jvmDao.getGcPauseHistogram().isEmpty(), "Pause histogram not dropped.");
+        assertEquals(0, jvmDao.getStoppedTimeEventCount(), "Stopped time events not dropped.");
+        assertTrue(jvmDao.getStoppedTimeHistogram().isEmpty(), "Stopped time histogram not dropped.");
+        assertEquals(0, jvmDao.getTimeToSafepoint().getTotal(), "Time to safepoint not dropped.");
+        assertTrue(jvmDao.getSafepointEvents().isEmpty(), "Safepoint events not dropped.");
+        assertTrue(jvmDao.getAnalysis().isEmpty(), "Analysis not dropped.");
+        assertTrue(jvmDao.getEventTypes().isEmpty(), "Event types not dropped.");
+        assertEquals(0, jvmDao.getUnidentifiedLogLines().getCount(), "Unidentified log lines not dropped.");
+    }
+
+    @Test
+    void testFreeze() {
+        JvmDao jvmDao = new JvmDao();
+        addQueryEvents(jvmDao);
+        jvmDao.freeze();
+        List<BlockingEvent> events = jvmDao.getBlockingEvents();
+        assertSame(events, jvmDao.getBlockingEvents(), "Frozen events copied.");
+        assertThrows(UnsupportedOperationException.class, () -> events.remove(0), "Frozen events modified.");
+        jvmDao.addBlockingEvent(new ParNewEvent("3010790.000: [GC 3010790.000: [ParNew: 337824K->32173K(368640K),"
+                + " 0.0803880 secs] 806117K->500466K(1187840K), 0.0805980 secs]"));
+        assertEquals(3, events.size(), "Frozen events modified.");
+        assertEquals(4, jvmDao.getBlockingEvents().size(), "Event not added after freeze.");
+        assertEquals(3010790000L, jvmDao.getLastGcEvent().getTimestamp(), "Last GC event not correct.");
+    }
+
+    private static void addQueryEvents(JvmDao jvmDao) {
+        jvmDao.addBlockingEvent(
+                new ParNewEvent("3010786.012: [GC 3010786.012: [ParNew: 356703K->356703K(368640K), 0.0000190 secs]"
+                        + " 824995K->824995K(1187840K), 0.0001460 secs]"));
+        jvmDao.addBlockingEvent(new ParNewEvent("3010778.296: [GC 3010778.296: [ParNew: 337824K->32173K(368640K),"
+                + " 0.0803880 secs] 806117K->500466K(1187840K), 0.0805980 secs]"));
+        jvmDao.addBlockingEvent(new SerialOldEvent("3010786.012: [Full GC 3010786.012:"
+                + " [Tenured: 468292K->482213K(819200K), 1.9920590 secs] 824995K->482213K(1187840K),"
+                + " [Perm : 123092K->122684K(262144K)], 1.9924510 secs]"));
+    }
 }
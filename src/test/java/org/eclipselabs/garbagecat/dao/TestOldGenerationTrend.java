@@ -0,0 +1,63 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.math.BigDecimal;
+
+import org.eclipselabs.garbagecat.domain.jdk.ParallelScavengeEvent;
+import org.eclipselabs.garbagecat.domain.jdk.ParallelSerialOldEvent;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+class TestOldGenerationTrend {
+
+    private static ParallelSerialOldEvent fullGc(int seconds, int oldEnd) {
+        return new ParallelSerialOldEvent(seconds + ".000: [Full GC [PSYoungGen: 5424K->0K(38208K)] [PSOldGen: 488K->"
+                + oldEnd + "K(100000K)] 5912K->" + oldEnd + "K(138208K) [PSPermGen: 13092K->13094K(131072K)], "
+                + "0.0699360 secs]");
+    }
+
+    @Test
+    void testGrowing() {
+        JvmDao jvmDao = new JvmDao();
+        jvmDao.addBlockingEvent(fullGc(10, 10000));
+        jvmDao.addBlockingEvent(fullGc(20, 20000));
+        // Young collections are not recorded
+        jvmDao.addBlockingEvent(new ParallelScavengeEvent("25.000: [GC [PSYoungGen: 115174K->15160K(132096K)] "
+                + "115174K->15160K(434176K), 0.0169223 secs]"));
+        assertNull(jvmDao.getOldGenerationTrend().getSlope(), "Slope with too few collections not null.");
+        jvmDao.addBlockingEvent(fullGc(30, 30000));
+        OldGenerationTrend trend = jvmDao.getOldGenerationTrend();
+        assertEquals(3, trend.getCount(), "Count not correct.");
+        assertEquals(30000, trend.getOccupancy(), "Occupancy not correct.");
+        assertEquals(100000, trend.getCapacity(), "Capacity not correct.");
+        assertEquals(new BigDecimal(1000), trend.getSlope(), "Slope not correct.");
+        assertEquals(Long.valueOf(70000), trend.getTimeToExhaustion(), "Time to exhaustion not correct.");
+    }
+
+    @Test
+    void testNotGrowing() {
+        JvmDao jvmDao = new JvmDao();
+        jvmDao.addBlockingEvent(fullGc(10, 30000));
+        jvmDao.addBlockingEvent(fullGc(20, 20000));
+        jvmDao.addBlockingEvent(fullGc(30, 25000));
+        assertEquals(new BigDecimal(-250), jvmDao.getOldGenerationTrend().getSlope(), "Slope not correct.");
+        assertNull(jvmDao.getOldGenerationTrend().getTimeToExhaustion(), "Time to exhaustion not null.");
+    }
+}
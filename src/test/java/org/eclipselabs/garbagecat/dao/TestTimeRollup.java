@@ -0,0 +1,111 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.dao;
+
+import static org.eclipselabs.garbagecat.util.Memory.Unit.KILOBYTES;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+
+import org.eclipselabs.garbagecat.TestUtil;
+import org.eclipselabs.garbagecat.dao.TimeRollup.Resolution;
+import org.eclipselabs.garbagecat.domain.JvmRun;
+import org.eclipselabs.garbagecat.service.GcManager;
+import org.eclipselabs.garbagecat.util.Constants;
+import org.eclipselabs.garbagecat.util.jdk.Jvm;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+class TestTimeRollup {
+
+    private static final long MINUTE = Resolution.MINUTE.getWidth();
+
+    private static final long HOUR = Resolution.HOUR.getWidth();
+
+    private static final long DAY = Resolution.DAY.getWidth();
+
+    @Test
+    void testDatestampOrigin() {
+        TimeRollup rollup = new TimeRollup();
+        long timestamp = 1614556800000L + 5 * HOUR;
+        rollup.recordPause(timestamp, 100, -1);
+        assertEquals(timestamp - 5 * HOUR, rollup.getOrigin(), "Origin not start of day.");
+        assertEquals(1, rollup.getBucketCount(Resolution.DAY), "Day buckets not correct.");
+        assertEquals(6, rollup.getBucketCount(Resolution.HOUR), "Hour buckets not correct.");
+        assertEquals(1, rollup.getPauseCount(0, Long.MAX_VALUE), "Pause count not correct.");
+    }
+
+    @Test
+    void testEarlierEventMovesOrigin() {
+        TimeRollup rollup = new TimeRollup();
+        rollup.recordPause(3 * DAY + MINUTE, 100, 2048);
+        rollup.recordPause(DAY + 30 * MINUTE, 300, 1024);
+        assertEquals(DAY, rollup.getOrigin(), "Origin not moved.");
+        assertEquals(3, rollup.getBucketCount(Resolution.DAY), "Day buckets not correct.");
+        assertEquals(300, rollup.getPauseTotal(Resolution.MINUTE, 30), "Minute bucket not correct.");
+        assertEquals(100, rollup.getPauseTotal(Resolution.DAY, 2), "Day bucket not correct.");
+        assertEquals(2048, rollup.getMaxHeapAfterGc(0, Long.MAX_VALUE), "Max heap after GC not correct.");
+        assertEquals(1024, rollup.getMaxHeapAfterGc(0, 2 * DAY), "Range max heap after GC not correct.");
+    }
+
+    @Test
+    void testRangeQueries() {
+        TimeRollup rollup = new TimeRollup();
+        long total = 0;
+        // One pause every 10 seconds for 3 days
+        for (long timestamp = 0; timestamp < 3 * DAY; timestamp += 10000) {
+            long duration = timestamp % 7919;
+            rollup.recordPause(timestamp, duration, timestamp / 1000);
+            rollup.recordSafepoint(timestamp + 1, 2 * duration);
+            total += duration;
+        }
+        assertEquals(3 * DAY / 10000, rollup.getPauseCount(0, Long.MAX_VALUE), "Pause count not correct.");
+        assertEquals(total, rollup.getPauseTotal(0, Long.MAX_VALUE), "Pause total not correct.");
+        assertEquals(2 * total, rollup.getSafepointTotal(0, Long.MAX_VALUE), "Safepoint total not correct.");
+        assertEquals(7918, rollup.getPauseMax(0, Long.MAX_VALUE), "Pause max not correct.");
+        // Ranges spanning partial hours and days are rounded out to minutes
+        long from = DAY - 2 * HOUR - 3 * MINUTE;
+        long to = 2 * DAY + HOUR + 5 * MINUTE;
+        long count = 0;
+        long rangeTotal = 0;
+        for (long timestamp = 0; timestamp < 3 * DAY; timestamp += 10000) {
+            if (timestamp >= from && timestamp < to) {
+                count++;
+                rangeTotal += timestamp % 7919;
+            }
+        }
+        assertEquals(count, rollup.getPauseCount(from, to), "Range pause count not correct.");
+        assertEquals(rangeTotal, rollup.getPauseTotal(from, to), "Range pause total not correct.");
+        assertEquals((to - 10000) / 1000, rollup.getMaxHeapAfterGc(from, to), "Range heap after GC not correct.");
+        assertEquals(0, rollup.getPauseCount(4 * DAY, 5 * DAY), "Range after last event not empty.");
+    }
+
+    @Test
+    void testDataset() {
+        File testFile = TestUtil.getFile("dataset41.txt");
+        GcManager gcManager = new GcManager();
+        File preprocessedFile = gcManager.preprocess(testFile, null);
+        gcManager.store(preprocessedFile, false);
+        JvmRun jvmRun = gcManager.getJvmRun(new Jvm(null, null), Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+        TimeRollup rollup = jvmRun.getRollup();
+        assertEquals(jvmRun.getBlockingEventCount(), rollup.getPauseCount(0, Long.MAX_VALUE),
+                "Pause count not correct.");
+        assertEquals(jvmRun.getGcPauseTotal(), rollup.getPauseTotal(0, Long.MAX_VALUE), "Pause total not correct.");
+        assertEquals(jvmRun.getMaxGcPause(), rollup.getPauseMax(0, Long.MAX_VALUE), "Pause max not correct.");
+        assertEquals(jvmRun.getMaxHeapAfterGc().getValue(KILOBYTES), rollup.getMaxHeapAfterGc(0, Long.MAX_VALUE),
+                "Max heap after GC not correct.");
+    }
+}
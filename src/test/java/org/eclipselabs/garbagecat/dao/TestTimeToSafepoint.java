@@ -0,0 +1,65 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+
+import org.eclipselabs.garbagecat.domain.jdk.ApplicationStoppedTimeEvent;
+import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedSafepointEvent;
+import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedSafepoint.Trigger;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+class TestTimeToSafepoint {
+
+    @Test
+    void testStoppedTime() {
+        JvmDao jvmDao = new JvmDao();
+        jvmDao.addStoppedTimeEvent(new ApplicationStoppedTimeEvent("stopped", 1000, 300, 1000));
+        TimeToSafepoint timeToSafepoint = jvmDao.getTimeToSafepoint();
+        assertEquals(300, timeToSafepoint.getTotal(), "Time to safepoint total not correct.");
+        // Stopped time includes the time to safepoint
+        assertEquals(1000, timeToSafepoint.getPauseTotal(), "Pause total not correct.");
+        assertNull(timeToSafepoint.getSummaries().get(0).getTrigger(), "Stopped time trigger not null.");
+    }
+
+    @Test
+    void testTriggers() {
+        JvmDao jvmDao = new JvmDao();
+        for (int i = 1; i <= 10; i++) {
+            jvmDao.addSafepointEvent(new UnifiedSafepointEvent("cleanup " + i, i * 1000, Trigger.CLEANUP, i * 100, 50));
+        }
+        jvmDao.addSafepointEvent(new UnifiedSafepointEvent("revoke", 20000, Trigger.BULK_REVOKE_BIAS, 20000, 100));
+        TimeToSafepoint timeToSafepoint = jvmDao.getTimeToSafepoint();
+        assertEquals(5500 + 20000, timeToSafepoint.getTotal(), "Time to safepoint total not correct.");
+        assertEquals(5500 + 500 + 20100, timeToSafepoint.getPauseTotal(), "Pause total not correct.");
+        assertEquals(20000, timeToSafepoint.getMax(), "Time to safepoint max not correct.");
+        List<TimeToSafepoint.Summary> summaries = timeToSafepoint.getSummaries();
+        // Longest total first
+        assertEquals(Trigger.BULK_REVOKE_BIAS, summaries.get(0).getTrigger(), "First trigger not correct.");
+        TimeToSafepoint.Summary cleanup = summaries.get(1);
+        assertEquals(10, cleanup.getCount(), "Count not correct.");
+        assertEquals(1000, cleanup.getMax(), "Max not correct.");
+        assertEquals(1000, cleanup.getHistogram().getMax(), "Histogram max not correct.");
+        assertEquals(TimeToSafepoint.WORST_COUNT, cleanup.getWorst().size(), "Worst instances not bounded.");
+        assertEquals("cleanup 10", cleanup.getWorst().get(0).getLogEntry(), "Worst instance not correct.");
+        assertEquals(600, cleanup.getWorst().get(TimeToSafepoint.WORST_COUNT - 1).getTimeToSafepoint(),
+                "Last worst instance not correct.");
+    }
+}
@@ -0,0 +1,77 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.eclipselabs.garbagecat.dao.UnidentifiedLogLines.Shape;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+class TestUnidentifiedLogLines {
+
+    @Test
+    void testShape() {
+        assertEquals("[#.#s][info][gc] GC(#) Unknown #M->#M(#M) #.#ms",
+                UnidentifiedLogLines.shape("[0.123s][info][gc] GC(45) Unknown 128M->64M(256M) 1.234ms"),
+                "Shape not correct.");
+        assertEquals("Thread # at #", UnidentifiedLogLines.shape("Thread 12 at 0x00007f3a2c01e800"),
+                "Hexadecimal not masked.");
+    }
+
+    @Test
+    void testShapeLengthLimit() {
+        StringBuilder logLine = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            logLine.append('a');
+        }
+        assertEquals(UnidentifiedLogLines.SHAPE_LENGTH_LIMIT, UnidentifiedLogLines.shape(logLine.toString()).length(),
+                "Shape not truncated.");
+    }
+
+    @Test
+    void testCountsByShape() {
+        UnidentifiedLogLines unidentifiedLogLines = new UnidentifiedLogLines();
+        unidentifiedLogLines.add("unknown event 1");
+        for (int i = 0; i < 10; i++) {
+            unidentifiedLogLines.add("[" + i + ".5s] new event " + (i * 1000));
+        }
+        assertEquals(11, unidentifiedLogLines.getCount(), "Count not correct.");
+        assertEquals("unknown event 1", unidentifiedLogLines.getFirst(), "First line not correct.");
+        List<Shape> shapes = unidentifiedLogLines.getShapes();
+        assertEquals(2, shapes.size(), "Shape count not correct.");
+        assertEquals("[#.#s] new event #", shapes.get(0).getShape(), "Most frequent shape not first.");
+        assertEquals(10, shapes.get(0).getCount(), "Shape count not correct.");
+        assertEquals(UnidentifiedLogLines.EXAMPLE_LIMIT, shapes.get(0).getExamples().size(), "Examples not limited.");
+        assertEquals("[0.5s] new event 0", shapes.get(0).getExamples().get(0), "First example not correct.");
+    }
+
+    @Test
+    void testShapeLimit() {
+        UnidentifiedLogLines unidentifiedLogLines = new UnidentifiedLogLines();
+        for (int i = 0; i < UnidentifiedLogLines.SHAPE_LIMIT + 50; i++) {
+            unidentifiedLogLines.add("event" + (char) ('a' + i % 26) + (char) ('a' + i / 26));
+        }
+        assertEquals(UnidentifiedLogLines.SHAPE_LIMIT + 50, unidentifiedLogLines.getCount(), "Count not correct.");
+        assertEquals(UnidentifiedLogLines.SHAPE_LIMIT, unidentifiedLogLines.getShapes().size(), "Shapes not limited.");
+        assertEquals(50, unidentifiedLogLines.getUngroupedCount(), "Ungrouped count not correct.");
+        assertTrue(unidentifiedLogLines.getShapes().stream().allMatch(shape -> shape.getCount() == 1),
+                "Shape count not correct.");
+    }
+}
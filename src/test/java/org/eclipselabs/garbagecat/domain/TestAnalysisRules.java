@@ -0,0 +1,131 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.domain;
+
+import static org.eclipselabs.garbagecat.domain.AnalysisRule.rule;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipselabs.garbagecat.dao.JvmDao;
+import org.eclipselabs.garbagecat.dao.TimeToSafepoint;
+import org.eclipselabs.garbagecat.dao.UnidentifiedLogLines;
+import org.eclipselabs.garbagecat.domain.AnalysisRule.Input;
+import org.eclipselabs.garbagecat.domain.jdk.ParallelSerialOldEvent;
+import org.eclipselabs.garbagecat.util.Constants;
+import org.eclipselabs.garbagecat.util.EnumSetList;
+import org.eclipselabs.garbagecat.util.jdk.Analysis;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.CollectorFamily;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
+import org.eclipselabs.garbagecat.util.jdk.Jvm;
+import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedSafepoint.Trigger;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+class TestAnalysisRules {
+
+    private static JvmRun jvmRun(String jvmOptions, Analysis... analysis) {
+        JvmRun jvmRun = new JvmRun(new Jvm(jvmOptions, null), Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+        jvmRun.setAnalysis(new EnumSetList<Analysis>(Analysis.class));
+        jvmRun.getAnalysis().addAll(Arrays.asList(analysis));
+        jvmRun.setEventTypes(new ArrayList<LogEventType>(Arrays.asList(LogEventType.UNKNOWN)));
+        jvmRun.setCollectorFamilies(new ArrayList<CollectorFamily>());
+        jvmRun.setUnidentifiedLogLines(new UnidentifiedLogLines());
+        return jvmRun;
+    }
+
+    @Test
+    void testFirstReplacing() {
+        JvmRun jvmRun = jvmRun(null, Analysis.INFO_SWAPPING, Analysis.INFO_SWAP_DISABLED);
+        AnalysisRule rule = rule(Analysis.WARN_HEAP_MIN_NOT_EQUAL_MAX, f -> true, Input.ANALYSIS).first()
+                .replacing(Analysis.INFO_SWAP_DISABLED);
+        rule.apply(new AnalysisFacts(jvmRun), jvmRun.getAnalysis());
+        assertEquals(Arrays.asList(Analysis.WARN_HEAP_MIN_NOT_EQUAL_MAX, Analysis.INFO_SWAPPING),
+                jvmRun.getAnalysis(), "Analysis not correct.");
+    }
+
+    @Test
+    void testInputsUnavailable() {
+        JvmRun jvmRun = jvmRun(null);
+        AnalysisFacts facts = new AnalysisFacts(jvmRun);
+        assertFalse(facts.getAvailable().contains(Input.OPTIONS), "Options available.");
+        assertFalse(facts.getAvailable().contains(Input.EVENTS), "Events available.");
+        rule(Analysis.WARN_HEAP_MIN_NOT_EQUAL_MAX, f -> true, Input.OPTIONS).apply(facts, jvmRun.getAnalysis());
+        assertTrue(jvmRun.getAnalysis().isEmpty(), "Options rule evaluated without options.");
+        AnalysisRules.evaluate(facts);
+        assertTrue(jvmRun.getAnalysis().isEmpty(), "Analysis identified without options or events.");
+    }
+
+    @Test
+    void testOldGenerationExhaustionProjected() {
+        JvmDao jvmDao = new JvmDao();
+        for (int i = 1; i <= 3; i++) {
+            jvmDao.addBlockingEvent(new ParallelSerialOldEvent(i * 10 + ".000: [Full GC "
+                    + "[PSYoungGen: 5424K->0K(38208K)] [PSOldGen: 488K->" + i * 10000 + "K(100000K)] 5912K->"
+                    + i * 10000 + "K(138208K) [PSPermGen: 13092K->13094K(131072K)], 0.0699360 secs]"));
+        }
+        JvmRun jvmRun = jvmRun(null);
+        jvmRun.setEventTypes(new ArrayList<LogEventType>(Arrays.asList(LogEventType.PARALLEL_SERIAL_OLD)));
+        jvmRun.setOldGenerationTrend(jvmDao.getOldGenerationTrend());
+        jvmRun.setOldGenerationHorizon(0);
+        AnalysisRules.evaluate(new AnalysisFacts(jvmRun));
+        assertFalse(jvmRun.getAnalysis().contains(Analysis.WARN_OLD_GEN_EXHAUSTION_PROJECTED),
+                Analysis.WARN_OLD_GEN_EXHAUSTION_PROJECTED + " analysis incorrectly identified.");
+        jvmRun.setOldGenerationHorizon(Constants.DEFAULT_OLD_GENERATION_HORIZON);
+        AnalysisRules.evaluate(new AnalysisFacts(jvmRun));
+        assertTrue(jvmRun.getAnalysis().contains(Analysis.WARN_OLD_GEN_EXHAUSTION_PROJECTED),
+                Analysis.WARN_OLD_GEN_EXHAUSTION_PROJECTED + " analysis not identified.");
+    }
+
+    @Test
+    void testTimeToSafepoint() {
+        JvmRun jvmRun = jvmRun(null);
+        jvmRun.setEventTypes(new ArrayList<LogEventType>(Arrays.asList(LogEventType.UNIFIED_SAFEPOINT)));
+        TimeToSafepoint timeToSafepoint = new TimeToSafepoint();
+        timeToSafepoint.record(Trigger.CLEANUP, 1000, 9000, 10000, "cleanup");
+        jvmRun.setTimeToSafepoint(timeToSafepoint);
+        AnalysisRules.evaluate(new AnalysisFacts(jvmRun));
+        assertFalse(jvmRun.getAnalysis().contains(Analysis.WARN_TIME_TO_SAFEPOINT),
+                Analysis.WARN_TIME_TO_SAFEPOINT + " analysis incorrectly identified.");
+        timeToSafepoint.record(Trigger.CLEANUP, 2000, 20000, 21000, "cleanup");
+        AnalysisRules.evaluate(new AnalysisFacts(jvmRun));
+        assertEquals(93, jvmRun.getTimeToSafepointRatio(), "Time to safepoint ratio not correct.");
+        assertTrue(jvmRun.getAnalysis().contains(Analysis.WARN_TIME_TO_SAFEPOINT),
+                Analysis.WARN_TIME_TO_SAFEPOINT + " analysis not identified.");
+    }
+
+    @Test
+    void testOptionsRules() {
+        JvmRun jvmRun = jvmRun("-Xms1g -Xmx2g -XX:+UnlockExperimentalVMOptions -XX:+UseCGroupMemoryLimitForHeap "
+                + "-XX:MaxTenuringThreshold=0");
+        AnalysisRules.evaluate(new AnalysisFacts(jvmRun));
+        List<Analysis> analysis = jvmRun.getAnalysis();
+        assertTrue(analysis.contains(Analysis.WARN_HEAP_MIN_NOT_EQUAL_MAX),
+                Analysis.WARN_HEAP_MIN_NOT_EQUAL_MAX + " analysis not identified.");
+        assertTrue(analysis.contains(Analysis.WARN_TENURING_DISABLED),
+                Analysis.WARN_TENURING_DISABLED + " analysis not identified.");
+        assertFalse(analysis.contains(Analysis.INFO_MAX_TENURING_OVERRIDE),
+                Analysis.INFO_MAX_TENURING_OVERRIDE + " analysis incorrectly identified.");
+        assertTrue(analysis.contains(Analysis.WARN_CGROUP_MEMORY_LIMIT),
+                Analysis.WARN_CGROUP_MEMORY_LIMIT + " analysis not identified.");
+        assertFalse(analysis.contains(Analysis.INFO_EXPERIMENTAL_VM_OPTIONS),
+                Analysis.INFO_EXPERIMENTAL_VM_OPTIONS + " analysis not replaced.");
+    }
+}
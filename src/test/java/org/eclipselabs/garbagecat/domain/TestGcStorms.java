@@ -0,0 +1,82 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+class TestGcStorms {
+
+    private static BlockingEvent young(String timestamp, String duration) {
+        return (BlockingEvent) JdkUtil.parseLogLine(timestamp
+                + ": [GC [PSYoungGen: 100K->10K(200K)] 300K->220K(1000K), " + duration + " secs]");
+    }
+
+    private static BlockingEvent full(String timestamp, String duration) {
+        return (BlockingEvent) JdkUtil.parseLogLine(timestamp + ": [Full GC [PSYoungGen: 11204K->6035K(248192K)] "
+                + "[PSOldGen: 781325K->786431K(786432K)] 792529K->792467K(1034624K) "
+                + "[PSPermGen: 76972K->76972K(1048576K)], " + duration + " secs]");
+    }
+
+    @Test
+    void testEpisodes() {
+        GcStorms gcStorms = new GcStorms();
+        gcStorms.add(young("1.000", "0.0100000"), false);
+        // Short episode
+        gcStorms.add(young("2.000", "0.1000000"), true);
+        gcStorms.add(young("10.000", "0.0100000"), false);
+        // Long episode, dominated by full collections
+        gcStorms.add(young("10.100", "0.1000000"), true);
+        gcStorms.add(full("10.200", "0.4000000"), true);
+        gcStorms.add(full("10.700", "0.3000000"), true);
+        gcStorms.close();
+        assertEquals(2, gcStorms.getStormCount(), "Episode count not correct.");
+        List<GcStorm> storms = gcStorms.getStorms();
+        GcStorm storm = storms.get(0);
+        assertEquals(10000, storm.getStart(), "Start not correct.");
+        assertEquals(11000, storm.getEnd(), "End not correct.");
+        assertEquals(4, storm.getEventCount(), "Event count not correct.");
+        assertEquals(810000, storm.getPauseTotal(), "Pause total not correct.");
+        assertEquals(19, storm.getThroughput(), "Throughput not correct.");
+        assertEquals(LogEventType.PARALLEL_SERIAL_OLD, storm.getDominantEventType(), "Dominant type not correct.");
+        storm = storms.get(1);
+        assertEquals(1000, storm.getStart(), "Start not correct.");
+        assertEquals(2, storm.getEventCount(), "Event count not correct.");
+        assertEquals(LogEventType.PARALLEL_SCAVENGE, storm.getDominantEventType(), "Dominant type not correct.");
+    }
+
+    @Test
+    void testMaxStorms() {
+        GcStorms gcStorms = new GcStorms();
+        gcStorms.add(young("0.000", "0.0100000"), false);
+        for (int i = 1; i <= GcStorms.MAX_STORMS + 5; i++) {
+            // i milliseconds
+            gcStorms.add(young(i + "0.000", BigDecimal.valueOf(i, 3).setScale(7).toPlainString()), true);
+            gcStorms.add(young(i + "5.000", "0.0010000"), false);
+        }
+        assertEquals(GcStorms.MAX_STORMS + 5, gcStorms.getStormCount(), "Episode count not correct.");
+        assertEquals(GcStorms.MAX_STORMS, gcStorms.getStorms().size(), "Episodes not bounded.");
+        // The prior event plus the longest pause
+        assertEquals(1000 + 15000, gcStorms.getStorms().get(0).getPauseTotal(), "Most pause time not first.");
+    }
+}
@@ -33,6 +33,7 @@ import org.eclipselabs.garbagecat.util.jdk.Analysis;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
 import org.eclipselabs.garbagecat.util.jdk.Jvm;
+import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedSafepoint.Trigger;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -221,7 +222,7 @@ class TestJvmRun {
         assertEquals(3, jvmRun.getEventTypes().size(), "Event count not correct.");
         assertFalse(jvmRun.getEventTypes().contains(LogEventType.UNKNOWN),
                 JdkUtil.LogEventType.UNKNOWN.toString() + " collector identified.");
-        assertEquals(0, jvmRun.getUnidentifiedLogLines().size(), "Should not be any unidentified log lines.");
+        assertEquals(0, jvmRun.getUnidentifiedLogLines().getCount(), "Should not be any unidentified log lines.");
         assertTrue(jvmRun.getEventTypes().contains(JdkUtil.LogEventType.PAR_NEW),
                 "Log line not recognized as " + JdkUtil.LogEventType.PAR_NEW.toString() + ".");
         assertTrue(jvmRun.getEventTypes().contains(JdkUtil.LogEventType.APPLICATION_STOPPED_TIME),
@@ -649,7 +650,7 @@ class TestJvmRun {
         assertEquals((long) 85, jvmRun.getUnifiedSafepointThroughput(), "Safepoint throughput not correct.");
         assertFalse(jvmRun.getAnalysis().contains(Analysis.WARN_GC_STOPPED_RATIO),
                 Analysis.WARN_GC_STOPPED_RATIO + " analysis incorrectly identified.");
-        assertEquals((long) 95, jvmRun.getGcUnifiedSafepointRatio(), "GC/Safepoint ratio not correct.");
+        assertEquals((long) 94, jvmRun.getGcUnifiedSafepointRatio(), "GC/Safepoint ratio not correct.");
         assertFalse(jvmRun.getAnalysis().contains(Analysis.WARN_GC_SAFEPOINT_RATIO),
                 Analysis.WARN_GC_SAFEPOINT_RATIO + " incorrectly not identified.");
     }
@@ -696,7 +697,16 @@ class TestJvmRun {
         assertEquals((long) 100, jvmRun.getGcStoppedRatio(), "GC/Stopped ratio not correct.");
         assertFalse(jvmRun.getAnalysis().contains(Analysis.WARN_GC_STOPPED_RATIO),
                 Analysis.WARN_GC_STOPPED_RATIO + " analysis incorrectly identified.");
-        assertEquals((long) 8, jvmRun.getGcUnifiedSafepointRatio(), "GC/Safepoint ratio not correct.");
+        assertEquals((long) 99, jvmRun.getGcUnifiedSafepointRatio(), "GC/Safepoint ratio not correct.");
+        // Every GC pause is in a ZGC safepoint, and the only safepoint without a GC pause is the first "ZMarkStart"
+        SafepointCorrelation safepointCorrelation = jvmRun.getSafepointCorrelation();
+        assertEquals(153, safepointCorrelation.getGcSafepointCount(), "GC safepoint count not correct.");
+        assertEquals(0, safepointCorrelation.getGcUnmatchedCount(), "Unmatched GC count not correct.");
+        assertEquals(12652, safepointCorrelation.getGcSafepointTotal(), "GC safepoint total not correct.");
+        assertEquals(1, safepointCorrelation.getNonGcCount(), "Non-GC safepoint count not correct.");
+        assertEquals(38, safepointCorrelation.getNonGcTotal(), "Non-GC safepoint total not correct.");
+        assertEquals(Trigger.Z_MARK_START, safepointCorrelation.getNonGcSummaries().get(0).getTrigger(),
+                "Non-GC safepoint trigger not correct.");
         assertFalse(jvmRun.getAnalysis().contains(Analysis.WARN_GC_SAFEPOINT_RATIO),
                 Analysis.WARN_GC_SAFEPOINT_RATIO + " analysis incorrectly identified.");
     }
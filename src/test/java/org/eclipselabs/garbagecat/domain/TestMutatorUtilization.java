@@ -0,0 +1,165 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipselabs.garbagecat.domain.jdk.ApplicationStoppedTimeEvent;
+import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedG1YoungPauseEvent;
+import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedSafepointEvent;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+class TestMutatorUtilization {
+
+    /**
+     * @param timestamp
+     *            The time the event is logged, at the end of the pause (milliseconds).
+     * @param duration
+     *            The event duration (microseconds).
+     * @return A stopped time event with the specified timestamp and duration.
+     */
+    private static SafepointEvent pause(long timestamp, long duration) {
+        String logLine = String.format("%d.%03d: Total time for which application threads were stopped: %d.%06d0 "
+                + "seconds", timestamp / 1000, timestamp % 1000, duration / 1000000, duration % 1000000);
+        return new ApplicationStoppedTimeEvent(logLine);
+    }
+
+    /**
+     * @param timestamp
+     *            The time the safepoint is logged, at the end of the safepoint (milliseconds).
+     * @param duration
+     *            The safepoint duration (microseconds).
+     * @return A unified safepoint event with the specified timestamp and duration.
+     */
+    private static SafepointEvent safepoint(long timestamp, long duration) {
+        String uptime = String.format("[%d.%03ds][info][safepoint     ] ", timestamp / 1000, timestamp % 1000);
+        String logLine = String.format("%sEntering safepoint region: G1CollectForAllocation%sLeaving safepoint region%s"
+                + "Total time for which application threads were stopped: %d.%06d0 seconds, Stopping threads took: "
+                + "0.0000100 seconds", uptime, uptime, uptime, duration / 1000000, duration % 1000000);
+        return new UnifiedSafepointEvent(logLine);
+    }
+
+    @Test
+    void testEmpty() {
+        MutatorUtilization mutatorUtilization = new MutatorUtilization(Collections.<SafepointEvent> emptyList(),
+                Collections.<SafepointEvent> emptyList());
+        assertEquals(0, mutatorUtilization.getIntervalCount(), "Interval count not correct.");
+        assertNull(mutatorUtilization.getMinimum(10), "MMU not null.");
+    }
+
+    @Test
+    void testMinimum() {
+        List<SafepointEvent> blockingEvents = new ArrayList<SafepointEvent>();
+        blockingEvents.add(pause(1000, 10000));
+        blockingEvents.add(pause(2000, 5000));
+        List<SafepointEvent> safepointEvents = new ArrayList<SafepointEvent>();
+        // Overlaps the first pause
+        safepointEvents.add(pause(1005, 20000));
+        MutatorUtilization mutatorUtilization = new MutatorUtilization(blockingEvents, safepointEvents);
+        assertEquals(2, mutatorUtilization.getIntervalCount(), "Interval count not correct.");
+        assertEquals(new BigDecimal("0.0"), mutatorUtilization.getMinimum(10), "10ms MMU not correct.");
+        assertEquals(new BigDecimal("80.0"), mutatorUtilization.getMinimum(100), "100ms MMU not correct.");
+        assertEquals(new BigDecimal("98.0"), mutatorUtilization.getMinimum(1000), "1s MMU not correct.");
+        assertNull(mutatorUtilization.getMinimum(10000), "10s MMU not null.");
+    }
+
+    @Test
+    void testUnifiedSafepointStart() {
+        // Preprocessed unified GC events are timestamped at the start, safepoints at the end
+        List<SafepointEvent> blockingEvents = new ArrayList<SafepointEvent>();
+        blockingEvents.add(new UnifiedG1YoungPauseEvent("[1.000s][info][gc,start     ] GC(0) Pause Young (Normal) "
+                + "(G1 Evacuation Pause) Metaspace: 3771K->3771K(1056768K) 24M->13M(31M) 500.000ms User=0.00s "
+                + "Sys=0.00s Real=0.50s"));
+        blockingEvents.add(new UnifiedG1YoungPauseEvent("[2.000s][info][gc,start     ] GC(1) Pause Young (Normal) "
+                + "(G1 Evacuation Pause) Metaspace: 3771K->3771K(1056768K) 24M->13M(31M) 100.000ms User=0.00s "
+                + "Sys=0.00s Real=0.10s"));
+        List<SafepointEvent> safepointEvents = new ArrayList<SafepointEvent>();
+        safepointEvents.add(safepoint(1501, 500600));
+        safepointEvents.add(safepoint(2101, 100600));
+        MutatorUtilization mutatorUtilization = new MutatorUtilization(blockingEvents, safepointEvents);
+        assertEquals(2, mutatorUtilization.getIntervalCount(), "Interval count not correct.");
+        assertEquals(new BigDecimal("49.9"), mutatorUtilization.getMinimum(1000), "1s MMU not correct.");
+    }
+
+    @Test
+    void testMaxPausedTimeMatchesScan() {
+        Random random = new Random(42);
+        List<SafepointEvent> blockingEvents = new ArrayList<SafepointEvent>();
+        List<SafepointEvent> safepointEvents = new ArrayList<SafepointEvent>();
+        long timestamp = 0;
+        for (int i = 0; i < 200; i++) {
+            timestamp += random.nextInt(20);
+            SafepointEvent event = pause(timestamp, random.nextInt(5000));
+            (random.nextBoolean() ? blockingEvents : safepointEvents).add(event);
+        }
+        List<SafepointEvent> events = new ArrayList<SafepointEvent>(blockingEvents);
+        events.addAll(safepointEvents);
+        MutatorUtilization mutatorUtilization = new MutatorUtilization(blockingEvents, safepointEvents);
+        for (long window : new long[] { 1, 10, 37, 100 }) {
+            assertEquals(scanMaxPausedTime(events, window * 1000), mutatorUtilization.getMaxPausedTime(window),
+                    "Max paused time not correct for " + window + "ms window.");
+        }
+    }
+
+    /**
+     * @return The most paused time in a window of the specified length (microseconds), checking every window starting
+     *         or ending at a pause boundary against every pause at microsecond resolution.
+     */
+    private static long scanMaxPausedTime(List<SafepointEvent> events, long length) {
+        long first = Long.MAX_VALUE;
+        long last = Long.MIN_VALUE;
+        List<long[]> windows = new ArrayList<long[]>();
+        for (SafepointEvent event : events) {
+            long start = event.getTimestamp() * 1000;
+            long end = start + event.getDuration();
+            first = Math.min(first, start);
+            last = Math.max(last, end);
+            windows.add(new long[] { start, start + length });
+            windows.add(new long[] { start - length, start });
+            windows.add(new long[] { end, end + length });
+            windows.add(new long[] { end - length, end });
+        }
+        long maxPaused = 0;
+        for (long[] window : windows) {
+            if (window[0] < first || window[1] > last) {
+                continue;
+            }
+            // Paused microseconds in the window, counting overlapping pauses once
+            boolean[] paused = new boolean[(int) length];
+            for (SafepointEvent event : events) {
+                long start = Math.max(window[0], event.getTimestamp() * 1000);
+                long end = Math.min(window[1], event.getTimestamp() * 1000 + event.getDuration());
+                for (long t = start; t < end; t++) {
+                    paused[(int) (t - window[0])] = true;
+                }
+            }
+            long count = 0;
+            for (boolean p : paused) {
+                count += p ? 1 : 0;
+            }
+            maxPaused = Math.max(maxPaused, count);
+        }
+        return maxPaused;
+    }
+}
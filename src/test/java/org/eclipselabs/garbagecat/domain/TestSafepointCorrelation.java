@@ -0,0 +1,79 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipselabs.garbagecat.domain.jdk.ApplicationStoppedTimeEvent;
+import org.eclipselabs.garbagecat.domain.jdk.ParallelScavengeEvent;
+import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedSafepointEvent;
+import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedSafepoint.Trigger;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+class TestSafepointCorrelation {
+
+    /**
+     * @return A young collection with a 24342 microsecond pause.
+     */
+    private static BlockingEvent youngGc(String timestamp) {
+        return new ParallelScavengeEvent(timestamp + ": [GC [PSYoungGen: 335699K->33192K(397312K)] "
+                + "1220565K->918194K(1287680K), 0.0243428 secs]");
+    }
+
+    @Test
+    void testJoin() {
+        List<BlockingEvent> blockingEvents = Arrays.asList(youngGc("10.000"), youngGc("30.000"), youngGc("40.000"));
+        // Unified safepoints are logged when the safepoint ends
+        List<SafepointEvent> safepointEvents = Arrays.asList(
+                new UnifiedSafepointEvent("gc 1", 10035, Trigger.G1_COLLECT_FOR_ALLOCATION, 5000, 40000),
+                new UnifiedSafepointEvent("cleanup", 15000, Trigger.CLEANUP, 0, 1000),
+                new UnifiedSafepointEvent("revoke", 20000, Trigger.BULK_REVOKE_BIAS, 100, 2900),
+                new UnifiedSafepointEvent("gc 2", 40030, Trigger.G1_COLLECT_FOR_ALLOCATION, 0, 30000));
+        SafepointCorrelation correlation = new SafepointCorrelation(blockingEvents, safepointEvents);
+        assertEquals(2, correlation.getGcCount(), "GC count not correct.");
+        assertEquals(1, correlation.getGcUnmatchedCount(), "Unmatched GC count not correct.");
+        assertTrue(correlation.isJoined(), "Events not joined.");
+        assertEquals(2, correlation.getGcSafepointCount(), "GC safepoint count not correct.");
+        assertEquals(75000, correlation.getGcSafepointTotal(), "GC safepoint total not correct.");
+        assertEquals(45000, correlation.getGcSafepointMax(), "GC safepoint max not correct.");
+        assertEquals(20658 + 5658, correlation.getOverhead().getTotal(), "Overhead total not correct.");
+        assertEquals("gc 1", correlation.getOverheadMaxLogEntry(), "Overhead max log entry not correct.");
+        assertEquals(2, correlation.getNonGcCount(), "Non-GC safepoint count not correct.");
+        assertEquals(4000, correlation.getNonGcTotal(), "Non-GC safepoint total not correct.");
+        // Longest total first
+        List<SafepointCorrelation.Summary> summaries = correlation.getNonGcSummaries();
+        assertEquals(Trigger.BULK_REVOKE_BIAS, summaries.get(0).getTrigger(), "First trigger not correct.");
+        assertEquals(Trigger.CLEANUP, summaries.get(1).getTrigger(), "Second trigger not correct.");
+        assertEquals(94, correlation.getGcRatio(), "GC ratio not correct.");
+    }
+
+    @Test
+    void testNoTimestamps() {
+        List<BlockingEvent> blockingEvents = Arrays.asList(youngGc("10.000"), youngGc("30.000"));
+        List<SafepointEvent> safepointEvents = Arrays.asList(new ApplicationStoppedTimeEvent("stopped", 0, 300, 90000),
+                new ApplicationStoppedTimeEvent("stopped", 0, 300, 90000000));
+        SafepointCorrelation correlation = new SafepointCorrelation(blockingEvents, safepointEvents);
+        assertEquals(0, correlation.getGcCount(), "GC count not correct.");
+        assertEquals(2, correlation.getGcUnmatchedCount(), "Unmatched GC count not correct.");
+        assertFalse(correlation.isJoined(), "Events incorrectly joined.");
+    }
+}
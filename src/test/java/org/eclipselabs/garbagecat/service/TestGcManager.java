@@ -12,10 +12,50 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.service;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.eclipselabs.garbagecat.Main;
 import org.eclipselabs.garbagecat.TestUtil;
+import org.eclipselabs.garbagecat.domain.JvmRun;
+import org.eclipselabs.garbagecat.domain.LogEvent;
+import org.eclipselabs.garbagecat.service.GcManager.LogFeed;
+import org.eclipselabs.garbagecat.util.Constants;
+import org.eclipselabs.garbagecat.util.jdk.Analysis;
+import org.eclipselabs.garbagecat.util.jdk.Jvm;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
 
 /**
  * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
@@ -23,14 +63,225 @@ import org.junit.jupiter.api.Test;
  */
 class TestGcManager {
 
+    /**
+     * Datasets with a single instant of logging. The report cannot be created because GC throughput divides by the
+     * zero JVM run duration.
+     */
+    private static final Set<String> UNREPORTABLE_DATASETS = new HashSet<>(Arrays.asList("dataset163.txt",
+            "dataset164.txt", "dataset224.txt", "dataset228.txt", "dataset231.txt"));
+
+    private static ForkJoinPool pool;
+
+    @BeforeAll
+    static void createPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    static void shutdownPool() {
+        pool.shutdownNow();
+    }
+
     /**
      * Test for NullPointerException caused by Issue 17:
      * http://code.google.com/a/eclipselabs.org/p/garbagecat/issues/detail?id=17
      */
     @Test
-    void testNullPointerExceptionNotRaised() {
-        File testFile = TestUtil.getFile("dataset31.txt");
+    void testNullPointerExceptionNotRaised(@TempDir Path temporaryFolder) throws IOException {
+        File dataset = TestUtil.getFile("dataset31.txt");
+        File testFile = Files.copy(dataset.toPath(), temporaryFolder.resolve(dataset.getName())).toFile();
         GcManager gcManager = new GcManager();
         gcManager.preprocess(testFile, null);
     }
+
+    @Test
+    void testBottlenecks() {
+        File testFile = TestUtil.getFile("dataset1.txt");
+        GcManager gcManager = new GcManager();
+        gcManager.store(testFile, false);
+        JvmRun jvmRun = gcManager.getJvmRun(new Jvm(null, null), 99);
+        // Consecutive bottlenecks (2) merged into one episode, starting at the first bottleneck prior event
+        assertEquals(1, jvmRun.getGcStorms().getStormCount(), "GC storm count not correct.");
+        assertEquals(3, jvmRun.getGcStorms().getStorms().get(0).getEventCount(), "GC storm event count not correct.");
+        assertEquals(41409, jvmRun.getGcStorms().getStorms().get(0).getStart(), "GC storm start not correct.");
+    }
+
+    /**
+     * Run many analyses concurrently and compare each report with the single-threaded report.
+     */
+    @Test
+    void testConcurrentAnalyses(@TempDir Path temporaryFolder) throws Exception {
+        List<File> datasets = datasets().collect(Collectors.toList());
+        Map<String, String> serialReports = new HashMap<>();
+        for (File dataset : datasets) {
+            serialReports.put(dataset.getName(), analyze(dataset, temporaryFolder.resolve("serial")));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> reports = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                Path folder = temporaryFolder.resolve("concurrent" + i);
+                for (File dataset : datasets) {
+                    reports.add(executor.submit(() -> analyze(dataset, folder)));
+                }
+            }
+            for (int i = 0; i < reports.size(); i++) {
+                String name = datasets.get(i % datasets.size()).getName();
+                assertEquals(serialReports.get(name), reports.get(i).get(),
+                        "Concurrent report does not match for " + name + ".");
+            }
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+
+    /**
+     * @return The report for the dataset, preprocessed in memory.
+     */
+    private static String analyze(File dataset, Path folder) throws IOException {
+        GcManager gcManager = new GcManager();
+        try (Reader reader = new FileReader(dataset)) {
+            gcManager.store(reader, true, null, true);
+        }
+        Path datasetFolder = Files.createDirectories(folder.resolve(dataset.getName() + ".d"));
+        return report(gcManager, dataset, datasetFolder.resolve("report.txt"));
+    }
+
+    /**
+     * Analysis raised by both the store and the rules is not lost when the rules raise it first.
+     */
+    @Test
+    void testJvmRunAnalysis() {
+        GcManager gcManager = new GcManager();
+        LogFeed logFeed = gcManager.openFeed(false, null, false);
+        logFeed.close();
+        JvmRun jvmRun = gcManager.getJvmRun(new Jvm("-XX:+PrintGCApplicationConcurrentTime", null),
+                Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+        assertTrue(jvmRun.getAnalysis().contains(Analysis.WARN_PRINT_GC_APPLICATION_CONCURRENT_TIME),
+                Analysis.WARN_PRINT_GC_APPLICATION_CONCURRENT_TIME + " analysis not identified.");
+        logFeed = gcManager.openFeed(true, null, false);
+        logFeed.add("Application time: 0.0012757 seconds");
+        logFeed.close();
+        jvmRun.getAnalysis().clear();
+        jvmRun = gcManager.getJvmRun(new Jvm(null, null), Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+        assertTrue(jvmRun.getAnalysis().contains(Analysis.WARN_PRINT_GC_APPLICATION_CONCURRENT_TIME),
+                Analysis.WARN_PRINT_GC_APPLICATION_CONCURRENT_TIME + " analysis not identified.");
+    }
+
+    /**
+     * Every way of storing a dataset creates the same report as preprocessing it in memory with a serial analysis:
+     * storing the preprocessed file, a sidecar file, spilling events to disk, a parallel analysis, a feed one log line
+     * at a time, and a reader, stream, or iterator with listeners.
+     */
+    @ParameterizedTest
+    @MethodSource("datasets")
+    void testReportsMatch(File dataset, @TempDir Path temporaryFolder) throws IOException {
+        List<String> logLines = Files.readAllLines(dataset.toPath(), Charset.defaultCharset());
+        GcManager gcManager = new GcManager();
+        gcManager.setPool(null);
+        gcManager.store(logLines.iterator(), true, null, true);
+        String expected = report(gcManager, dataset, temporaryFolder.resolve("serial.txt"));
+
+        // Preprocessed file and sidecar file, next to a copy of the dataset
+        File testFile = Files.copy(dataset.toPath(), temporaryFolder.resolve(dataset.getName())).toFile();
+        gcManager = new GcManager();
+        gcManager.store(gcManager.preprocess(testFile, null), true);
+        assertEquals(expected, report(gcManager, dataset, temporaryFolder.resolve("file.txt")),
+                "File report does not match.");
+        gcManager.writeSidecar(testFile, true, null, true);
+        try (GcManager sidecarManager = new GcManager()) {
+            assertTrue(sidecarManager.loadSidecar(testFile, true, null, true), "Sidecar not loaded.");
+            assertEquals(expected, report(sidecarManager, dataset, temporaryFolder.resolve("sidecar.txt")),
+                    "Sidecar report does not match.");
+        }
+        assertFalse(new GcManager().loadSidecar(testFile, false, null, true), "Sidecar loaded for different options.");
+        assertFalse(new GcManager().loadSidecar(testFile, true, null, false), "Sidecar loaded without reordering.");
+        // The sidecar is written to a temporary file that replaces it
+        try (Stream<Path> files = Files.list(temporaryFolder)) {
+            assertFalse(files.anyMatch(file -> file.getFileName().toString().endsWith(".tmp")),
+                    "Temporary sidecar file not replaced.");
+        }
+
+        try (GcManager spillManager = new GcManager(true)) {
+            spillManager.store(logLines.iterator(), true, null, true);
+            assertEquals(expected, report(spillManager, dataset, temporaryFolder.resolve("spill.txt")),
+                    "Spill report does not match.");
+        }
+
+        gcManager = new GcManager();
+        gcManager.setPool(pool);
+        gcManager.store(logLines.iterator(), true, null, true);
+        assertEquals(expected, report(gcManager, dataset, temporaryFolder.resolve("parallel.txt")),
+                "Parallel report does not match.");
+
+        // A JVM run created halfway through does not change the final report
+        gcManager = new GcManager();
+        LogFeed logFeed = gcManager.openFeed(true, null, true);
+        for (int i = 0; i < logLines.size(); i++) {
+            logFeed.add(logLines.get(i));
+            if (i == logLines.size() / 2) {
+                gcManager.getJvmRun(new Jvm(null, null), Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+            }
+        }
+        logFeed.close();
+        assertEquals(expected, report(gcManager, dataset, temporaryFolder.resolve("feed.txt")),
+                "Feed report does not match.");
+
+        for (int i = 0; i < 3; i++) {
+            List<LogEvent> events = new ArrayList<>();
+            Set<Analysis> analysis = EnumSet.noneOf(Analysis.class);
+            gcManager = new GcManager();
+            gcManager.addListener(new LogListener() {
+                public void analysisRaised(Analysis a) {
+                    assertTrue(analysis.add(a), "Analysis raised twice: " + a);
+                }
+
+                public void eventStored(LogEvent event) {
+                    events.add(event);
+                }
+            });
+            if (i == 0) {
+                try (Reader reader = new FileReader(dataset)) {
+                    gcManager.store(reader, true, null, true);
+                }
+            } else if (i == 1) {
+                try (InputStream inputStream = new FileInputStream(dataset)) {
+                    gcManager.store(inputStream, true, null, true);
+                }
+            } else {
+                gcManager.store(logLines.iterator(), true, null, true);
+            }
+            assertEquals(expected, report(gcManager, dataset, temporaryFolder.resolve("stream.txt")),
+                    "Stream report does not match.");
+            JvmRun jvmRun = gcManager.getJvmRun(new Jvm(null, null),
+                    Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+            assertTrue(events.size() >= jvmRun.getBlockingEventCount(), "Events not stored.");
+            assertTrue(analysis.containsAll(jvmRun.getAnalysis()), "Analysis not raised.");
+        }
+    }
+
+    static Stream<File> datasets() {
+        File[] testFiles = TestUtil.getFile("dataset1.txt").getParentFile()
+                .listFiles((dir, name) -> name.startsWith("dataset") && name.endsWith(".txt"));
+        Arrays.sort(testFiles);
+        return Arrays.stream(testFiles);
+    }
+
+    /**
+     * @return The report, or the event counts for the datasets that cannot be reported (after checking the report
+     *         still fails the known way).
+     */
+    private static String report(GcManager gcManager, File dataset, Path reportFile) throws IOException {
+        JvmRun jvmRun = gcManager.getJvmRun(new Jvm(null, null), Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+        if (UNREPORTABLE_DATASETS.contains(dataset.getName())) {
+            assertThrows(ArithmeticException.class,
+                    () -> Main.createReport(jvmRun, reportFile.toString(), false, false, dataset.getName()),
+                    "Unreportable dataset reported.");
+            return jvmRun.getBlockingEventCount() + " " + jvmRun.getStoppedTimeEventCount() + " "
+                    + jvmRun.getUnifiedSafepointEventCount();
+        }
+        Main.createReport(jvmRun, reportFile.toString(), false, false, dataset.getName());
+        return new String(Files.readAllBytes(reportFile), "UTF-8");
+    }
 }
@@ -0,0 +1,91 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.eclipselabs.garbagecat.util.Constants;
+import org.eclipselabs.garbagecat.util.jdk.Jvm;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+class TestLogFollower {
+
+    private static void append(Path logFile, String logging) throws IOException {
+        Files.write(logFile, logging.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND);
+    }
+
+    private static int blockingEventCount(GcManager gcManager) {
+        return gcManager.getJvmRun(new Jvm(null, null), Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD)
+                .getBlockingEventCount();
+    }
+
+    /**
+     * @return A parallel young collection log line at the specified second.
+     */
+    private static String logLine(int second) {
+        return second + ".000: [GC [PSYoungGen: 229368K->32766K(170240K)] 245617K->63556K(956672K), 0.0984634 secs]";
+    }
+
+    @Test
+    void testFollow(@TempDir Path temporaryFolder) throws IOException {
+        Path logFile = temporaryFolder.resolve("gc.log");
+        append(logFile, logLine(1) + "\n" + logLine(2) + "\r\n" + logLine(3).substring(0, 20));
+        GcManager gcManager = new GcManager();
+        try (LogFollower logFollower = new LogFollower(logFile.toFile(), gcManager.openFeed(false, null, false))) {
+            assertEquals(2, logFollower.poll(), "Log lines not correct.");
+            assertEquals(2, blockingEventCount(gcManager), "Event count not correct.");
+            assertEquals(0, logFollower.poll(), "Partially written log line added.");
+
+            append(logFile, logLine(3).substring(20) + "\n" + logLine(4).substring(0, 10));
+            assertEquals(1, logFollower.poll(), "Completed log line not added.");
+            assertEquals(3, blockingEventCount(gcManager), "Event count not correct.");
+
+            // Rotate: the rotated file's last line is complete
+            append(logFile, logLine(4).substring(10));
+            Files.move(logFile, temporaryFolder.resolve("gc.log.1"));
+            append(logFile, logLine(5) + "\n" + logLine(6) + "\n");
+            assertEquals(3, logFollower.poll(), "Rotated log lines not correct.");
+            assertEquals(6, blockingEventCount(gcManager), "Event count not correct.");
+
+            // Truncate: followed from the beginning
+            Files.write(logFile, (logLine(7) + "\n").getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            assertEquals(1, logFollower.poll(), "Truncated log lines not correct.");
+            assertEquals(7, blockingEventCount(gcManager), "Event count not correct.");
+        }
+    }
+
+    @Test
+    void testFollowNotCreated(@TempDir Path temporaryFolder) throws IOException {
+        File logFile = temporaryFolder.resolve("gc.log").toFile();
+        GcManager gcManager = new GcManager();
+        try (LogFollower logFollower = new LogFollower(logFile, gcManager.openFeed(false, null, false))) {
+            assertEquals(0, logFollower.poll(), "Log lines added for a missing log file.");
+            append(logFile.toPath(), logLine(1) + "\n");
+            assertEquals(1, logFollower.poll(), "Log lines not correct.");
+        }
+    }
+}
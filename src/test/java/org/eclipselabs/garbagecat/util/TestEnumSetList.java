@@ -0,0 +1,75 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipselabs.garbagecat.util.jdk.Analysis;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+class TestEnumSetList {
+
+    @Test
+    void testInsertionOrder() {
+        List<Analysis> analysis = new EnumSetList<>(Analysis.class);
+        analysis.add(Analysis.WARN_PRINT_HEAP_AT_GC);
+        analysis.add(Analysis.ERROR_OOME_METASPACE);
+        analysis.add(0, Analysis.INFO_THREAD_DUMP);
+        assertEquals(Arrays.asList(Analysis.INFO_THREAD_DUMP, Analysis.WARN_PRINT_HEAP_AT_GC,
+                Analysis.ERROR_OOME_METASPACE), analysis, "Insertion order not preserved.");
+    }
+
+    @Test
+    void testDuplicateIgnored() {
+        List<Analysis> analysis = new EnumSetList<>(Analysis.class);
+        assertTrue(analysis.add(Analysis.WARN_PRINT_HEAP_AT_GC), "Element not added.");
+        assertFalse(analysis.add(Analysis.WARN_PRINT_HEAP_AT_GC), "Duplicate element added.");
+        assertEquals(1, analysis.size(), "Duplicate element added.");
+    }
+
+    @Test
+    void testDuplicateInsertedOrSet() {
+        List<Analysis> analysis = new EnumSetList<>(Analysis.class);
+        analysis.add(Analysis.WARN_PRINT_HEAP_AT_GC);
+        analysis.add(Analysis.ERROR_OOME_METASPACE);
+        assertThrows(IllegalArgumentException.class, () -> analysis.add(0, Analysis.ERROR_OOME_METASPACE));
+        assertThrows(IllegalArgumentException.class, () -> analysis.set(0, Analysis.ERROR_OOME_METASPACE));
+        assertEquals(Arrays.asList(Analysis.WARN_PRINT_HEAP_AT_GC, Analysis.ERROR_OOME_METASPACE), analysis,
+                "List changed.");
+        // Setting a constant at its own position is not a duplicate
+        assertEquals(Analysis.ERROR_OOME_METASPACE, analysis.set(1, Analysis.ERROR_OOME_METASPACE),
+                "Replaced element not correct.");
+    }
+
+    @Test
+    void testRemove() {
+        List<Analysis> analysis = new EnumSetList<>(Analysis.class);
+        analysis.add(Analysis.WARN_PRINT_HEAP_AT_GC);
+        analysis.add(Analysis.ERROR_OOME_METASPACE);
+        assertTrue(analysis.remove(Analysis.WARN_PRINT_HEAP_AT_GC), "Element not removed.");
+        assertFalse(analysis.contains(Analysis.WARN_PRINT_HEAP_AT_GC), "Removed element still contained.");
+        assertEquals(0, analysis.indexOf(Analysis.ERROR_OOME_METASPACE), "Index not correct.");
+        assertTrue(analysis.add(Analysis.WARN_PRINT_HEAP_AT_GC), "Removed element not added again.");
+        assertEquals(1, analysis.indexOf(Analysis.WARN_PRINT_HEAP_AT_GC), "Index not correct.");
+    }
+}
@@ -0,0 +1,89 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+class TestHistogram {
+
+    @Test
+    void testBucketBoundaries() {
+        for (long value : new long[] { 0, 1, 127, 128, 129, 130, 255, 256, 1000, 123456789L, Long.MAX_VALUE }) {
+            int index = Histogram.index(value);
+            assertTrue(Histogram.highestValue(index) >= value, "Value above bucket: " + value);
+            assertTrue(index == 0 || Histogram.highestValue(index - 1) < value, "Value below bucket: " + value);
+        }
+    }
+
+    @Test
+    void testEmpty() {
+        Histogram histogram = new Histogram();
+        assertTrue(histogram.isEmpty(), "Histogram not empty.");
+        assertEquals(0, histogram.getValueAtPercentile(99), "Empty percentile not correct.");
+        assertEquals(0, histogram.getMax(), "Empty max not correct.");
+    }
+
+    @Test
+    void testMerge() {
+        Histogram histogram1 = new Histogram();
+        Histogram histogram2 = new Histogram();
+        Histogram all = new Histogram();
+        for (long value = 1; value <= 10000; value++) {
+            (value % 3 == 0 ? histogram1 : histogram2).record(value * 37);
+            all.record(value * 37);
+        }
+        histogram1.merge(histogram2);
+        assertEquals(all.getCount(), histogram1.getCount(), "Merged count not correct.");
+        assertEquals(all.getTotal(), histogram1.getTotal(), "Merged total not correct.");
+        assertEquals(all.getMax(), histogram1.getMax(), "Merged max not correct.");
+        for (double percentile : new double[] { 50, 90, 99, 99.9 }) {
+            assertEquals(all.getValueAtPercentile(percentile), histogram1.getValueAtPercentile(percentile),
+                    "Merged p" + percentile + " not correct.");
+        }
+    }
+
+    @Test
+    void testPercentiles() {
+        Histogram histogram = new Histogram();
+        for (long value = 1; value <= 100000; value++) {
+            histogram.record(value);
+        }
+        assertEquals(100000, histogram.getCount(), "Count not correct.");
+        assertEquals(5000050000L, histogram.getTotal(), "Total not correct.");
+        assertEquals(100000, histogram.getMax(), "Max not correct.");
+        assertEquals(100000, histogram.getValueAtPercentile(100), "p100 not correct.");
+        double[][] expected = { { 50, 50000 }, { 90, 90000 }, { 99, 99000 }, { 99.9, 99900 } };
+        for (double[] percentile : expected) {
+            long value = histogram.getValueAtPercentile(percentile[0]);
+            assertTrue(value >= percentile[1] && value <= percentile[1] * 65 / 64,
+                    "p" + percentile[0] + " not within precision: " + value);
+        }
+    }
+
+    @Test
+    void testSmallValuesExact() {
+        Histogram histogram = new Histogram();
+        for (long value = 0; value < 100; value++) {
+            histogram.record(value);
+        }
+        assertEquals(49, histogram.getValueAtPercentile(50), "p50 not correct.");
+        assertEquals(98, histogram.getValueAtPercentile(99), "p99 not correct.");
+    }
+}
@@ -802,9 +802,10 @@ class TestAnalysis {
         JvmRun jvmRun = gcManager.getJvmRun(new Jvm(null, null), Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
         assertTrue(jvmRun.getAnalysis().contains(Analysis.INFO_THREAD_DUMP),
                 Analysis.INFO_THREAD_DUMP + " analysis identified.");
-        jvmRun.getAnalysis().clear();
+        gcManager = new GcManager();
         File preprocessedFile = gcManager.preprocess(testFile, null);
         gcManager.store(preprocessedFile, false);
+        jvmRun = gcManager.getJvmRun(new Jvm(null, null), Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
         assertTrue(jvmRun.getAnalysis().contains(Analysis.INFO_THREAD_DUMP),
                 Analysis.INFO_THREAD_DUMP + " analysis identified.");
     }
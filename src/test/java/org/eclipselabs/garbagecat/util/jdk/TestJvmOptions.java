@@ -0,0 +1,60 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util.jdk;
+
+import static org.eclipselabs.garbagecat.util.Memory.gigabytes;
+import static org.eclipselabs.garbagecat.util.Memory.megabytes;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+class TestJvmOptions {
+
+    @Test
+    void testCached() {
+        String options = "-Xms1g -Xmx1g -XX:+UseG1GC";
+        assertSame(JvmOptions.parse(options), JvmOptions.parse(new String(options)), "Parsed options not cached.");
+        assertSame(JvmOptions.EMPTY, JvmOptions.parse(null), "Null options not empty.");
+    }
+
+    @Test
+    void testOptions() {
+        JvmOptions jvmOptions = JvmOptions.parse("-Xss256k -XX:MaxHeapSize=2g -Xmx1g -XX:+PrintGCDetails "
+                + "-XX:-UseBiasedLocking -XX:SurvivorRatio=x6 -Dsun.rmi.dgc.client.gcInterval=3600000 "
+                + "-Xloggc:/var/log/gc.log -XX:-UseBiasedLocking \"-XX:HeapDumpPath=/tmp\"");
+        assertEquals("-Xss256k", jvmOptions.getSizeOption("-Xss", "-ss", "-XX:ThreadStackSize"),
+                "Thread stack size option not correct.");
+        // First on the command line
+        assertEquals("-XX:MaxHeapSize=2g", jvmOptions.getSizeOption("-Xmx", "-XX:MaxHeapSize"),
+                "Max heap option not correct.");
+        assertEquals(gigabytes(2), jvmOptions.getSize("-Xmx", "-XX:MaxHeapSize"), "Max heap not correct.");
+        assertEquals(megabytes(1024), jvmOptions.getSize("-Xmx"), "Xmx not correct.");
+        assertEquals("-XX:+PrintGCDetails", jvmOptions.getOption("-XX:+PrintGCDetails"), "Flag not correct.");
+        assertNull(jvmOptions.getOption("-XX:-PrintGCDetails"), "Disabled flag not null.");
+        assertNull(jvmOptions.getNumberOption("-XX:SurvivorRatio"), "Invalid number option not null.");
+        assertEquals("3600000", jvmOptions.getValue("-Dsun.rmi.dgc.client.gcInterval"), "Property not correct.");
+        assertEquals("/var/log/gc.log", jvmOptions.getValue("-Xloggc"), "Log file not correct.");
+        assertEquals("/tmp", jvmOptions.getValue("-XX:HeapDumpPath"), "Quoted option not correct.");
+        assertEquals(Arrays.asList("-XX:-UseBiasedLocking", "-XX:-UseBiasedLocking"),
+                jvmOptions.getDisabledOptions(), "Disabled options not correct.");
+        assertEquals(9, jvmOptions.size(), "Option count not correct.");
+    }
+}